@@ -0,0 +1,85 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.orm.benchmark.entities.Customer;
+import org.hibernate.orm.benchmark.entities.OrderLine;
+import org.hibernate.orm.benchmark.entities.PurchaseOrder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures flushing an interleaved graph of customers, orders and order lines,
+ * with and without {@value AvailableSettings#ORDER_INSERTS}, i.e. with and
+ * without {@code ActionQueue.sortActions} re-grouping the insert actions.
+ * <p>
+ * The transaction is rolled back after every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ActionQueueSortBenchmark {
+
+	@Param({ "100", "1000" })
+	private int orderCount;
+
+	@Param({ "5" })
+	private int linesPerOrder;
+
+	@Param({ "false", "true" })
+	private boolean orderInserts;
+
+	private SessionFactoryImplementor sessionFactory;
+
+	@Setup(Level.Trial)
+	public void buildSessionFactory() {
+		final Map<String, Object> settings = new HashMap<>();
+		settings.put( AvailableSettings.ORDER_INSERTS, Boolean.toString( orderInserts ) );
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "50" );
+		sessionFactory = BenchmarkSessionFactory.build( settings );
+	}
+
+	@Benchmark
+	public void persistAndFlush() {
+		try ( SessionImplementor session = (SessionImplementor) sessionFactory.openSession() ) {
+			session.getTransaction().begin();
+			long lineId = 0;
+			for ( long i = 0; i < orderCount; i++ ) {
+				final Customer customer = new Customer( i, "customer #" + i, null, 0 );
+				session.persist( customer );
+				final PurchaseOrder order = new PurchaseOrder( i, "PO-" + i, customer );
+				for ( int j = 0; j < linesPerOrder; j++ ) {
+					order.addLine( new OrderLine( lineId++, "product #" + j, j + 1 ) );
+				}
+				session.persist( order );
+			}
+			session.flush();
+			session.getTransaction().rollback();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void closeSessionFactory() {
+		sessionFactory.close();
+	}
+}
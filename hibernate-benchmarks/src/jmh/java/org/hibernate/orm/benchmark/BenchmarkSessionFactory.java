@@ -0,0 +1,96 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.benchmark;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.orm.benchmark.entities.Customer;
+import org.hibernate.orm.benchmark.entities.OrderLine;
+import org.hibernate.orm.benchmark.entities.PurchaseOrder;
+
+/**
+ * Builds the {@link SessionFactory} shared by the benchmark suites: the
+ * benchmark domain model over an in-process H2 database, with the schema
+ * created on start-up and dropped on close.
+ */
+public final class BenchmarkSessionFactory {
+
+	private BenchmarkSessionFactory() {
+	}
+
+	public static SessionFactoryImplementor build(Map<String, Object> settings) {
+		final StandardServiceRegistryBuilder registryBuilder = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.URL, "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1" )
+				.applySetting( AvailableSettings.USER, "sa" )
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.applySetting( AvailableSettings.SHOW_SQL, "false" );
+		registryBuilder.applySettings( settings );
+
+		final StandardServiceRegistry registry = registryBuilder.build();
+		try {
+			return (SessionFactoryImplementor) new MetadataSources( registry )
+					.addAnnotatedClass( Customer.class )
+					.addAnnotatedClass( PurchaseOrder.class )
+					.addAnnotatedClass( OrderLine.class )
+					.buildMetadata()
+					.buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( registry );
+			throw e;
+		}
+	}
+
+	public static void inTransaction(SessionFactoryImplementor sessionFactory, Consumer<SessionImplementor> action) {
+		try ( SessionImplementor session = (SessionImplementor) sessionFactory.openSession() ) {
+			session.getTransaction().begin();
+			try {
+				action.accept( session );
+				session.getTransaction().commit();
+			}
+			catch (RuntimeException e) {
+				if ( session.getTransaction().isActive() ) {
+					session.getTransaction().rollback();
+				}
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Populates {@code customerCount} customers, each with one order of {@code linesPerOrder} lines.
+	 */
+	public static void populate(SessionFactoryImplementor sessionFactory, int customerCount, int linesPerOrder) {
+		inTransaction(
+				sessionFactory,
+				session -> {
+					long lineId = 0;
+					for ( long i = 0; i < customerCount; i++ ) {
+						final Customer customer = new Customer( i, "customer #" + i, "customer" + i + "@example.org", (int) ( i % 5 ) );
+						session.persist( customer );
+						final PurchaseOrder order = new PurchaseOrder( i, "PO-" + i, customer );
+						for ( int j = 0; j < linesPerOrder; j++ ) {
+							order.addLine( new OrderLine( lineId++, "product #" + j, j + 1 ) );
+						}
+						session.persist( order );
+						if ( i % 500 == 0 ) {
+							session.flush();
+							session.clear();
+						}
+					}
+				}
+		);
+	}
+}
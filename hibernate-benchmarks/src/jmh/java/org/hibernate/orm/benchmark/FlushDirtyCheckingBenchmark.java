@@ -0,0 +1,86 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.orm.benchmark.entities.Customer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures a flush of a persistence context holding {@code entityCount}
+ * managed entities, {@code dirtyPercent} of which have been modified.
+ * <p>
+ * With {@code dirtyPercent = 0} this is pure dirty checking in
+ * {@code DefaultFlushEntityEventListener}; higher values add the cost of
+ * scheduling and executing the resulting updates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FlushDirtyCheckingBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	private int entityCount;
+
+	@Param({ "0", "10", "100" })
+	private int dirtyPercent;
+
+	private SessionFactoryImplementor sessionFactory;
+	private SessionImplementor session;
+	private List<Customer> customers;
+	private int dirtyCount;
+	private int round;
+
+	@Setup(Level.Trial)
+	public void buildSessionFactory() {
+		sessionFactory = BenchmarkSessionFactory.build( Collections.emptyMap() );
+		BenchmarkSessionFactory.populate( sessionFactory, entityCount, 0 );
+		dirtyCount = entityCount * dirtyPercent / 100;
+	}
+
+	@Setup(Level.Iteration)
+	public void loadEntities() {
+		session = (SessionImplementor) sessionFactory.openSession();
+		session.getTransaction().begin();
+		customers = session.createQuery( "from Customer", Customer.class ).getResultList();
+	}
+
+	@Benchmark
+	public void flush() {
+		round++;
+		for ( int i = 0; i < dirtyCount; i++ ) {
+			customers.get( i ).setRating( round );
+		}
+		session.flush();
+	}
+
+	@TearDown(Level.Iteration)
+	public void closeSession() {
+		session.getTransaction().rollback();
+		session.close();
+	}
+
+	@TearDown(Level.Trial)
+	public void closeSessionFactory() {
+		sessionFactory.close();
+	}
+}
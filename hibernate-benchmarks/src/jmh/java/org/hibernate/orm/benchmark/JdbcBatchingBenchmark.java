@@ -0,0 +1,92 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.orm.benchmark.entities.Customer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures executing {@code rowCount} inserts of a single entity type through
+ * {@code BatchingBatch.addToBatch} for a range of
+ * {@value AvailableSettings#STATEMENT_BATCH_SIZE} values (a batch size of 1
+ * falls back to {@code NonBatchingBatch} and serves as the baseline).
+ * <p>
+ * {@link #statelessInsertMultiple()} does the same through
+ * {@link StatelessSession#insertMultiple(List)}, without a persistence context.
+ * <p>
+ * The transaction is rolled back after every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JdbcBatchingBenchmark {
+
+	@Param({ "1000" })
+	private int rowCount;
+
+	@Param({ "1", "20", "100" })
+	private int batchSize;
+
+	private SessionFactoryImplementor sessionFactory;
+
+	@Setup(Level.Trial)
+	public void buildSessionFactory() {
+		final Map<String, Object> settings = new HashMap<>();
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, Integer.toString( batchSize ) );
+		sessionFactory = BenchmarkSessionFactory.build( settings );
+	}
+
+	@Benchmark
+	public void insert() {
+		try ( SessionImplementor session = (SessionImplementor) sessionFactory.openSession() ) {
+			session.getTransaction().begin();
+			for ( long i = 0; i < rowCount; i++ ) {
+				session.persist( new Customer( i, "customer #" + i, "customer" + i + "@example.org", (int) ( i % 5 ) ) );
+			}
+			session.flush();
+			session.getTransaction().rollback();
+		}
+	}
+
+	@Benchmark
+	public void statelessInsertMultiple() {
+		final List<Customer> customers = new ArrayList<>( rowCount );
+		for ( long i = 0; i < rowCount; i++ ) {
+			customers.add( new Customer( i, "customer #" + i, "customer" + i + "@example.org", (int) ( i % 5 ) ) );
+		}
+		try ( StatelessSession session = sessionFactory.openStatelessSession() ) {
+			session.getTransaction().begin();
+			session.insertMultiple( customers );
+			session.getTransaction().rollback();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void closeSessionFactory() {
+		sessionFactory.close();
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.orm.benchmark.entities.Customer;
+import org.hibernate.query.hql.HqlTranslator;
+import org.hibernate.query.spi.HqlInterpretation;
+import org.hibernate.query.spi.QueryInterpretationCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures hits against {@code QueryInterpretationCacheStandardImpl}, both
+ * directly and through {@code createQuery}, with {@code queryCount} distinct
+ * query strings in rotation.
+ * <p>
+ * The suite runs with several threads since the cache is shared by all
+ * sessions of a factory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class QueryInterpretationCacheBenchmark {
+
+	@Param({ "16", "1024" })
+	private int queryCount;
+
+	private SessionFactoryImplementor sessionFactory;
+	private QueryInterpretationCache interpretationCache;
+	private HqlTranslator hqlTranslator;
+	private String[] queries;
+
+	@Setup(Level.Trial)
+	public void buildSessionFactory() {
+		sessionFactory = BenchmarkSessionFactory.build( Collections.emptyMap() );
+		interpretationCache = sessionFactory.getQueryEngine().getInterpretationCache();
+		hqlTranslator = sessionFactory.getQueryEngine().getHqlTranslator();
+
+		queries = new String[queryCount];
+		for ( int i = 0; i < queryCount; i++ ) {
+			queries[i] = "select c from Customer c where c.rating > :rating and c.id <> " + i;
+			interpretationCache.resolveHqlInterpretation( queries[i], hqlTranslator::translate );
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		private int position;
+
+		int next(int bound) {
+			final int current = position;
+			position = current + 1 == bound ? 0 : current + 1;
+			return current;
+		}
+	}
+
+	@Benchmark
+	public HqlInterpretation resolveHqlInterpretation(Cursor cursor) {
+		return interpretationCache.resolveHqlInterpretation(
+				queries[ cursor.next( queryCount ) ],
+				hqlTranslator::translate
+		);
+	}
+
+	@Benchmark
+	public Object createQuery(Cursor cursor) {
+		try ( SessionImplementor session = (SessionImplementor) sessionFactory.openSession() ) {
+			return session.createQuery( queries[ cursor.next( queryCount ) ], Customer.class );
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void closeSessionFactory() {
+		sessionFactory.close();
+	}
+}
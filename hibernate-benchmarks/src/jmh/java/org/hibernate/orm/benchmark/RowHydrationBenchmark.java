@@ -0,0 +1,90 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.orm.benchmark.entities.Customer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures reading {@code rowCount} rows through {@code JdbcValuesResultSetImpl}
+ * and {@code StandardRowReader}, once as managed entities (including the
+ * persistence-context registration) and once as plain scalar tuples.
+ * <p>
+ * The {@code openAddressingMaps} parameter toggles
+ * {@value AvailableSettings#PERSISTENCE_CONTEXT_OPEN_ADDRESSING_MAPS}; compare
+ * the {@code gc.alloc.rate.norm} of the {@code entities} runs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RowHydrationBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	private int rowCount;
+
+	@Param({ "false", "true" })
+	private boolean openAddressingMaps;
+
+	private SessionFactoryImplementor sessionFactory;
+
+	@Setup(Level.Trial)
+	public void buildSessionFactory() {
+		sessionFactory = BenchmarkSessionFactory.build(
+				Collections.singletonMap(
+						AvailableSettings.PERSISTENCE_CONTEXT_OPEN_ADDRESSING_MAPS,
+						Boolean.toString( openAddressingMaps )
+				)
+		);
+		BenchmarkSessionFactory.populate( sessionFactory, rowCount, 0 );
+	}
+
+	@Benchmark
+	public List<Customer> entities() {
+		try ( SessionImplementor session = (SessionImplementor) sessionFactory.openSession() ) {
+			return session.createQuery( "from Customer", Customer.class ).getResultList();
+		}
+	}
+
+	@Benchmark
+	public List<Object[]> scalars() {
+		try ( SessionImplementor session = (SessionImplementor) sessionFactory.openSession() ) {
+			return session.createQuery( "select c.id, c.name, c.email, c.rating from Customer c", Object[].class )
+					.getResultList();
+		}
+	}
+
+	@Benchmark
+	public List<Customer> readOnlyEntities() {
+		try ( SessionImplementor session = (SessionImplementor) sessionFactory.openSession() ) {
+			return session.createQuery( "from Customer", Customer.class )
+					.setReadOnly( true )
+					.getResultList();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void closeSessionFactory() {
+		sessionFactory.close();
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.benchmark.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Simple entity with a handful of basic attributes, used for dirty-checking
+ * and hydration benchmarks.
+ */
+@Entity
+public class Customer {
+	@Id
+	private Long id;
+	private String name;
+	private String email;
+	private int rating;
+
+	public Customer() {
+	}
+
+	public Customer(Long id, String name, String email, int rating) {
+		this.id = id;
+		this.name = name;
+		this.email = email;
+		this.rating = rating;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public int getRating() {
+		return rating;
+	}
+
+	public void setRating(int rating) {
+		this.rating = rating;
+	}
+}
@@ -0,0 +1,55 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.benchmark.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+
+/**
+ * Child side of {@link PurchaseOrder#getLines()}.
+ */
+@Entity
+public class OrderLine {
+	@Id
+	private Long id;
+	private String product;
+	private int quantity;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	private PurchaseOrder order;
+
+	public OrderLine() {
+	}
+
+	public OrderLine(Long id, String product, int quantity) {
+		this.id = id;
+		this.product = product;
+		this.quantity = quantity;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getProduct() {
+		return product;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	public PurchaseOrder getOrder() {
+		return order;
+	}
+
+	void setOrder(PurchaseOrder order) {
+		this.order = order;
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.benchmark.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+
+/**
+ * Owner side of a one-to-many used to give {@code ActionQueue} a mix of
+ * entity types to sort.
+ */
+@Entity
+public class PurchaseOrder {
+	@Id
+	private Long id;
+	private String reference;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	private Customer customer;
+
+	@OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+	private List<OrderLine> lines = new ArrayList<>();
+
+	public PurchaseOrder() {
+	}
+
+	public PurchaseOrder(Long id, String reference, Customer customer) {
+		this.id = id;
+		this.reference = reference;
+		this.customer = customer;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getReference() {
+		return reference;
+	}
+
+	public Customer getCustomer() {
+		return customer;
+	}
+
+	public List<OrderLine> getLines() {
+		return lines;
+	}
+
+	public void addLine(OrderLine line) {
+		lines.add( line );
+		line.setOrder( this );
+	}
+}
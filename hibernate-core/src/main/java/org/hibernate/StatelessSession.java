@@ -6,6 +6,8 @@
  */
 package org.hibernate;
 
+import java.util.List;
+
 /**
  * A command-oriented API for performing bulk operations against a database.
  * <p>
@@ -77,6 +79,47 @@ public interface StatelessSession extends SharedSessionContract {
 	 */
 	void delete(String entityName, Object entity);
 
+	/**
+	 * Insert multiple rows.
+	 * <p>
+	 * The rows are written in list order, and each run of consecutive
+	 * entities of one type is written as one JDBC batch of
+	 * {@link #getJdbcBatchSize()} statements (or the
+	 * {@value org.hibernate.cfg.AvailableSettings#STATEMENT_BATCH_SIZE}
+	 * configured for the factory).  If
+	 * {@value org.hibernate.cfg.AvailableSettings#ORDER_INSERTS} is enabled,
+	 * the entities are instead grouped by entity type, in the order in which
+	 * each type first occurs in the given list.  Any pending batch is executed
+	 * before this method returns.
+	 *
+	 * @param entities new transient instances
+	 *
+	 * @see #insert(Object)
+	 */
+	void insertMultiple(List<?> entities);
+
+	/**
+	 * Update multiple rows, batching them as described for
+	 * {@link #insertMultiple(List)}.  The entities are only grouped by
+	 * entity type if {@value org.hibernate.cfg.AvailableSettings#ORDER_UPDATES}
+	 * is enabled.
+	 *
+	 * @param entities detached entity instances
+	 *
+	 * @see #update(Object)
+	 */
+	void updateMultiple(List<?> entities);
+
+	/**
+	 * Delete multiple rows in list order, batching consecutive entities of
+	 * one type as described for {@link #insertMultiple(List)}.
+	 *
+	 * @param entities detached entity instances
+	 *
+	 * @see #delete(Object)
+	 */
+	void deleteMultiple(List<?> entities);
+
 	/**
 	 * Retrieve a row.
 	 *
@@ -6,6 +6,9 @@
  */
 package org.hibernate.action.internal;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.EntityKey;
@@ -67,29 +70,73 @@ public class EntityIdentityInsertAction extends AbstractEntityInsertAction  {
 	public void execute() throws HibernateException {
 		nullifyTransientReferencesIfNotAlready();
 
-		final EntityPersister persister = getPersister();
-		final SharedSessionContractImplementor session = getSession();
-		final Object instance = getInstance();
-
 		setVeto( preInsert() );
 
 		// Don't need to lock the cache here, since if someone
 		// else inserted the same pk first, the insert would fail
 
 		if ( !isVeto() ) {
-			generatedId = persister.insert( getState(), instance, session );
-			if ( persister.hasInsertGeneratedProperties() ) {
-				persister.processInsertGeneratedProperties( generatedId, instance, getState(), session );
+			afterIdentityInsert( getPersister().insert( getState(), getInstance(), getSession() ) );
+		}
+
+		completeExecution();
+	}
+
+	/**
+	 * Execute delayed inserts of instances of the same entity as a single JDBC batch.
+	 *
+	 * @see EntityPersister#isIdentityInsertBatchable()
+	 */
+	public static void executeBatch(List<EntityIdentityInsertAction> actions) throws HibernateException {
+		final List<EntityIdentityInsertAction> inserts = new ArrayList<>( actions.size() );
+		for ( EntityIdentityInsertAction action : actions ) {
+			assert !action.isEarlyInsert() && action.getPersister() == actions.get( 0 ).getPersister();
+			action.nullifyTransientReferencesIfNotAlready();
+			action.setVeto( action.preInsert() );
+			if ( !action.isVeto() ) {
+				inserts.add( action );
+			}
+		}
+
+		if ( !inserts.isEmpty() ) {
+			final Object[][] states = new Object[inserts.size()][];
+			final Object[] instances = new Object[inserts.size()];
+			for ( int i = 0; i < inserts.size(); i++ ) {
+				states[i] = inserts.get( i ).getState();
+				instances[i] = inserts.get( i ).getInstance();
+			}
+			final Object[] generatedIds = actions.get( 0 ).getPersister()
+					.insertBatch( states, instances, actions.get( 0 ).getSession() );
+			for ( int i = 0; i < inserts.size(); i++ ) {
+				inserts.get( i ).afterIdentityInsert( generatedIds[i] );
 			}
-			//need to do that here rather than in the save event listener to let
-			//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
-			persister.setIdentifier( instance, generatedId, session );
-			final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
-			persistenceContext.registerInsertedKey( getPersister(), generatedId );
-			entityKey = session.generateEntityKey( generatedId, persister );
-			persistenceContext.checkUniqueness( entityKey, getInstance() );
 		}
 
+		for ( EntityIdentityInsertAction action : actions ) {
+			action.completeExecution();
+		}
+	}
+
+	private void afterIdentityInsert(Object generatedId) {
+		final EntityPersister persister = getPersister();
+		final SharedSessionContractImplementor session = getSession();
+		final Object instance = getInstance();
+
+		this.generatedId = generatedId;
+		if ( persister.hasInsertGeneratedProperties() ) {
+			persister.processInsertGeneratedProperties( generatedId, instance, getState(), session );
+		}
+		//need to do that here rather than in the save event listener to let
+		//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
+		persister.setIdentifier( instance, generatedId, session );
+		final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+		persistenceContext.registerInsertedKey( getPersister(), generatedId );
+		entityKey = session.generateEntityKey( generatedId, persister );
+		persistenceContext.checkUniqueness( entityKey, getInstance() );
+	}
+
+	private void completeExecution() {
+		final SharedSessionContractImplementor session = getSession();
 
 		//TODO: this bit actually has to be called after all cascades!
 		//      but since identity insert is called *synchronously*,
@@ -566,6 +566,7 @@ public class MetadataBuilderImpl implements MetadataBuilderImplementor, TypeCont
 
 		private final String schemaCharset;
 		private final boolean xmlMappingEnabled;
+		private final boolean parallelAnnotatedClassPreloadingEnabled;
 
 		public MetadataBuildingOptionsImpl(StandardServiceRegistry serviceRegistry) {
 			this.serviceRegistry = serviceRegistry;
@@ -585,6 +586,12 @@ public class MetadataBuilderImpl implements MetadataBuilderImplementor, TypeCont
 					true
 			);
 
+			this.parallelAnnotatedClassPreloadingEnabled = configService.getSetting(
+					AvailableSettings.PARALLEL_ANNOTATED_CLASS_PRELOADING,
+					StandardConverters.BOOLEAN,
+					false
+			);
+
 			this.implicitDiscriminatorsForJoinedInheritanceSupported = configService.getSetting(
 					AvailableSettings.IMPLICIT_DISCRIMINATOR_COLUMNS_FOR_JOINED_SUBCLASS,
 					StandardConverters.BOOLEAN,
@@ -836,6 +843,11 @@ public class MetadataBuilderImpl implements MetadataBuilderImplementor, TypeCont
 			return xmlMappingEnabled;
 		}
 
+		@Override
+		public boolean isParallelAnnotatedClassPreloadingEnabled() {
+			return parallelAnnotatedClassPreloadingEnabled;
+		}
+
 		/**
 		 * Yuck.  This is needed because JPA lets users define "global building options"
 		 * in {@code orm.xml} mappings.  Forget that there are generally multiple
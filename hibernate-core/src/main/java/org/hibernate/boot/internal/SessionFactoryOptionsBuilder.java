@@ -37,6 +37,7 @@ import org.hibernate.cache.internal.NoCachingRegionFactory;
 import org.hibernate.cache.internal.StandardTimestampsCacheFactory;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.TimestampsCacheFactory;
+import org.hibernate.cache.spi.support.NearCacheDomainDataStorageAccess;
 import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.BaselineSessionEventsListenerBuilder;
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
@@ -80,7 +81,10 @@ import static org.hibernate.cfg.AvailableSettings.ALLOW_UPDATE_OUTSIDE_TRANSACTI
 import static org.hibernate.cfg.AvailableSettings.AUTO_CLOSE_SESSION;
 import static org.hibernate.cfg.AvailableSettings.AUTO_EVICT_COLLECTION_CACHE;
 import static org.hibernate.cfg.AvailableSettings.AUTO_SESSION_EVENTS_LISTENER;
+import static org.hibernate.cfg.AvailableSettings.BATCH_FETCH_ARRAY_PARAMETER;
 import static org.hibernate.cfg.AvailableSettings.BATCH_FETCH_STYLE;
+import static org.hibernate.cfg.AvailableSettings.BATCH_IDENTITY_INSERTS;
+import static org.hibernate.cfg.AvailableSettings.REWRITE_BATCHED_INSERTS;
 import static org.hibernate.cfg.AvailableSettings.BATCH_VERSIONED_DATA;
 import static org.hibernate.cfg.AvailableSettings.CACHE_REGION_PREFIX;
 import static org.hibernate.cfg.AvailableSettings.CALLABLE_NAMED_PARAMS_ENABLED;
@@ -118,6 +122,7 @@ import static org.hibernate.cfg.AvailableSettings.SESSION_SCOPED_INTERCEPTOR;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_BATCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_FETCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_INSPECTOR;
+import static org.hibernate.cfg.AvailableSettings.USE_BINARY_CACHE_ENTRIES;
 import static org.hibernate.cfg.AvailableSettings.USE_DIRECT_REFERENCE_CACHE_ENTRIES;
 import static org.hibernate.cfg.AvailableSettings.USE_GET_GENERATED_KEYS;
 import static org.hibernate.cfg.AvailableSettings.USE_IDENTIFIER_ROLLBACK;
@@ -221,8 +226,12 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private String cacheRegionPrefix;
 	private boolean minimalPutsEnabled;
 	private boolean structuredCacheEntriesEnabled;
+	private boolean binaryCacheEntriesEnabled;
 	private boolean directReferenceCacheEntriesEnabled;
 	private boolean autoEvictCollectionCache;
+	private int secondLevelCacheNearCacheMaxEntries;
+	private long secondLevelCacheNearCacheTimeToLive;
+	private long queryCacheLocalTimestampsMaxStaleness;
 
 	// Schema tooling
 	private SchemaAutoTooling schemaAutoTooling;
@@ -231,6 +240,8 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private boolean getGeneratedKeysEnabled;
 	private int jdbcBatchSize;
 	private boolean jdbcBatchVersionedData;
+	private boolean identityInsertBatchingEnabled;
+	private boolean batchedInsertRewritingEnabled;
 	private Integer jdbcFetchSize;
 	private boolean scrollableResultSetsEnabled;
 	private boolean commentsEnabled;
@@ -253,8 +264,15 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 
 	private boolean failOnPaginationOverCollectionFetchEnabled;
 	private boolean inClauseParameterPaddingEnabled;
+	private boolean batchFetchArrayParameterEnabled;
 
 	private int queryStatisticsMaxSize;
+	private boolean statisticsLatencyHistogramsEnabled;
+	private int statisticsLatencyHistogramPrecision;
+	private long statisticsLatencyHistogramMaxValue;
+	private int statisticsLatencyHistogramQueryMaxSize;
+
+	private boolean persistenceContextOpenAddressingMapsEnabled;
 
 
 	public SessionFactoryOptionsBuilder(StandardServiceRegistry serviceRegistry, BootstrapContext context) {
@@ -436,12 +454,34 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 					regionFactory.isMinimalPutsEnabledByDefault()
 			);
 			this.structuredCacheEntriesEnabled = cfgService.getSetting( USE_STRUCTURED_CACHE, BOOLEAN, false );
+			this.binaryCacheEntriesEnabled = cfgService.getSetting( USE_BINARY_CACHE_ENTRIES, BOOLEAN, false );
 			this.directReferenceCacheEntriesEnabled = cfgService.getSetting(
 					USE_DIRECT_REFERENCE_CACHE_ENTRIES,
 					BOOLEAN,
 					false
 			);
 			this.autoEvictCollectionCache = cfgService.getSetting( AUTO_EVICT_COLLECTION_CACHE, BOOLEAN, false );
+			this.secondLevelCacheNearCacheMaxEntries = ConfigurationHelper.getInt(
+					AvailableSettings.CACHE_NEAR_CACHE_MAX_ENTRIES,
+					configurationSettings,
+					0
+			);
+			this.secondLevelCacheNearCacheTimeToLive = ConfigurationHelper.getLong(
+					AvailableSettings.CACHE_NEAR_CACHE_TIME_TO_LIVE,
+					configurationSettings,
+					NearCacheDomainDataStorageAccess.DEFAULT_TIME_TO_LIVE
+			);
+			if ( secondLevelCacheNearCacheMaxEntries > 0 && secondLevelCacheNearCacheTimeToLive <= 0 ) {
+				throw new IllegalArgumentException(
+						"Configuration property " + AvailableSettings.CACHE_NEAR_CACHE_TIME_TO_LIVE + " value ["
+								+ secondLevelCacheNearCacheTimeToLive + "] must be positive when the near cache is enabled"
+				);
+			}
+			this.queryCacheLocalTimestampsMaxStaleness = ConfigurationHelper.getLong(
+					AvailableSettings.QUERY_CACHE_LOCAL_TIMESTAMPS_MAX_STALENESS,
+					configurationSettings,
+					0
+			);
 		}
 		else {
 			this.secondLevelCacheEnabled = false;
@@ -450,8 +490,12 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 			this.cacheRegionPrefix = null;
 			this.minimalPutsEnabled = false;
 			this.structuredCacheEntriesEnabled = false;
+			this.binaryCacheEntriesEnabled = false;
 			this.directReferenceCacheEntriesEnabled = false;
 			this.autoEvictCollectionCache = false;
+			this.secondLevelCacheNearCacheMaxEntries = 0;
+			this.secondLevelCacheNearCacheTimeToLive = NearCacheDomainDataStorageAccess.DEFAULT_TIME_TO_LIVE;
+			this.queryCacheLocalTimestampsMaxStaleness = 0;
 		}
 
 		try {
@@ -480,6 +524,8 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		}
 
 		this.jdbcBatchVersionedData = ConfigurationHelper.getBoolean( BATCH_VERSIONED_DATA, configurationSettings, true );
+		this.identityInsertBatchingEnabled = ConfigurationHelper.getBoolean( BATCH_IDENTITY_INSERTS, configurationSettings, false );
+		this.batchedInsertRewritingEnabled = ConfigurationHelper.getBoolean( REWRITE_BATCHED_INSERTS, configurationSettings, false );
 		this.scrollableResultSetsEnabled = ConfigurationHelper.getBoolean(
 				USE_SCROLLABLE_RESULTSET,
 				configurationSettings,
@@ -563,11 +609,43 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 				false
 		);
 
+		this.batchFetchArrayParameterEnabled = ConfigurationHelper.getBoolean(
+				BATCH_FETCH_ARRAY_PARAMETER,
+				configurationSettings,
+				false
+		);
+
 		this.queryStatisticsMaxSize = ConfigurationHelper.getInt(
 				QUERY_STATISTICS_MAX_SIZE,
 				configurationSettings,
 				Statistics.DEFAULT_QUERY_STATISTICS_MAX_SIZE
 		);
+		this.statisticsLatencyHistogramsEnabled = ConfigurationHelper.getBoolean(
+				AvailableSettings.STATISTICS_LATENCY_HISTOGRAMS,
+				configurationSettings,
+				false
+		);
+		this.statisticsLatencyHistogramPrecision = ConfigurationHelper.getInt(
+				AvailableSettings.STATISTICS_LATENCY_HISTOGRAM_PRECISION,
+				configurationSettings,
+				Statistics.DEFAULT_LATENCY_HISTOGRAM_PRECISION
+		);
+		this.statisticsLatencyHistogramMaxValue = ConfigurationHelper.getLong(
+				AvailableSettings.STATISTICS_LATENCY_HISTOGRAM_MAX_VALUE,
+				configurationSettings,
+				Statistics.DEFAULT_LATENCY_HISTOGRAM_MAX_VALUE
+		);
+		this.statisticsLatencyHistogramQueryMaxSize = ConfigurationHelper.getInt(
+				AvailableSettings.STATISTICS_LATENCY_HISTOGRAM_QUERY_MAX_SIZE,
+				configurationSettings,
+				Statistics.DEFAULT_LATENCY_HISTOGRAM_QUERY_MAX_SIZE
+		);
+
+		this.persistenceContextOpenAddressingMapsEnabled = ConfigurationHelper.getBoolean(
+				AvailableSettings.PERSISTENCE_CONTEXT_OPEN_ADDRESSING_MAPS,
+				configurationSettings,
+				false
+		);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -1038,6 +1116,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return structuredCacheEntriesEnabled;
 	}
 
+	@Override
+	public boolean isBinaryCacheEntriesEnabled() {
+		return binaryCacheEntriesEnabled;
+	}
+
 	@Override
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return directReferenceCacheEntriesEnabled;
@@ -1048,6 +1131,21 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return autoEvictCollectionCache;
 	}
 
+	@Override
+	public int getSecondLevelCacheNearCacheMaxEntries() {
+		return secondLevelCacheNearCacheMaxEntries;
+	}
+
+	@Override
+	public long getSecondLevelCacheNearCacheTimeToLive() {
+		return secondLevelCacheNearCacheTimeToLive;
+	}
+
+	@Override
+	public long getQueryCacheLocalTimestampsMaxStaleness() {
+		return queryCacheLocalTimestampsMaxStaleness;
+	}
+
 	@Override
 	public SchemaAutoTooling getSchemaAutoTooling() {
 		return schemaAutoTooling;
@@ -1063,6 +1161,16 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return jdbcBatchVersionedData;
 	}
 
+	@Override
+	public boolean isIdentityInsertBatchingEnabled() {
+		return identityInsertBatchingEnabled;
+	}
+
+	@Override
+	public boolean isBatchedInsertRewritingEnabled() {
+		return batchedInsertRewritingEnabled;
+	}
+
 	@Override
 	public boolean isScrollableResultSetsEnabled() {
 		return scrollableResultSetsEnabled;
@@ -1163,6 +1271,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return this.inClauseParameterPaddingEnabled;
 	}
 
+	@Override
+	public boolean isBatchFetchArrayParameterEnabled() {
+		return batchFetchArrayParameterEnabled;
+	}
+
 	@Override
 	public JpaCompliance getJpaCompliance() {
 		return jpaCompliance;
@@ -1173,6 +1286,31 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return queryStatisticsMaxSize;
 	}
 
+	@Override
+	public boolean isStatisticsLatencyHistogramsEnabled() {
+		return statisticsLatencyHistogramsEnabled;
+	}
+
+	@Override
+	public int getStatisticsLatencyHistogramPrecision() {
+		return statisticsLatencyHistogramPrecision;
+	}
+
+	@Override
+	public long getStatisticsLatencyHistogramMaxValue() {
+		return statisticsLatencyHistogramMaxValue;
+	}
+
+	@Override
+	public int getStatisticsLatencyHistogramQueryMaxSize() {
+		return statisticsLatencyHistogramQueryMaxSize;
+	}
+
+	@Override
+	public boolean isPersistenceContextOpenAddressingMapsEnabled() {
+		return persistenceContextOpenAddressingMapsEnabled;
+	}
+
 	@Override
 	public boolean areJPACallbacksEnabled() {
 		return callbacksEnabled;
@@ -97,13 +97,25 @@ public class AnnotationMetadataSourceProcessorImpl implements MetadataSourceProc
 			// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 		}
 
-		for ( String className : managedResources.getAnnotatedClassNames() ) {
-			final Class<?> annotatedClass = classLoaderService.classForName( className );
-			categorizeAnnotatedClass( annotatedClass, attributeConverterManager );
+		if ( metadataBuildingOptions.isParallelAnnotatedClassPreloadingEnabled() ) {
+			final List<Class<?>> annotatedClasses = ParallelAnnotatedClassPreloader.preload(
+					managedResources.getAnnotatedClassNames(),
+					managedResources.getAnnotatedClassReferences(),
+					classLoaderService
+			);
+			for ( Class<?> annotatedClass : annotatedClasses ) {
+				categorizeAnnotatedClass( annotatedClass, attributeConverterManager );
+			}
 		}
+		else {
+			for ( String className : managedResources.getAnnotatedClassNames() ) {
+				final Class<?> annotatedClass = classLoaderService.classForName( className );
+				categorizeAnnotatedClass( annotatedClass, attributeConverterManager );
+			}
 
-		for ( Class<?> annotatedClass : managedResources.getAnnotatedClassReferences() ) {
-			categorizeAnnotatedClass( annotatedClass, attributeConverterManager );
+			for ( Class<?> annotatedClass : managedResources.getAnnotatedClassReferences() ) {
+				categorizeAnnotatedClass( annotatedClass, attributeConverterManager );
+			}
 		}
 	}
 
@@ -0,0 +1,122 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.boot.model.source.internal.annotations;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+
+import org.hibernate.HibernateException;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Preloads the annotated classes on a fork-join pool: loads them and reads the annotations and generic
+ * types of their members, so that the sequential binding which follows finds the reflection data already
+ * resolved by the JVM.  Nothing is bound here.
+ * <p>
+ * The binding itself is not parallelized, as it populates the shared
+ * {@link org.hibernate.boot.spi.InFlightMetadataCollector}.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#PARALLEL_ANNOTATED_CLASS_PRELOADING
+ */
+final class ParallelAnnotatedClassPreloader {
+	private static final Logger log = Logger.getLogger( ParallelAnnotatedClassPreloader.class );
+
+	private ParallelAnnotatedClassPreloader() {
+	}
+
+	/**
+	 * Loads the named classes, and reads the reflection data of them along with the given class references.
+	 *
+	 * @return The named classes followed by the class references, in their original order
+	 */
+	@SuppressWarnings("rawtypes")
+	static List<Class<?>> preload(
+			Collection<String> classNames,
+			Collection<Class> classReferences,
+			ClassLoaderService classLoaderService) {
+		final List<Callable<Class<?>>> tasks = new ArrayList<>( classNames.size() + classReferences.size() );
+		for ( String className : classNames ) {
+			tasks.add( () -> readReflectionData( classLoaderService.classForName( className ) ) );
+		}
+		for ( Class<?> classReference : classReferences ) {
+			tasks.add( () -> readReflectionData( classReference ) );
+		}
+		if ( tasks.isEmpty() ) {
+			return new ArrayList<>();
+		}
+
+		// the class loader service may delegate to the context class loader of the bootstrapping thread
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		final ForkJoinPool pool = new ForkJoinPool(
+				Math.min( Runtime.getRuntime().availableProcessors(), tasks.size() ),
+				forkJoinPool -> {
+					final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread( forkJoinPool );
+					thread.setContextClassLoader( contextClassLoader );
+					return thread;
+				},
+				null,
+				false
+		);
+		try {
+			final List<Class<?>> classes = new ArrayList<>( tasks.size() );
+			for ( Future<Class<?>> future : pool.invokeAll( tasks ) ) {
+				classes.add( future.get() );
+			}
+			return classes;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while loading the annotated classes", e );
+		}
+		catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new HibernateException( "Unable to load the annotated classes", cause );
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static Class<?> readReflectionData(Class<?> annotatedClass) {
+		try {
+			Class<?> current = annotatedClass;
+			while ( current != null && current != Object.class ) {
+				current.getDeclaredAnnotations();
+				for ( Field field : current.getDeclaredFields() ) {
+					field.getDeclaredAnnotations();
+					field.getGenericType();
+				}
+				for ( Method method : current.getDeclaredMethods() ) {
+					method.getDeclaredAnnotations();
+					method.getGenericReturnType();
+				}
+				current = current.getSuperclass();
+			}
+		}
+		catch (RuntimeException | LinkageError e) {
+			// left for the binding to report
+			log.debugf( e, "Unable to read the reflection data of annotated class [%s]", annotatedClass.getName() );
+		}
+		return annotatedClass;
+	}
+}
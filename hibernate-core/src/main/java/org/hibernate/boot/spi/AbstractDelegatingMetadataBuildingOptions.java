@@ -157,4 +157,9 @@ public abstract class AbstractDelegatingMetadataBuildingOptions implements Metad
 		return delegate.isXmlMappingEnabled();
 	}
 
+	@Override
+	public boolean isParallelAnnotatedClassPreloadingEnabled() {
+		return delegate.isParallelAnnotatedClassPreloadingEnabled();
+	}
+
 }
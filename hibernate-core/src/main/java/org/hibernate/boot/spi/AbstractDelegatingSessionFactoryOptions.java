@@ -262,6 +262,11 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isStructuredCacheEntriesEnabled();
 	}
 
+	@Override
+	public boolean isBinaryCacheEntriesEnabled() {
+		return delegate.isBinaryCacheEntriesEnabled();
+	}
+
 	@Override
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return delegate.isDirectReferenceCacheEntriesEnabled();
@@ -272,6 +277,21 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isAutoEvictCollectionCache();
 	}
 
+	@Override
+	public int getSecondLevelCacheNearCacheMaxEntries() {
+		return delegate.getSecondLevelCacheNearCacheMaxEntries();
+	}
+
+	@Override
+	public long getSecondLevelCacheNearCacheTimeToLive() {
+		return delegate.getSecondLevelCacheNearCacheTimeToLive();
+	}
+
+	@Override
+	public long getQueryCacheLocalTimestampsMaxStaleness() {
+		return delegate.getQueryCacheLocalTimestampsMaxStaleness();
+	}
+
 	@Override
 	public SchemaAutoTooling getSchemaAutoTooling() {
 		return delegate.getSchemaAutoTooling();
@@ -287,6 +307,16 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isJdbcBatchVersionedData();
 	}
 
+	@Override
+	public boolean isIdentityInsertBatchingEnabled() {
+		return delegate.isIdentityInsertBatchingEnabled();
+	}
+
+	@Override
+	public boolean isBatchedInsertRewritingEnabled() {
+		return delegate.isBatchedInsertRewritingEnabled();
+	}
+
 	@Override
 	public boolean isScrollableResultSetsEnabled() {
 		return delegate.isScrollableResultSetsEnabled();
@@ -407,11 +437,41 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.inClauseParameterPaddingEnabled();
 	}
 
+	@Override
+	public boolean isBatchFetchArrayParameterEnabled() {
+		return delegate.isBatchFetchArrayParameterEnabled();
+	}
+
 	@Override
 	public int getQueryStatisticsMaxSize() {
 		return delegate.getQueryStatisticsMaxSize();
 	}
 
+	@Override
+	public boolean isStatisticsLatencyHistogramsEnabled() {
+		return delegate.isStatisticsLatencyHistogramsEnabled();
+	}
+
+	@Override
+	public int getStatisticsLatencyHistogramPrecision() {
+		return delegate.getStatisticsLatencyHistogramPrecision();
+	}
+
+	@Override
+	public long getStatisticsLatencyHistogramMaxValue() {
+		return delegate.getStatisticsLatencyHistogramMaxValue();
+	}
+
+	@Override
+	public int getStatisticsLatencyHistogramQueryMaxSize() {
+		return delegate.getStatisticsLatencyHistogramQueryMaxSize();
+	}
+
+	@Override
+	public boolean isPersistenceContextOpenAddressingMapsEnabled() {
+		return delegate.isPersistenceContextOpenAddressingMapsEnabled();
+	}
+
 	@Override
 	public boolean areJPACallbacksEnabled() {
 		return delegate.areJPACallbacksEnabled();
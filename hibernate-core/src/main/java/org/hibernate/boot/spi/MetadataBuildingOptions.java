@@ -174,4 +174,14 @@ public interface MetadataBuildingOptions {
 	default boolean isXmlMappingEnabled() {
 		return true;
 	}
+
+	/**
+	 * Whether the annotated classes should be loaded, and their reflection data read, in parallel before
+	 * being bound sequentially.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#PARALLEL_ANNOTATED_CLASS_PRELOADING
+	 */
+	default boolean isParallelAnnotatedClassPreloadingEnabled() {
+		return false;
+	}
 }
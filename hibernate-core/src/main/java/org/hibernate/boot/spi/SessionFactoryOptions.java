@@ -18,6 +18,7 @@ import org.hibernate.boot.SchemaAutoTooling;
 import org.hibernate.boot.TempTableDdlTransactionHandling;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.cache.spi.TimestampsCacheFactory;
+import org.hibernate.cache.spi.support.NearCacheDomainDataStorageAccess;
 import org.hibernate.cfg.BaselineSessionEventsListenerBuilder;
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
@@ -169,16 +170,58 @@ public interface SessionFactoryOptions extends QueryEngineOptions {
 
 	boolean isStructuredCacheEntriesEnabled();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#USE_BINARY_CACHE_ENTRIES
+	 */
+	default boolean isBinaryCacheEntriesEnabled() {
+		return false;
+	}
+
 	boolean isDirectReferenceCacheEntriesEnabled();
 
 	boolean isAutoEvictCollectionCache();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_NEAR_CACHE_MAX_ENTRIES
+	 */
+	default int getSecondLevelCacheNearCacheMaxEntries() {
+		return 0;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_NEAR_CACHE_TIME_TO_LIVE
+	 */
+	default long getSecondLevelCacheNearCacheTimeToLive() {
+		return NearCacheDomainDataStorageAccess.DEFAULT_TIME_TO_LIVE;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_LOCAL_TIMESTAMPS_MAX_STALENESS
+	 */
+	default long getQueryCacheLocalTimestampsMaxStaleness() {
+		return 0;
+	}
+
 	SchemaAutoTooling getSchemaAutoTooling();
 
 	int getJdbcBatchSize();
 
 	boolean isJdbcBatchVersionedData();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_IDENTITY_INSERTS
+	 */
+	default boolean isIdentityInsertBatchingEnabled() {
+		return false;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#REWRITE_BATCHED_INSERTS
+	 */
+	default boolean isBatchedInsertRewritingEnabled() {
+		return false;
+	}
+
 	boolean isScrollableResultSetsEnabled();
 
 	boolean isGetGeneratedKeysEnabled();
@@ -260,10 +303,52 @@ public interface SessionFactoryOptions extends QueryEngineOptions {
 		return false;
 	}
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_FETCH_ARRAY_PARAMETER
+	 */
+	default boolean isBatchFetchArrayParameterEnabled() {
+		return false;
+	}
+
 	default int getQueryStatisticsMaxSize() {
 		return Statistics.DEFAULT_QUERY_STATISTICS_MAX_SIZE;
 	}
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#STATISTICS_LATENCY_HISTOGRAMS
+	 */
+	default boolean isStatisticsLatencyHistogramsEnabled() {
+		return false;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#STATISTICS_LATENCY_HISTOGRAM_PRECISION
+	 */
+	default int getStatisticsLatencyHistogramPrecision() {
+		return Statistics.DEFAULT_LATENCY_HISTOGRAM_PRECISION;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#STATISTICS_LATENCY_HISTOGRAM_MAX_VALUE
+	 */
+	default long getStatisticsLatencyHistogramMaxValue() {
+		return Statistics.DEFAULT_LATENCY_HISTOGRAM_MAX_VALUE;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#STATISTICS_LATENCY_HISTOGRAM_QUERY_MAX_SIZE
+	 */
+	default int getStatisticsLatencyHistogramQueryMaxSize() {
+		return Statistics.DEFAULT_LATENCY_HISTOGRAM_QUERY_MAX_SIZE;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#PERSISTENCE_CONTEXT_OPEN_ADDRESSING_MAPS
+	 */
+	default boolean isPersistenceContextOpenAddressingMapsEnabled() {
+		return false;
+	}
+
 	default boolean areJPACallbacksEnabled() {
 		return true;
 	}
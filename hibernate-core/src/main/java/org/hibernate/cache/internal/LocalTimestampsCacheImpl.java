@@ -0,0 +1,165 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.cache.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A TimestampsCache keeping a local mirror of the timestamps region.  The timestamps of the
+ * query spaces are read from the region all at once, then trusted for at most the configured
+ * staleness bound.  Invalidating a space through this cache drops it from the mirror, so local
+ * updates are seen immediately.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_LOCAL_TIMESTAMPS_MAX_STALENESS
+ */
+public class LocalTimestampsCacheImpl extends TimestampsCacheEnabledImpl {
+	private static final Logger log = Logger.getLogger( LocalTimestampsCacheImpl.class );
+
+	private final long maxStaleness;
+	private final Map<String, LocalTimestamp> timestamps = new ConcurrentHashMap<>();
+
+	// incremented by each invalidation, so that a timestamp read concurrently is not kept
+	private final AtomicLong invalidations = new AtomicLong();
+
+	public LocalTimestampsCacheImpl(TimestampsRegion timestampsRegion, long maxStaleness) {
+		super( timestampsRegion );
+		this.maxStaleness = maxStaleness;
+	}
+
+	@Override
+	public void preInvalidate(String[] spaces, SharedSessionContractImplementor session) {
+		invalidateLocally( spaces );
+		super.preInvalidate( spaces, session );
+		invalidateLocally( spaces );
+	}
+
+	@Override
+	public void invalidate(String[] spaces, SharedSessionContractImplementor session) {
+		invalidateLocally( spaces );
+		super.invalidate( spaces, session );
+		invalidateLocally( spaces );
+	}
+
+	private void invalidateLocally(String[] spaces) {
+		invalidations.incrementAndGet();
+		for ( String space : spaces ) {
+			timestamps.remove( space );
+		}
+	}
+
+	@Override
+	public boolean isUpToDate(String[] spaces, Long timestamp, SharedSessionContractImplementor session) {
+		return isUpToDate( Arrays.asList( spaces ), timestamp, session );
+	}
+
+	@Override
+	public boolean isUpToDate(Collection<String> spaces, Long timestamp, SharedSessionContractImplementor session) {
+		final LocalTimestamp[] lastUpdates = getLastUpdateTimestamps( spaces, session );
+		final StatisticsImplementor statistics = session.getFactory().getStatistics();
+
+		int i = 0;
+		for ( String space : spaces ) {
+			final Long lastUpdate = lastUpdates[i++].value;
+			if ( lastUpdate == null ) {
+				// the last update timestamp for the given space was evicted from the
+				// cache or there have been no writes to it since startup
+				if ( statistics.isStatisticsEnabled() ) {
+					statistics.updateTimestampsCacheMiss();
+				}
+			}
+			else {
+				if ( DEBUG_ENABLED ) {
+					log.debugf( "[%s] last update timestamp: %s, result set timestamp: %s", space, lastUpdate, timestamp );
+				}
+				if ( statistics.isStatisticsEnabled() ) {
+					statistics.updateTimestampsCacheHit();
+				}
+				if ( lastUpdate >= timestamp ) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	private LocalTimestamp[] getLastUpdateTimestamps(Collection<String> spaces, SharedSessionContractImplementor session) {
+		final LocalTimestamp[] lastUpdates = new LocalTimestamp[spaces.size()];
+		List<String> missingSpaces = null;
+
+		int i = 0;
+		for ( String space : spaces ) {
+			final LocalTimestamp lastUpdate = timestamps.get( space );
+			if ( lastUpdate != null && !lastUpdate.isExpired( maxStaleness ) ) {
+				lastUpdates[i] = lastUpdate;
+			}
+			else {
+				if ( missingSpaces == null ) {
+					missingSpaces = new ArrayList<>( spaces.size() );
+				}
+				missingSpaces.add( space );
+			}
+			i++;
+		}
+		if ( missingSpaces == null ) {
+			return lastUpdates;
+		}
+
+		final long invalidationsBeforeRead = invalidations.get();
+		Map<Object, Object> values = null;
+		try {
+			session.getEventListenerManager().cacheGetStart();
+			values = getRegion().getFromCache( missingSpaces, session );
+		}
+		finally {
+			session.getEventListenerManager().cacheGetEnd( values != null && !values.isEmpty() );
+		}
+
+		i = 0;
+		for ( String space : spaces ) {
+			if ( lastUpdates[i] == null ) {
+				final LocalTimestamp lastUpdate = new LocalTimestamp( (Long) values.get( space ) );
+				lastUpdates[i] = lastUpdate;
+				timestamps.put( space, lastUpdate );
+			}
+			i++;
+		}
+		if ( invalidations.get() != invalidationsBeforeRead ) {
+			// some timestamps may have been changed while they were being read
+			for ( String space : missingSpaces ) {
+				timestamps.remove( space );
+			}
+		}
+		return lastUpdates;
+	}
+
+	private static final class LocalTimestamp {
+		private final Long value;
+		private final long readTime;
+
+		private LocalTimestamp(Long value) {
+			this.value = value;
+			this.readTime = System.currentTimeMillis();
+		}
+
+		private boolean isExpired(long maxStaleness) {
+			return System.currentTimeMillis() - readTime > maxStaleness;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.cache.internal;
+
+import java.util.Map;
+
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+/**
+ * A RegionFactory keeping the cached data of each region in direct memory, outside of the Java heap,
+ * so that large caches add no garbage collection pressure.
+ * <p>
+ * The data is kept in the memory of the JVM, so this RegionFactory is suited to a single node,
+ * or to data which is never changed.
+ *
+ * @see OffHeapStorageAccess
+ * @see AvailableSettings#CACHE_OFF_HEAP_REGION_MAX_SIZE
+ */
+public class OffHeapRegionFactory extends RegionFactoryTemplate {
+	/**
+	 * The default maximum size of a region, 64 MB
+	 */
+	public static final int DEFAULT_REGION_MAX_SIZE = 64 * 1024 * 1024;
+
+	private final CacheKeysFactory cacheKeysFactory;
+
+	private volatile long regionMaxSize;
+
+	public OffHeapRegionFactory() {
+		this( DefaultCacheKeysFactory.INSTANCE );
+	}
+
+	public OffHeapRegionFactory(CacheKeysFactory cacheKeysFactory) {
+		this.cacheKeysFactory = cacheKeysFactory;
+	}
+
+	@Override
+	protected CacheKeysFactory getImplicitCacheKeysFactory() {
+		return cacheKeysFactory;
+	}
+
+	@Override
+	protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+		this.regionMaxSize = ConfigurationHelper.getLong(
+				AvailableSettings.CACHE_OFF_HEAP_REGION_MAX_SIZE,
+				configValues,
+				DEFAULT_REGION_MAX_SIZE
+		);
+	}
+
+	@Override
+	protected DomainDataStorageAccess createDomainDataStorageAccess(
+			DomainDataRegionConfig regionConfig,
+			DomainDataRegionBuildingContext buildingContext) {
+		return createStorageAccess( buildingContext.getSessionFactory() );
+	}
+
+	@Override
+	protected StorageAccess createQueryResultsRegionStorageAccess(
+			String regionName,
+			SessionFactoryImplementor sessionFactory) {
+		return createStorageAccess( sessionFactory );
+	}
+
+	@Override
+	protected StorageAccess createTimestampsRegionStorageAccess(
+			String regionName,
+			SessionFactoryImplementor sessionFactory) {
+		return createStorageAccess( sessionFactory );
+	}
+
+	private OffHeapStorageAccess createStorageAccess(SessionFactoryImplementor sessionFactory) {
+		verifyStarted();
+		final ClassLoader classLoader = sessionFactory.getServiceRegistry()
+				.getService( ClassLoaderService.class )
+				.workWithClassLoader( aggregatedClassLoader -> aggregatedClassLoader );
+		return new OffHeapStorageAccess( regionMaxSize, classLoader );
+	}
+
+	@Override
+	protected void releaseFromUse() {
+	}
+}
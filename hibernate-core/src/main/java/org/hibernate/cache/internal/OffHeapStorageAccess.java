@@ -0,0 +1,324 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.cache.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.type.SerializationException;
+
+import org.jboss.logging.Logger;
+
+/**
+ * StorageAccess keeping the cached values serialized in direct memory, outside of the Java heap.
+ * <p>
+ * The data is split in segments, each guarded by its own lock and holding at most its share of the
+ * configured size.  A segment stores the values in fixed-size blocks of direct {@link ByteBuffer}s,
+ * allocated a chunk at a time as the segment fills up; a value spanning several blocks is chained
+ * through a pointer at the head of each block.  When a segment is full, its least recently used
+ * values are evicted.
+ * <p>
+ * Only the keys and a small index entry per value live on the heap.  Values which are not
+ * {@link Serializable} are not cached.
+ *
+ * @see OffHeapRegionFactory
+ */
+public class OffHeapStorageAccess implements DomainDataStorageAccess {
+	private static final Logger log = Logger.getLogger( OffHeapStorageAccess.class );
+
+	private static final int SEGMENTS = 16;
+
+	private static final int BLOCK_SIZE = 128;
+	private static final int BLOCK_HEADER_SIZE = Integer.BYTES;
+	private static final int BLOCK_PAYLOAD_SIZE = BLOCK_SIZE - BLOCK_HEADER_SIZE;
+	private static final int MAX_BLOCKS_PER_CHUNK = 8192;
+	private static final int NO_BLOCK = -1;
+
+	private static final byte BYTES = 0;
+	private static final byte LONG = 1;
+	private static final byte SERIALIZED = 2;
+
+	private final ClassLoader classLoader;
+	private final Segment[] segments;
+
+	/**
+	 * @param maxSize The maximum number of bytes of direct memory used
+	 * @param classLoader The class loader resolving the classes of the deserialized values
+	 */
+	public OffHeapStorageAccess(long maxSize, ClassLoader classLoader) {
+		this.classLoader = classLoader;
+		final long segmentMaxBlocks = Math.max( 1L, maxSize / SEGMENTS / BLOCK_SIZE );
+		this.segments = new Segment[SEGMENTS];
+		for ( int i = 0; i < SEGMENTS; i++ ) {
+			segments[i] = new Segment( (int) Math.min( segmentMaxBlocks, Integer.MAX_VALUE ) );
+		}
+	}
+
+	/**
+	 * The number of values currently cached
+	 */
+	public long getElementCount() {
+		long count = 0;
+		for ( Segment segment : segments ) {
+			count += segment.size();
+		}
+		return count;
+	}
+
+	/**
+	 * The number of bytes of direct memory currently allocated
+	 */
+	public long getSizeInMemory() {
+		long size = 0;
+		for ( Segment segment : segments ) {
+			size += segment.allocatedSize();
+		}
+		return size;
+	}
+
+	@Override
+	public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+		final byte[] bytes = segmentFor( key ).get( key );
+		return bytes == null ? null : decode( bytes );
+	}
+
+	@Override
+	public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+		final byte[] bytes = encode( value );
+		if ( bytes == null ) {
+			segmentFor( key ).remove( key );
+		}
+		else {
+			segmentFor( key ).put( key, bytes );
+		}
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return segmentFor( key ).contains( key );
+	}
+
+	@Override
+	public void evictData() {
+		for ( Segment segment : segments ) {
+			segment.clear();
+		}
+	}
+
+	@Override
+	public void evictData(Object key) {
+		segmentFor( key ).remove( key );
+	}
+
+	@Override
+	public void release() {
+		evictData();
+	}
+
+	private Segment segmentFor(Object key) {
+		final int hash = key.hashCode();
+		return segments[( hash ^ ( hash >>> 16 ) ) & ( SEGMENTS - 1 )];
+	}
+
+	private static byte[] encode(Object value) {
+		if ( value instanceof byte[] ) {
+			final byte[] data = (byte[]) value;
+			final byte[] bytes = new byte[data.length + 1];
+			bytes[0] = BYTES;
+			System.arraycopy( data, 0, bytes, 1, data.length );
+			return bytes;
+		}
+		else if ( value instanceof Long ) {
+			return ByteBuffer.allocate( Long.BYTES + 1 ).put( LONG ).putLong( (Long) value ).array();
+		}
+		else if ( value instanceof Serializable ) {
+			final ByteArrayOutputStream output = new ByteArrayOutputStream( 256 );
+			output.write( SERIALIZED );
+			try {
+				SerializationHelper.serialize( (Serializable) value, output );
+			}
+			catch (SerializationException e) {
+				log.debugf( e, "Unable to serialize value of type [%s], not caching it", value.getClass().getName() );
+				return null;
+			}
+			return output.toByteArray();
+		}
+		else {
+			log.debugf( "Value of type [%s] is not serializable, not caching it", value.getClass().getName() );
+			return null;
+		}
+	}
+
+	private Object decode(byte[] bytes) {
+		switch ( bytes[0] ) {
+			case BYTES:
+				return Arrays.copyOfRange( bytes, 1, bytes.length );
+			case LONG:
+				return ByteBuffer.wrap( bytes, 1, Long.BYTES ).getLong();
+			default:
+				return SerializationHelper.deserialize(
+						new ByteArrayInputStream( bytes, 1, bytes.length - 1 ),
+						classLoader
+				);
+		}
+	}
+
+	private static int blockCount(int length) {
+		return Math.max( 1, ( length + BLOCK_PAYLOAD_SIZE - 1 ) / BLOCK_PAYLOAD_SIZE );
+	}
+
+	private static final class Slot {
+		private final int firstBlock;
+		private final int length;
+
+		private Slot(int firstBlock, int length) {
+			this.firstBlock = firstBlock;
+			this.length = length;
+		}
+	}
+
+	private static final class Segment {
+		private final int blocksPerChunk;
+		private final int maxBlocks;
+
+		// access ordered, so that the eldest entry is the least recently used
+		private final LinkedHashMap<Object, Slot> index = new LinkedHashMap<>( 16, 0.75f, true );
+
+		private ByteBuffer[] chunks = new ByteBuffer[0];
+		private int freeHead = NO_BLOCK;
+		private int freeBlocks;
+
+		private Segment(int maxBlocks) {
+			this.blocksPerChunk = Math.min( MAX_BLOCKS_PER_CHUNK, maxBlocks );
+			this.maxBlocks = maxBlocks - maxBlocks % blocksPerChunk;
+		}
+
+		private synchronized int size() {
+			return index.size();
+		}
+
+		private synchronized long allocatedSize() {
+			return (long) chunks.length * blocksPerChunk * BLOCK_SIZE;
+		}
+
+		private synchronized boolean contains(Object key) {
+			return index.containsKey( key );
+		}
+
+		private synchronized byte[] get(Object key) {
+			final Slot slot = index.get( key );
+			if ( slot == null ) {
+				return null;
+			}
+
+			final byte[] bytes = new byte[slot.length];
+			int block = slot.firstBlock;
+			for ( int offset = 0; offset < bytes.length; offset += BLOCK_PAYLOAD_SIZE ) {
+				final ByteBuffer chunk = chunks[block / blocksPerChunk];
+				final int position = ( block % blocksPerChunk ) * BLOCK_SIZE;
+				chunk.position( position + BLOCK_HEADER_SIZE );
+				chunk.get( bytes, offset, Math.min( BLOCK_PAYLOAD_SIZE, bytes.length - offset ) );
+				block = chunk.getInt( position );
+			}
+			return bytes;
+		}
+
+		private synchronized void put(Object key, byte[] bytes) {
+			final Slot previous = index.remove( key );
+			if ( previous != null ) {
+				free( previous );
+			}
+
+			final int blockCount = blockCount( bytes.length );
+			if ( blockCount > maxBlocks ) {
+				// would never fit
+				return;
+			}
+			while ( freeBlocks < blockCount ) {
+				if ( chunks.length * blocksPerChunk < maxBlocks ) {
+					allocateChunk();
+				}
+				else {
+					evictEldest();
+				}
+			}
+
+			final int firstBlock = freeHead;
+			int block = firstBlock;
+			for ( int i = 0; i < blockCount; i++ ) {
+				final ByteBuffer chunk = chunks[block / blocksPerChunk];
+				final int position = ( block % blocksPerChunk ) * BLOCK_SIZE;
+				final int offset = i * BLOCK_PAYLOAD_SIZE;
+				chunk.position( position + BLOCK_HEADER_SIZE );
+				chunk.put( bytes, offset, Math.min( BLOCK_PAYLOAD_SIZE, bytes.length - offset ) );
+				final int next = chunk.getInt( position );
+				if ( i == blockCount - 1 ) {
+					chunk.putInt( position, NO_BLOCK );
+					freeHead = next;
+				}
+				block = next;
+			}
+			freeBlocks -= blockCount;
+			index.put( key, new Slot( firstBlock, bytes.length ) );
+		}
+
+		private synchronized void remove(Object key) {
+			final Slot slot = index.remove( key );
+			if ( slot != null ) {
+				free( slot );
+			}
+		}
+
+		private synchronized void clear() {
+			// the direct buffers are released along with the index
+			index.clear();
+			chunks = new ByteBuffer[0];
+			freeHead = NO_BLOCK;
+			freeBlocks = 0;
+		}
+
+		private void evictEldest() {
+			final Iterator<Map.Entry<Object, Slot>> entries = index.entrySet().iterator();
+			final Slot eldest = entries.next().getValue();
+			entries.remove();
+			free( eldest );
+		}
+
+		private void free(Slot slot) {
+			final int blockCount = blockCount( slot.length );
+			int lastBlock = slot.firstBlock;
+			for ( int i = 1; i < blockCount; i++ ) {
+				lastBlock = chunks[lastBlock / blocksPerChunk].getInt( ( lastBlock % blocksPerChunk ) * BLOCK_SIZE );
+			}
+			chunks[lastBlock / blocksPerChunk].putInt( ( lastBlock % blocksPerChunk ) * BLOCK_SIZE, freeHead );
+			freeHead = slot.firstBlock;
+			freeBlocks += blockCount;
+		}
+
+		private void allocateChunk() {
+			final int firstBlock = chunks.length * blocksPerChunk;
+			final ByteBuffer chunk = ByteBuffer.allocateDirect( blocksPerChunk * BLOCK_SIZE );
+			for ( int i = 0; i < blocksPerChunk - 1; i++ ) {
+				chunk.putInt( i * BLOCK_SIZE, firstBlock + i + 1 );
+			}
+			chunk.putInt( ( blocksPerChunk - 1 ) * BLOCK_SIZE, freeHead );
+			chunks = Arrays.copyOf( chunks, chunks.length + 1 );
+			chunks[chunks.length - 1] = chunk;
+			freeHead = firstBlock;
+			freeBlocks += blocksPerChunk;
+		}
+	}
+}
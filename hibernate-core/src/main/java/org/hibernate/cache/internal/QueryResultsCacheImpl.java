@@ -18,6 +18,7 @@ import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.SecondLevelCacheLogger;
 import org.hibernate.cache.spi.TimestampsCache;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.sql.results.caching.CachedQueryResults;
 
 import static org.hibernate.cache.spi.SecondLevelCacheLogger.DEBUG_ENABLED;
 import static org.hibernate.cache.spi.SecondLevelCacheLogger.L2CACHE_LOGGER;
@@ -72,7 +73,11 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 		return true;
 	}
 
-	private static <T> List<T> deepCopy(List<T> results) {
+	private static List<?> deepCopy(List<?> results) {
+		if ( results instanceof CachedQueryResults ) {
+			// immutable, so it is safely shared between the cache and its readers
+			return results;
+		}
 		return new ArrayList<>( results );
 	}
 
@@ -0,0 +1,323 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.cache.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.CacheMode;
+import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Loads the data of the configured entities and collections into the second-level cache
+ * once the {@code SessionFactory} is created.
+ * <p>
+ * The identifiers of the entities, or of the owners of the collections, are read with a
+ * forward-only scrollable query.  The entities are then loaded in batches, by multi-load in
+ * {@link CacheMode#PUT}.  The collections are fetched together with their owners, by a single
+ * query per batch of owners.
+ * <p>
+ * All the sessions belong to the tenant the {@link CurrentTenantIdentifierResolver} returns
+ * when the warm-up starts, since the threads loading the batches might resolve another one.
+ *
+ * @see AvailableSettings#CACHE_WARM_UP
+ */
+public class SecondLevelCacheWarmUp implements SessionFactoryObserver {
+	private static final Logger log = Logger.getLogger( SecondLevelCacheWarmUp.class );
+
+	private final String[] names;
+	private final int batchSize;
+	private final int threads;
+	private final boolean async;
+
+	private volatile ExecutorService backgroundExecutor;
+
+	public SecondLevelCacheWarmUp(String[] names, int batchSize, int threads, boolean async) {
+		this.names = names;
+		this.batchSize = batchSize;
+		this.threads = threads;
+		this.async = async;
+	}
+
+	/**
+	 * Builds the warm-up configured by the given settings, or {@code null} if none is configured.
+	 */
+	public static SecondLevelCacheWarmUp fromSettings(Map<String, Object> settings) {
+		final List<String> names = new ArrayList<>();
+		for ( String name : StringHelper.split( ",", ConfigurationHelper.getString( AvailableSettings.CACHE_WARM_UP, settings, "" ) ) ) {
+			if ( !name.isBlank() ) {
+				names.add( name.trim() );
+			}
+		}
+		if ( names.isEmpty() ) {
+			return null;
+		}
+		return new SecondLevelCacheWarmUp(
+				names.toArray( new String[0] ),
+				Math.max( 1, ConfigurationHelper.getInt( AvailableSettings.CACHE_WARM_UP_BATCH_SIZE, settings, 100 ) ),
+				Math.max( 1, ConfigurationHelper.getInt( AvailableSettings.CACHE_WARM_UP_THREADS, settings, 1 ) ),
+				ConfigurationHelper.getBoolean( AvailableSettings.CACHE_WARM_UP_ASYNC, settings, false )
+		);
+	}
+
+	@Override
+	public void sessionFactoryCreated(SessionFactory factory) {
+		final SessionFactoryImplementor sessionFactory = (SessionFactoryImplementor) factory;
+		if ( !sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled() ) {
+			return;
+		}
+
+		final String tenantIdentifier;
+		if ( sessionFactory.getSessionFactoryOptions().isMultiTenancyEnabled() ) {
+			final CurrentTenantIdentifierResolver resolver = sessionFactory.getCurrentTenantIdentifierResolver();
+			tenantIdentifier = resolver == null ? null : resolver.resolveCurrentTenantIdentifier();
+			if ( tenantIdentifier == null ) {
+				log.warn( "The second-level cache is not warmed up, since no tenant identifier could be resolved" );
+				return;
+			}
+		}
+		else {
+			tenantIdentifier = null;
+		}
+
+		if ( async ) {
+			backgroundExecutor = Executors.newSingleThreadExecutor( new WarmUpThreadFactory() );
+			backgroundExecutor.execute( () -> warmUpAll( sessionFactory, tenantIdentifier ) );
+			// the thread ends once the warm-up is done
+			backgroundExecutor.shutdown();
+		}
+		else {
+			warmUpAll( sessionFactory, tenantIdentifier );
+		}
+	}
+
+	@Override
+	public void sessionFactoryClosing(SessionFactory factory) {
+		if ( backgroundExecutor != null ) {
+			backgroundExecutor.shutdownNow();
+		}
+	}
+
+	private void warmUpAll(SessionFactoryImplementor sessionFactory, String tenantIdentifier) {
+		final long startTime = System.nanoTime();
+		final ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool( threads ) : null;
+		try {
+			for ( String name : names ) {
+				if ( isStopped( sessionFactory ) ) {
+					return;
+				}
+				try {
+					warmUp( sessionFactory, name, tenantIdentifier, executor );
+				}
+				catch (RuntimeException e) {
+					if ( isStopped( sessionFactory ) ) {
+						return;
+					}
+					log.warnf( e, "Unable to warm up the second-level cache for [%s]", name );
+					if ( sessionFactory.getStatistics().isStatisticsEnabled() ) {
+						sessionFactory.getStatistics().secondLevelCacheWarmUpFailed();
+					}
+				}
+			}
+			if ( sessionFactory.getStatistics().isStatisticsEnabled() ) {
+				sessionFactory.getStatistics().secondLevelCacheWarmUpCompleted(
+						TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - startTime )
+				);
+			}
+		}
+		finally {
+			if ( executor != null ) {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	private static boolean isStopped(SessionFactoryImplementor sessionFactory) {
+		return sessionFactory.isClosed() || Thread.currentThread().isInterrupted();
+	}
+
+	private void warmUp(
+			SessionFactoryImplementor sessionFactory,
+			String name,
+			String tenantIdentifier,
+			ExecutorService executor) {
+		final MappingMetamodel mappingMetamodel = sessionFactory.getRuntimeMetamodels().getMappingMetamodel();
+
+		final EntityPersister entityDescriptor;
+		final String collectionPath;
+		final CollectionPersister collectionDescriptor = mappingMetamodel.findCollectionDescriptor( name );
+		if ( collectionDescriptor != null ) {
+			if ( !collectionDescriptor.hasCache() ) {
+				log.warnf( "Collection [%s] is not cached, and is not warmed up", name );
+				return;
+			}
+			entityDescriptor = collectionDescriptor.getOwnerEntityPersister();
+			collectionPath = collectionDescriptor.getRole().substring( entityDescriptor.getEntityName().length() + 1 );
+		}
+		else {
+			final String importedName = mappingMetamodel.getImportedName( name );
+			entityDescriptor = mappingMetamodel.findEntityDescriptor( importedName == null ? name : importedName );
+			if ( entityDescriptor == null ) {
+				log.warnf( "[%s] is neither an entity nor a collection, and is not warmed up", name );
+				return;
+			}
+			if ( !entityDescriptor.canWriteToCache() ) {
+				log.warnf( "Entity [%s] is not cached, and is not warmed up", name );
+				return;
+			}
+			collectionPath = null;
+		}
+
+		log.debugf( "Warming up the second-level cache for [%s]", name );
+		final Deque<Future<?>> pendingBatches = new ArrayDeque<>();
+		try ( StatelessSession session = sessionFactory.withStatelessOptions()
+				.tenantIdentifier( tenantIdentifier )
+				.openStatelessSession() ) {
+			final ScrollableResults<Object> ids = session.createQuery(
+					"select id(e) from " + entityDescriptor.getEntityName() + " e",
+					Object.class
+			)
+					.setFetchSize( batchSize )
+					.scroll( ScrollMode.FORWARD_ONLY );
+			try {
+				List<Object> batch = new ArrayList<>( batchSize );
+				while ( ids.next() && !isStopped( sessionFactory ) ) {
+					batch.add( ids.get() );
+					if ( batch.size() == batchSize ) {
+						load( sessionFactory, tenantIdentifier, entityDescriptor, collectionPath, batch, executor, pendingBatches );
+						batch = new ArrayList<>( batchSize );
+					}
+				}
+				if ( !batch.isEmpty() && !isStopped( sessionFactory ) ) {
+					load( sessionFactory, tenantIdentifier, entityDescriptor, collectionPath, batch, executor, pendingBatches );
+				}
+			}
+			finally {
+				ids.close();
+			}
+			while ( !pendingBatches.isEmpty() ) {
+				await( pendingBatches.removeFirst() );
+			}
+		}
+		finally {
+			for ( Future<?> pendingBatch : pendingBatches ) {
+				pendingBatch.cancel( true );
+			}
+		}
+	}
+
+	private void load(
+			SessionFactoryImplementor sessionFactory,
+			String tenantIdentifier,
+			EntityPersister entityDescriptor,
+			String collectionPath,
+			List<Object> ids,
+			ExecutorService executor,
+			Deque<Future<?>> pendingBatches) {
+		if ( executor == null ) {
+			loadBatch( sessionFactory, tenantIdentifier, entityDescriptor, collectionPath, ids );
+		}
+		else {
+			// throttles the reading of the identifiers, so that at most one batch per thread waits to be loaded
+			if ( pendingBatches.size() >= threads * 2 ) {
+				await( pendingBatches.removeFirst() );
+			}
+			pendingBatches.addLast(
+					executor.submit( () -> loadBatch( sessionFactory, tenantIdentifier, entityDescriptor, collectionPath, ids ) )
+			);
+		}
+	}
+
+	private static void loadBatch(
+			SessionFactoryImplementor sessionFactory,
+			String tenantIdentifier,
+			EntityPersister entityDescriptor,
+			String collectionPath,
+			List<Object> ids) {
+		int count = 0;
+		try ( Session session = sessionFactory.withOptions().tenantIdentifier( tenantIdentifier ).openSession() ) {
+			session.setCacheMode( CacheMode.PUT );
+			final List<?> entities;
+			if ( collectionPath == null ) {
+				entities = session.byMultipleIds( entityDescriptor.getEntityName() )
+						.with( CacheMode.PUT )
+						.withBatchSize( ids.size() )
+						.multiLoad( ids );
+			}
+			else {
+				// fetches the collections of the whole batch of owners with a single query
+				entities = session.createQuery(
+						"select e from " + entityDescriptor.getEntityName() + " e"
+								+ " left join fetch e." + collectionPath
+								+ " where id(e) in (:ids)",
+						Object.class
+				)
+						.setParameterList( "ids", ids )
+						.list();
+			}
+			for ( Object entity : entities ) {
+				if ( entity != null ) {
+					count++;
+				}
+			}
+		}
+		if ( sessionFactory.getStatistics().isStatisticsEnabled() ) {
+			sessionFactory.getStatistics().secondLevelCacheWarmedUp( count );
+		}
+	}
+
+	private static void await(Future<?> batch) {
+		try {
+			batch.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while warming up the second-level cache", e );
+		}
+		catch (ExecutionException e) {
+			if ( e.getCause() instanceof RuntimeException ) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new HibernateException( "Unable to warm up the second-level cache", e.getCause() );
+		}
+	}
+
+	private static class WarmUpThreadFactory implements ThreadFactory {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable );
+			thread.setDaemon( true );
+			thread.setName( "Hibernate Second-Level Cache Warm-Up Thread" );
+			return thread;
+		}
+	}
+}
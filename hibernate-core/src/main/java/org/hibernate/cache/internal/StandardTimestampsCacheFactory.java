@@ -25,6 +25,12 @@ public class StandardTimestampsCacheFactory implements TimestampsCacheFactory {
 	public TimestampsCache buildTimestampsCache(
 			CacheImplementor cacheManager,
 			TimestampsRegion timestampsRegion) {
+		final long maxStaleness = cacheManager.getSessionFactory()
+				.getSessionFactoryOptions()
+				.getQueryCacheLocalTimestampsMaxStaleness();
+		if ( maxStaleness > 0 ) {
+			return new LocalTimestampsCacheImpl( timestampsRegion, maxStaleness );
+		}
 		return new TimestampsCacheEnabledImpl( timestampsRegion );
 	}
 }
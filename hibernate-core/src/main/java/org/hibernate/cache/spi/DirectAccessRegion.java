@@ -6,6 +6,10 @@
  */
 package org.hibernate.cache.spi;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 
 /**
@@ -22,6 +26,25 @@ public interface DirectAccessRegion extends Region {
 	 */
 	Object getFromCache(Object key, SharedSessionContractImplementor session);
 
+	/**
+	 * Get the values of the given keys, in as few calls to the
+	 * caching provider as it allows
+	 *
+	 * @return The values found, by key.  Keys without value are absent.
+	 *
+	 * @implNote the method default is to call {@link #getFromCache} for each key
+	 */
+	default Map<Object, Object> getFromCache(Collection<?> keys, SharedSessionContractImplementor session) {
+		final Map<Object, Object> values = new HashMap<>( keys.size() * 2 );
+		for ( Object key : keys ) {
+			final Object value = getFromCache( key, session );
+			if ( value != null ) {
+				values.put( key, value );
+			}
+		}
+		return values;
+	}
+
 	/**
 	 * Put a value by key
 	 */
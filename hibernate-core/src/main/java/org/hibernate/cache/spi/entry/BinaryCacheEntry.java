@@ -0,0 +1,503 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.property.access.internal.PropertyAccessStrategyBackRefImpl;
+
+/**
+ * Binary CacheEntry format for entities.  Used to store the entry into the second-level cache
+ * as a compact {@code byte[]}, rather than as a graph of individually serialized values.
+ * <p>
+ * Each value is written as a one byte tag followed by a fixed size or variable length encoding
+ * of the common basic values, embeddable state being written recursively.  Enum values are
+ * written by name, the name of their enum class only being written the first time the class
+ * occurs in the entry.  Other values are written using Java serialization.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#USE_BINARY_CACHE_ENTRIES
+ */
+public class BinaryCacheEntry implements CacheEntryStructure {
+	private static final byte NULL = 0;
+	private static final byte UNFETCHED = 1;
+	private static final byte UNKNOWN = 2;
+	private static final byte TRUE = 3;
+	private static final byte FALSE = 4;
+	private static final byte INTEGER = 5;
+	private static final byte LONG = 6;
+	private static final byte SHORT = 7;
+	private static final byte BYTE = 8;
+	private static final byte CHARACTER = 9;
+	private static final byte FLOAT = 10;
+	private static final byte DOUBLE = 11;
+	private static final byte STRING = 12;
+	private static final byte BIG_DECIMAL = 13;
+	private static final byte BIG_INTEGER = 14;
+	private static final byte BYTES = 15;
+	private static final byte UUID_VALUE = 16;
+	private static final byte LOCAL_DATE = 17;
+	private static final byte LOCAL_TIME = 18;
+	private static final byte LOCAL_DATE_TIME = 19;
+	private static final byte INSTANT = 20;
+	private static final byte DATE = 21;
+	private static final byte SQL_DATE = 22;
+	private static final byte SQL_TIME = 23;
+	private static final byte SQL_TIMESTAMP = 24;
+	private static final byte ENUM = 25;
+	private static final byte ENUM_REFERENCE = 26;
+	private static final byte ARRAY = 27;
+	private static final byte SERIALIZED = 28;
+
+	private final EntityPersister persister;
+	private final Map<String, Class<?>> enumClasses = new ConcurrentHashMap<>();
+	private volatile ClassLoader classLoader;
+
+	/**
+	 * Constructs a BinaryCacheEntry strategy
+	 *
+	 * @param persister The persister whose data needs to be structured.
+	 */
+	public BinaryCacheEntry(EntityPersister persister) {
+		this.persister = persister;
+	}
+
+	@Override
+	public Object structure(Object item) {
+		final CacheEntry entry = (CacheEntry) item;
+		final Serializable[] state = entry.getDisassembledState();
+		final Output output = new Output( 16 + state.length * 8 );
+
+		// the subclass is only written when it differs from the root entity, which all the persisters
+		// of the hierarchy, sharing the region, agree on
+		if ( persister.getRootEntityName().equals( entry.getSubclass() ) ) {
+			output.writeByte( NULL );
+		}
+		else {
+			writeValue( entry.getSubclass(), output );
+		}
+		writeValue( entry.getVersion(), output );
+		output.writeVarInt( state.length );
+		for ( Serializable value : state ) {
+			writeValue( value, output );
+		}
+		return output.toByteArray();
+	}
+
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		final Input input = new Input( (byte[]) structured );
+
+		final String subclass = (String) readValue( input, factory );
+		final Object version = readValue( input, factory );
+		final Serializable[] state = new Serializable[input.readVarInt()];
+		for ( int i = 0; i < state.length; i++ ) {
+			state[i] = (Serializable) readValue( input, factory );
+		}
+		return new StandardCacheEntryImpl(
+				state,
+				subclass == null ? persister.getRootEntityName() : subclass,
+				version
+		);
+	}
+
+	private static void writeValue(Object value, Output output) {
+		if ( value == null ) {
+			output.writeByte( NULL );
+		}
+		else if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+			output.writeByte( UNFETCHED );
+		}
+		else if ( value == PropertyAccessStrategyBackRefImpl.UNKNOWN ) {
+			output.writeByte( UNKNOWN );
+		}
+		else {
+			// exact classes only, so that subclasses such as java.sql.Timestamp keep their type
+			final Class<?> valueClass = value.getClass();
+			if ( valueClass == Boolean.class ) {
+				output.writeByte( (Boolean) value ? TRUE : FALSE );
+			}
+			else if ( valueClass == Integer.class ) {
+				output.writeByte( INTEGER );
+				output.writeVarLong( (Integer) value );
+			}
+			else if ( valueClass == Long.class ) {
+				output.writeByte( LONG );
+				output.writeVarLong( (Long) value );
+			}
+			else if ( valueClass == Short.class ) {
+				output.writeByte( SHORT );
+				output.writeVarLong( (Short) value );
+			}
+			else if ( valueClass == Byte.class ) {
+				output.writeByte( BYTE );
+				output.writeByte( (Byte) value );
+			}
+			else if ( valueClass == Character.class ) {
+				output.writeByte( CHARACTER );
+				output.writeVarInt( (Character) value );
+			}
+			else if ( valueClass == Float.class ) {
+				output.writeByte( FLOAT );
+				output.writeFixedInt( Float.floatToRawIntBits( (Float) value ) );
+			}
+			else if ( valueClass == Double.class ) {
+				output.writeByte( DOUBLE );
+				output.writeFixedLong( Double.doubleToRawLongBits( (Double) value ) );
+			}
+			else if ( valueClass == String.class ) {
+				output.writeByte( STRING );
+				output.writeString( (String) value );
+			}
+			else if ( valueClass == BigDecimal.class ) {
+				final BigDecimal bigDecimal = (BigDecimal) value;
+				output.writeByte( BIG_DECIMAL );
+				output.writeVarLong( bigDecimal.scale() );
+				output.writeBytes( bigDecimal.unscaledValue().toByteArray() );
+			}
+			else if ( valueClass == BigInteger.class ) {
+				output.writeByte( BIG_INTEGER );
+				output.writeBytes( ( (BigInteger) value ).toByteArray() );
+			}
+			else if ( valueClass == byte[].class ) {
+				output.writeByte( BYTES );
+				output.writeBytes( (byte[]) value );
+			}
+			else if ( valueClass == UUID.class ) {
+				final UUID uuid = (UUID) value;
+				output.writeByte( UUID_VALUE );
+				output.writeFixedLong( uuid.getMostSignificantBits() );
+				output.writeFixedLong( uuid.getLeastSignificantBits() );
+			}
+			else if ( valueClass == LocalDate.class ) {
+				output.writeByte( LOCAL_DATE );
+				output.writeVarLong( ( (LocalDate) value ).toEpochDay() );
+			}
+			else if ( valueClass == LocalTime.class ) {
+				output.writeByte( LOCAL_TIME );
+				output.writeVarLong( ( (LocalTime) value ).toNanoOfDay() );
+			}
+			else if ( valueClass == LocalDateTime.class ) {
+				final LocalDateTime localDateTime = (LocalDateTime) value;
+				output.writeByte( LOCAL_DATE_TIME );
+				output.writeVarLong( localDateTime.toLocalDate().toEpochDay() );
+				output.writeVarLong( localDateTime.toLocalTime().toNanoOfDay() );
+			}
+			else if ( valueClass == Instant.class ) {
+				final Instant instant = (Instant) value;
+				output.writeByte( INSTANT );
+				output.writeVarLong( instant.getEpochSecond() );
+				output.writeVarLong( instant.getNano() );
+			}
+			else if ( valueClass == Date.class ) {
+				output.writeByte( DATE );
+				output.writeVarLong( ( (Date) value ).getTime() );
+			}
+			else if ( valueClass == java.sql.Date.class ) {
+				output.writeByte( SQL_DATE );
+				output.writeVarLong( ( (java.sql.Date) value ).getTime() );
+			}
+			else if ( valueClass == java.sql.Time.class ) {
+				output.writeByte( SQL_TIME );
+				output.writeVarLong( ( (java.sql.Time) value ).getTime() );
+			}
+			else if ( valueClass == java.sql.Timestamp.class ) {
+				final java.sql.Timestamp timestamp = (java.sql.Timestamp) value;
+				output.writeByte( SQL_TIMESTAMP );
+				output.writeVarLong( timestamp.getTime() );
+				output.writeVarLong( timestamp.getNanos() );
+			}
+			else if ( value instanceof Enum ) {
+				final Enum<?> enumValue = (Enum<?>) value;
+				final int index = output.enumClasses.indexOf( enumValue.getDeclaringClass() );
+				if ( index < 0 ) {
+					output.enumClasses.add( enumValue.getDeclaringClass() );
+					output.writeByte( ENUM );
+					output.writeString( enumValue.getDeclaringClass().getName() );
+				}
+				else {
+					output.writeByte( ENUM_REFERENCE );
+					output.writeVarInt( index );
+				}
+				output.writeString( enumValue.name() );
+			}
+			else if ( valueClass == Object[].class ) {
+				// the disassembled state of an embeddable
+				final Object[] values = (Object[]) value;
+				output.writeByte( ARRAY );
+				output.writeVarInt( values.length );
+				for ( Object element : values ) {
+					writeValue( element, output );
+				}
+			}
+			else {
+				output.writeByte( SERIALIZED );
+				output.writeBytes( SerializationHelper.serialize( (Serializable) value ) );
+			}
+		}
+	}
+
+	private Object readValue(Input input, SessionFactoryImplementor factory) {
+		final byte tag = input.readByte();
+		switch ( tag ) {
+			case NULL:
+				return null;
+			case UNFETCHED:
+				return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			case UNKNOWN:
+				return PropertyAccessStrategyBackRefImpl.UNKNOWN;
+			case TRUE:
+				return Boolean.TRUE;
+			case FALSE:
+				return Boolean.FALSE;
+			case INTEGER:
+				return (int) input.readVarLong();
+			case LONG:
+				return input.readVarLong();
+			case SHORT:
+				return (short) input.readVarLong();
+			case BYTE:
+				return input.readByte();
+			case CHARACTER:
+				return (char) input.readVarInt();
+			case FLOAT:
+				return Float.intBitsToFloat( input.readFixedInt() );
+			case DOUBLE:
+				return Double.longBitsToDouble( input.readFixedLong() );
+			case STRING:
+				return input.readString();
+			case BIG_DECIMAL: {
+				final int scale = (int) input.readVarLong();
+				return new BigDecimal( new BigInteger( input.readBytes() ), scale );
+			}
+			case BIG_INTEGER:
+				return new BigInteger( input.readBytes() );
+			case BYTES:
+				return input.readBytes();
+			case UUID_VALUE:
+				return new UUID( input.readFixedLong(), input.readFixedLong() );
+			case LOCAL_DATE:
+				return LocalDate.ofEpochDay( input.readVarLong() );
+			case LOCAL_TIME:
+				return LocalTime.ofNanoOfDay( input.readVarLong() );
+			case LOCAL_DATE_TIME: {
+				final LocalDate date = LocalDate.ofEpochDay( input.readVarLong() );
+				return LocalDateTime.of( date, LocalTime.ofNanoOfDay( input.readVarLong() ) );
+			}
+			case INSTANT: {
+				final long seconds = input.readVarLong();
+				return Instant.ofEpochSecond( seconds, input.readVarLong() );
+			}
+			case DATE:
+				return new Date( input.readVarLong() );
+			case SQL_DATE:
+				return new java.sql.Date( input.readVarLong() );
+			case SQL_TIME:
+				return new java.sql.Time( input.readVarLong() );
+			case SQL_TIMESTAMP: {
+				final java.sql.Timestamp timestamp = new java.sql.Timestamp( input.readVarLong() );
+				timestamp.setNanos( (int) input.readVarLong() );
+				return timestamp;
+			}
+			case ENUM: {
+				final Class<?> enumClass = resolveEnumClass( input.readString(), factory );
+				input.enumClasses.add( enumClass );
+				return readEnum( enumClass, input );
+			}
+			case ENUM_REFERENCE:
+				return readEnum( input.enumClasses.get( input.readVarInt() ), input );
+			case ARRAY: {
+				final Object[] values = new Object[input.readVarInt()];
+				for ( int i = 0; i < values.length; i++ ) {
+					values[i] = readValue( input, factory );
+				}
+				return values;
+			}
+			case SERIALIZED:
+				return SerializationHelper.deserialize( input.readBytes(), resolveClassLoader( factory ) );
+			default:
+				throw new IllegalStateException( "Unexpected tag [" + tag + "] in binary cache entry" );
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object readEnum(Class<?> enumClass, Input input) {
+		return Enum.valueOf( (Class) enumClass, input.readString() );
+	}
+
+	private Class<?> resolveEnumClass(String className, SessionFactoryImplementor factory) {
+		return enumClasses.computeIfAbsent(
+				className,
+				name -> factory.getServiceRegistry().getService( ClassLoaderService.class ).classForName( name )
+		);
+	}
+
+	private ClassLoader resolveClassLoader(SessionFactoryImplementor factory) {
+		ClassLoader loader = classLoader;
+		if ( loader == null ) {
+			loader = factory.getServiceRegistry()
+					.getService( ClassLoaderService.class )
+					.workWithClassLoader( aggregatedClassLoader -> aggregatedClassLoader );
+			classLoader = loader;
+		}
+		return loader;
+	}
+
+	private static final class Output {
+		private final List<Class<?>> enumClasses = new ArrayList<>( 2 );
+		private byte[] buffer;
+		private int position;
+
+		private Output(int initialCapacity) {
+			this.buffer = new byte[initialCapacity];
+		}
+
+		private void ensureCapacity(int length) {
+			if ( position + length > buffer.length ) {
+				buffer = Arrays.copyOf( buffer, Math.max( buffer.length * 2, position + length ) );
+			}
+		}
+
+		private void writeByte(int value) {
+			ensureCapacity( 1 );
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeVarInt(int value) {
+			ensureCapacity( 5 );
+			while ( ( value & ~0x7F ) != 0 ) {
+				buffer[position++] = (byte) ( ( value & 0x7F ) | 0x80 );
+				value >>>= 7;
+			}
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeVarLong(long value) {
+			// zig-zag, so that small negative values stay short
+			long zigZag = ( value << 1 ) ^ ( value >> 63 );
+			ensureCapacity( 10 );
+			while ( ( zigZag & ~0x7FL ) != 0 ) {
+				buffer[position++] = (byte) ( ( zigZag & 0x7F ) | 0x80 );
+				zigZag >>>= 7;
+			}
+			buffer[position++] = (byte) zigZag;
+		}
+
+		private void writeFixedInt(int value) {
+			ensureCapacity( 4 );
+			for ( int shift = 24; shift >= 0; shift -= 8 ) {
+				buffer[position++] = (byte) ( value >>> shift );
+			}
+		}
+
+		private void writeFixedLong(long value) {
+			ensureCapacity( 8 );
+			for ( int shift = 56; shift >= 0; shift -= 8 ) {
+				buffer[position++] = (byte) ( value >>> shift );
+			}
+		}
+
+		private void writeBytes(byte[] bytes) {
+			writeVarInt( bytes.length );
+			ensureCapacity( bytes.length );
+			System.arraycopy( bytes, 0, buffer, position, bytes.length );
+			position += bytes.length;
+		}
+
+		private void writeString(String value) {
+			writeBytes( value.getBytes( StandardCharsets.UTF_8 ) );
+		}
+
+		private byte[] toByteArray() {
+			return Arrays.copyOf( buffer, position );
+		}
+	}
+
+	private static final class Input {
+		private final List<Class<?>> enumClasses = new ArrayList<>( 2 );
+		private final byte[] buffer;
+		private int position;
+
+		private Input(byte[] buffer) {
+			this.buffer = buffer;
+		}
+
+		private byte readByte() {
+			return buffer[position++];
+		}
+
+		private int readVarInt() {
+			int value = 0;
+			for ( int shift = 0; ; shift += 7 ) {
+				final byte b = buffer[position++];
+				value |= ( b & 0x7F ) << shift;
+				if ( ( b & 0x80 ) == 0 ) {
+					return value;
+				}
+			}
+		}
+
+		private long readVarLong() {
+			long zigZag = 0;
+			for ( int shift = 0; ; shift += 7 ) {
+				final byte b = buffer[position++];
+				zigZag |= (long) ( b & 0x7F ) << shift;
+				if ( ( b & 0x80 ) == 0 ) {
+					return ( zigZag >>> 1 ) ^ -( zigZag & 1 );
+				}
+			}
+		}
+
+		private int readFixedInt() {
+			int value = 0;
+			for ( int i = 0; i < 4; i++ ) {
+				value = ( value << 8 ) | ( buffer[position++] & 0xFF );
+			}
+			return value;
+		}
+
+		private long readFixedLong() {
+			long value = 0;
+			for ( int i = 0; i < 8; i++ ) {
+				value = ( value << 8 ) | ( buffer[position++] & 0xFF );
+			}
+			return value;
+		}
+
+		private byte[] readBytes() {
+			final int length = readVarInt();
+			final byte[] bytes = Arrays.copyOfRange( buffer, position, position + length );
+			position += length;
+			return bytes;
+		}
+
+		private String readString() {
+			final int length = readVarInt();
+			final String value = new String( buffer, position, length, StandardCharsets.UTF_8 );
+			position += length;
+			return value;
+		}
+	}
+}
@@ -7,8 +7,11 @@
 package org.hibernate.cache.spi.support;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
@@ -90,6 +93,33 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 		}
 	}
 
+	@Override
+	public Map<Object, Object> getAll(SharedSessionContractImplementor session, Collection<?> keys) {
+		log.debugf( "Getting cached data from region [`%s` (%s)] by %s keys", getRegion().getName(), getAccessType(), keys.size() );
+		try {
+			readLock.lock();
+			final Map<Object, Object> items = getStorageAccess().getFromCache( keys, session );
+			final Map<Object, Object> values = new HashMap<>( items.size() * 2 );
+			for ( Map.Entry<Object, Object> entry : items.entrySet() ) {
+				final Lockable item = (Lockable) entry.getValue();
+				if ( item.isReadable( session.getTransactionStartTimestamp() ) ) {
+					values.put( entry.getKey(), item.getValue() );
+				}
+			}
+			log.debugf(
+					"Cache hits : region = `%s`, %s of %s keys, %s readable",
+					getRegion().getName(),
+					items.size(),
+					keys.size(),
+					values.size()
+			);
+			return values;
+		}
+		finally {
+			readLock.unlock();
+		}
+	}
+
 	@Override
 	public boolean putFromLoad(
 			SharedSessionContractImplementor session,
@@ -296,6 +326,10 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 			return value;
 		}
 
+		long getTimestamp() {
+			return timestamp;
+		}
+
 		@Override
 		public boolean isUnlockable(SoftLock lock) {
 			return false;
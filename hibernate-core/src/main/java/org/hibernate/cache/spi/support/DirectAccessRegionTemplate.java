@@ -6,6 +6,9 @@
  */
 package org.hibernate.cache.spi.support;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.hibernate.cache.spi.DirectAccessRegion;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
@@ -39,6 +42,11 @@ public abstract class DirectAccessRegionTemplate extends AbstractRegion implemen
 		return getStorageAccess().getFromCache( key, session );
 	}
 
+	@Override
+	public Map<Object, Object> getFromCache(Collection<?> keys, SharedSessionContractImplementor session) {
+		return getStorageAccess().getFromCache( keys, session );
+	}
+
 	@Override
 	public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
 		getStorageAccess().putIntoCache( key, value, session );
@@ -0,0 +1,241 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.cache.spi.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataCachingConfig;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.collections.WindowTinyLfuCache;
+
+/**
+ * A {@link DomainDataStorageAccess} keeping the entries read from the caching provider in a
+ * bounded, in-process map, so that hot entries are served without a remote call nor deserialization.
+ * <p>
+ * Writing or evicting an entry through this storage access invalidates its local copy, so entries
+ * only become stale when changed through another node, for at most the configured time to live.
+ * <p>
+ * Only the regions whose data is all cached {@link AccessType#READ_ONLY read-only} or
+ * {@link AccessType#NONSTRICT_READ_WRITE nonstrict-read-write} are wrapped.  The entries of the other
+ * regions may be {@link SoftLock locked} by another node, which could only be seen by reading the
+ * provider on each access, leaving nothing for the near cache to save.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#CACHE_NEAR_CACHE_MAX_ENTRIES
+ */
+public class NearCacheDomainDataStorageAccess implements DomainDataStorageAccess {
+	/**
+	 * The default value of {@link org.hibernate.cfg.AvailableSettings#CACHE_NEAR_CACHE_TIME_TO_LIVE}
+	 */
+	public static final int DEFAULT_TIME_TO_LIVE = 1000;
+
+	private final DomainDataStorageAccess delegate;
+	private final long timeToLive;
+	private final WindowTinyLfuCache<Object, NearCacheEntry> entries;
+
+	// incremented by each invalidation, so that a value read concurrently is not kept
+	private final AtomicLong invalidations = new AtomicLong();
+
+	public NearCacheDomainDataStorageAccess(DomainDataStorageAccess delegate, int maxEntries, long timeToLive) {
+		if ( timeToLive <= 0 ) {
+			throw new IllegalArgumentException( "The time to live of the near cache must be positive" );
+		}
+		this.delegate = delegate;
+		this.timeToLive = timeToLive;
+		this.entries = new WindowTinyLfuCache<>( maxEntries );
+	}
+
+	/**
+	 * Wraps the storage access of a domain data region if the near cache is enabled
+	 * and none of the data of the region can be locked.
+	 */
+	public static DomainDataStorageAccess wrapIfEnabled(
+			DomainDataStorageAccess storageAccess,
+			DomainDataRegionConfig regionConfig,
+			SessionFactoryOptions options) {
+		final int maxEntries = options.getSecondLevelCacheNearCacheMaxEntries();
+		if ( maxEntries <= 0
+				|| storageAccess instanceof NearCacheDomainDataStorageAccess
+				|| isLockable( regionConfig ) ) {
+			return storageAccess;
+		}
+		return new NearCacheDomainDataStorageAccess(
+				storageAccess,
+				maxEntries,
+				options.getSecondLevelCacheNearCacheTimeToLive()
+		);
+	}
+
+	private static boolean isLockable(DomainDataRegionConfig regionConfig) {
+		return isLockable( regionConfig.getEntityCaching() )
+				|| isLockable( regionConfig.getNaturalIdCaching() )
+				|| isLockable( regionConfig.getCollectionCaching() );
+	}
+
+	private static boolean isLockable(List<? extends DomainDataCachingConfig> cachingConfigs) {
+		for ( DomainDataCachingConfig cachingConfig : cachingConfigs ) {
+			final AccessType accessType = cachingConfig.getAccessType();
+			if ( accessType != AccessType.READ_ONLY && accessType != AccessType.NONSTRICT_READ_WRITE ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The storage access of the caching provider
+	 */
+	public DomainDataStorageAccess getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * The number of entries currently held in memory
+	 */
+	public int getNearCacheSize() {
+		return entries.size();
+	}
+
+	@Override
+	public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+		NearCacheEntry entry = entries.get( key );
+		if ( entry != null && entry.isExpired( timeToLive ) ) {
+			entries.remove( key, entry );
+			entry = null;
+		}
+		if ( entry != null ) {
+			return entry.value;
+		}
+
+		final long invalidationsBeforeRead = invalidations.get();
+		final Object value = delegate.getFromCache( key, session );
+		keep( key, value, invalidationsBeforeRead );
+		return value;
+	}
+
+	private void keep(Object key, Object value, long invalidationsBeforeRead) {
+		if ( value != null && !( value instanceof SoftLock ) ) {
+			entries.put( key, new NearCacheEntry( value ) );
+			if ( invalidations.get() != invalidationsBeforeRead ) {
+				// the value may have been changed while it was being read
+				entries.remove( key );
+			}
+		}
+	}
+
+	@Override
+	public Map<Object, Object> getFromCache(Collection<?> keys, SharedSessionContractImplementor session) {
+		final Map<Object, Object> values = new HashMap<>( keys.size() * 2 );
+		final List<Object> missingKeys = new ArrayList<>( keys.size() );
+		for ( Object key : keys ) {
+			final NearCacheEntry entry = entries.get( key );
+			if ( entry != null && !entry.isExpired( timeToLive ) ) {
+				values.put( key, entry.value );
+			}
+			else {
+				missingKeys.add( key );
+			}
+		}
+		if ( missingKeys.isEmpty() ) {
+			return values;
+		}
+
+		final long invalidationsBeforeRead = invalidations.get();
+		final Map<Object, Object> delegateValues = delegate.getFromCache( missingKeys, session );
+		for ( Map.Entry<Object, Object> delegateValue : delegateValues.entrySet() ) {
+			keep( delegateValue.getKey(), delegateValue.getValue(), invalidationsBeforeRead );
+		}
+		values.putAll( delegateValues );
+		return values;
+	}
+
+	@Override
+	public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+		invalidate( key );
+		delegate.putIntoCache( key, value, session );
+		invalidate( key );
+	}
+
+	@Override
+	public void putFromLoad(Object key, Object value, SharedSessionContractImplementor session) {
+		invalidate( key );
+		delegate.putFromLoad( key, value, session );
+		invalidate( key );
+	}
+
+	@Override
+	public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+		invalidate( key );
+		delegate.removeFromCache( key, session );
+		invalidate( key );
+	}
+
+	@Override
+	public void clearCache(SharedSessionContractImplementor session) {
+		invalidateAll();
+		delegate.clearCache( session );
+		invalidateAll();
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		final NearCacheEntry entry = entries.get( key );
+		return entry != null && !entry.isExpired( timeToLive ) || delegate.contains( key );
+	}
+
+	@Override
+	public void evictData() {
+		invalidateAll();
+		delegate.evictData();
+		invalidateAll();
+	}
+
+	@Override
+	public void evictData(Object key) {
+		invalidate( key );
+		delegate.evictData( key );
+		invalidate( key );
+	}
+
+	@Override
+	public void release() {
+		invalidateAll();
+		delegate.release();
+	}
+
+	private void invalidate(Object key) {
+		invalidations.incrementAndGet();
+		entries.remove( key );
+	}
+
+	private void invalidateAll() {
+		invalidations.incrementAndGet();
+		entries.clear();
+	}
+
+	private static final class NearCacheEntry {
+		private final Object value;
+		private final long timestamp;
+
+		private NearCacheEntry(Object value) {
+			this.value = value;
+			this.timestamp = System.currentTimeMillis();
+		}
+
+		private boolean isExpired(long timeToLive) {
+			return System.currentTimeMillis() - timestamp > timeToLive;
+		}
+	}
+}
@@ -6,6 +6,10 @@
  */
 package org.hibernate.cache.spi.support;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 
 /**
@@ -23,6 +27,25 @@ public interface StorageAccess {
 	 */
 	Object getFromCache(Object key, SharedSessionContractImplementor session);
 
+	/**
+	 * Get the items associated with the given keys, in as few calls
+	 * to the caching provider as it allows
+	 *
+	 * @return The items found, by key.  Keys without item are absent.
+	 *
+	 * @implNote the method default is to call {@link #getFromCache} for each key
+	 */
+	default Map<Object, Object> getFromCache(Collection<?> keys, SharedSessionContractImplementor session) {
+		final Map<Object, Object> items = new HashMap<>( keys.size() * 2 );
+		for ( Object key : keys ) {
+			final Object item = getFromCache( key, session );
+			if ( item != null ) {
+				items.put( key, item );
+			}
+		}
+		return items;
+	}
+
 	/**
 	 * Put an item into the cache
 	 */
@@ -824,6 +824,21 @@ public interface AvailableSettings {
 	 */
 	String DEFAULT_LIST_SEMANTICS = "hibernate.mapping.default_list_semantics";
 
+	/**
+	 * When enabled, specifies that the annotated classes should be preloaded in parallel: they are
+	 * loaded, and the annotations and generic types of their members are read, on several threads, so
+	 * that the JVM has them cached when binding starts.  The binding itself is not parallelized, it
+	 * remains sequential and happens in the same order as when the setting is disabled.
+	 * <p>
+	 * This only shortens the bootstrap of domain models whose class loading and reflection are
+	 * significant next to their binding.
+	 * <p>
+	 * By default, the annotated classes are loaded sequentially, as they are bound.
+	 *
+	 * @since 6.0
+	 */
+	String PARALLEL_ANNOTATED_CLASS_PRELOADING = "hibernate.mapping.parallel_annotated_class_preloading";
+
 
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// SessionFactoryBuilder level settings
@@ -949,6 +964,36 @@ public interface AvailableSettings {
 	 */
 	String BATCH_VERSIONED_DATA = "hibernate.jdbc.batch_versioned_data";
 
+	/**
+	 * When enabled, specifies that the inserts of entities with an
+	 * {@link jakarta.persistence.GenerationType#IDENTITY IDENTITY} identifier
+	 * should be delayed until flush when the identifier is not needed
+	 * immediately, and then executed as JDBC batches returning the generated
+	 * keys, if the {@link org.hibernate.dialect.identity.IdentityColumnSupport#supportsBatchedGeneratedKeys
+	 * dialect supports} it.
+	 * <p>
+	 * Has no effect unless {@link #STATEMENT_BATCH_SIZE JDBC batching} and
+	 * {@link #USE_GET_GENERATED_KEYS getGeneratedKeys()} are enabled.
+	 *
+	 * @since 6.0
+	 */
+	String BATCH_IDENTITY_INSERTS = "hibernate.jdbc.batch_identity_inserts";
+
+	/**
+	 * When enabled, specifies that a JDBC batch of single row inserts should be
+	 * rewritten into a multi-row {@code insert ... values (...), (...)} statement,
+	 * if the {@link org.hibernate.dialect.Dialect#supportsMultiRowInsertRewriting dialect
+	 * supports} it, instead of relying on the JDBC driver to send the batch efficiently.
+	 * The number of rows per statement is limited by the batch size and by the
+	 * {@link org.hibernate.dialect.Dialect#getParameterCountLimit() parameter limit}
+	 * of the dialect.
+	 * <p>
+	 * Has no effect unless {@link #STATEMENT_BATCH_SIZE JDBC batching} is enabled.
+	 *
+	 * @since 6.0
+	 */
+	String REWRITE_BATCHED_INSERTS = "hibernate.jdbc.rewrite_batched_inserts";
+
 	/**
 	 * Specify a {@linkplain java.util.TimeZone time zone} that should be passed to
 	 * {@link java.sql.PreparedStatement#setTimestamp(int, java.sql.Timestamp, java.util.Calendar)}
@@ -1291,6 +1336,19 @@ public interface AvailableSettings {
 	 */
 	String USE_STRUCTURED_CACHE = "hibernate.cache.use_structured_entries";
 
+	/**
+	 * Enables the use of compact binary second-level cache entries for entities.  The
+	 * state of the entity is encoded into a {@code byte[]} without Java serialization,
+	 * which suits caching providers storing their entries off-heap or remotely.
+	 * <p>
+	 * Takes precedence over {@value #USE_STRUCTURED_CACHE}.  The default is {@code false}.
+	 *
+	 * @see org.hibernate.cache.spi.entry.BinaryCacheEntry
+	 *
+	 * @since 6.0
+	 */
+	String USE_BINARY_CACHE_ENTRIES = "hibernate.cache.use_binary_entries";
+
 	/**
 	 * Enables the automatic eviction of a bidirectional association's collection
 	 * cache when an element in the {@link jakarta.persistence.ManyToOne} collection
@@ -1311,6 +1369,124 @@ public interface AvailableSettings {
 	 */
 	String USE_DIRECT_REFERENCE_CACHE_ENTRIES = "hibernate.cache.use_reference_entries";
 
+	/**
+	 * The maximum number of entries kept, per domain data region, in an in-process near cache
+	 * placed in front of the caching provider.  The near cache keeps the entries already read
+	 * from the provider, so that hot entries are served without a remote call or deserialization.
+	 * <p>
+	 * Entries are invalidated whenever they are written, locked or evicted through this
+	 * {@code SessionFactory}; see {@link #CACHE_NEAR_CACHE_TIME_TO_LIVE} to bound the staleness
+	 * of entries changed through other nodes of a cluster.
+	 * <p>
+	 * Only the regions caching read-only and nonstrict-read-write data use a near cache: the
+	 * entries of read-write and transactional regions may be locked by other nodes, which would
+	 * have to be checked with the provider on every read.
+	 * <p>
+	 * By default, {@code 0}, no near cache is used.
+	 *
+	 * @since 6.0
+	 */
+	String CACHE_NEAR_CACHE_MAX_ENTRIES = "hibernate.cache.near_cache.max_entries";
+
+	/**
+	 * The time, in milliseconds, an entry is served from the near cache after being read from
+	 * the caching provider, which bounds how long a change made through another node of a
+	 * cluster goes unnoticed.  It must be positive when the near cache is enabled.
+	 * <p>
+	 * The default value is {@code 1000}, that is one second.
+	 *
+	 * @see #CACHE_NEAR_CACHE_MAX_ENTRIES
+	 *
+	 * @since 6.0
+	 */
+	String CACHE_NEAR_CACHE_TIME_TO_LIVE = "hibernate.cache.near_cache.time_to_live";
+
+	/**
+	 * The time, in milliseconds, the last update timestamps of the query spaces read from the
+	 * timestamps region are kept in memory and used to check the staleness of cached query results.
+	 * The timestamps missing from memory are read from the region all at once, so that a query cache
+	 * hit usually needs no call to the caching provider.
+	 * <p>
+	 * Updates made through this {@code SessionFactory} are always seen immediately, while updates
+	 * made through other nodes of a cluster can go unnoticed for at most this time.
+	 * <p>
+	 * By default, {@code 0}, the timestamps region is read on every query cache hit.
+	 *
+	 * @since 6.0
+	 */
+	String QUERY_CACHE_LOCAL_TIMESTAMPS_MAX_STALENESS = "hibernate.cache.query_cache.local_timestamps_max_staleness";
+
+	/**
+	 * The maximum number of bytes of direct memory used by each region of the
+	 * {@link org.hibernate.cache.internal.OffHeapRegionFactory}.  The memory is allocated
+	 * as the region fills up, and the least recently used entries are evicted once it is full.
+	 * <p>
+	 * By default, {@code 64 MB}.
+	 *
+	 * @since 6.0
+	 */
+	String CACHE_OFF_HEAP_REGION_MAX_SIZE = "hibernate.cache.off_heap.region_max_size";
+
+	/**
+	 * A comma-separated list of the entity names and collection roles whose data is loaded
+	 * into the second-level cache when the {@code SessionFactory} is created, so that the
+	 * database is not hit by the reads of a cold cache.  Entity names may be JPA entity names.
+	 * <p>
+	 * The identifiers are read with a scrollable query, and the entities loaded in batches of
+	 * {@link #CACHE_WARM_UP_BATCH_SIZE}, using up to {@link #CACHE_WARM_UP_THREADS} threads.
+	 * A failure to warm up a region is logged and counted, and does not prevent the creation
+	 * of the {@code SessionFactory}.
+	 * <p>
+	 * With multi-tenancy, the data of the tenant returned by the
+	 * {@link org.hibernate.context.spi.CurrentTenantIdentifierResolver} is loaded, and the
+	 * warm-up is skipped if there is no resolver.
+	 *
+	 * @see #CACHE_WARM_UP_ASYNC
+	 * @see org.hibernate.stat.Statistics#getSecondLevelCacheWarmUpCount()
+	 * @see org.hibernate.stat.Statistics#getSecondLevelCacheWarmUpTime()
+	 * @see org.hibernate.stat.Statistics#getSecondLevelCacheWarmUpFailureCount()
+	 *
+	 * @since 6.0
+	 */
+	String CACHE_WARM_UP = "hibernate.cache.warm_up";
+
+	/**
+	 * The number of entities, or of owners of a collection, loaded at once by the warm-up of
+	 * the second-level cache.
+	 * <p>
+	 * By default, {@code 100}.
+	 *
+	 * @see #CACHE_WARM_UP
+	 *
+	 * @since 6.0
+	 */
+	String CACHE_WARM_UP_BATCH_SIZE = "hibernate.cache.warm_up.batch_size";
+
+	/**
+	 * The number of threads loading batches in parallel during the warm-up of the second-level
+	 * cache, which also bounds the number of batches queued ahead of them.
+	 * <p>
+	 * By default, {@code 1}, the batches are loaded by the thread creating the {@code SessionFactory}.
+	 *
+	 * @see #CACHE_WARM_UP
+	 *
+	 * @since 6.0
+	 */
+	String CACHE_WARM_UP_THREADS = "hibernate.cache.warm_up.threads";
+
+	/**
+	 * When enabled, the warm-up of the second-level cache runs in a background thread, so
+	 * that the creation of the {@code SessionFactory} does not wait for it.  The warm-up
+	 * stops when the {@code SessionFactory} is closed.
+	 * <p>
+	 * By default, {@code false}.
+	 *
+	 * @see #CACHE_WARM_UP
+	 *
+	 * @since 6.0
+	 */
+	String CACHE_WARM_UP_ASYNC = "hibernate.cache.warm_up.async";
+
 
 
 
@@ -1386,6 +1562,21 @@ public interface AvailableSettings {
 	 */
 	String QUERY_PLAN_CACHE_MAX_SIZE = "hibernate.query.plan_cache_max_size";
 
+	/**
+	 * The path of a file into which the query strings of the cached HQL interpretations
+	 * are written when the {@code SessionFactory} is closed, and from which they are
+	 * compiled again, in parallel, when the next {@code SessionFactory} is created.
+	 * <p>
+	 * Queries which no longer compile against the domain model are skipped.
+	 * <p>
+	 * By default, no snapshot of the query plan cache is kept.
+	 *
+	 * @see org.hibernate.query.internal.QueryPlanCacheSnapshot
+	 *
+	 * @since 6.0
+	 */
+	String QUERY_PLAN_CACHE_SNAPSHOT = "hibernate.query.plan_cache_snapshot";
+
 	/**
 	 * The maximum number of {@link org.hibernate.query.ParameterMetadata} instances
 	 * maintained by the {@link org.hibernate.query.spi.QueryInterpretationCache}.
@@ -2445,6 +2636,20 @@ public interface AvailableSettings {
 	 */
 	String IN_CLAUSE_PARAMETER_PADDING = "hibernate.query.in_clause_parameter_padding";
 
+	/**
+	 * When enabled, batch fetching and multi-id loading bind the keys as a single
+	 * array parameter, if the dialect defines an
+	 * {@linkplain org.hibernate.dialect.Dialect#getArrayInListPattern() array pattern}
+	 * and the key is a single integral or string column. Then the same SQL statement
+	 * serves every number of keys.
+	 * <p>
+	 * Disabled by default, since the database may plan the array predicate differently
+	 * from an {@code IN} list.
+	 *
+	 * @since 6.0
+	 */
+	String BATCH_FETCH_ARRAY_PARAMETER = "hibernate.batch_fetch_array_parameter";
+
 	/**
 	 * This setting controls the number of {@link org.hibernate.stat.QueryStatistics}
 	 * entries that will be stored by the Hibernate {@link org.hibernate.stat.Statistics}
@@ -2456,6 +2661,61 @@ public interface AvailableSettings {
 	 */
 	String QUERY_STATISTICS_MAX_SIZE = "hibernate.statistics.query_max_size";
 
+	/**
+	 * When enabled, along with {@link #GENERATE_STATISTICS}, a
+	 * {@linkplain org.hibernate.stat.LatencyHistogram latency histogram} is kept
+	 * for every {@linkplain org.hibernate.stat.QueryStatistics query} and for the
+	 * loading of every {@linkplain org.hibernate.stat.EntityStatistics entity},
+	 * making it possible to report percentiles of the execution times.
+	 * <p>
+	 * Each histogram is a fixed size array whose size depends on
+	 * {@link #STATISTICS_LATENCY_HISTOGRAM_PRECISION} and
+	 * {@link #STATISTICS_LATENCY_HISTOGRAM_MAX_VALUE}, about 20KB with the
+	 * default values. The number of query histograms is bounded by
+	 * {@link #STATISTICS_LATENCY_HISTOGRAM_QUERY_MAX_SIZE}.
+	 * <p>
+	 * By default, histograms are not collected.
+	 *
+	 * @since 6.0
+	 */
+	String STATISTICS_LATENCY_HISTOGRAMS = "hibernate.statistics.latency_histograms";
+
+	/**
+	 * The number of significant decimal digits, between 1 and 3, preserved by the
+	 * latency histograms enabled by {@link #STATISTICS_LATENCY_HISTOGRAMS}.
+	 * Every additional digit multiplies the size of each histogram by about ten.
+	 * <p>
+	 * The default value is {@code 2}.
+	 *
+	 * @since 6.0
+	 */
+	String STATISTICS_LATENCY_HISTOGRAM_PRECISION = "hibernate.statistics.latency_histograms.precision";
+
+	/**
+	 * The highest latency, in milliseconds, tracked by the latency histograms
+	 * enabled by {@link #STATISTICS_LATENCY_HISTOGRAMS}; higher latencies are
+	 * recorded as this value.
+	 * <p>
+	 * The default value is {@code 60000}, that is one minute.
+	 *
+	 * @since 6.0
+	 */
+	String STATISTICS_LATENCY_HISTOGRAM_MAX_VALUE = "hibernate.statistics.latency_histograms.max_value";
+
+	/**
+	 * The maximum number of queries for which a latency histogram is kept when
+	 * {@link #STATISTICS_LATENCY_HISTOGRAMS} is enabled. The executions of other
+	 * queries are only recorded in the histogram of all the queries, until the
+	 * statistics are cleared.
+	 * <p>
+	 * With the default precision and maximum value each histogram takes about
+	 * 20KB, so the default value of {@code 100} bounds the query histograms to
+	 * about 2MB.
+	 *
+	 * @since 6.0
+	 */
+	String STATISTICS_LATENCY_HISTOGRAM_QUERY_MAX_SIZE = "hibernate.statistics.latency_histograms.query_max_size";
+
 	/**
 	 * This setting defines the {@link org.hibernate.id.SequenceMismatchStrategy} used
 	 * when Hibernate detects a mismatch between a sequence configuration in an entity
@@ -2846,4 +3106,18 @@ public interface AvailableSettings {
 	 * By default, the persistent context is not discarded, as per the JPA specification.
 	 */
 	String DISCARD_PC_ON_CLOSE = "hibernate.discard_pc_on_close";
+
+	/**
+	 * When enabled, specifies that the persistence context should keep its entity, snapshot
+	 * and collection maps in an {@linkplain org.hibernate.internal.util.collections.OpenAddressingHashMap
+	 * open addressing map}, which avoids allocating a node for every managed instance and
+	 * reduces the heap used by sessions holding a large number of entities.
+	 * <p>
+	 * By default, {@link java.util.HashMap} is used.
+	 *
+	 * @see org.hibernate.boot.spi.SessionFactoryOptions#isPersistenceContextOpenAddressingMapsEnabled()
+	 *
+	 * @since 6.0
+	 */
+	String PERSISTENCE_CONTEXT_OPEN_ADDRESSING_MAPS = "hibernate.persistence_context.open_addressing_maps";
 }
@@ -298,6 +298,17 @@ public class CockroachDialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public int getParameterCountLimit() {
+		// the limit of the PostgreSQL JDBC driver
+		return 32_767;
+	}
+
+	@Override
+	public String getArrayInListPattern() {
+		return "?1 = any(?2)";
+	}
+
 	@Override
 	public boolean supportsPartitionBy() {
 		return true;
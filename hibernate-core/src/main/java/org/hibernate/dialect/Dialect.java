@@ -3006,6 +3006,45 @@ public abstract class Dialect implements ConversionContext {
 		return 0;
 	}
 
+	/**
+	 * Return the limit that the underlying database, or its JDBC driver, places on the number of
+	 * parameters of a single statement.  If there is no such limit, simply return zero or less-than-zero.
+	 *
+	 * @return int The limit, or zero-or-less to indicate no limit.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#REWRITE_BATCHED_INSERTS
+	 */
+	public int getParameterCountLimit() {
+		return 0;
+	}
+
+	/**
+	 * Does this dialect/database support inserting several rows with a single
+	 * {@code insert ... values (?, ?), (?, ?)} statement, as batched inserts are
+	 * rewritten into?
+	 *
+	 * @return {@code true} if multi-row inserts of bound values are supported
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#REWRITE_BATCHED_INSERTS
+	 */
+	public boolean supportsMultiRowInsertRewriting() {
+		return supportsValuesListForInsert();
+	}
+
+	/**
+	 * The pattern of a predicate restricting an expression, {@code ?1}, to the elements of an
+	 * array bound to a single JDBC parameter, {@code ?2}, for example {@code ?1 = any(?2)}.
+	 * <p>
+	 * When defined, batch fetching and multi-id loading by a single column key use this
+	 * predicate instead of an {@code in} list with a parameter per key, so that the same
+	 * SQL serves every number of keys.
+	 *
+	 * @return The pattern, or {@code null} if arrays cannot be bound as parameters.
+	 */
+	public String getArrayInListPattern() {
+		return null;
+	}
+
 	/**
 	 * HHH-4635
 	 * Oracle expects all Lob values to be last in inserts and updates.
@@ -590,6 +590,11 @@ public class H2Dialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public String getArrayInListPattern() {
+		return "?1 = any(?2)";
+	}
+
 	@Override
 	public boolean requiresParensForTupleDistinctCounts() {
 		return true;
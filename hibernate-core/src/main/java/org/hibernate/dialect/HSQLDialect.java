@@ -369,6 +369,12 @@ public class HSQLDialect extends Dialect {
 		return false;
 	}
 
+	@Override
+	public String getArrayInListPattern() {
+		// arrays were introduced in 2.0
+		return getVersion().isSameOrAfter( 2 ) ? "?1 in (unnest(?2))" : null;
+	}
+
 	@Override
 	public String getForUpdateString() {
 		if ( getVersion().isSameOrAfter( 2 ) ) {
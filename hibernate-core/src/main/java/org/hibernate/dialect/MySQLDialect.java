@@ -679,6 +679,11 @@ public class MySQLDialect extends Dialect {
 		return false;
 	}
 
+	@Override
+	public int getParameterCountLimit() {
+		return 65_535;
+	}
+
 	@Override
 	public String getQueryHintString(String query, String hints) {
 		return getMySQLVersion().isBefore( 5 )
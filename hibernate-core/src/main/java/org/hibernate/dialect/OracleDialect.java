@@ -913,6 +913,12 @@ public class OracleDialect extends Dialect {
 		return PARAM_LIST_SIZE_LIMIT;
 	}
 
+	@Override
+	public boolean supportsMultiRowInsertRewriting() {
+		// multi-row values lists were introduced in 23
+		return getVersion().isSameOrAfter( 23 );
+	}
+
 	@Override
 	public boolean forceLobAsLastValue() {
 		return true;
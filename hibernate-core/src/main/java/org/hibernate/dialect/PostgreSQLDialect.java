@@ -514,6 +514,17 @@ public class PostgreSQLDialect extends Dialect {
 		return getVersion().isSameOrAfter( 8, 2 );
 	}
 
+	@Override
+	public int getParameterCountLimit() {
+		// the limit of the JDBC driver
+		return 32_767;
+	}
+
+	@Override
+	public String getArrayInListPattern() {
+		return "?1 = any(?2)";
+	}
+
 	@Override
 	public boolean supportsPartitionBy() {
 		return getVersion().isSameOrAfter( 9, 1 );
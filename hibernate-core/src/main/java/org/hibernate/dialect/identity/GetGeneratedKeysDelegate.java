@@ -16,8 +16,11 @@ import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.id.PostInsertIdentityPersister;
 import org.hibernate.id.insert.AbstractReturningDelegate;
+import org.hibernate.id.insert.Binder;
 import org.hibernate.id.insert.IdentifierGeneratingInsert;
 import org.hibernate.id.insert.InsertGeneratedIdentifierDelegate;
+import org.hibernate.pretty.MessageHelper;
+import org.hibernate.resource.jdbc.spi.JdbcObserver;
 
 /**
  * Delegate for dealing with IDENTITY columns using JDBC3 getGeneratedKeys
@@ -71,4 +74,60 @@ public class GetGeneratedKeysDelegate
 			}
 		}
 	}
+
+	/**
+	 * Perform the given inserts as a single JDBC batch, and read back the generated
+	 * identifiers in the order of the binders.
+	 *
+	 * @see IdentityColumnSupport#supportsBatchedGeneratedKeys()
+	 */
+	public Object[] performBatchedInsert(String insertSQL, SharedSessionContractImplementor session, Binder[] binders) {
+		try {
+			final PreparedStatement insert = prepare( insertSQL, session );
+			try {
+				for ( Binder binder : binders ) {
+					binder.bindValues( insert );
+					insert.addBatch();
+				}
+				final JdbcObserver observer = session.getJdbcCoordinator()
+						.getJdbcSessionOwner()
+						.getJdbcSessionContext()
+						.getObserver();
+				try {
+					observer.jdbcExecuteBatchStart();
+					insert.executeBatch();
+				}
+				finally {
+					observer.jdbcExecuteBatchEnd();
+				}
+
+				final ResultSet rs = insert.getGeneratedKeys();
+				try {
+					final Object[] ids = new Object[binders.length];
+					for ( int i = 0; i < binders.length; i++ ) {
+						ids[i] = IdentifierGeneratorHelper.getGeneratedIdentity(
+								rs,
+								persister.getRootTableKeyColumnNames()[0],
+								persister.getIdentifierType(),
+								dialect
+						);
+					}
+					return ids;
+				}
+				finally {
+					session.getJdbcCoordinator().getLogicalConnection().getResourceRegistry().release( rs, insert );
+				}
+			}
+			finally {
+				releaseStatement( insert, session );
+			}
+		}
+		catch (SQLException sqle) {
+			throw session.getJdbcServices().getSqlExceptionHelper().convert(
+					sqle,
+					"could not insert: " + MessageHelper.infoString( persister ),
+					insertSQL
+			);
+		}
+	}
 }
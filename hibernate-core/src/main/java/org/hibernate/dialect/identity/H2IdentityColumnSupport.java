@@ -30,4 +30,9 @@ public class H2IdentityColumnSupport extends IdentityColumnSupportImpl {
 	public String getIdentityInsertString() {
 		return "default";
 	}
+
+	@Override
+	public boolean supportsBatchedGeneratedKeys() {
+		return true;
+	}
 }
@@ -104,4 +104,17 @@ public interface IdentityColumnSupport {
 	GetGeneratedKeysDelegate buildGetGeneratedKeysDelegate(
 			PostInsertIdentityPersister persister,
 			Dialect dialect);
+
+	/**
+	 * Does the JDBC driver return the generated keys of all the rows inserted
+	 * by a batch, in the order of the batch, from
+	 * {@link java.sql.Statement#getGeneratedKeys()}?
+	 *
+	 * @return True if IDENTITY inserts may be batched
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_IDENTITY_INSERTS
+	 */
+	default boolean supportsBatchedGeneratedKeys() {
+		return false;
+	}
 }
@@ -113,20 +113,12 @@ public class BatchingBatch extends AbstractBatchImpl {
 
 	private void performExecution() {
 		LOG.debugf( "Executing batch size: %s", batchPosition );
-		final JdbcObserver observer = getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver();
 		try {
 			for ( Map.Entry<String,PreparedStatement> entry : getStatements().entrySet() ) {
 				final String sql = entry.getKey();
 				try {
 					final PreparedStatement statement = entry.getValue();
-					final int[] rowCounts;
-					try {
-						observer.jdbcExecuteBatchStart();
-						rowCounts = statement.executeBatch();
-					}
-					finally {
-						observer.jdbcExecuteBatchEnd();
-					}
+					final int[] rowCounts = executeStatement( sql, statement );
 					checkRowCounts( rowCounts, statement, sql );
 				}
 				catch ( SQLException e ) {
@@ -146,6 +138,25 @@ public class BatchingBatch extends AbstractBatchImpl {
 		}
 	}
 
+	/**
+	 * Execute the batch of the given statement.
+	 *
+	 * @param sql The SQL of the statement.
+	 * @param statement The statement.
+	 *
+	 * @return The row counts of the batched operations.
+	 */
+	protected int[] executeStatement(String sql, PreparedStatement statement) throws SQLException {
+		final JdbcObserver observer = getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver();
+		try {
+			observer.jdbcExecuteBatchStart();
+			return statement.executeBatch();
+		}
+		finally {
+			observer.jdbcExecuteBatchEnd();
+		}
+	}
+
 	private void checkRowCounts(int[] rowCounts, PreparedStatement ps, String statementSQL) throws SQLException, HibernateException {
 		final int numberOfRowCounts = rowCounts.length;
 		if ( batchPosition != 0 && numberOfRowCounts != batchPosition / getStatements().size() ) {
@@ -0,0 +1,355 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.resource.jdbc.spi.JdbcObserver;
+
+/**
+ * A {@link BatchingBatch} which rewrites a batch of single row inserts into multi-row
+ * {@code insert ... values (...), (...)} statements, instead of relying on the JDBC
+ * driver to send the batch efficiently.
+ * <p>
+ * The statement handed out for an insert records the values bound to it, which are
+ * bound to the multi-row statements when the batch is executed.  Statements which are
+ * not single row inserts are batched as usual, as are the inserts whose statement is
+ * used for anything else than binding values and adding them to the batch.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#REWRITE_BATCHED_INSERTS
+ */
+public class MultiRowInsertBatch extends BatchingBatch {
+	private static final Pattern INSERT_PATTERN = Pattern.compile(
+			"^(?:/\\*.*?\\*/)?\\s*insert\\s",
+			Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+	);
+	private static final Pattern VALUES_PATTERN = Pattern.compile( "\\svalues\\s*\\(", Pattern.CASE_INSENSITIVE );
+
+	private final int batchSize;
+	private final int parameterCountLimit;
+	private final Map<String, RecordingStatement> recordingStatements = new HashMap<>();
+
+	/**
+	 * Constructs a MultiRowInsertBatch
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param batchSize The batch size.
+	 * @param parameterCountLimit The limit of parameters of a statement, or zero-or-less for no limit
+	 */
+	public MultiRowInsertBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			int batchSize,
+			int parameterCountLimit) {
+		super( key, jdbcCoordinator, batchSize );
+		this.batchSize = batchSize;
+		this.parameterCountLimit = parameterCountLimit;
+	}
+
+	@Override
+	public PreparedStatement getBatchStatement(String sql, boolean callable) {
+		if ( !callable && !getStatements().containsKey( sql ) ) {
+			final RecordingStatement recordingStatement = createRecordingStatement( sql );
+			if ( recordingStatement != null ) {
+				recordingStatements.put( sql, recordingStatement );
+				getStatements().put( sql, recordingStatement.statement );
+			}
+		}
+		return super.getBatchStatement( sql, callable );
+	}
+
+	private RecordingStatement createRecordingStatement(String sql) {
+		if ( !INSERT_PATTERN.matcher( sql ).lookingAt() ) {
+			return null;
+		}
+		final Matcher matcher = VALUES_PATTERN.matcher( sql );
+		int tupleStart = -1;
+		while ( matcher.find() ) {
+			tupleStart = matcher.end() - 1;
+		}
+		if ( tupleStart < 0 ) {
+			return null;
+		}
+
+		// the values tuple must end the statement
+		int depth = 0;
+		int parameterCount = 0;
+		boolean quoted = false;
+		for ( int i = tupleStart; i < sql.length(); i++ ) {
+			final char c = sql.charAt( i );
+			if ( c == '\'' ) {
+				quoted = !quoted;
+			}
+			else if ( !quoted ) {
+				if ( c == '(' ) {
+					depth++;
+				}
+				else if ( c == ')' && --depth == 0 && i != sql.length() - 1 ) {
+					return null;
+				}
+				else if ( c == '?' ) {
+					parameterCount++;
+				}
+			}
+		}
+		if ( depth != 0 || parameterCount == 0 ) {
+			return null;
+		}
+
+		final int rowsPerStatement = parameterCountLimit > 0
+				? Math.min( batchSize, parameterCountLimit / parameterCount )
+				: batchSize;
+		if ( rowsPerStatement < 2 ) {
+			return null;
+		}
+		return new RecordingStatement(
+				sql.substring( 0, tupleStart ),
+				sql.substring( tupleStart ),
+				parameterCount,
+				rowsPerStatement
+		);
+	}
+
+	@Override
+	protected int[] executeStatement(String sql, PreparedStatement statement) throws SQLException {
+		final RecordingStatement recordingStatement = recordingStatements.get( sql );
+		return recordingStatement == null
+				? super.executeStatement( sql, statement )
+				: recordingStatement.execute();
+	}
+
+	@Override
+	protected void releaseStatements() {
+		for ( Map.Entry<String, RecordingStatement> entry : recordingStatements.entrySet() ) {
+			final PreparedStatement delegate = entry.getValue().delegate;
+			if ( delegate == null ) {
+				getStatements().remove( entry.getKey() );
+			}
+			else {
+				getStatements().put( entry.getKey(), delegate );
+			}
+		}
+		recordingStatements.clear();
+		super.releaseStatements();
+	}
+
+	/**
+	 * Records the values bound to a single row insert, by proxying {@link PreparedStatement}.
+	 * <p>
+	 * When any other method of the statement is called, a real statement is prepared for the
+	 * single row insert, the rows recorded so far are added to its batch, and all the calls are
+	 * delegated to it from then on, so that the insert is batched as usual.
+	 */
+	private class RecordingStatement implements InvocationHandler {
+		private final String prefix;
+		private final String tuple;
+		private final int parameterCount;
+		private final int rowsPerStatement;
+		private final PreparedStatement statement;
+
+		private final List<List<Binding>> rows = new ArrayList<>();
+		private List<Binding> currentRow = new ArrayList<>();
+		private PreparedStatement delegate;
+
+		RecordingStatement(String prefix, String tuple, int parameterCount, int rowsPerStatement) {
+			this.prefix = prefix;
+			this.tuple = tuple;
+			this.parameterCount = parameterCount;
+			this.rowsPerStatement = rowsPerStatement;
+			this.statement = (PreparedStatement) Proxy.newProxyInstance(
+					PreparedStatement.class.getClassLoader(),
+					new Class<?>[] { PreparedStatement.class },
+					this
+			);
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			final String name = method.getName();
+			switch ( name ) {
+				case "hashCode":
+					return System.identityHashCode( proxy );
+				case "equals":
+					return proxy == args[0];
+			}
+			if ( delegate != null ) {
+				return delegate( method, args );
+			}
+			if ( method.getDeclaringClass() == PreparedStatement.class && name.startsWith( "set" ) ) {
+				currentRow.add( new Binding( method, args ) );
+				return null;
+			}
+			switch ( name ) {
+				case "addBatch":
+					if ( args == null ) {
+						rows.add( currentRow );
+						currentRow = new ArrayList<>();
+						return null;
+					}
+					break;
+				case "clearParameters":
+					currentRow.clear();
+					return null;
+				case "clearBatch":
+				case "close":
+					rows.clear();
+					currentRow.clear();
+					return null;
+				case "isClosed":
+					return false;
+				case "getConnection":
+					return getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+				case "toString":
+					return "RecordingStatement[" + prefix + tuple + "]";
+			}
+			fallBack();
+			return delegate( method, args );
+		}
+
+		private Object delegate(Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke( delegate, args );
+			}
+			catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+		/**
+		 * Switch to a real statement for the single row insert, adding the rows recorded so far to its batch.
+		 */
+		private void fallBack() throws SQLException {
+			// not prepareStatement( sql, false ), which would execute this batch
+			delegate = getJdbcCoordinator().getStatementPreparer().prepareStatement( prefix + tuple );
+			for ( List<Binding> row : rows ) {
+				for ( Binding binding : row ) {
+					binding.bind( delegate, 0 );
+				}
+				delegate.addBatch();
+			}
+			for ( Binding binding : currentRow ) {
+				binding.bind( delegate, 0 );
+			}
+			rows.clear();
+			currentRow.clear();
+		}
+
+		int[] execute() throws SQLException {
+			if ( delegate != null ) {
+				return MultiRowInsertBatch.super.executeStatement( prefix + tuple, delegate );
+			}
+			final int[] rowCounts = new int[rows.size()];
+			try {
+				for ( int start = 0; start < rows.size(); start += rowsPerStatement ) {
+					final int end = Math.min( start + rowsPerStatement, rows.size() );
+					int rowCount = executeRows( start, end );
+					// the row count of a multi-row insert cannot be attributed to its rows,
+					// so it is spread over them, in order, for the expectation to verify
+					for ( int i = start; i < end; i++ ) {
+						if ( rowCount == Statement.SUCCESS_NO_INFO ) {
+							rowCounts[i] = Statement.SUCCESS_NO_INFO;
+						}
+						else if ( i == end - 1 ) {
+							rowCounts[i] = rowCount;
+						}
+						else {
+							rowCounts[i] = rowCount > 0 ? 1 : 0;
+							rowCount -= rowCounts[i];
+						}
+					}
+				}
+			}
+			finally {
+				rows.clear();
+			}
+			return rowCounts;
+		}
+
+		private int executeRows(int start, int end) throws SQLException {
+			final StringBuilder sql = new StringBuilder( prefix ).append( tuple );
+			for ( int i = start + 1; i < end; i++ ) {
+				sql.append( ", " ).append( tuple );
+			}
+
+			final JdbcCoordinator jdbcCoordinator = getJdbcCoordinator();
+			// not prepareStatement( sql, false ), which would execute this batch
+			final PreparedStatement multiRowStatement = jdbcCoordinator.getStatementPreparer()
+					.prepareStatement( sql.toString() );
+			try {
+				for ( int i = start; i < end; i++ ) {
+					final int offset = ( i - start ) * parameterCount;
+					for ( Binding binding : rows.get( i ) ) {
+						binding.bind( multiRowStatement, offset );
+					}
+				}
+				final JdbcObserver observer = jdbcCoordinator.getJdbcSessionOwner()
+						.getJdbcSessionContext()
+						.getObserver();
+				try {
+					observer.jdbcExecuteBatchStart();
+					return multiRowStatement.executeUpdate();
+				}
+				finally {
+					observer.jdbcExecuteBatchEnd();
+				}
+			}
+			finally {
+				jdbcCoordinator.getLogicalConnection().getResourceRegistry().release( multiRowStatement );
+			}
+		}
+	}
+
+	/**
+	 * A recorded call to one of the {@code set} methods of {@link PreparedStatement},
+	 * the first argument of which is the parameter position.
+	 */
+	private static class Binding {
+		private final Method method;
+		private final Object[] args;
+
+		Binding(Method method, Object[] args) {
+			this.method = method;
+			this.args = args;
+		}
+
+		void bind(PreparedStatement statement, int offset) throws SQLException {
+			final Object[] shiftedArgs = args.clone();
+			shiftedArgs[0] = (Integer) args[0] + offset;
+			try {
+				method.invoke( statement, shiftedArgs );
+			}
+			catch (InvocationTargetException e) {
+				if ( e.getCause() instanceof SQLException ) {
+					throw (SQLException) e.getCause();
+				}
+				if ( e.getCause() instanceof RuntimeException ) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new HibernateException( "Unable to bind a rewritten batch insert", e.getCause() );
+			}
+			catch (IllegalAccessException e) {
+				throw new HibernateException( "Unable to bind a rewritten batch insert", e );
+			}
+		}
+	}
+}
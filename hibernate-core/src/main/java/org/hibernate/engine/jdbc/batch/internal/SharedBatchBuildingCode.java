@@ -6,9 +6,11 @@
  */
 package org.hibernate.engine.jdbc.batch.internal;
 
+import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.batch.spi.Batch;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 
 /**
  * Common code across BatchBuilder service implementors
@@ -21,8 +23,18 @@ final class SharedBatchBuildingCode {
 		final int jdbcBatchSizeToUse = sessionJdbcBatchSize == null ?
 				defaultJdbcBatchSize :
 				sessionJdbcBatchSize;
-		return jdbcBatchSizeToUse > 1
-				? new BatchingBatch( key, jdbcCoordinator, jdbcBatchSizeToUse )
-				: new NonBatchingBatch( key, jdbcCoordinator );
+		if ( jdbcBatchSizeToUse <= 1 ) {
+			return new NonBatchingBatch( key, jdbcCoordinator );
+		}
+		final SessionFactoryImplementor sessionFactory = jdbcCoordinator.getJdbcSessionOwner()
+				.getJdbcSessionContext()
+				.getSessionFactory();
+		if ( sessionFactory != null && sessionFactory.getSessionFactoryOptions().isBatchedInsertRewritingEnabled() ) {
+			final Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+			if ( dialect.supportsMultiRowInsertRewriting() ) {
+				return new MultiRowInsertBatch( key, jdbcCoordinator, jdbcBatchSizeToUse, dialect.getParameterCountLimit() );
+			}
+		}
+		return new BatchingBatch( key, jdbcCoordinator, jdbcBatchSizeToUse );
 	}
 }
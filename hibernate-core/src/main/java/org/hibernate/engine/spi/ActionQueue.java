@@ -607,25 +607,36 @@ public class ActionQueue {
 		//		1) we explicitly iterate list here to perform Executable#execute()
 		//		2) ExecutableList#getQuerySpaces also iterates the Executables to collect query spaces.
 		try {
+			List<EntityIdentityInsertAction> identityInsertBatch = null;
 			for ( E e : list ) {
+				if ( isBatchableIdentityInsert( e ) ) {
+					final EntityIdentityInsertAction identityInsert = (EntityIdentityInsertAction) e;
+					if ( identityInsertBatch != null
+							&& ( identityInsertBatch.get( 0 ).getPersister() != identityInsert.getPersister()
+									|| identityInsertBatch.size() >= session.getConfiguredJdbcBatchSize() ) ) {
+						executeIdentityInsertBatch( identityInsertBatch );
+						identityInsertBatch = null;
+					}
+					if ( identityInsertBatch == null ) {
+						identityInsertBatch = new ArrayList<>();
+					}
+					identityInsertBatch.add( identityInsert );
+					continue;
+				}
+				if ( identityInsertBatch != null ) {
+					executeIdentityInsertBatch( identityInsertBatch );
+					identityInsertBatch = null;
+				}
 				try {
 					e.execute();
 				}
 				finally {
-					if ( e.getBeforeTransactionCompletionProcess() != null ) {
-						if ( beforeTransactionProcesses == null ) {
-							beforeTransactionProcesses = new BeforeTransactionCompletionProcessQueue( session );
-						}
-						beforeTransactionProcesses.register( e.getBeforeTransactionCompletionProcess() );
-					}
-					if ( e.getAfterTransactionCompletionProcess() != null ) {
-						if ( afterTransactionProcesses == null ) {
-							afterTransactionProcesses = new AfterTransactionCompletionProcessQueue( session );
-						}
-						afterTransactionProcesses.register( e.getAfterTransactionCompletionProcess() );
-					}
+					registerTransactionCompletionProcesses( e );
 				}
 			}
+			if ( identityInsertBatch != null ) {
+				executeIdentityInsertBatch( identityInsertBatch );
+			}
 		}
 		finally {
 			if ( session.getFactory().getSessionFactoryOptions().isQueryCacheEnabled() ) {
@@ -641,6 +652,47 @@ public class ActionQueue {
 		session.getJdbcCoordinator().executeBatch();
 	}
 
+	private boolean isBatchableIdentityInsert(Executable executable) {
+		if ( executable instanceof EntityIdentityInsertAction ) {
+			final EntityIdentityInsertAction identityInsert = (EntityIdentityInsertAction) executable;
+			return !identityInsert.isEarlyInsert()
+					&& identityInsert.getPersister().isIdentityInsertBatchable()
+					&& session.getConfiguredJdbcBatchSize() > 1;
+		}
+		return false;
+	}
+
+	private void executeIdentityInsertBatch(List<EntityIdentityInsertAction> identityInserts) {
+		try {
+			if ( identityInserts.size() == 1 ) {
+				identityInserts.get( 0 ).execute();
+			}
+			else {
+				EntityIdentityInsertAction.executeBatch( identityInserts );
+			}
+		}
+		finally {
+			for ( EntityIdentityInsertAction identityInsert : identityInserts ) {
+				registerTransactionCompletionProcesses( identityInsert );
+			}
+		}
+	}
+
+	private void registerTransactionCompletionProcesses(Executable executable) {
+		if ( executable.getBeforeTransactionCompletionProcess() != null ) {
+			if ( beforeTransactionProcesses == null ) {
+				beforeTransactionProcesses = new BeforeTransactionCompletionProcessQueue( session );
+			}
+			beforeTransactionProcesses.register( executable.getBeforeTransactionCompletionProcess() );
+		}
+		if ( executable.getAfterTransactionCompletionProcess() != null ) {
+			if ( afterTransactionProcesses == null ) {
+				afterTransactionProcesses = new AfterTransactionCompletionProcessQueue( session );
+			}
+			afterTransactionProcesses.register( executable.getAfterTransactionCompletionProcess() );
+		}
+	}
+
 	private static String[] convertTimestampSpaces(Set<String> spaces) {
 		return spaces.toArray(StringHelper.EMPTY_STRINGS);
 	}
@@ -6,11 +6,17 @@
  */
 package org.hibernate.engine.spi;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Function;
 
+import org.hibernate.cache.spi.access.CachedDomainDataAccess;
 import org.hibernate.cache.spi.access.CollectionDataAccess;
 import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.collection.spi.PersistentCollection;
@@ -209,7 +215,13 @@ public class BatchFetchQueue {
 
 		LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( entityDescriptor.getEntityName() );
 		if ( set != null ) {
-			for ( EntityKey key : set ) {
+			final SharedCacheLookahead<EntityKey> keys = entityCacheLookahead(
+					set,
+					entityDescriptor.getEntityPersister(),
+					maxBatchSize
+			);
+			while ( keys.hasNext() ) {
+				final EntityKey key = keys.next();
 				if ( checkForEnd && i == end ) {
 					// the first id found after the given id
 					return ids;
@@ -220,7 +232,7 @@ public class BatchFetchQueue {
 					end = i;
 				}
 				else {
-					if ( !isCached( key, entityDescriptor.getEntityPersister() ) ) {
+					if ( !keys.isCached() ) {
 						ids[i++] = key.getIdentifier();
 					}
 				}
@@ -238,19 +250,27 @@ public class BatchFetchQueue {
 		return ids;
 	}
 
-	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
+	private SharedCacheLookahead<EntityKey> entityCacheLookahead(
+			LinkedHashSet<EntityKey> keys,
+			EntityPersister persister,
+			int maxBatchSize) {
 		final SharedSessionContractImplementor session = context.getSession();
-		if ( context.getSession().getCacheMode().isGetEnabled() && persister.canReadFromCache() ) {
+		if ( session.getCacheMode().isGetEnabled() && persister.canReadFromCache() ) {
 			final EntityDataAccess cache = persister.getCacheAccessStrategy();
-			final Object key = cache.generateCacheKey(
-					entityKey.getIdentifier(),
-					persister,
-					session.getFactory(),
-					session.getTenantIdentifier()
+			return new SharedCacheLookahead<>(
+					keys.iterator(),
+					session,
+					cache,
+					key -> cache.generateCacheKey(
+							key.getIdentifier(),
+							persister,
+							session.getFactory(),
+							session.getTenantIdentifier()
+					),
+					maxBatchSize
 			);
-			return CacheHelper.fromSharedCache( session, key, cache ) != null;
 		}
-		return false;
+		return new SharedCacheLookahead<>( keys.iterator() );
 	}
 
 
@@ -319,7 +339,13 @@ public class BatchFetchQueue {
 		final LinkedHashMap<CollectionEntry, PersistentCollection<?>> map =
 				batchLoadableCollections.get( collectionPersister.getRole() );
 		if ( map != null ) {
-			for ( Entry<CollectionEntry, PersistentCollection<?>> me : map.entrySet() ) {
+			final SharedCacheLookahead<Entry<CollectionEntry, PersistentCollection<?>>> entries = collectionCacheLookahead(
+					map,
+					collectionPersister,
+					batchSize
+			);
+			while ( entries.hasNext() ) {
+				final Entry<CollectionEntry, PersistentCollection<?>> me = entries.next();
 				final CollectionEntry ce = me.getKey();
 				final PersistentCollection<?> collection = me.getValue();
 
@@ -352,7 +378,7 @@ public class BatchFetchQueue {
 					end = i;
 					//checkForEnd = false;
 				}
-				else if ( !isCached( ce.getLoadedKey(), collectionPersister ) ) {
+				else if ( !entries.isCached() ) {
 					keys[i++] = ce.getLoadedKey();
 					//count++;
 				}
@@ -368,19 +394,117 @@ public class BatchFetchQueue {
 		return keys; //we ran out of keys to try
 	}
 
-	private boolean isCached(Object collectionKey, CollectionPersister persister) {
-		SharedSessionContractImplementor session = context.getSession();
+	private SharedCacheLookahead<Entry<CollectionEntry, PersistentCollection<?>>> collectionCacheLookahead(
+			LinkedHashMap<CollectionEntry, PersistentCollection<?>> entries,
+			CollectionPersister persister,
+			int batchSize) {
+		final SharedSessionContractImplementor session = context.getSession();
 		if ( session.getCacheMode().isGetEnabled() && persister.hasCache() ) {
-			CollectionDataAccess cache = persister.getCacheAccessStrategy();
-			Object cacheKey = cache.generateCacheKey(
-					collectionKey,
-					persister,
-					session.getFactory(),
-					session.getTenantIdentifier()
+			final CollectionDataAccess cache = persister.getCacheAccessStrategy();
+			return new SharedCacheLookahead<>(
+					entries.entrySet().iterator(),
+					session,
+					cache,
+					entry -> {
+						final Object collectionKey = entry.getKey().getLoadedKey();
+						return collectionKey == null ? null : cache.generateCacheKey(
+								collectionKey,
+								persister,
+								session.getFactory(),
+								session.getTenantIdentifier()
+						);
+					},
+					batchSize
 			);
-			return CacheHelper.fromSharedCache( session, cacheKey, cache ) != null;
 		}
-		return false;
+		return new SharedCacheLookahead<>( entries.entrySet().iterator() );
+	}
+
+	/**
+	 * Iterates over the candidates of a batch, telling whether each is held by the
+	 * second-level cache.  The candidates are read ahead a window at a time, and the
+	 * cache is asked for all the candidates of a window at once, so that a remote cache
+	 * is not reached once per candidate.
+	 */
+	private static class SharedCacheLookahead<T> {
+		private final Iterator<T> iterator;
+		private final SharedSessionContractImplementor session;
+		private final CachedDomainDataAccess cacheAccess;
+		private final Function<T, Object> cacheKeyGenerator;
+		private final int windowSize;
+
+		private final List<T> window;
+		private final List<Object> cacheKeys;
+		private final List<Object> lookupKeys;
+		private final BitSet cached = new BitSet();
+		private int position;
+
+		private SharedCacheLookahead(Iterator<T> iterator) {
+			this( iterator, null, null, null, 1 );
+		}
+
+		private SharedCacheLookahead(
+				Iterator<T> iterator,
+				SharedSessionContractImplementor session,
+				CachedDomainDataAccess cacheAccess,
+				Function<T, Object> cacheKeyGenerator,
+				int windowSize) {
+			this.iterator = iterator;
+			this.session = session;
+			this.cacheAccess = cacheAccess;
+			this.cacheKeyGenerator = cacheKeyGenerator;
+			this.windowSize = Math.max( windowSize, 1 );
+			this.window = new ArrayList<>( this.windowSize );
+			this.cacheKeys = new ArrayList<>( this.windowSize );
+			this.lookupKeys = new ArrayList<>( this.windowSize );
+		}
+
+		boolean hasNext() {
+			return position < window.size() || iterator.hasNext();
+		}
+
+		T next() {
+			if ( position == window.size() ) {
+				readWindow();
+			}
+			return window.get( position++ );
+		}
+
+		/**
+		 * Whether the candidate last returned by {@link #next()} is held by the cache.
+		 */
+		boolean isCached() {
+			return cached.get( position - 1 );
+		}
+
+		private void readWindow() {
+			window.clear();
+			cacheKeys.clear();
+			lookupKeys.clear();
+			cached.clear();
+			position = 0;
+			while ( window.size() < windowSize && iterator.hasNext() ) {
+				final T candidate = iterator.next();
+				window.add( candidate );
+				if ( cacheAccess != null ) {
+					final Object cacheKey = cacheKeyGenerator.apply( candidate );
+					cacheKeys.add( cacheKey );
+					if ( cacheKey != null ) {
+						lookupKeys.add( cacheKey );
+					}
+				}
+			}
+
+			if ( !lookupKeys.isEmpty() ) {
+				final Map<Object, Object> cachedValues = CacheHelper.fromSharedCache( session, lookupKeys, cacheAccess );
+				for ( int i = 0; i < cacheKeys.size(); i++ ) {
+					final Object cacheKey = cacheKeys.get( i );
+					if ( cacheKey != null && cachedValues.get( cacheKey ) != null ) {
+						cached.set( i );
+					}
+				}
+			}
+		}
 	}
 
 }
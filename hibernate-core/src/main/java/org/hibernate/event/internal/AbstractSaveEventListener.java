@@ -241,7 +241,9 @@ public abstract class AbstractSaveEventListener<C>
 		Object id = key == null ? null : key.getIdentifier();
 
 		boolean inTrx = source.isTransactionInProgress();
-		boolean shouldDelayIdentityInserts = !inTrx && !requiresImmediateIdAccess;
+		// in a transaction, IDENTITY inserts are only delayed when they can be batched at flush time
+		boolean shouldDelayIdentityInserts = !requiresImmediateIdAccess
+				&& ( !inTrx || useIdentityColumn && persister.isIdentityInsertBatchable() && source.getConfiguredJdbcBatchSize() > 1 );
 		final PersistenceContext persistenceContext = source.getPersistenceContextInternal();
 
 		// Put a placeholder in entries, so we don't recurse back and try to save() the
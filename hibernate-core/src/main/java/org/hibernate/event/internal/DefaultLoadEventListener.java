@@ -592,6 +592,10 @@ public class DefaultLoadEventListener implements LoadEventListener {
 	protected Object loadFromDatasource(
 			final LoadEvent event,
 			final EntityPersister persister) {
+		final StatisticsImplementor statistics = event.getSession().getFactory().getStatistics();
+		final boolean stats = statistics.isStatisticsEnabled();
+		final long startTime = stats ? System.nanoTime() : 0;
+
 		Object entity = persister.load(
 				event.getEntityId(),
 				event.getInstanceToLoad(),
@@ -610,9 +614,11 @@ public class DefaultLoadEventListener implements LoadEventListener {
 			entity = ( (HibernateProxy) entity ).getHibernateLazyInitializer().getImplementation();
 		}
 
-		final StatisticsImplementor statistics = event.getSession().getFactory().getStatistics();
-		if ( event.isAssociationFetch() && statistics.isStatisticsEnabled() ) {
-			statistics.fetchEntity( event.getEntityClassName() );
+		if ( stats ) {
+			statistics.entityLoadExecuted( persister.getEntityName(), System.nanoTime() - startTime );
+			if ( event.isAssociationFetch() ) {
+				statistics.fetchEntity( event.getEntityClassName() );
+			}
 		}
 
 		return entity;
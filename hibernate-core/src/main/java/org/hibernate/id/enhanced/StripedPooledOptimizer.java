@@ -0,0 +1,288 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.id.enhanced;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.HibernateException;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Variation of {@link PooledOptimizer} (the database value is interpreted as
+ * the hi value of the range) meant for high insert concurrency.
+ * <p/>
+ * Instead of a single synchronized generation state, the values are handed
+ * out from a number of stripes (one per available processor, rounded up to a
+ * power of two), each holding its own block of {@code incrementSize} values
+ * which is consumed with a compare-and-swap.  A thread always starts with the
+ * same stripe; when that stripe is being refilled by another thread it moves
+ * on to the next one rather than waiting.
+ * <p/>
+ * Once half of the block of a stripe has been handed out, the thread which
+ * crossed that mark fetches the next block from the database and keeps it
+ * as a reserve, so that the stripe can switch over to it without a database
+ * round trip once the current block runs out.  This fetch happens on the
+ * calling thread, since the {@link AccessCallback} is bound to its session.
+ * <p/>
+ * Compared to {@link PooledOptimizer}, values are not handed out in
+ * ascending order across threads, and up to two blocks per stripe can be
+ * lost when the application shuts down.
+ *
+ * @see PooledOptimizer
+ */
+public class StripedPooledOptimizer extends AbstractOptimizer implements InitialValueAwareOptimizer {
+	private static final CoreMessageLogger log = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			StripedPooledOptimizer.class.getName()
+	);
+
+	private static final int MAX_STRIPES = 64;
+
+	private final int stripeMask;
+
+	private long initialValue = -1;
+
+	private volatile GenerationState noTenantState;
+	private final Map<String, GenerationState> tenantSpecificState = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs a StripedPooledOptimizer
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 */
+	public StripedPooledOptimizer(Class returnClass, int incrementSize) {
+		this( returnClass, incrementSize, Runtime.getRuntime().availableProcessors() );
+	}
+
+	/**
+	 * Constructs a StripedPooledOptimizer using the given number of stripes
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 * @param stripes The number of stripes, rounded up to a power of two.
+	 */
+	public StripedPooledOptimizer(Class returnClass, int incrementSize, int stripes) {
+		super( returnClass, incrementSize );
+		if ( incrementSize < 1 ) {
+			throw new HibernateException( "increment size cannot be less than 1" );
+		}
+		int stripeCount = 1;
+		while ( stripeCount < stripes && stripeCount < MAX_STRIPES ) {
+			stripeCount <<= 1;
+		}
+		this.stripeMask = stripeCount - 1;
+		if ( log.isTraceEnabled() ) {
+			log.tracev(
+					"Creating striped pooled optimizer with [incrementSize={0}; returnClass={1}; stripes={2}]",
+					incrementSize,
+					returnClass.getName(),
+					stripeCount
+			);
+		}
+	}
+
+	@Override
+	public Serializable generate(AccessCallback callback) {
+		final long value = locateGenerationState( callback.getTenantIdentifier() ).generate( callback );
+		return IdentifierGeneratorHelper.getIntegralDataTypeHolder( returnClass ).initialize( value ).makeValue();
+	}
+
+	private GenerationState locateGenerationState(String tenantIdentifier) {
+		if ( tenantIdentifier == null ) {
+			GenerationState state = noTenantState;
+			if ( state == null ) {
+				synchronized ( this ) {
+					state = noTenantState;
+					if ( state == null ) {
+						state = new GenerationState();
+						noTenantState = state;
+					}
+				}
+			}
+			return state;
+		}
+		else {
+			return tenantSpecificState.computeIfAbsent( tenantIdentifier, tenant -> new GenerationState() );
+		}
+	}
+
+	private GenerationState noTenantGenerationState() {
+		if ( noTenantState == null ) {
+			throw new IllegalStateException( "Could not locate previous generation state for no-tenant" );
+		}
+		return noTenantState;
+	}
+
+	@Override
+	public IntegralDataTypeHolder getLastSourceValue() {
+		return noTenantGenerationState().lastSourceValue;
+	}
+
+	@Override
+	public boolean applyIncrementSizeToSourceValues() {
+		return true;
+	}
+
+	@Override
+	public void injectInitialValue(long initialValue) {
+		this.initialValue = initialValue;
+	}
+
+	/**
+	 * A range of values, from {@code next} up to and including {@code hi}.
+	 */
+	private static class Block {
+		private final AtomicLong next;
+		private final long hi;
+		private final long prefetchMark;
+
+		private Block(long lo, long hi) {
+			this.next = new AtomicLong( lo );
+			this.hi = hi;
+			this.prefetchMark = lo + ( hi - lo ) / 2;
+		}
+	}
+
+	private static class Stripe {
+		private final ReentrantLock lock = new ReentrantLock();
+		private volatile Block current;
+		// only accessed while holding the lock
+		private Block reserve;
+	}
+
+	private class GenerationState {
+		private final Stripe[] stripes;
+		private volatile boolean initialized;
+		private volatile IntegralDataTypeHolder lastSourceValue;
+
+		private GenerationState() {
+			stripes = new Stripe[stripeMask + 1];
+			for ( int i = 0; i < stripes.length; i++ ) {
+				stripes[i] = new Stripe();
+			}
+		}
+
+		private long generate(AccessCallback callback) {
+			final int home = (int) Thread.currentThread().getId() & stripeMask;
+			int index = home;
+			while ( true ) {
+				final Stripe stripe = stripes[index];
+				final Block block = stripe.current;
+				if ( block != null ) {
+					final long value = block.next.getAndIncrement();
+					if ( value <= block.hi ) {
+						if ( value == block.prefetchMark ) {
+							prefetch( stripe, callback );
+						}
+						return value;
+					}
+				}
+
+				// the block of this stripe is used up: refill it, unless another
+				// thread is already doing so, in which case try the next stripe
+				// and only wait once we have gone all the way around
+				index = ( index + 1 ) & stripeMask;
+				if ( stripe.lock.tryLock() ) {
+					try {
+						refill( stripe, block, callback );
+					}
+					finally {
+						stripe.lock.unlock();
+					}
+					index = home;
+				}
+				else if ( index == home ) {
+					stripe.lock.lock();
+					try {
+						refill( stripe, block, callback );
+					}
+					finally {
+						stripe.lock.unlock();
+					}
+				}
+			}
+		}
+
+		private void prefetch(Stripe stripe, AccessCallback callback) {
+			if ( stripe.lock.tryLock() ) {
+				try {
+					if ( stripe.reserve == null ) {
+						stripe.reserve = nextBlock( callback );
+					}
+				}
+				finally {
+					stripe.lock.unlock();
+				}
+			}
+		}
+
+		private void refill(Stripe stripe, Block exhausted, AccessCallback callback) {
+			if ( stripe.current != exhausted ) {
+				// another thread refilled it in the meantime
+				return;
+			}
+			if ( stripe.reserve != null ) {
+				stripe.current = stripe.reserve;
+				stripe.reserve = null;
+			}
+			else {
+				stripe.current = nextBlock( callback );
+			}
+		}
+
+		private Block nextBlock(AccessCallback callback) {
+			if ( !initialized ) {
+				synchronized ( this ) {
+					if ( !initialized ) {
+						final Block block = initialBlock( callback );
+						initialized = true;
+						return block;
+					}
+				}
+			}
+			final IntegralDataTypeHolder hiValue = callback.getNextValue();
+			lastSourceValue = hiValue;
+			final long hi = IdentifierGeneratorHelper.extractLong( hiValue );
+			return new Block( hi - incrementSize + 1, hi );
+		}
+
+		/**
+		 * Same interpretation of the first value obtained from the database as
+		 * {@link PooledOptimizer}, so that the optimizers can be swapped for
+		 * one another.
+		 */
+		private Block initialBlock(AccessCallback callback) {
+			final IntegralDataTypeHolder value = callback.getNextValue();
+			if ( value.lt( 1 ) ) {
+				log.pooledOptimizerReportedInitialValue( value );
+			}
+			// the call to obtain next-value just gave us the initialValue
+			if ( ( initialValue == -1 && value.lt( incrementSize ) ) || value.eq( initialValue ) ) {
+				final IntegralDataTypeHolder hiValue = callback.getNextValue();
+				lastSourceValue = hiValue;
+				return new Block(
+						IdentifierGeneratorHelper.extractLong( value ),
+						IdentifierGeneratorHelper.extractLong( hiValue )
+				);
+			}
+			else {
+				lastSourceValue = value;
+				final long hi = IdentifierGeneratorHelper.extractLong( value );
+				return new Block( hi - incrementSize + 1, hi );
+			}
+		}
+	}
+}
@@ -56,6 +56,7 @@ import org.hibernate.boot.spi.MetadataImplementor;
 import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.cache.cfg.internal.DomainDataRegionConfigImpl;
 import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.internal.SecondLevelCacheWarmUp;
 import org.hibernate.cache.spi.CacheImplementor;
 import org.hibernate.cache.spi.access.AccessType;
 import org.hibernate.cfg.AvailableSettings;
@@ -105,6 +106,7 @@ import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
 import org.hibernate.query.QueryLogging;
 import org.hibernate.query.hql.spi.SqmQueryImplementor;
+import org.hibernate.query.internal.QueryPlanCacheSnapshot;
 import org.hibernate.query.named.NamedObjectRepository;
 import org.hibernate.query.named.NamedQueryMemento;
 import org.hibernate.query.spi.QueryEngine;
@@ -255,6 +257,14 @@ public class SessionFactoryImpl implements SessionFactoryImplementor {
 		for ( SessionFactoryObserver sessionFactoryObserver : options.getSessionFactoryObservers() ) {
 			this.observer.addObserver( sessionFactoryObserver );
 		}
+		final SecondLevelCacheWarmUp secondLevelCacheWarmUp = SecondLevelCacheWarmUp.fromSettings( properties );
+		if ( secondLevelCacheWarmUp != null ) {
+			this.observer.addObserver( secondLevelCacheWarmUp );
+		}
+		final QueryPlanCacheSnapshot queryPlanCacheSnapshot = QueryPlanCacheSnapshot.fromSettings( properties );
+		if ( queryPlanCacheSnapshot != null ) {
+			this.observer.addObserver( queryPlanCacheSnapshot );
+		}
 
 		this.filters = new HashMap<>();
 		this.filters.putAll( bootMetamodel.getFilterDefinitions() );
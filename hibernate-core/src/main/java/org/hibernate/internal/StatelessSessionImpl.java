@@ -6,7 +6,12 @@
  */
 package org.hibernate.internal;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import org.hibernate.CacheMode;
 import org.hibernate.FlushMode;
@@ -45,24 +50,26 @@ import jakarta.transaction.SystemException;
 public class StatelessSessionImpl extends AbstractSharedSessionContract implements StatelessSession {
 	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( StatelessSessionImpl.class );
 
-	private static final LoadQueryInfluencers NO_INFLUENCERS = new LoadQueryInfluencers( null ) {
-		@Override
-		public String getInternalFetchProfile() {
-			return null;
-		}
-
-		@Override
-		public void setInternalFetchProfile(String internalFetchProfile) {
-		}
-	};
-
 	private final PersistenceContext temporaryPersistenceContext = new StatefulPersistenceContext( this );
 
 	private final boolean connectionProvided;
 
+	// no filter or fetch profile is enabled unless done internally, e.g. by a partitioned stream
+	private final LoadQueryInfluencers influencers;
+
 	public StatelessSessionImpl(SessionFactoryImpl factory, SessionCreationOptions options) {
 		super( factory, options );
 		connectionProvided = options.getConnection() != null;
+		influencers = new LoadQueryInfluencers( factory ) {
+			@Override
+			public String getInternalFetchProfile() {
+				return null;
+			}
+
+			@Override
+			public void setInternalFetchProfile(String internalFetchProfile) {
+			}
+		};
 	}
 
 	@Override
@@ -81,7 +88,10 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 	@Override
 	public Object insert(String entityName, Object entity) {
 		checkOpen();
-		EntityPersister persister = getEntityPersister( entityName, entity );
+		return doInsert( getEntityPersister( entityName, entity ), entity );
+	}
+
+	private Object doInsert(EntityPersister persister, Object entity) {
 		Object id = persister.getIdentifierGenerator().generate( this, entity );
 		Object[] state = persister.getValues( entity );
 		if ( persister.isVersioned() ) {
@@ -117,7 +127,10 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 	@Override
 	public void delete(String entityName, Object entity) {
 		checkOpen();
-		EntityPersister persister = getEntityPersister( entityName, entity );
+		doDelete( getEntityPersister( entityName, entity ), entity );
+	}
+
+	private void doDelete(EntityPersister persister, Object entity) {
 		Object id = persister.getIdentifier( entity, this );
 		Object version = persister.getVersion( entity );
 		persister.delete( id, version, entity, this );
@@ -135,7 +148,10 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 	@Override
 	public void update(String entityName, Object entity) {
 		checkOpen();
-		EntityPersister persister = getEntityPersister( entityName, entity );
+		doUpdate( getEntityPersister( entityName, entity ), entity );
+	}
+
+	private void doUpdate(EntityPersister persister, Object entity) {
 		Object id = persister.getIdentifier( entity, this );
 		Object[] state = persister.getValues( entity );
 		Object oldVersion;
@@ -152,6 +168,60 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 	}
 
 
+	// multiple ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	@Override
+	public void insertMultiple(List<?> entities) {
+		checkOpen();
+		forEachInBatches( entities, getFactory().getSessionFactoryOptions().isOrderInsertsEnabled(), this::doInsert );
+	}
+
+	@Override
+	public void updateMultiple(List<?> entities) {
+		checkOpen();
+		forEachInBatches( entities, getFactory().getSessionFactoryOptions().isOrderUpdatesEnabled(), this::doUpdate );
+	}
+
+	@Override
+	public void deleteMultiple(List<?> entities) {
+		checkOpen();
+		forEachInBatches( entities, false, this::doDelete );
+	}
+
+	/**
+	 * Applies the operation to the entities in list order, so that consecutive
+	 * entities of one type keep adding to the same JDBC batch (the current batch
+	 * gets executed whenever another batch key is requested), and executes the
+	 * last batch at the end.  When {@code groupByPersister} is set, all the
+	 * entities of one type are processed before moving to the next type, like
+	 * the action queue does with {@value org.hibernate.cfg.AvailableSettings#ORDER_INSERTS}.
+	 */
+	private void forEachInBatches(
+			List<?> entities,
+			boolean groupByPersister,
+			BiConsumer<EntityPersister, Object> operation) {
+		if ( groupByPersister ) {
+			final Map<EntityPersister, List<Object>> entitiesByPersister = new LinkedHashMap<>();
+			for ( Object entity : entities ) {
+				entitiesByPersister.computeIfAbsent( getEntityPersister( null, entity ), persister -> new ArrayList<>() )
+						.add( entity );
+			}
+			for ( Map.Entry<EntityPersister, List<Object>> entry : entitiesByPersister.entrySet() ) {
+				final EntityPersister persister = entry.getKey();
+				for ( Object entity : entry.getValue() ) {
+					operation.accept( persister, entity );
+				}
+			}
+		}
+		else {
+			for ( Object entity : entities ) {
+				operation.accept( getEntityPersister( null, entity ), entity );
+			}
+		}
+		getJdbcCoordinator().executeBatch();
+	}
+
+
 	// loading ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
 	@Override @SuppressWarnings("unchecked")
@@ -626,7 +696,7 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 
 	@Override
 	public LoadQueryInfluencers getLoadQueryInfluencers() {
-		return NO_INFLUENCERS;
+		return influencers;
 	}
 
 	@Override
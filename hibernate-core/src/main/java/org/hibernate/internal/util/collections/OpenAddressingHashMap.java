@@ -0,0 +1,488 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal.util.collections;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@code Map} based on open addressing with linear probing, intended for
+ * maps holding a large number of entries for which the per-entry node of a
+ * {@link java.util.HashMap} is a significant overhead.
+ * <p>
+ * Keys and values are kept next to each other in a single array, so that
+ * adding an entry never allocates (apart from growing the array); removals use
+ * backward-shift deletion, so there are no tombstones and lookups never degrade
+ * after many removals.  Hash codes are not stored, so keys should cache them,
+ * as {@link org.hibernate.engine.spi.EntityKey} and
+ * {@link org.hibernate.engine.spi.CollectionKey} do.
+ * Iterating through the {@link #entrySet()} allocates one entry per element,
+ * iterating through {@link #keySet()}, {@link #values()} or {@link #forEach}
+ * does not.
+ * <p>
+ * {@code null} keys are not supported: {@link #put} rejects them, lookups
+ * simply do not find them.  This class is not thread-safe.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#PERSISTENCE_CONTEXT_OPEN_ADDRESSING_MAPS
+ */
+public final class OpenAddressingHashMap<K,V> extends AbstractMap<K,V> {
+	private static final int MINIMUM_CAPACITY = 8;
+	private static final int MAXIMUM_CAPACITY = 1 << 29;
+
+	// linear probing degrades quickly when the table gets fuller than this
+	private static final float LOAD_FACTOR = 0.66f;
+
+	// keys at even indexes, the associated value right after the key
+	private Object[] table;
+
+	private int size;
+	private int threshold;
+	private int modCount;
+
+	private transient Set<K> keySet;
+	private transient Collection<V> valuesCollection;
+	private transient Set<Entry<K,V>> entrySet;
+
+	public OpenAddressingHashMap() {
+		this( MINIMUM_CAPACITY );
+	}
+
+	/**
+	 * @param expectedSize The number of entries the map should be able to hold without resizing
+	 */
+	public OpenAddressingHashMap(int expectedSize) {
+		allocate( capacityFor( expectedSize ) );
+	}
+
+	private static int capacityFor(int expectedSize) {
+		final long required = (long) Math.ceil( Math.max( expectedSize, 1 ) / LOAD_FACTOR );
+		if ( required >= MAXIMUM_CAPACITY ) {
+			return MAXIMUM_CAPACITY;
+		}
+		return Math.max( MINIMUM_CAPACITY, Integer.highestOneBit( (int) required - 1 ) << 1 );
+	}
+
+	private void allocate(int capacity) {
+		table = new Object[capacity << 1];
+		threshold = (int) ( capacity * LOAD_FACTOR );
+	}
+
+	/**
+	 * @return the index in {@link #table} of the key of the first slot to probe
+	 */
+	private static int indexFor(int hash, int mask) {
+		// spread the bits, as the hash codes of sequential identifiers are clustered
+		final int h = hash * 0x9E3779B9;
+		return ( ( h ^ ( h >>> 16 ) ) << 1 ) & mask;
+	}
+
+	/**
+	 * @return the index in {@link #table} of the given key, or {@code -1}
+	 */
+	private int find(Object key) {
+		if ( key == null ) {
+			return -1;
+		}
+		final Object[] table = this.table;
+		final int mask = table.length - 1;
+		final int hash = key.hashCode();
+		int index = indexFor( hash, mask );
+		while ( true ) {
+			final Object candidate = table[index];
+			if ( candidate == null ) {
+				return -1;
+			}
+			if ( candidate == key || candidate.hashCode() == hash && candidate.equals( key ) ) {
+				return index;
+			}
+			index = ( index + 2 ) & mask;
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return find( key ) >= 0;
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		final Object[] table = this.table;
+		for ( int i = 0; i < table.length; i += 2 ) {
+			if ( table[i] != null && Objects.equals( value, table[i + 1] ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		final int index = find( key );
+		return index < 0 ? null : (V) table[index + 1];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(K key, V value) {
+		if ( key == null ) {
+			throw new NullPointerException( "null keys are not supported" );
+		}
+		final Object[] table = this.table;
+		final int mask = table.length - 1;
+		final int hash = key.hashCode();
+		int index = indexFor( hash, mask );
+		while ( true ) {
+			final Object candidate = table[index];
+			if ( candidate == null ) {
+				break;
+			}
+			if ( candidate == key || candidate.hashCode() == hash && candidate.equals( key ) ) {
+				final V previous = (V) table[index + 1];
+				table[index + 1] = value;
+				return previous;
+			}
+			index = ( index + 2 ) & mask;
+		}
+
+		table[index] = key;
+		table[index + 1] = value;
+		modCount++;
+		if ( ++size > threshold ) {
+			resize();
+		}
+		return null;
+	}
+
+	private void resize() {
+		final Object[] oldTable = table;
+		final int oldCapacity = oldTable.length >> 1;
+		if ( oldCapacity == MAXIMUM_CAPACITY ) {
+			throw new IllegalStateException( "Map capacity exceeded" );
+		}
+		allocate( oldCapacity << 1 );
+		final Object[] table = this.table;
+		final int mask = table.length - 1;
+		for ( int i = 0; i < oldTable.length; i += 2 ) {
+			final Object key = oldTable[i];
+			if ( key != null ) {
+				int index = indexFor( key.hashCode(), mask );
+				while ( table[index] != null ) {
+					index = ( index + 2 ) & mask;
+				}
+				table[index] = key;
+				table[index + 1] = oldTable[i + 1];
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		final int index = find( key );
+		if ( index < 0 ) {
+			return null;
+		}
+		final V previous = (V) table[index + 1];
+		removeAt( index );
+		return previous;
+	}
+
+	private void removeAt(int index) {
+		final Object[] table = this.table;
+		final int mask = table.length - 1;
+
+		// shift back any following entry whose probe sequence passes through the gap
+		int gap = index;
+		int next = ( gap + 2 ) & mask;
+		Object key;
+		while ( ( key = table[next] ) != null ) {
+			final int ideal = indexFor( key.hashCode(), mask );
+			if ( ( ( next - ideal ) & mask ) >= ( ( next - gap ) & mask ) ) {
+				table[gap] = key;
+				table[gap + 1] = table[next + 1];
+				gap = next;
+			}
+			next = ( next + 2 ) & mask;
+		}
+		table[gap] = null;
+		table[gap + 1] = null;
+
+		size--;
+		modCount++;
+	}
+
+	@Override
+	public void clear() {
+		if ( size > 0 ) {
+			Arrays.fill( table, null );
+			size = 0;
+			modCount++;
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		final Object[] table = this.table;
+		final int expectedModCount = modCount;
+		for ( int i = 0; i < table.length; i += 2 ) {
+			if ( table[i] != null ) {
+				action.accept( (K) table[i], (V) table[i + 1] );
+			}
+		}
+		if ( modCount != expectedModCount ) {
+			throw new ConcurrentModificationException();
+		}
+	}
+
+	@Override
+	public Set<K> keySet() {
+		if ( keySet == null ) {
+			keySet = new KeySet();
+		}
+		return keySet;
+	}
+
+	@Override
+	public Collection<V> values() {
+		if ( valuesCollection == null ) {
+			valuesCollection = new Values();
+		}
+		return valuesCollection;
+	}
+
+	@Override
+	public Set<Entry<K,V>> entrySet() {
+		if ( entrySet == null ) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	/**
+	 * Iterates the table slots in order.
+	 * <p>
+	 * Removing through the iterator may shift entries the iterator has already
+	 * visited into slots it has not yet reached (and the other way around),
+	 * so on the first removal the iterator switches to a snapshot of the keys
+	 * it has not returned yet.
+	 */
+	private abstract class TableIterator<E> implements Iterator<E> {
+		private int nextIndex;
+		private int expectedModCount = modCount;
+
+		private ArrayList<Object> remainingKeys;
+		private int remainingPosition;
+
+		private Object lastReturnedKey;
+
+		TableIterator() {
+			nextIndex = advance( 0 );
+		}
+
+		private int advance(int from) {
+			final Object[] table = OpenAddressingHashMap.this.table;
+			int index = from;
+			while ( index < table.length && table[index] == null ) {
+				index += 2;
+			}
+			return index;
+		}
+
+		abstract E element(Object key, Object value);
+
+		@Override
+		public boolean hasNext() {
+			return remainingKeys == null
+					? nextIndex < table.length
+					: remainingPosition < remainingKeys.size();
+		}
+
+		@Override
+		public E next() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			if ( remainingKeys == null ) {
+				final int index = nextIndex;
+				nextIndex = advance( index + 2 );
+				lastReturnedKey = table[index];
+				return element( lastReturnedKey, table[index + 1] );
+			}
+			else {
+				lastReturnedKey = remainingKeys.get( remainingPosition++ );
+				return element( lastReturnedKey, get( lastReturnedKey ) );
+			}
+		}
+
+		@Override
+		public void remove() {
+			if ( lastReturnedKey == null ) {
+				throw new IllegalStateException();
+			}
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( remainingKeys == null ) {
+				final Object[] table = OpenAddressingHashMap.this.table;
+				remainingKeys = new ArrayList<>();
+				for ( int index = nextIndex; index < table.length; index += 2 ) {
+					if ( table[index] != null ) {
+						remainingKeys.add( table[index] );
+					}
+				}
+			}
+			OpenAddressingHashMap.this.remove( lastReturnedKey );
+			lastReturnedKey = null;
+			expectedModCount = modCount;
+		}
+	}
+
+	private final class KeySet extends AbstractSet<K> {
+		@Override
+		public Iterator<K> iterator() {
+			return new TableIterator<K>() {
+				@Override
+				@SuppressWarnings("unchecked")
+				K element(Object key, Object value) {
+					return (K) key;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return containsKey( o );
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			final int index = find( o );
+			if ( index < 0 ) {
+				return false;
+			}
+			removeAt( index );
+			return true;
+		}
+
+		@Override
+		public void clear() {
+			OpenAddressingHashMap.this.clear();
+		}
+	}
+
+	private final class Values extends AbstractCollection<V> {
+		@Override
+		public Iterator<V> iterator() {
+			return new TableIterator<V>() {
+				@Override
+				@SuppressWarnings("unchecked")
+				V element(Object key, Object value) {
+					return (V) value;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return containsValue( o );
+		}
+
+		@Override
+		public void clear() {
+			OpenAddressingHashMap.this.clear();
+		}
+	}
+
+	private final class EntrySet extends AbstractSet<Entry<K,V>> {
+		@Override
+		public Iterator<Entry<K,V>> iterator() {
+			return new TableIterator<Entry<K,V>>() {
+				@Override
+				@SuppressWarnings("unchecked")
+				Entry<K,V> element(Object key, Object value) {
+					return new TableEntry( (K) key, (V) value );
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if ( !( o instanceof Entry ) ) {
+				return false;
+			}
+			final Entry<?,?> entry = (Entry<?,?>) o;
+			final int index = find( entry.getKey() );
+			return index >= 0 && Objects.equals( table[index + 1], entry.getValue() );
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			if ( contains( o ) ) {
+				OpenAddressingHashMap.this.remove( ( (Entry<?,?>) o ).getKey() );
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void clear() {
+			OpenAddressingHashMap.this.clear();
+		}
+	}
+
+	private final class TableEntry extends SimpleEntry<K,V> {
+		TableEntry(K key, V value) {
+			super( key, value );
+		}
+
+		@Override
+		public V setValue(V value) {
+			put( getKey(), value );
+			return super.setValue( value );
+		}
+	}
+}
@@ -0,0 +1,529 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal.util.collections;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A concurrent cache holding at most a given number of entries, evicted according to the
+ * W-TinyLFU policy.
+ * <p>
+ * New entries are admitted into a small LRU window, holding 1% of the entries.  The entries
+ * leaving the window compete for a place in the main space, a segmented LRU, against its least
+ * recently used entry: the one accessed the least frequently, as estimated by a count-min sketch
+ * of 4-bit counters which are halved periodically, is evicted.  So a burst of entries used once,
+ * such as queries built from literal values, does not flush the entries in steady use.
+ * <p>
+ * Reads never lock: the entries are held in a {@link ConcurrentHashMap}, and each read is
+ * recorded in one of several lossy ring buffers, picked by thread.  Writes are recorded in a
+ * lock-free queue.  Both are applied to the eviction policy in batches, by whichever thread
+ * acquires the eviction lock, so the number of entries may briefly exceed the maximum.
+ * <p>
+ * {@code null} keys and values are not supported.
+ */
+public final class WindowTinyLfuCache<K,V> {
+	private static final int READ_BUFFER_SIZE = 16;
+	private static final int READ_BUFFER_STRIPES = ceilingPowerOfTwo( Runtime.getRuntime().availableProcessors() );
+
+	private static final int NONE = 0;
+	private static final int WINDOW = 1;
+	private static final int PROBATION = 2;
+	private static final int PROTECTED = 3;
+
+	private final ConcurrentHashMap<K, Node<K,V>> data;
+	private final ReadBuffer<K,V>[] readBuffers;
+	private final Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<>();
+	private final ReentrantLock evictionLock = new ReentrantLock();
+	private final Consumer<K> evictionListener;
+
+	// guarded by the eviction lock
+	private final FrequencySketch sketch;
+	private final AccessOrderDeque<K,V> window = new AccessOrderDeque<>();
+	private final AccessOrderDeque<K,V> probation = new AccessOrderDeque<>();
+	private final AccessOrderDeque<K,V> protectedSpace = new AccessOrderDeque<>();
+	private final int maximumSize;
+	private final int maximumWindowSize;
+	private final int maximumProtectedSize;
+	private int policySize;
+	private int windowSize;
+	private int protectedSize;
+
+	public WindowTinyLfuCache(int maximumSize) {
+		this( maximumSize, null );
+	}
+
+	/**
+	 * @param maximumSize The maximum number of entries
+	 * @param evictionListener Notified of the key of each entry evicted because the cache is full, may be {@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public WindowTinyLfuCache(int maximumSize, Consumer<K> evictionListener) {
+		if ( maximumSize < 1 ) {
+			throw new IllegalArgumentException( "The maximum size must be positive" );
+		}
+		this.maximumSize = maximumSize;
+		this.maximumWindowSize = Math.max( 1, maximumSize / 100 );
+		this.maximumProtectedSize = (int) ( ( maximumSize - maximumWindowSize ) * 0.8 );
+		this.evictionListener = evictionListener;
+		this.data = new ConcurrentHashMap<>( Math.min( maximumSize, 1024 ) );
+		this.sketch = new FrequencySketch( maximumSize );
+		this.readBuffers = new ReadBuffer[READ_BUFFER_STRIPES];
+		for ( int i = 0; i < READ_BUFFER_STRIPES; i++ ) {
+			readBuffers[i] = new ReadBuffer<>();
+		}
+	}
+
+	public int size() {
+		return data.size();
+	}
+
+	public boolean isEmpty() {
+		return data.isEmpty();
+	}
+
+	/**
+	 * An unmodifiable view of the keys currently cached
+	 */
+	public Set<K> keySet() {
+		return Collections.unmodifiableSet( data.keySet() );
+	}
+
+	public V get(Object key) {
+		final Node<K,V> node = data.get( key );
+		if ( node == null ) {
+			return null;
+		}
+		afterRead( node );
+		return node.value;
+	}
+
+	public V put(K key, V value) {
+		Objects.requireNonNull( value );
+		final Node<K,V> node = new Node<>( key, value );
+		final Node<K,V> existing = data.putIfAbsent( key, node );
+		if ( existing == null ) {
+			afterWrite( () -> onAdd( node ) );
+			return null;
+		}
+		// if the existing entry is concurrently evicted, the new value is simply not cached
+		final V previous = existing.value;
+		existing.value = value;
+		afterRead( existing );
+		return previous;
+	}
+
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		final Node<K,V> existing = data.get( key );
+		if ( existing != null ) {
+			afterRead( existing );
+			return existing.value;
+		}
+		final Object[] created = new Object[1];
+		final Node<K,V> node = data.computeIfAbsent( key, k -> {
+			final V value = mappingFunction.apply( k );
+			if ( value == null ) {
+				return null;
+			}
+			final Node<K,V> newNode = new Node<>( k, value );
+			created[0] = newNode;
+			return newNode;
+		} );
+		if ( node == null ) {
+			return null;
+		}
+		if ( node == created[0] ) {
+			afterWrite( () -> onAdd( node ) );
+		}
+		else {
+			afterRead( node );
+		}
+		return node.value;
+	}
+
+	public V remove(Object key) {
+		final Node<K,V> node = data.remove( key );
+		if ( node == null ) {
+			return null;
+		}
+		node.retired = true;
+		afterWrite( () -> onRemove( node ) );
+		return node.value;
+	}
+
+	/**
+	 * Removes the entry for the given key only if it currently holds the given value.
+	 */
+	public boolean remove(Object key, Object value) {
+		final Node<K,V> node = data.get( key );
+		if ( node == null || !Objects.equals( node.value, value ) || !data.remove( key, node ) ) {
+			return false;
+		}
+		node.retired = true;
+		afterWrite( () -> onRemove( node ) );
+		return true;
+	}
+
+	public void clear() {
+		evictionLock.lock();
+		try {
+			drainBuffers();
+			for ( Node<K,V> node : data.values() ) {
+				if ( data.remove( node.key, node ) ) {
+					node.retired = true;
+					onRemove( node );
+				}
+			}
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private void afterRead(Node<K,V> node) {
+		final int stripe = (int) ( Thread.currentThread().getId() * 0x9E3779B9L >>> 16 ) & ( READ_BUFFER_STRIPES - 1 );
+		if ( readBuffers[stripe].offer( node ) ) {
+			scheduleDrain();
+		}
+	}
+
+	private void afterWrite(Runnable task) {
+		writeBuffer.add( task );
+		scheduleDrain();
+	}
+
+	private void scheduleDrain() {
+		// a thread failing to acquire the lock leaves its writes to the owner, which checks for them after releasing it
+		do {
+			if ( !evictionLock.tryLock() ) {
+				return;
+			}
+			try {
+				drainBuffers();
+			}
+			finally {
+				evictionLock.unlock();
+			}
+		} while ( !writeBuffer.isEmpty() );
+	}
+
+	private void drainBuffers() {
+		for ( ReadBuffer<K,V> readBuffer : readBuffers ) {
+			readBuffer.drainTo( this::onAccess );
+		}
+		Runnable task;
+		while ( ( task = writeBuffer.poll() ) != null ) {
+			task.run();
+		}
+	}
+
+	private void onAdd(Node<K,V> node) {
+		if ( node.retired ) {
+			// removed before its addition was applied
+			return;
+		}
+		sketch.increment( node.key );
+		window.addLast( node );
+		node.queue = WINDOW;
+		windowSize++;
+		policySize++;
+		evictEntries();
+	}
+
+	private void onAccess(Node<K,V> node) {
+		switch ( node.queue ) {
+			case WINDOW:
+				sketch.increment( node.key );
+				window.moveToBack( node );
+				break;
+			case PROBATION:
+				sketch.increment( node.key );
+				probation.remove( node );
+				protectedSpace.addLast( node );
+				node.queue = PROTECTED;
+				protectedSize++;
+				while ( protectedSize > maximumProtectedSize ) {
+					final Node<K,V> demoted = protectedSpace.pollFirst();
+					protectedSize--;
+					probation.addLast( demoted );
+					demoted.queue = PROBATION;
+				}
+				break;
+			case PROTECTED:
+				sketch.increment( node.key );
+				protectedSpace.moveToBack( node );
+				break;
+			default:
+				// not added yet, or already removed
+		}
+	}
+
+	private void onRemove(Node<K,V> node) {
+		switch ( node.queue ) {
+			case WINDOW:
+				window.remove( node );
+				windowSize--;
+				break;
+			case PROBATION:
+				probation.remove( node );
+				break;
+			case PROTECTED:
+				protectedSpace.remove( node );
+				protectedSize--;
+				break;
+			default:
+				// its addition was not applied
+				return;
+		}
+		node.queue = NONE;
+		policySize--;
+	}
+
+	private void evictEntries() {
+		while ( windowSize > maximumWindowSize ) {
+			final Node<K,V> candidate = window.pollFirst();
+			windowSize--;
+			probation.addLast( candidate );
+			candidate.queue = PROBATION;
+		}
+
+		while ( policySize > maximumSize ) {
+			// the candidates leaving the window were added to the back of the probation space
+			Node<K,V> victim = probation.peekFirst();
+			final Node<K,V> candidate = probation.peekLast();
+			if ( victim == null ) {
+				victim = protectedSpace.peekFirst() != null ? protectedSpace.peekFirst() : window.peekFirst();
+			}
+			if ( candidate != null && candidate != victim
+					&& sketch.frequency( candidate.key ) <= sketch.frequency( victim.key ) ) {
+				victim = candidate;
+			}
+			evict( victim );
+		}
+	}
+
+	private void evict(Node<K,V> node) {
+		onRemove( node );
+		if ( data.remove( node.key, node ) ) {
+			node.retired = true;
+			if ( evictionListener != null ) {
+				evictionListener.accept( node.key );
+			}
+		}
+	}
+
+	private static int ceilingPowerOfTwo(int x) {
+		return x <= 1 ? 1 : Integer.highestOneBit( x - 1 ) << 1;
+	}
+
+	private static final class Node<K,V> {
+		private final K key;
+		private volatile V value;
+		private volatile boolean retired;
+
+		// guarded by the eviction lock
+		private int queue;
+		private Node<K,V> previous;
+		private Node<K,V> next;
+
+		private Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * A doubly linked list of nodes, from the least to the most recently used.
+	 */
+	private static final class AccessOrderDeque<K,V> {
+		private Node<K,V> first;
+		private Node<K,V> last;
+
+		private Node<K,V> peekFirst() {
+			return first;
+		}
+
+		private Node<K,V> peekLast() {
+			return last;
+		}
+
+		private Node<K,V> pollFirst() {
+			final Node<K,V> node = first;
+			if ( node != null ) {
+				remove( node );
+			}
+			return node;
+		}
+
+		private void addLast(Node<K,V> node) {
+			node.previous = last;
+			node.next = null;
+			if ( last == null ) {
+				first = node;
+			}
+			else {
+				last.next = node;
+			}
+			last = node;
+		}
+
+		private void remove(Node<K,V> node) {
+			if ( node.previous == null ) {
+				first = node.next;
+			}
+			else {
+				node.previous.next = node.next;
+			}
+			if ( node.next == null ) {
+				last = node.previous;
+			}
+			else {
+				node.next.previous = node.previous;
+			}
+			node.previous = null;
+			node.next = null;
+		}
+
+		private void moveToBack(Node<K,V> node) {
+			if ( node != last ) {
+				remove( node );
+				addLast( node );
+			}
+		}
+	}
+
+	/**
+	 * A ring buffer of reads, dropping them when it is full or contended.
+	 */
+	private static final class ReadBuffer<K,V> {
+		private final AtomicReferenceArray<Node<K,V>> buffer = new AtomicReferenceArray<>( READ_BUFFER_SIZE );
+		private final AtomicLong writeCount = new AtomicLong();
+		private volatile long readCount;
+
+		/**
+		 * @return Whether the buffer should be drained
+		 */
+		private boolean offer(Node<K,V> node) {
+			final long writes = writeCount.get();
+			if ( writes - readCount >= READ_BUFFER_SIZE ) {
+				return true;
+			}
+			if ( writeCount.compareAndSet( writes, writes + 1 ) ) {
+				buffer.lazySet( (int) ( writes & ( READ_BUFFER_SIZE - 1 ) ), node );
+				return writes + 1 - readCount >= READ_BUFFER_SIZE;
+			}
+			return false;
+		}
+
+		// called with the eviction lock held
+		private void drainTo(Consumer<Node<K,V>> consumer) {
+			final long writes = writeCount.get();
+			long reads = readCount;
+			while ( reads < writes ) {
+				final int index = (int) ( reads & ( READ_BUFFER_SIZE - 1 ) );
+				final Node<K,V> node = buffer.get( index );
+				if ( node == null ) {
+					// the slot was reserved but is not filled yet
+					break;
+				}
+				buffer.lazySet( index, null );
+				consumer.accept( node );
+				reads++;
+			}
+			readCount = reads;
+		}
+	}
+
+	/**
+	 * A count-min sketch of the access frequency of the keys, with four 4-bit counters per key.
+	 * The counters are halved once the number of increments reaches ten times the maximum size of
+	 * the cache, so that the frequencies reflect the recent accesses.
+	 */
+	private static final class FrequencySketch {
+		private static final long[] SEEDS = {
+				0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+		};
+		private static final long RESET_MASK = 0x7777777777777777L;
+		private static final long ONE_MASK = 0x1111111111111111L;
+
+		private final long[] table;
+		private final int tableMask;
+		private final int sampleSize;
+		private int additions;
+
+		private FrequencySketch(int maximumSize) {
+			final int tableSize = ceilingPowerOfTwo( Math.max( 8, Math.min( maximumSize, 1 << 30 ) ) );
+			this.table = new long[tableSize];
+			this.tableMask = tableSize - 1;
+			this.sampleSize = (int) Math.min( 10L * maximumSize, Integer.MAX_VALUE );
+		}
+
+		private int frequency(Object key) {
+			final int hash = spread( key.hashCode() );
+			// each long holds 16 counters, in 4 groups of 4, one group being picked by the hash
+			final int start = ( hash & 3 ) << 2;
+			int frequency = Integer.MAX_VALUE;
+			for ( int i = 0; i < 4; i++ ) {
+				final int count = (int) ( ( table[indexOf( hash, i )] >>> ( ( start + i ) << 2 ) ) & 0xfL );
+				frequency = Math.min( frequency, count );
+			}
+			return frequency;
+		}
+
+		private void increment(Object key) {
+			final int hash = spread( key.hashCode() );
+			final int start = ( hash & 3 ) << 2;
+			boolean added = false;
+			for ( int i = 0; i < 4; i++ ) {
+				added |= incrementAt( indexOf( hash, i ), start + i );
+			}
+			if ( added && ++additions == sampleSize ) {
+				reset();
+			}
+		}
+
+		private boolean incrementAt(int index, int counter) {
+			final int offset = counter << 2;
+			final long mask = 0xfL << offset;
+			if ( ( table[index] & mask ) != mask ) {
+				table[index] += 1L << offset;
+				return true;
+			}
+			return false;
+		}
+
+		private void reset() {
+			int odd = 0;
+			for ( int i = 0; i < table.length; i++ ) {
+				odd += Long.bitCount( table[i] & ONE_MASK );
+				table[i] = ( table[i] >>> 1 ) & RESET_MASK;
+			}
+			additions = ( additions >>> 1 ) - ( odd >>> 2 );
+		}
+
+		private int indexOf(int hash, int depth) {
+			long h = ( hash + SEEDS[depth] ) * SEEDS[depth];
+			h += h >>> 32;
+			return ( (int) h ) & tableMask;
+		}
+
+		private static int spread(int x) {
+			x = ( ( x >>> 16 ) ^ x ) * 0x45d9f3b;
+			x = ( ( x >>> 16 ) ^ x ) * 0x45d9f3b;
+			return ( x >>> 16 ) ^ x;
+		}
+	}
+}
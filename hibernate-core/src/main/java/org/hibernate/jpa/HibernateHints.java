@@ -56,6 +56,17 @@ public interface HibernateHints {
 	 */
 	String HINT_FETCH_SIZE = "org.hibernate.fetchSize";
 
+	/**
+	 * Hint for specifying that the entities returned by a
+	 * {@linkplain Query#stream() stream} of query results should be
+	 * evicted from the persistence context as the stream advances past
+	 * them, so that a stream over a large number of results does not
+	 * accumulate all the entities in the session.
+	 *
+	 * @see org.hibernate.Session#evict
+	 */
+	String HINT_STREAM_EVICTION = "org.hibernate.streamEviction";
+
 	/**
 	 * Hint for specifying whether results from a query should
 	 * be stored in the query cache
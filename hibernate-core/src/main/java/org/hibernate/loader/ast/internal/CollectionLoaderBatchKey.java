@@ -52,6 +52,7 @@ public class CollectionLoaderBatchKey implements CollectionLoader {
 	private final int batchSize;
 
 	private final int keyJdbcCount;
+	private final boolean arrayParameter;
 
 	private SelectStatement batchSizeSqlAst;
 	private List<JdbcParameter> batchSizeJdbcParameters;
@@ -66,18 +67,33 @@ public class CollectionLoaderBatchKey implements CollectionLoader {
 
 		this.keyJdbcCount = attributeMapping.getKeyDescriptor().getJdbcTypeCount();
 
+		this.arrayParameter = LoaderHelper.supportsArrayParameter( attributeMapping.getKeyDescriptor(), sessionFactory );
+
 		this.batchSizeJdbcParameters = new ArrayList<>();
-		this.batchSizeSqlAst = LoaderSelectBuilder.createSelect(
-				attributeMapping,
-				null,
-				attributeMapping.getKeyDescriptor(),
-				null,
-				batchSize,
-				influencers,
-				LockOptions.NONE,
-				batchSizeJdbcParameters::add,
-				sessionFactory
-		);
+		if ( arrayParameter ) {
+			// the same statement serves every number of keys
+			this.batchSizeSqlAst = LoaderSelectBuilder.createSelectWithArrayParameter(
+					attributeMapping,
+					attributeMapping.getKeyDescriptor(),
+					influencers,
+					LockOptions.NONE,
+					batchSizeJdbcParameters::add,
+					sessionFactory
+			);
+		}
+		else {
+			this.batchSizeSqlAst = LoaderSelectBuilder.createSelect(
+					attributeMapping,
+					null,
+					attributeMapping.getKeyDescriptor(),
+					null,
+					batchSize,
+					influencers,
+					LockOptions.NONE,
+					batchSizeJdbcParameters::add,
+					sessionFactory
+			);
+		}
 	}
 
 	@Override
@@ -102,7 +118,7 @@ public class CollectionLoaderBatchKey implements CollectionLoader {
 					null,
 					attributeMapping.getKeyDescriptor(),
 					null,
-					batchSize,
+					1,
 					session.getLoadQueryInfluencers(),
 					LockOptions.NONE,
 					jdbcParameters::add,
@@ -145,7 +161,7 @@ public class CollectionLoaderBatchKey implements CollectionLoader {
 			final List<JdbcParameter> jdbcParameters;
 			final SelectStatement sqlAst;
 
-			if ( smallBatchLength == batchSize ) {
+			if ( arrayParameter || smallBatchLength == batchSize ) {
 				jdbcParameters = this.batchSizeJdbcParameters;
 				sqlAst = this.batchSizeSqlAst;
 			}
@@ -177,19 +193,32 @@ public class CollectionLoaderBatchKey implements CollectionLoader {
 			final JdbcParameterBindings jdbcParameterBindings = new JdbcParameterBindingsImpl( keyJdbcCount * smallBatchLength );
 			jdbcSelect.bindFilterJdbcParameters( jdbcParameterBindings );
 
-			int offset = 0;
-
-			for ( int i = smallBatchStart; i < smallBatchStart + smallBatchLength; i++ ) {
-				offset += jdbcParameterBindings.registerParametersForEachJdbcValue(
-						batchIds[i],
-						Clause.WHERE,
-						offset,
+			if ( arrayParameter ) {
+				final Object[] keys = new Object[smallBatchLength];
+				System.arraycopy( batchIds, smallBatchStart, keys, 0, smallBatchLength );
+				LoaderHelper.bindArrayParameter(
+						jdbcParameters.get( 0 ),
 						getLoadable().getKeyDescriptor(),
-						jdbcParameters,
+						keys,
+						jdbcParameterBindings,
 						session
 				);
 			}
-			assert offset == jdbcParameters.size();
+			else {
+				int offset = 0;
+
+				for ( int i = smallBatchStart; i < smallBatchStart + smallBatchLength; i++ ) {
+					offset += jdbcParameterBindings.registerParametersForEachJdbcValue(
+							batchIds[i],
+							Clause.WHERE,
+							offset,
+							getLoadable().getKeyDescriptor(),
+							jdbcParameters,
+							session
+					);
+				}
+				assert offset == jdbcParameters.size();
+			}
 
 			final SubselectFetch.RegistrationHandler subSelectFetchableKeysHandler = SubselectFetch.createRegistrationHandler(
 					session.getPersistenceContext().getBatchFetchQueue(),
@@ -6,16 +6,29 @@
  */
 package org.hibernate.loader.ast.internal;
 
+import java.sql.Types;
+
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.ObjectDeletedException;
 import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.loader.LoaderLogging;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.metamodel.mapping.ModelPart;
 import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.sql.ast.tree.expression.JdbcParameter;
+import org.hibernate.sql.exec.internal.JdbcParameterBindingImpl;
+import org.hibernate.sql.exec.spi.JdbcParameterBindings;
+import org.hibernate.type.StandardBasicTypeTemplate;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.hibernate.type.descriptor.jdbc.ArrayJdbcType;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.spi.TypeConfiguration;
 
 /**
  * @author Steve Ebersole
@@ -79,4 +92,66 @@ public class LoaderHelper {
 
 		}
 	}
+
+	/**
+	 * Whether the keys of the given part can be restricted by a single array parameter, using
+	 * {@link org.hibernate.dialect.Dialect#getArrayInListPattern()}, instead of an {@code in} list.
+	 * This is enabled by {@value org.hibernate.cfg.AvailableSettings#BATCH_FETCH_ARRAY_PARAMETER}.
+	 * <p>
+	 * Only single column keys of the integral and string types are bound as arrays, since
+	 * their values need no conversion to be elements of a JDBC array.
+	 */
+	public static boolean supportsArrayParameter(ModelPart keyPart, SessionFactoryImplementor sessionFactory) {
+		if ( !sessionFactory.getSessionFactoryOptions().isBatchFetchArrayParameterEnabled()
+				|| keyPart.getJdbcTypeCount() != 1
+				|| sessionFactory.getJdbcServices().getDialect().getArrayInListPattern() == null ) {
+			return false;
+		}
+		final JdbcMapping jdbcMapping = keyPart.getJdbcMappings().get( 0 );
+		final JdbcType jdbcType = jdbcMapping.getJdbcType();
+		final Class<?> javaType = jdbcMapping.getJavaTypeDescriptor().getJavaTypeClass();
+		if ( jdbcType.isInteger() ) {
+			return javaType == Integer.class || javaType == Long.class || javaType == Short.class;
+		}
+		return jdbcType.isString() && jdbcType.getJdbcTypeCode() != Types.CLOB && javaType == String.class;
+	}
+
+	/**
+	 * Create the JDBC mapping of an array parameter holding keys of the given part.
+	 *
+	 * @see #supportsArrayParameter(ModelPart, SessionFactoryImplementor)
+	 */
+	public static JdbcMapping createArrayJdbcMapping(ModelPart keyPart, SessionFactoryImplementor sessionFactory) {
+		final TypeConfiguration typeConfiguration = sessionFactory.getTypeConfiguration();
+		final JdbcType elementJdbcType = keyPart.getJdbcMappings().get( 0 ).getJdbcType();
+		final String elementTypeName = typeConfiguration.getDdlTypeRegistry()
+				.getDescriptor( elementJdbcType.getDefaultSqlTypeCode() )
+				.getRawTypeName();
+		return new StandardBasicTypeTemplate<>(
+				new ArrayJdbcType( elementJdbcType, elementTypeName ),
+				typeConfiguration.getJavaTypeRegistry().getDescriptor( Object[].class )
+		);
+	}
+
+	/**
+	 * Bind the given keys of the given part to an array parameter.
+	 *
+	 * @see #supportsArrayParameter(ModelPart, SessionFactoryImplementor)
+	 */
+	public static void bindArrayParameter(
+			JdbcParameter arrayParameter,
+			ModelPart keyPart,
+			Object[] keys,
+			JdbcParameterBindings jdbcParameterBindings,
+			SharedSessionContractImplementor session) {
+		final JavaType<?> elementJavaType = keyPart.getJdbcMappings().get( 0 ).getJavaTypeDescriptor();
+		final Object[] values = new Object[keys.length];
+		for ( int i = 0; i < keys.length; i++ ) {
+			values[i] = elementJavaType.wrap( keys[i], session );
+		}
+		jdbcParameterBindings.addBinding(
+				arrayParameter,
+				new JdbcParameterBindingImpl( arrayParameter.getExpressionType().getJdbcMappings().get( 0 ), values )
+		);
+	}
 }
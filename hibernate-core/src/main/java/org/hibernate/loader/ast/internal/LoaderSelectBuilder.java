@@ -56,6 +56,7 @@ import org.hibernate.sql.ast.spi.SqlAliasBaseManager;
 import org.hibernate.sql.ast.spi.SqlAstCreationContext;
 import org.hibernate.sql.ast.spi.SqlAstCreationState;
 import org.hibernate.sql.ast.spi.SqlExpressionResolver;
+import org.hibernate.sql.ast.tree.expression.ArrayInListExpression;
 import org.hibernate.sql.ast.tree.expression.ColumnReference;
 import org.hibernate.sql.ast.tree.expression.Expression;
 import org.hibernate.sql.ast.tree.expression.JdbcParameter;
@@ -68,6 +69,7 @@ import org.hibernate.sql.ast.tree.from.TableReference;
 import org.hibernate.sql.ast.tree.predicate.ComparisonPredicate;
 import org.hibernate.sql.ast.tree.predicate.InListPredicate;
 import org.hibernate.sql.ast.tree.predicate.InSubQueryPredicate;
+import org.hibernate.sql.ast.tree.predicate.SelfRenderingPredicate;
 import org.hibernate.sql.ast.tree.select.QueryPart;
 import org.hibernate.sql.ast.tree.select.QuerySpec;
 import org.hibernate.sql.ast.tree.select.SelectStatement;
@@ -134,6 +136,7 @@ public class LoaderSelectBuilder {
 				lockOptions,
 				determineGraphTraversalState( loadQueryInfluencers ),
 				true,
+				false,
 				jdbcParameterConsumer
 		);
 
@@ -203,6 +206,45 @@ public class LoaderSelectBuilder {
 		return process.generateSelect();
 	}
 
+	/**
+	 * Create an SQL AST select-statement based on matching any number of keys, bound as the
+	 * elements of a single array parameter, so that the same SQL serves every number of keys
+	 *
+	 * @param loadable The root Loadable
+	 * @param restrictedPart Part to base the where-clause restriction on, which must
+	 * {@linkplain LoaderHelper#supportsArrayParameter support array parameters}
+	 * @param loadQueryInfluencers Any influencers (entity graph, fetch profile) to account for
+	 * @param lockOptions Pessimistic lock options to apply
+	 * @param jdbcParameterConsumer Consumer for all JdbcParameter references created
+	 * @param sessionFactory The SessionFactory
+	 *
+	 * @see LoaderHelper#bindArrayParameter
+	 */
+	public static SelectStatement createSelectWithArrayParameter(
+			Loadable loadable,
+			ModelPart restrictedPart,
+			LoadQueryInfluencers loadQueryInfluencers,
+			LockOptions lockOptions,
+			Consumer<JdbcParameter> jdbcParameterConsumer,
+			SessionFactoryImplementor sessionFactory) {
+		final LoaderSelectBuilder process = new LoaderSelectBuilder(
+				sessionFactory,
+				loadable,
+				null,
+				Collections.singletonList( restrictedPart ),
+				null,
+				-1,
+				loadQueryInfluencers,
+				lockOptions != null ? lockOptions : LockOptions.NONE,
+				determineGraphTraversalState( loadQueryInfluencers ),
+				true,
+				true,
+				jdbcParameterConsumer
+		);
+
+		return process.generateSelect();
+	}
+
 	/**
 	 * Create an SQL AST select-statement used for subselect-based CollectionLoader
 	 *
@@ -246,6 +288,7 @@ public class LoaderSelectBuilder {
 	private final DomainResult cachedDomainResult;
 	private final int numberOfKeysToLoad;
 	private final boolean forceIdentifierSelection;
+	private final boolean arrayParameterRestriction;
 	private final LoadQueryInfluencers loadQueryInfluencers;
 	private final LockOptions lockOptions;
 	private final Consumer<JdbcParameter> jdbcParameterConsumer;
@@ -267,6 +310,7 @@ public class LoaderSelectBuilder {
 			LockOptions lockOptions,
 			EntityGraphTraversalState entityGraphTraversalState,
 			boolean forceIdentifierSelection,
+			boolean arrayParameterRestriction,
 			Consumer<JdbcParameter> jdbcParameterConsumer) {
 		this.creationContext = creationContext;
 		this.loadable = loadable;
@@ -278,6 +322,7 @@ public class LoaderSelectBuilder {
 		this.lockOptions = lockOptions;
 		this.entityGraphTraversalState = entityGraphTraversalState;
 		this.forceIdentifierSelection = forceIdentifierSelection;
+		this.arrayParameterRestriction = arrayParameterRestriction;
 		this.jdbcParameterConsumer = jdbcParameterConsumer;
 	}
 
@@ -302,6 +347,7 @@ public class LoaderSelectBuilder {
 				lockOptions != null ? lockOptions : LockOptions.NONE,
 				determineGraphTraversalState( loadQueryInfluencers ),
 				determineWhetherToForceIdSelection( numberOfKeysToLoad, restrictedParts ),
+				false,
 				jdbcParameterConsumer
 		);
 	}
@@ -522,7 +568,17 @@ public class LoaderSelectBuilder {
 										)
 
 								);
-						if ( numberOfKeysToLoad == 1 ) {
+						if ( arrayParameterRestriction ) {
+							final JdbcParameter jdbcParameter = new JdbcParameterImpl(
+									LoaderHelper.createArrayJdbcMapping( modelPart, creationContext.getSessionFactory() )
+							);
+							jdbcParameterConsumer.accept( jdbcParameter );
+
+							rootQuerySpec.applyPredicate(
+									new SelfRenderingPredicate( new ArrayInListExpression( columnRef, jdbcParameter ) )
+							);
+						}
+						else if ( numberOfKeysToLoad == 1 ) {
 							final JdbcParameter jdbcParameter = new JdbcParameterImpl( selection.getJdbcMapping() );
 							jdbcParameterConsumer.accept( jdbcParameter );
 
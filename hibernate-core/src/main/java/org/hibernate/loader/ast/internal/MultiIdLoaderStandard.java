@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
@@ -33,6 +34,7 @@ import org.hibernate.loader.ast.spi.MultiIdEntityLoader;
 import org.hibernate.loader.ast.spi.MultiIdLoadOptions;
 import org.hibernate.loader.entity.CacheEntityLoaderHelper;
 import org.hibernate.mapping.PersistentClass;
+import org.hibernate.metamodel.mapping.EntityIdentifierMapping;
 import org.hibernate.metamodel.mapping.EntityMappingType;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.query.spi.QueryOptions;
@@ -126,16 +128,11 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 		final List<Object> idsInBatch = new ArrayList<>();
 		final List<Integer> elementPositionsLoadedByBatch = new ArrayList<>();
 
-		final boolean coerce = !sessionFactory.getJpaMetamodel().getJpaCompliance().isLoadByIdComplianceEnabled();
+		final EntityKey[] entityKeys = resolveEntityKeys( ids, session );
+		final Map<EntityKey, Object> cachedEntries = getFromSecondLevelCache( entityKeys, lockOptions, loadOptions, session );
 		for ( int i = 0; i < ids.length; i++ ) {
-			final Object id;
-			if ( coerce ) {
-				id = entityDescriptor.getIdentifierMapping().getJavaType().coerce( ids[i], session );
-			}
-			else {
-				id = ids[i];
-			}
-			final EntityKey entityKey = new EntityKey( id, entityDescriptor );
+			final EntityKey entityKey = entityKeys[i];
+			final Object id = entityKey.getIdentifier();
 
 			if ( loadOptions.isSessionCheckingEnabled() || loadOptions.isSecondLevelCacheCheckingEnabled() ) {
 				LoadEvent loadEvent = new LoadEvent(
@@ -167,12 +164,13 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 					}
 				}
 
-				if ( managedEntity == null && loadOptions.isSecondLevelCacheCheckingEnabled() ) {
-					// look for it in the SessionFactory
+				if ( managedEntity == null && cachedEntries.containsKey( entityKey ) ) {
+					// use what was read from the SessionFactory
 					managedEntity = CacheEntityLoaderHelper.INSTANCE.loadFromSecondLevelCache(
 							loadEvent,
 							entityDescriptor,
-							entityKey
+							entityKey,
+							cachedEntries.get( entityKey )
 					);
 				}
 
@@ -243,43 +241,70 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 			log.tracef( "#loadEntitiesById(`%s`, `%s`, ..)", entityDescriptor.getEntityName(), numberOfIdsInBatch );
 		}
 
-		final List<JdbcParameter> jdbcParameters = new ArrayList<>( numberOfIdsInBatch * idJdbcTypeCount);
-
-		final SelectStatement sqlAst = LoaderSelectBuilder.createSelect(
-				getLoadable(),
-				// null here means to select everything
-				null,
-				getLoadable().getIdentifierMapping(),
-				null,
-				numberOfIdsInBatch,
-				session.getLoadQueryInfluencers(),
-				lockOptions,
-				jdbcParameters::add,
-				sessionFactory
-		);
+		final EntityIdentifierMapping identifierMapping = entityDescriptor.getIdentifierMapping();
+		final boolean arrayParameter = LoaderHelper.supportsArrayParameter( identifierMapping, sessionFactory );
+		final List<JdbcParameter> jdbcParameters;
+		final SelectStatement sqlAst;
+		if ( arrayParameter ) {
+			jdbcParameters = new ArrayList<>( 1 );
+			sqlAst = LoaderSelectBuilder.createSelectWithArrayParameter(
+					getLoadable(),
+					identifierMapping,
+					session.getLoadQueryInfluencers(),
+					lockOptions,
+					jdbcParameters::add,
+					sessionFactory
+			);
+		}
+		else {
+			jdbcParameters = new ArrayList<>( numberOfIdsInBatch * idJdbcTypeCount );
+			sqlAst = LoaderSelectBuilder.createSelect(
+					getLoadable(),
+					// null here means to select everything
+					null,
+					identifierMapping,
+					null,
+					numberOfIdsInBatch,
+					session.getLoadQueryInfluencers(),
+					lockOptions,
+					jdbcParameters::add,
+					sessionFactory
+			);
+		}
 
 		final JdbcServices jdbcServices = sessionFactory.getJdbcServices();
 		final JdbcEnvironment jdbcEnvironment = jdbcServices.getJdbcEnvironment();
 		final SqlAstTranslatorFactory sqlAstTranslatorFactory = jdbcEnvironment.getSqlAstTranslatorFactory();
 
 		final JdbcParameterBindings jdbcParameterBindings = new JdbcParameterBindingsImpl( jdbcParameters.size() );
-		int offset = 0;
-
-		for ( int i = 0; i < numberOfIdsInBatch; i++ ) {
-			final Object id = idsInBatch.get( i );
-
-			offset += jdbcParameterBindings.registerParametersForEachJdbcValue(
-					id,
-					Clause.WHERE,
-					offset,
-					entityDescriptor.getIdentifierMapping(),
-					jdbcParameters,
+		if ( arrayParameter ) {
+			LoaderHelper.bindArrayParameter(
+					jdbcParameters.get( 0 ),
+					identifierMapping,
+					idsInBatch.toArray(),
+					jdbcParameterBindings,
 					session
 			);
 		}
+		else {
+			int offset = 0;
+
+			for ( int i = 0; i < numberOfIdsInBatch; i++ ) {
+				final Object id = idsInBatch.get( i );
 
-		// we should have used all the JdbcParameter references (created bindings for all)
-		assert offset == jdbcParameters.size();
+				offset += jdbcParameterBindings.registerParametersForEachJdbcValue(
+						id,
+						Clause.WHERE,
+						offset,
+						identifierMapping,
+						jdbcParameters,
+						session
+				);
+			}
+
+			// we should have used all the JdbcParameter references (created bindings for all)
+			assert offset == jdbcParameters.size();
+		}
 		final JdbcSelect jdbcSelect = sqlAstTranslatorFactory.buildSelectTranslator( sessionFactory, sqlAst )
 				.translate( jdbcParameterBindings, QueryOptions.NONE );
 
@@ -368,16 +393,11 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 			boolean foundAnyManagedEntities = false;
 			final List<Object> nonManagedIds = new ArrayList<>();
 
-			final boolean coerce = !sessionFactory.getJpaMetamodel().getJpaCompliance().isLoadByIdComplianceEnabled();
+			final EntityKey[] entityKeys = resolveEntityKeys( ids, session );
+			final Map<EntityKey, Object> cachedEntries = getFromSecondLevelCache( entityKeys, lockOptions, loadOptions, session );
 			for ( int i = 0; i < ids.length; i++ ) {
-				final Object id;
-				if ( coerce ) {
-					id = entityDescriptor.getIdentifierMapping().getJavaType().coerce( ids[i], session );
-				}
-				else {
-					id = ids[i];
-				}
-				final EntityKey entityKey = new EntityKey( id, entityDescriptor );
+				final EntityKey entityKey = entityKeys[i];
+				final Object id = entityKey.getIdentifier();
 
 				LoadEvent loadEvent = new LoadEvent(
 						id,
@@ -408,11 +428,12 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 					}
 				}
 
-				if ( managedEntity == null && loadOptions.isSecondLevelCacheCheckingEnabled() ) {
+				if ( managedEntity == null && cachedEntries.containsKey( entityKey ) ) {
 					managedEntity = CacheEntityLoaderHelper.INSTANCE.loadFromSecondLevelCache(
 							loadEvent,
 							entityDescriptor,
-							entityKey
+							entityKey,
+							cachedEntries.get( entityKey )
 					);
 				}
 
@@ -475,6 +496,50 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 		return result;
 	}
 
+	private EntityKey[] resolveEntityKeys(Object[] ids, SharedSessionContractImplementor session) {
+		final boolean coerce = !sessionFactory.getJpaMetamodel().getJpaCompliance().isLoadByIdComplianceEnabled();
+		final EntityKey[] entityKeys = new EntityKey[ids.length];
+		for ( int i = 0; i < ids.length; i++ ) {
+			final Object id;
+			if ( coerce ) {
+				id = entityDescriptor.getIdentifierMapping().getJavaType().coerce( ids[i], session );
+			}
+			else {
+				id = ids[i];
+			}
+			entityKeys[i] = new EntityKey( id, entityDescriptor );
+		}
+		return entityKeys;
+	}
+
+	/**
+	 * Reads the cache entries of the entities not associated with the Session at once,
+	 * rather than one entity at a time
+	 */
+	private Map<EntityKey, Object> getFromSecondLevelCache(
+			EntityKey[] entityKeys,
+			LockOptions lockOptions,
+			MultiIdLoadOptions loadOptions,
+			SharedSessionContractImplementor session) {
+		if ( !loadOptions.isSecondLevelCacheCheckingEnabled() ) {
+			return Collections.emptyMap();
+		}
+
+		final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+		final List<EntityKey> entityKeysToRead = new ArrayList<>( entityKeys.length );
+		for ( EntityKey entityKey : entityKeys ) {
+			if ( !loadOptions.isSessionCheckingEnabled() || persistenceContext.getEntity( entityKey ) == null ) {
+				entityKeysToRead.add( entityKey );
+			}
+		}
+		return CacheEntityLoaderHelper.INSTANCE.getFromSecondLevelCache(
+				(EventSource) session,
+				lockOptions.getLockMode(),
+				entityDescriptor,
+				entityKeysToRead
+		);
+	}
+
 	private Boolean getReadOnlyFromLoadQueryInfluencers(SharedSessionContractImplementor session) {
 		Boolean readOnly = null;
 		final LoadQueryInfluencers loadQueryInfluencers = session.getLoadQueryInfluencers();
@@ -18,6 +18,7 @@ import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.engine.spi.SubselectFetch;
 import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.metamodel.mapping.EntityIdentifierMapping;
 import org.hibernate.metamodel.mapping.EntityMappingType;
 import org.hibernate.query.spi.QueryOptions;
 import org.hibernate.query.spi.QueryOptionsAdapter;
@@ -94,41 +95,67 @@ public class SingleIdEntityLoaderDynamicBatch<T> extends SingleIdEntityLoaderSup
 		}
 
 		final List<JdbcParameter> jdbcParameters = new ArrayList<>();
-
-		final SelectStatement sqlAst = LoaderSelectBuilder.createSelect(
-				getLoadable(),
-				// null here means to select everything
-				null,
-				getLoadable().getIdentifierMapping(),
-				null,
-				numberOfIds,
-				session.getLoadQueryInfluencers(),
-				lockOptions,
-				jdbcParameters::add,
-				session.getFactory()
-		);
-
 		final SessionFactoryImplementor sessionFactory = session.getFactory();
+		final EntityIdentifierMapping identifierMapping = getLoadable().getIdentifierMapping();
+		final boolean arrayParameter = LoaderHelper.supportsArrayParameter( identifierMapping, sessionFactory );
+
+		final SelectStatement sqlAst;
+		if ( arrayParameter ) {
+			sqlAst = LoaderSelectBuilder.createSelectWithArrayParameter(
+					getLoadable(),
+					identifierMapping,
+					session.getLoadQueryInfluencers(),
+					lockOptions,
+					jdbcParameters::add,
+					sessionFactory
+			);
+		}
+		else {
+			sqlAst = LoaderSelectBuilder.createSelect(
+					getLoadable(),
+					// null here means to select everything
+					null,
+					identifierMapping,
+					null,
+					numberOfIds,
+					session.getLoadQueryInfluencers(),
+					lockOptions,
+					jdbcParameters::add,
+					sessionFactory
+			);
+		}
+
 		final JdbcServices jdbcServices = sessionFactory.getJdbcServices();
 		final JdbcEnvironment jdbcEnvironment = jdbcServices.getJdbcEnvironment();
 		final SqlAstTranslatorFactory sqlAstTranslatorFactory = jdbcEnvironment.getSqlAstTranslatorFactory();
 
 		final JdbcParameterBindings jdbcParameterBindings = new JdbcParameterBindingsImpl(
-				getLoadable().getIdentifierMapping().getJdbcTypeCount()
+				identifierMapping.getJdbcTypeCount()
 		);
 
-		int offset = 0;
-		for ( int i = 0; i < numberOfIds; i++ ) {
-			offset += jdbcParameterBindings.registerParametersForEachJdbcValue(
-					idsToLoad[i],
-					Clause.WHERE,
-					offset,
-					getLoadable().getIdentifierMapping(),
-					jdbcParameters,
+		if ( arrayParameter ) {
+			LoaderHelper.bindArrayParameter(
+					jdbcParameters.get( 0 ),
+					identifierMapping,
+					idsToLoad,
+					jdbcParameterBindings,
 					session
 			);
 		}
-		assert offset == jdbcParameters.size();
+		else {
+			int offset = 0;
+			for ( int i = 0; i < numberOfIds; i++ ) {
+				offset += jdbcParameterBindings.registerParametersForEachJdbcValue(
+						idsToLoad[i],
+						Clause.WHERE,
+						offset,
+						identifierMapping,
+						jdbcParameters,
+						session
+				);
+			}
+			assert offset == jdbcParameters.size();
+		}
 
 		final JdbcSelect jdbcSelect = sqlAstTranslatorFactory
 				.buildSelectTranslator( sessionFactory, sqlAst )
@@ -6,6 +6,12 @@
  */
 package org.hibernate.loader.entity;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.hibernate.HibernateException;
 import org.hibernate.Incubating;
 import org.hibernate.LockMode;
@@ -180,19 +186,117 @@ public class CacheEntityLoaderHelper {
 		);
 
 		if ( entity != null ) {
-			//PostLoad is needed for EJB3
-			final PostLoadEvent postLoadEvent = event.getPostLoadEvent()
-					.setEntity( entity )
-					.setId( event.getEntityId() )
-					.setPersister( persister );
-
-			event.getSession().getSessionFactory()
-					.getFastSessionServices()
-					.firePostLoadEvent( postLoadEvent );
+			firePostLoadEvent( event, persister, entity );
+		}
+		return entity;
+	}
+
+	/**
+	 * Loads the entity from its cache entry, previously read from the second-level cache
+	 * through {@link #getFromSecondLevelCache}.
+	 *
+	 * @param event The load event
+	 * @param persister The persister for the entity being requested for load
+	 * @param entityKey The entity key
+	 * @param cacheEntry The cache entry of the entity
+	 *
+	 * @return The entity from the cache entry, or null.
+	 */
+	public Object loadFromSecondLevelCache(
+			final LoadEvent event,
+			final EntityPersister persister,
+			final EntityKey entityKey,
+			final Object cacheEntry) {
+		final Object entity = processCachedEntry(
+				event.getInstanceToLoad(),
+				persister,
+				cacheEntry,
+				event.getSession(),
+				entityKey
+		);
+
+		if ( entity != null ) {
+			firePostLoadEvent( event, persister, entity );
 		}
 		return entity;
 	}
 
+	private void firePostLoadEvent(LoadEvent event, EntityPersister persister, Object entity) {
+		//PostLoad is needed for EJB3
+		final PostLoadEvent postLoadEvent = event.getPostLoadEvent()
+				.setEntity( entity )
+				.setId( event.getEntityId() )
+				.setPersister( persister );
+
+		event.getSession().getSessionFactory()
+				.getFastSessionServices()
+				.firePostLoadEvent( postLoadEvent );
+	}
+
+	/**
+	 * Reads the cache entries of several entities from the second-level cache at once, so
+	 * that a remote cache is reached once rather than once per entity.
+	 *
+	 * @param source The source
+	 * @param lockMode The lock mode
+	 * @param persister The persister for the entities being requested for load
+	 * @param entityKeys The entity keys
+	 *
+	 * @return The cache entries found, by entity key
+	 */
+	public Map<EntityKey, Object> getFromSecondLevelCache(
+			final EventSource source,
+			final LockMode lockMode,
+			final EntityPersister persister,
+			final List<EntityKey> entityKeys) {
+		final boolean useCache = persister.canReadFromCache()
+				&& source.getCacheMode().isGetEnabled()
+				&& lockMode.lessThan( LockMode.READ );
+
+		if ( !useCache || entityKeys.isEmpty() ) {
+			return Collections.emptyMap();
+		}
+
+		final EntityDataAccess cache = persister.getCacheAccessStrategy();
+		final SessionFactoryImplementor factory = source.getFactory();
+		final List<Object> cacheKeys = new ArrayList<>( entityKeys.size() );
+		for ( EntityKey entityKey : entityKeys ) {
+			cacheKeys.add(
+					cache.generateCacheKey(
+							entityKey.getIdentifier(),
+							persister,
+							factory,
+							source.getTenantIdentifier()
+					)
+			);
+		}
+
+		final Map<Object, Object> cachedEntries = CacheHelper.fromSharedCache( source, cacheKeys, cache );
+		final Map<EntityKey, Object> entries = new HashMap<>( cachedEntries.size() * 2 );
+		final StatisticsImplementor statistics = factory.getStatistics();
+		for ( int i = 0; i < cacheKeys.size(); i++ ) {
+			final Object ce = cachedEntries.get( cacheKeys.get( i ) );
+			if ( ce != null ) {
+				entries.put( entityKeys.get( i ), ce );
+			}
+			if ( statistics.isStatisticsEnabled() ) {
+				if ( ce == null ) {
+					statistics.entityCacheMiss(
+							StatsHelper.INSTANCE.getRootEntityRole( persister ),
+							cache.getRegion().getName()
+					);
+				}
+				else {
+					statistics.entityCacheHit(
+							StatsHelper.INSTANCE.getRootEntityRole( persister ),
+							cache.getRegion().getName()
+					);
+				}
+			}
+		}
+		return entries;
+	}
+
 	/**
 	 * Attempts to load the entity from the second-level cache.
 	 *
@@ -57,6 +57,7 @@ import org.hibernate.bytecode.spi.BytecodeEnhancementMetadata;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
 import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.cache.spi.entry.BinaryCacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntryStructure;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
@@ -66,6 +67,7 @@ import org.hibernate.cache.spi.entry.UnstructuredCacheEntry;
 import org.hibernate.classic.Lifecycle;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.identity.GetGeneratedKeysDelegate;
 import org.hibernate.dialect.lock.LockingStrategy;
 import org.hibernate.engine.FetchTiming;
 import org.hibernate.engine.OptimisticLockStyle;
@@ -404,6 +406,7 @@ public abstract class AbstractEntityPersister
 	protected ExecuteUpdateResultCheckStyle[] deleteResultCheckStyles;
 
 	private InsertGeneratedIdentifierDelegate identityDelegate;
+	private Boolean identityInsertBatchable;
 
 	private boolean[] tableHasColumns;
 
@@ -1175,6 +1178,10 @@ public abstract class AbstractEntityPersister
 			return new ReferenceCacheEntryHelper( this );
 		}
 
+		if ( factory.getSessionFactoryOptions().isBinaryCacheEntriesEnabled() ) {
+			return new BinaryCacheEntryHelper( this );
+		}
+
 		return factory.getSessionFactoryOptions().isStructuredCacheEntriesEnabled()
 				? new StructuredCacheEntryHelper( this )
 				: new StandardCacheEntryHelper( this );
@@ -3267,6 +3274,72 @@ public abstract class AbstractEntityPersister
 		return identityDelegate.performInsert( sql, session, binder );
 	}
 
+	@Override
+	public boolean isIdentityInsertBatchable() {
+		if ( identityInsertBatchable == null ) {
+			// determined lazily, since it depends on the other persisters
+			identityInsertBatchable = identityDelegate instanceof GetGeneratedKeysDelegate
+					&& getFactory().getSessionFactoryOptions().isIdentityInsertBatchingEnabled()
+					&& getFactory().getJdbcServices().getDialect().getIdentityColumnSupport().supportsBatchedGeneratedKeys()
+					&& getTableSpan() == 1
+					&& !entityMetamodel.isDynamicInsert()
+					// the foreign key to an instance inserted in the same batch is not known
+					&& !hasAssociationToHierarchy( getPropertyTypes() );
+		}
+		return identityInsertBatchable;
+	}
+
+	private boolean hasAssociationToHierarchy(Type[] types) {
+		for ( Type type : types ) {
+			if ( type instanceof EntityType ) {
+				final String associatedEntityName = ( (EntityType) type ).getAssociatedEntityName();
+				final EntityPersister associatedPersister = getFactory().getRuntimeMetamodels()
+						.getMappingMetamodel()
+						.getEntityDescriptor( associatedEntityName );
+				if ( associatedPersister.getRootEntityName().equals( getRootEntityName() ) ) {
+					return true;
+				}
+			}
+			else if ( type instanceof CompositeType ) {
+				if ( hasAssociationToHierarchy( ( (CompositeType) type ).getSubtypes() ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Object[] insertBatch(Object[][] fields, Object[] objects, SharedSessionContractImplementor session) {
+		if ( !isIdentityInsertBatchable() ) {
+			throw new AssertionFailure( "Batched identity inserts are not supported for " + getEntityName() );
+		}
+		if ( LOG.isTraceEnabled() ) {
+			LOG.tracev( "Inserting {0} entities: {1} (native id)", objects.length, getEntityName() );
+		}
+
+		final Binder[] binders = new Binder[objects.length];
+		for ( int i = 0; i < objects.length; i++ ) {
+			final Object[] values = fields[i];
+			final Object object = objects[i];
+			// apply any pre-insert in-memory value generation
+			preInsertInMemoryValueGeneration( values, object, session );
+			binders[i] = new Binder() {
+				@Override
+				public void bindValues(PreparedStatement ps) throws SQLException {
+					dehydrate( null, values, getPropertyInsertability(), propertyColumnInsertable, 0, ps, session, false );
+				}
+
+				@Override
+				public Object getEntity() {
+					return object;
+				}
+			};
+		}
+		return ( (GetGeneratedKeysDelegate) identityDelegate )
+				.performBatchedInsert( getSQLIdentityInsertString(), session, binders );
+	}
+
 	@Override
 	public String getIdentitySelectString() {
 		//TODO: cache this in an instvar
@@ -5497,6 +5570,32 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	private static class BinaryCacheEntryHelper implements CacheEntryHelper {
+		private final EntityPersister persister;
+		private final BinaryCacheEntry structure;
+
+		private BinaryCacheEntryHelper(EntityPersister persister) {
+			this.persister = persister;
+			this.structure = new BinaryCacheEntry( persister );
+		}
+
+		@Override
+		public CacheEntryStructure getCacheEntryStructure() {
+			return structure;
+		}
+
+		@Override
+		public CacheEntry buildCacheEntry(Object entity, Object[] state, Object version, SharedSessionContractImplementor session) {
+			return new StandardCacheEntryImpl(
+					state,
+					persister,
+					version,
+					session,
+					entity
+			);
+		}
+	}
+
 	private static class NoopCacheEntryHelper implements CacheEntryHelper {
 		public static final NoopCacheEntryHelper INSTANCE = new NoopCacheEntryHelper();
 
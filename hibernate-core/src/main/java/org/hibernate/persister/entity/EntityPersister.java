@@ -540,6 +540,26 @@ public interface EntityPersister
 	 */
 	Object insert(Object[] fields, Object object, SharedSessionContractImplementor session);
 
+	/**
+	 * Can instances with a natively generated identifier be persisted together by
+	 * {@link #insertBatch(Object[][], Object[], SharedSessionContractImplementor)}?
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_IDENTITY_INSERTS
+	 */
+	default boolean isIdentityInsertBatchable() {
+		return false;
+	}
+
+	/**
+	 * Persist several instances, using natively generated identifiers, as a single
+	 * JDBC batch (optional operation)
+	 *
+	 * @return The generated identifiers, in the order of the instances
+	 */
+	default Object[] insertBatch(Object[][] fields, Object[] objects, SharedSessionContractImplementor session) {
+		throw new UnsupportedOperationException( "Batched identity inserts are not supported for " + getEntityName() );
+	}
+
 	/**
 	 * Delete a persistent instance
 	 */
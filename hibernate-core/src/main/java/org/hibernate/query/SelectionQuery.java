@@ -113,6 +113,48 @@ public interface SelectionQuery<R> extends CommonQueryContract {
 		return getResultStream();
 	}
 
+	/**
+	 * Execute the query as the given number of sub-queries, each restricted
+	 * to a partition of the identifiers of the root entity, and return the
+	 * query results as a parallel {@link Stream}.
+	 * <p>
+	 * The partitions are equally wide ranges of identifiers, between the
+	 * lowest and the highest identifier of the root entity matching the
+	 * restriction of the query, which are read by an additional query.  The
+	 * sub-queries may then use the primary key index, but the partitions are
+	 * only of a similar size if the identifiers are evenly distributed.
+	 * <p>
+	 * Each partition is read by its own {@link org.hibernate.StatelessSession},
+	 * on its own JDBC connection, so the returned entities are detached, and
+	 * changes not yet committed by this session are not visible.  The enabled
+	 * filters and fetch profiles of this session, and the options of this
+	 * query, apply to each partition.  The query must have a single root
+	 * entity with an integral identifier, no group by clause, no limit or
+	 * offset, no lock mode and no {@link ResultListTransformer}.  The order
+	 * of the results is not preserved.
+	 * <p>
+	 * The session of a partition is closed once the partition is read, or
+	 * reading it fails.  A short-circuiting operation such as
+	 * {@link Stream#findFirst()} leaves the partitions being read open, so
+	 * the stream must be closed after processing it:
+	 * <pre>
+	 * try ( Stream&lt;Book&gt; books = session.createQuery( "from Book", Book.class )
+	 *         .partitionedStream( 4 ) ) {
+	 *     books.forEach( book -&gt; index( book ) );
+	 * }
+	 * </pre>
+	 *
+	 * @param partitions The number of partitions
+	 *
+	 * @return The results as a parallel {@link Stream}
+	 *
+	 * @since 6.0
+	 */
+	@Incubating
+	default Stream<R> partitionedStream(int partitions) {
+		throw new UnsupportedOperationException( "Partitioned streams are only supported for HQL and criteria queries" );
+	}
+
 	/**
 	 * Execute the query and return the single result of the query,
 	 * or {@code null} if the query returns no results.
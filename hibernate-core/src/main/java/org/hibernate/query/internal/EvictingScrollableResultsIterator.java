@@ -0,0 +1,73 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.query.internal;
+
+import org.hibernate.Incubating;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.query.spi.ScrollableResultsImplementor;
+
+/**
+ * A {@link ScrollableResultsIterator} which evicts the entities of a row from the
+ * persistence context as soon as the iteration advances past that row, so that
+ * only the row currently being processed stays managed by the session.
+ * <p>
+ * Only the entities appearing directly in a row, either as the row itself or as an
+ * element of an {@code Object[]} row, are evicted, along with the associations
+ * mapped with {@link jakarta.persistence.CascadeType#DETACH}.  Changes made to an
+ * evicted entity are not flushed.
+ *
+ * @see org.hibernate.jpa.HibernateHints#HINT_STREAM_EVICTION
+ */
+@Incubating
+public class EvictingScrollableResultsIterator<T> extends ScrollableResultsIterator<T> {
+	private final SharedSessionContractImplementor session;
+	private Object previousRow;
+
+	public EvictingScrollableResultsIterator(
+			ScrollableResultsImplementor<T> scrollableResults,
+			SharedSessionContractImplementor session) {
+		super( scrollableResults );
+		this.session = session;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ( previousRow != null ) {
+			// evict before advancing, the next row may contain the same entities
+			evictRow( previousRow );
+			previousRow = null;
+		}
+		return super.hasNext();
+	}
+
+	@Override
+	public T next() {
+		final T row = super.next();
+		previousRow = row;
+		return row;
+	}
+
+	private void evictRow(Object row) {
+		if ( row instanceof Object[] ) {
+			for ( Object element : (Object[]) row ) {
+				evict( element );
+			}
+		}
+		else {
+			evict( row );
+		}
+	}
+
+	private void evict(Object object) {
+		if ( object instanceof HibernateProxy
+				|| object != null && session.getPersistenceContextInternal().getEntry( object ) != null ) {
+			( (EventSource) session ).evict( object );
+		}
+	}
+}
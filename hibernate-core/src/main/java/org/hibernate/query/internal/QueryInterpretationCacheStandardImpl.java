@@ -6,11 +6,13 @@
  */
 package org.hibernate.query.internal;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.internal.util.collections.WindowTinyLfuCache;
 import org.hibernate.query.QueryLogging;
 import org.hibernate.query.spi.HqlInterpretation;
 import org.hibernate.query.spi.NonSelectQueryPlan;
@@ -37,26 +39,38 @@ public class QueryInterpretationCacheStandardImpl implements QueryInterpretation
 	/**
 	 * the cache of the actual plans...
 	 */
-	private final BoundedConcurrentHashMap<Key, QueryPlan> queryPlanCache;
+	private final WindowTinyLfuCache<Key, QueryPlan> queryPlanCache;
 
-	private final BoundedConcurrentHashMap<String, HqlInterpretation> hqlInterpretationCache;
-	private final BoundedConcurrentHashMap<String, ParameterInterpretation> nativeQueryParamCache;
+	private final WindowTinyLfuCache<String, HqlInterpretation> hqlInterpretationCache;
+	private final WindowTinyLfuCache<String, ParameterInterpretation> nativeQueryParamCache;
 	private final Supplier<StatisticsImplementor> statisticsSupplier;
 
 	public QueryInterpretationCacheStandardImpl(int maxQueryPlanCount, Supplier<StatisticsImplementor> statisticsSupplier) {
 		log.debugf( "Starting QueryPlanCache(%s)", maxQueryPlanCount );
 
-		this.queryPlanCache = new BoundedConcurrentHashMap<>( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
-		this.hqlInterpretationCache = new BoundedConcurrentHashMap<>( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
-		this.nativeQueryParamCache = new BoundedConcurrentHashMap<>( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
+		this.queryPlanCache = new WindowTinyLfuCache<>( maxQueryPlanCount, this::evicted );
+		this.hqlInterpretationCache = new WindowTinyLfuCache<>( maxQueryPlanCount, this::evicted );
+		this.nativeQueryParamCache = new WindowTinyLfuCache<>( maxQueryPlanCount, this::evicted );
 		this.statisticsSupplier = statisticsSupplier;
 	}
 
+	private void evicted(Object key) {
+		final StatisticsImplementor statistics = statisticsSupplier.get();
+		if ( statistics.isStatisticsEnabled() ) {
+			statistics.queryPlanCacheEviction();
+		}
+	}
+
 	@Override
 	public int getNumberOfCachedHqlInterpretations() {
 		return hqlInterpretationCache.size();
 	}
 
+	@Override
+	public Collection<String> getCachedHqlQueryStrings() {
+		return new ArrayList<>( hqlInterpretationCache.keySet() );
+	}
+
 	@Override
 	public int getNumberOfCachedQueryPlans() {
 		return queryPlanCache.size();
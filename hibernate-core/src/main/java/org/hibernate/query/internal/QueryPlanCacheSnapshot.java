@@ -0,0 +1,224 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.internal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.query.spi.QueryEngine;
+import org.hibernate.query.spi.QueryInterpretationCache;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Writes the query strings of the cached HQL interpretations to a file when the
+ * {@code SessionFactory} is closed, and compiles them again when the next one is
+ * created, so that a restarted application does not pay for the interpretation of
+ * its queries on their first executions.
+ * <p>
+ * The queries are compiled in parallel, before the {@code SessionFactory} is handed
+ * out.  The file holds one query per line, with backslashes and line breaks escaped.
+ *
+ * @see AvailableSettings#QUERY_PLAN_CACHE_SNAPSHOT
+ */
+public class QueryPlanCacheSnapshot implements SessionFactoryObserver {
+	private static final Logger log = Logger.getLogger( QueryPlanCacheSnapshot.class );
+
+	private final Path file;
+
+	public QueryPlanCacheSnapshot(Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * Builds the snapshot configured by the given settings, or {@code null} if none is configured.
+	 */
+	public static QueryPlanCacheSnapshot fromSettings(Map<String, Object> settings) {
+		final String file = ConfigurationHelper.getString( AvailableSettings.QUERY_PLAN_CACHE_SNAPSHOT, settings );
+		if ( StringHelper.isBlank( file ) ) {
+			return null;
+		}
+		return new QueryPlanCacheSnapshot( Paths.get( file.trim() ) );
+	}
+
+	@Override
+	public void sessionFactoryCreated(SessionFactory factory) {
+		final QueryEngine queryEngine = ( (SessionFactoryImplementor) factory ).getQueryEngine();
+		if ( !queryEngine.getInterpretationCache().isEnabled() || !Files.isRegularFile( file ) ) {
+			return;
+		}
+
+		final List<String> queryStrings;
+		try {
+			queryStrings = read( file );
+		}
+		catch (IOException | RuntimeException e) {
+			log.warnf( e, "Unable to read the query plan cache snapshot [%s]", file );
+			return;
+		}
+		if ( queryStrings.isEmpty() ) {
+			return;
+		}
+
+		final AtomicInteger compiled = new AtomicInteger();
+		// the domain model may resolve classes through the context class loader of the bootstrapping thread
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		final ForkJoinPool pool = new ForkJoinPool(
+				Math.min( Runtime.getRuntime().availableProcessors(), queryStrings.size() ),
+				forkJoinPool -> {
+					final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread( forkJoinPool );
+					thread.setContextClassLoader( contextClassLoader );
+					return thread;
+				},
+				null,
+				false
+		);
+		try {
+			for ( String queryString : queryStrings ) {
+				pool.execute( () -> {
+					if ( compile( queryEngine, queryString ) ) {
+						compiled.incrementAndGet();
+					}
+				} );
+			}
+			pool.shutdown();
+			pool.awaitTermination( Long.MAX_VALUE, TimeUnit.NANOSECONDS );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warnf( "Interrupted while compiling the queries of the query plan cache snapshot [%s]", file );
+		}
+		finally {
+			pool.shutdownNow();
+		}
+		log.debugf( "Compiled %s of %s queries of the query plan cache snapshot [%s]", compiled.get(), queryStrings.size(), file );
+	}
+
+	@Override
+	public void sessionFactoryClosing(SessionFactory factory) {
+		final QueryInterpretationCache interpretationCache = ( (SessionFactoryImplementor) factory ).getQueryEngine()
+				.getInterpretationCache();
+		if ( !interpretationCache.isEnabled() ) {
+			return;
+		}
+
+		try {
+			write( file, interpretationCache.getCachedHqlQueryStrings() );
+		}
+		catch (IOException | RuntimeException e) {
+			log.warnf( e, "Unable to write the query plan cache snapshot [%s]", file );
+		}
+	}
+
+	private static boolean compile(QueryEngine queryEngine, String queryString) {
+		try {
+			queryEngine.getInterpretationCache().resolveHqlInterpretation(
+					queryString,
+					s -> queryEngine.getHqlTranslator().translate( queryString )
+			);
+			return true;
+		}
+		catch (RuntimeException e) {
+			// typically, the domain model changed since the snapshot was written
+			log.debugf( e, "Unable to compile query of the query plan cache snapshot [%s]", queryString );
+			return false;
+		}
+	}
+
+	static List<String> read(Path file) throws IOException {
+		final List<String> queryStrings = new ArrayList<>();
+		try ( BufferedReader reader = Files.newBufferedReader( file, StandardCharsets.UTF_8 ) ) {
+			String line;
+			while ( ( line = reader.readLine() ) != null ) {
+				if ( !line.isEmpty() ) {
+					queryStrings.add( unescape( line ) );
+				}
+			}
+		}
+		return queryStrings;
+	}
+
+	static void write(Path file, Collection<String> queryStrings) throws IOException {
+		final Path directory = file.toAbsolutePath().getParent();
+		if ( directory != null ) {
+			Files.createDirectories( directory );
+		}
+		// replaces the previous snapshot only once the new one is complete
+		final Path temporaryFile = Files.createTempFile( directory, file.getFileName().toString(), ".tmp" );
+		try {
+			try ( BufferedWriter writer = Files.newBufferedWriter( temporaryFile, StandardCharsets.UTF_8 ) ) {
+				for ( String queryString : queryStrings ) {
+					writer.write( escape( queryString ) );
+					writer.newLine();
+				}
+			}
+			Files.move( temporaryFile, file, StandardCopyOption.REPLACE_EXISTING );
+		}
+		finally {
+			Files.deleteIfExists( temporaryFile );
+		}
+	}
+
+	private static String escape(String queryString) {
+		final StringBuilder escaped = new StringBuilder( queryString.length() );
+		for ( int i = 0; i < queryString.length(); i++ ) {
+			final char c = queryString.charAt( i );
+			switch ( c ) {
+				case '\\':
+					escaped.append( "\\\\" );
+					break;
+				case '\n':
+					escaped.append( "\\n" );
+					break;
+				case '\r':
+					escaped.append( "\\r" );
+					break;
+				default:
+					escaped.append( c );
+			}
+		}
+		return escaped.toString();
+	}
+
+	private static String unescape(String line) {
+		if ( line.indexOf( '\\' ) < 0 ) {
+			return line;
+		}
+		final StringBuilder unescaped = new StringBuilder( line.length() );
+		for ( int i = 0; i < line.length(); i++ ) {
+			final char c = line.charAt( i );
+			if ( c == '\\' && i + 1 < line.length() ) {
+				final char next = line.charAt( ++i );
+				unescaped.append( next == 'n' ? '\n' : next == 'r' ? '\r' : next );
+			}
+			else {
+				unescaped.append( c );
+			}
+		}
+		return unescaped.toString();
+	}
+}
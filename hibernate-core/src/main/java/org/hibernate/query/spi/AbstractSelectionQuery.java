@@ -48,6 +48,7 @@ import org.hibernate.query.QueryParameter;
 import org.hibernate.query.QueryTypeMismatchException;
 import org.hibernate.query.SelectionQuery;
 import org.hibernate.query.criteria.JpaSelection;
+import org.hibernate.query.internal.EvictingScrollableResultsIterator;
 import org.hibernate.query.internal.ScrollableResultsIterator;
 import org.hibernate.query.named.NamedQueryMemento;
 import org.hibernate.query.sqm.SqmExpressible;
@@ -428,7 +429,10 @@ public abstract class AbstractSelectionQuery<R>
 	@Override
 	public Stream stream() {
 		final ScrollableResultsImplementor scrollableResults = scroll( ScrollMode.FORWARD_ONLY );
-		final ScrollableResultsIterator iterator = new ScrollableResultsIterator<>( scrollableResults );
+		final ScrollableResultsIterator iterator = getQueryOptions().isStreamEvictionEnabled() == Boolean.TRUE
+				&& getSession().isEventSource()
+				? new EvictingScrollableResultsIterator<>( scrollableResults, getSession() )
+				: new ScrollableResultsIterator<>( scrollableResults );
 		final Spliterator spliterator = Spliterators.spliteratorUnknownSize( iterator, Spliterator.NONNULL );
 
 		final Stream stream = StreamSupport.stream( spliterator, false );
@@ -43,6 +43,11 @@ public class DelegatingQueryOptions implements QueryOptions {
 		return queryOptions.isReadOnly();
 	}
 
+	@Override
+	public Boolean isStreamEvictionEnabled() {
+		return queryOptions.isStreamEvictionEnabled();
+	}
+
 	@Override
 	public AppliedGraph getAppliedGraph() {
 		return queryOptions.getAppliedGraph();
@@ -74,6 +74,11 @@ public interface MutableQueryOptions extends QueryOptions {
 	 */
 	void setReadOnly(boolean readOnly);
 
+	/**
+	 * Corollary to {@link #isStreamEvictionEnabled()}
+	 */
+	void setStreamEvictionEnabled(boolean streamEvictionEnabled);
+
 	/**
 	 * Corollary to {@link #getComment()}
 	 */
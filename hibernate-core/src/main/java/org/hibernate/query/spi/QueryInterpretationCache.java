@@ -6,6 +6,8 @@
  */
 package org.hibernate.query.spi;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -35,6 +37,15 @@ public interface QueryInterpretationCache {
 	int getNumberOfCachedHqlInterpretations();
 	int getNumberOfCachedQueryPlans();
 
+	/**
+	 * The query strings of the HQL interpretations currently cached.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_SNAPSHOT
+	 */
+	default Collection<String> getCachedHqlQueryStrings() {
+		return Collections.emptySet();
+	}
+
 	HqlInterpretation resolveHqlInterpretation(String queryString, Function<String, SqmStatement<?>> creator);
 
 	<R> SelectQueryPlan<R> resolveSelectQueryPlan(Key key, Supplier<SelectQueryPlan<R>> creator);
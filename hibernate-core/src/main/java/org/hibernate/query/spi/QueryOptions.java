@@ -44,6 +44,16 @@ public interface QueryOptions {
 	 */
 	Boolean isReadOnly();
 
+	/**
+	 * Should entities returned from a stream of the query results be evicted
+	 * from the persistence context once the stream advanced past them.
+	 *
+	 * @see org.hibernate.jpa.HibernateHints#HINT_STREAM_EVICTION
+	 */
+	default Boolean isStreamEvictionEnabled() {
+		return null;
+	}
+
 	/**
 	 * JPA {@link jakarta.persistence.EntityGraph} explicitly applied to the
 	 * query.
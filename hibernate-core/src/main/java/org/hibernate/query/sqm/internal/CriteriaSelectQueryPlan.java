@@ -0,0 +1,217 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.sqm.internal;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.hibernate.AssertionFailure;
+import org.hibernate.ScrollMode;
+import org.hibernate.cache.spi.QueryKey;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.hql.internal.QuerySplitter;
+import org.hibernate.query.internal.DelegatingDomainQueryExecutionContext;
+import org.hibernate.query.spi.DomainQueryExecutionContext;
+import org.hibernate.query.spi.QueryOptions;
+import org.hibernate.query.spi.QueryParameterBinding;
+import org.hibernate.query.spi.QueryParameterBindings;
+import org.hibernate.query.spi.QueryParameterImplementor;
+import org.hibernate.query.spi.ScrollableResultsImplementor;
+import org.hibernate.query.spi.SelectQueryPlan;
+import org.hibernate.query.sqm.tree.SqmCopyContext;
+import org.hibernate.query.sqm.tree.expression.JpaCriteriaParameter;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+
+/**
+ * A cacheable {@link SelectQueryPlan} for criteria queries, shared by all the criteria
+ * trees with the same {@link SqmStructuralKey}.
+ * <p>
+ * The plan is built from a copy of the tree its key was computed from, so that it is not
+ * affected by later changes to the criteria objects of the application.  The parameter
+ * bindings of the trees which use the plan are then exposed to it under the parameters of
+ * that copy.
+ */
+public class CriteriaSelectQueryPlan<R> implements SelectQueryPlan<R> {
+	private final SelectQueryPlan<R> delegate;
+	private final List<JpaCriteriaParameter<?>> parameters;
+
+	private CriteriaSelectQueryPlan(SelectQueryPlan<R> delegate, List<JpaCriteriaParameter<?>> parameters) {
+		this.delegate = delegate;
+		this.parameters = parameters;
+	}
+
+	/**
+	 * Builds the plan of the given criteria tree, whose key is the given one.
+	 */
+	public static <R> CriteriaSelectQueryPlan<R> build(
+			SqmSelectStatement<?> criteria,
+			SqmStructuralKey structuralKey,
+			Class<R> resultType,
+			QueryOptions queryOptions,
+			SessionFactoryImplementor factory) {
+		final SqmSelectStatement<?> statement = criteria.copy( SqmCopyContext.simpleContext() );
+		final List<JpaCriteriaParameter<?>> parameters = new ArrayList<>();
+		if ( !structuralKey.equals( SqmStructuralKey.from( statement, parameters ) ) ) {
+			throw new AssertionFailure( "Copy of a criteria tree has a different structure" );
+		}
+
+		final DomainParameterXref domainParameterXref = DomainParameterXref.from( statement );
+		final SqmSelectStatement<?>[] concreteSqmStatements = QuerySplitter.split( statement, factory );
+		final SelectQueryPlan<R> queryPlan;
+		if ( concreteSqmStatements.length > 1 ) {
+			//noinspection unchecked
+			final SelectQueryPlan<R>[] aggregatedQueryPlans = new SelectQueryPlan[ concreteSqmStatements.length ];
+			for ( int i = 0, x = concreteSqmStatements.length; i < x; i++ ) {
+				aggregatedQueryPlans[i] = new ConcreteSqmSelectQueryPlan<>(
+						concreteSqmStatements[i],
+						QuerySqmImpl.CRITERIA_HQL_STRING,
+						domainParameterXref,
+						resultType,
+						null,
+						queryOptions
+				);
+			}
+			queryPlan = new AggregatedSelectQueryPlanImpl<>( aggregatedQueryPlans );
+		}
+		else {
+			queryPlan = new ConcreteSqmSelectQueryPlan<>(
+					concreteSqmStatements[0],
+					QuerySqmImpl.CRITERIA_HQL_STRING,
+					domainParameterXref,
+					resultType,
+					null,
+					queryOptions
+			);
+		}
+		return new CriteriaSelectQueryPlan<>( queryPlan, parameters );
+	}
+
+	/**
+	 * The plan for a criteria tree with the given parameters, which are matched by position
+	 * with the ones of the tree this plan was built from.
+	 */
+	public SelectQueryPlan<R> forParameters(List<JpaCriteriaParameter<?>> queryParameters) {
+		assert queryParameters.size() == parameters.size();
+		final Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> parameterMapping = new IdentityHashMap<>();
+		for ( int i = 0; i < parameters.size(); i++ ) {
+			// most parameters are not copied with the tree, only the ones holding a value are
+			if ( parameters.get( i ) != queryParameters.get( i ) ) {
+				parameterMapping.put( parameters.get( i ), queryParameters.get( i ) );
+			}
+		}
+		if ( parameterMapping.isEmpty() ) {
+			return delegate;
+		}
+
+		return new SelectQueryPlan<R>() {
+			@Override
+			public List<R> performList(DomainQueryExecutionContext executionContext) {
+				return delegate.performList( remap( executionContext, parameterMapping ) );
+			}
+
+			@Override
+			public ScrollableResultsImplementor<R> performScroll(
+					ScrollMode scrollMode,
+					DomainQueryExecutionContext executionContext) {
+				return delegate.performScroll( scrollMode, remap( executionContext, parameterMapping ) );
+			}
+		};
+	}
+
+	@Override
+	public List<R> performList(DomainQueryExecutionContext executionContext) {
+		return delegate.performList( executionContext );
+	}
+
+	@Override
+	public ScrollableResultsImplementor<R> performScroll(
+			ScrollMode scrollMode,
+			DomainQueryExecutionContext executionContext) {
+		return delegate.performScroll( scrollMode, executionContext );
+	}
+
+	private static DomainQueryExecutionContext remap(
+			DomainQueryExecutionContext executionContext,
+			Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> parameterMapping) {
+		final QueryParameterBindings parameterBindings = new RemappedQueryParameterBindings(
+				executionContext.getQueryParameterBindings(),
+				parameterMapping
+		);
+		return new DelegatingDomainQueryExecutionContext( executionContext ) {
+			@Override
+			public QueryParameterBindings getQueryParameterBindings() {
+				return parameterBindings;
+			}
+		};
+	}
+
+	private static class RemappedQueryParameterBindings implements QueryParameterBindings {
+		private final QueryParameterBindings delegate;
+		private final Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> parameterMapping;
+
+		RemappedQueryParameterBindings(
+				QueryParameterBindings delegate,
+				Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> parameterMapping) {
+			this.delegate = delegate;
+			this.parameterMapping = parameterMapping;
+		}
+
+		@SuppressWarnings("unchecked")
+		private <P> QueryParameterImplementor<P> map(QueryParameterImplementor<P> parameter) {
+			final QueryParameterImplementor<?> mapped = parameterMapping.get( parameter );
+			return mapped == null ? parameter : (QueryParameterImplementor<P>) mapped;
+		}
+
+		@Override
+		public boolean isBound(QueryParameterImplementor<?> parameter) {
+			return delegate.isBound( map( parameter ) );
+		}
+
+		@Override
+		public <P> QueryParameterBinding<P> getBinding(QueryParameterImplementor<P> parameter) {
+			return delegate.getBinding( map( parameter ) );
+		}
+
+		@Override
+		public <P> QueryParameterBinding<P> getBinding(String name) {
+			return delegate.getBinding( name );
+		}
+
+		@Override
+		public <P> QueryParameterBinding<P> getBinding(int position) {
+			return delegate.getBinding( position );
+		}
+
+		@Override
+		public void validate() {
+			delegate.validate();
+		}
+
+		@Override
+		public boolean hasAnyMultiValuedBindings() {
+			return delegate.hasAnyMultiValuedBindings();
+		}
+
+		@Override
+		public QueryKey.ParameterBindingsMemento generateQueryKeyMemento(SharedSessionContractImplementor persistenceContext) {
+			return delegate.generateQueryKeyMemento( persistenceContext );
+		}
+
+		@Override
+		public void visitBindings(BiConsumer<QueryParameterImplementor<?>, QueryParameterBinding<?>> action) {
+			final Map<QueryParameterImplementor<?>, QueryParameterImplementor<?>> inverseMapping = new IdentityHashMap<>();
+			parameterMapping.forEach( (parameter, mapped) -> inverseMapping.put( mapped, parameter ) );
+			delegate.visitBindings(
+					(parameter, binding) -> action.accept( inverseMapping.getOrDefault( parameter, parameter ), binding )
+			);
+		}
+	}
+}
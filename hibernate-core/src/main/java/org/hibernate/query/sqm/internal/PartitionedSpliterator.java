@@ -0,0 +1,434 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.sqm.internal;
+
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.hibernate.Filter;
+import org.hibernate.LockMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.LoadQueryInfluencers;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.graph.spi.AppliedGraph;
+import org.hibernate.internal.FilterImpl;
+import org.hibernate.metamodel.mapping.BasicEntityIdentifierMapping;
+import org.hibernate.metamodel.mapping.EntityIdentifierMapping;
+import org.hibernate.query.BindableType;
+import org.hibernate.query.IllegalQueryOperationException;
+import org.hibernate.query.spi.MutableQueryOptions;
+import org.hibernate.query.spi.QueryOptions;
+import org.hibernate.query.spi.QueryParameterBinding;
+import org.hibernate.query.spi.QueryParameterBindings;
+import org.hibernate.query.spi.QueryParameterImplementor;
+import org.hibernate.query.spi.ScrollableResultsImplementor;
+import org.hibernate.query.sqm.NodeBuilder;
+import org.hibernate.query.sqm.tree.SqmCopyContext;
+import org.hibernate.query.sqm.tree.domain.SqmPath;
+import org.hibernate.query.sqm.tree.from.SqmRoot;
+import org.hibernate.query.sqm.tree.select.SqmQuerySpec;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+
+/**
+ * A {@link Spliterator} over the results of a select query split into partitions by
+ * the identifier of its root entity.  The range between the lowest and the highest
+ * identifier matching the restriction of the query, read by an additional query, is
+ * divided into equally wide ranges, so that each partition is restricted by a range of
+ * its primary key.
+ * <p>
+ * Each partition is read by a separate {@link StatelessSession}, and so on its own JDBC
+ * connection, when the spliterator reaches it.  The session is closed as soon as the
+ * partition is read, or when reading it fails.  The enabled filters and fetch profiles of
+ * the session, and the options of the query, are applied to each of these sessions and
+ * queries.  {@link #trySplit()} hands the partitions which were not read yet to another
+ * spliterator, which allows a parallel stream to read the partitions concurrently.
+ *
+ * @see org.hibernate.query.SelectionQuery#partitionedStream(int)
+ */
+public class PartitionedSpliterator<R> implements Spliterator<R> {
+	private final Partitions<R> partitions;
+	private int nextPartition;
+	private int endPartition;
+
+	private StatelessSession currentSession;
+	private ScrollableResultsImplementor<R> currentResults;
+
+	private PartitionedSpliterator(Partitions<R> partitions, int nextPartition, int endPartition) {
+		this.partitions = partitions;
+		this.nextPartition = nextPartition;
+		this.endPartition = endPartition;
+	}
+
+	/**
+	 * A parallel {@link Stream} over the results of the given statement, read as the given
+	 * number of partitions.
+	 */
+	public static <R> Stream<R> stream(
+			SqmSelectStatement<R> statement,
+			Class<R> resultType,
+			QueryOptions queryOptions,
+			QueryParameterBindings parameterBindings,
+			SharedSessionContractImplementor session,
+			int partitionCount) {
+		if ( partitionCount < 1 ) {
+			throw new IllegalArgumentException( "Number of partitions must be positive: " + partitionCount );
+		}
+		if ( queryOptions.hasLimit()
+				|| statement.getQueryPart().getFetchExpression() != null
+				|| statement.getQueryPart().getOffsetExpression() != null ) {
+			throw new IllegalQueryOperationException( "Partitioned stream of a query with a limit or offset" );
+		}
+		if ( !( statement.getQueryPart() instanceof SqmQuerySpec<?> )
+				|| statement.getQueryPart().getFirstQuerySpec().getFromClause().getRoots().size() != 1 ) {
+			throw new IllegalQueryOperationException( "Partitioned stream of a query without a single root entity" );
+		}
+		if ( !statement.getQueryPart().getFirstQuerySpec().getGroupByClauseExpressions().isEmpty() ) {
+			// a group could span several partitions
+			throw new IllegalQueryOperationException( "Partitioned stream of a query with a group by clause" );
+		}
+
+		final SqmRoot<?> root = statement.getQueryPart().getFirstQuerySpec().getFromClause().getRoots().get( 0 );
+		final EntityIdentifierMapping identifierMapping = session.getFactory()
+				.getRuntimeMetamodels()
+				.getMappingMetamodel()
+				.getEntityDescriptor( root.getEntityName() )
+				.getIdentifierMapping();
+		if ( !( identifierMapping instanceof BasicEntityIdentifierMapping )
+				|| !isIntegral( identifierMapping.getJavaType().getJavaTypeClass() ) ) {
+			throw new IllegalQueryOperationException(
+					"Partitioned stream of a query on entity '" + root.getEntityName() + "' without an integral identifier"
+			);
+		}
+		if ( queryOptions.getResultListTransformer() != null ) {
+			throw new IllegalStateException( "Partitioned stream of a query with a ResultListTransformer" );
+		}
+		if ( queryOptions.getLockOptions().findGreatestLockMode().greaterThan( LockMode.READ ) ) {
+			// each partition is read by its own connection, which would not hold the locks
+			throw new IllegalStateException( "Partitioned stream of a query with a lock mode" );
+		}
+
+		final Partitions<R> partitions = new Partitions<>(
+				statement,
+				resultType,
+				( (BasicEntityIdentifierMapping) identifierMapping ).getAttributeName(),
+				identifierMapping.getJavaType().getJavaTypeClass(),
+				queryOptions,
+				parameterBindings,
+				session,
+				partitionCount
+		);
+		final int partitionsToRead = partitions.readIdentifierRange() ? partitionCount : 0;
+		return StreamSupport.stream( new PartitionedSpliterator<>( partitions, 0, partitionsToRead ), true )
+				.onClose( partitions::close );
+	}
+
+	private static boolean isIntegral(Class<?> javaType) {
+		return javaType == Integer.class || javaType == int.class
+				|| javaType == Long.class || javaType == long.class
+				|| javaType == Short.class || javaType == short.class;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super R> action) {
+		try {
+			while ( currentResults != null || nextPartition < endPartition ) {
+				if ( currentResults == null ) {
+					currentSession = partitions.openSession();
+					currentResults = partitions.scroll( currentSession, nextPartition++ );
+				}
+				if ( currentResults.next() ) {
+					action.accept( currentResults.get() );
+					return true;
+				}
+				closePartition();
+			}
+			return false;
+		}
+		catch (RuntimeException | Error e) {
+			// the stream is abandoned, so do not keep the connection until it is closed
+			closePartition();
+			throw e;
+		}
+	}
+
+	private void closePartition() {
+		try {
+			if ( currentResults != null ) {
+				currentResults.close();
+			}
+		}
+		finally {
+			if ( currentSession != null ) {
+				partitions.closeSession( currentSession );
+			}
+			currentResults = null;
+			currentSession = null;
+		}
+	}
+
+	@Override
+	public Spliterator<R> trySplit() {
+		final int remaining = endPartition - nextPartition;
+		if ( currentResults == null ? remaining < 2 : remaining < 1 ) {
+			return null;
+		}
+		// while a partition is being read, hand all the others off
+		final int split = currentResults == null ? nextPartition + remaining / 2 : nextPartition;
+		final PartitionedSpliterator<R> other = new PartitionedSpliterator<>( partitions, split, endPartition );
+		endPartition = split;
+		return other;
+	}
+
+	@Override
+	public long estimateSize() {
+		return Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		return NONNULL;
+	}
+
+	/**
+	 * The state shared by the spliterators of a stream.
+	 */
+	private static class Partitions<R> {
+		private final SqmSelectStatement<R> statement;
+		private final Class<R> resultType;
+		private final String identifierName;
+		private final Class<?> identifierType;
+		private final QueryOptions queryOptions;
+		private final QueryParameterBindings parameterBindings;
+		private final SharedSessionContractImplementor session;
+		private final int partitionCount;
+
+		// taken from the session when the stream is created, since the partitions are read by other threads
+		private final Map<String, Map<String, ?>> enabledFilters = new HashMap<>();
+		private final Set<String> enabledFetchProfileNames;
+
+		private BigInteger minIdentifier;
+		private BigInteger identifierRange;
+
+		private final Set<StatelessSession> openSessions = ConcurrentHashMap.newKeySet();
+
+		Partitions(
+				SqmSelectStatement<R> statement,
+				Class<R> resultType,
+				String identifierName,
+				Class<?> identifierType,
+				QueryOptions queryOptions,
+				QueryParameterBindings parameterBindings,
+				SharedSessionContractImplementor session,
+				int partitionCount) {
+			this.statement = statement;
+			this.resultType = resultType;
+			this.identifierName = identifierName;
+			this.identifierType = identifierType;
+			this.queryOptions = queryOptions;
+			this.parameterBindings = parameterBindings;
+			this.session = session;
+			this.partitionCount = partitionCount;
+
+			final LoadQueryInfluencers influencers = session.getLoadQueryInfluencers();
+			for ( Filter filter : influencers.getEnabledFilters().values() ) {
+				enabledFilters.put( filter.getName(), new HashMap<>( ( (FilterImpl) filter ).getParameters() ) );
+			}
+			this.enabledFetchProfileNames = new HashSet<>( influencers.getEnabledFetchProfileNames() );
+		}
+
+		/**
+		 * Reads the lowest and the highest identifier of the root entity matching the
+		 * restriction of the query, and returns {@code false} if there is none.
+		 */
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		boolean readIdentifierRange() {
+			final SqmSelectStatement<Object[]> copy = (SqmSelectStatement) statement.copy( SqmCopyContext.simpleContext() );
+			final SqmQuerySpec<Object[]> querySpec = copy.getQueryPart().getFirstQuerySpec();
+			final NodeBuilder nodeBuilder = copy.nodeBuilder();
+			final SqmPath identifier = querySpec.getFromClause().getRoots().get( 0 ).get( identifierName );
+			querySpec.getSelectClause().makeDistinct( false );
+			querySpec.getSelectClause().setSelection( nodeBuilder.min( identifier ) );
+			querySpec.getSelectClause().add( nodeBuilder.max( identifier ), null );
+			querySpec.setOrderByClause( null );
+
+			final StatelessSession statelessSession = openSession();
+			try {
+				final Object[] range = createQuery( statelessSession, copy, Object[].class ).getSingleResult();
+				if ( range[0] == null ) {
+					return false;
+				}
+				minIdentifier = BigInteger.valueOf( ( (Number) range[0] ).longValue() );
+				identifierRange = BigInteger.valueOf( ( (Number) range[1] ).longValue() ).subtract( minIdentifier );
+				return true;
+			}
+			finally {
+				closeSession( statelessSession );
+			}
+		}
+
+		StatelessSession openSession() {
+			final StatelessSession statelessSession = session.getFactory()
+					.withStatelessOptions()
+					.tenantIdentifier( session.getTenantIdentifier() )
+					.openStatelessSession();
+			openSessions.add( statelessSession );
+
+			final LoadQueryInfluencers influencers = ( (SharedSessionContractImplementor) statelessSession )
+					.getLoadQueryInfluencers();
+			enabledFilters.forEach(
+					(filterName, parameters) -> {
+						final Filter filter = influencers.enableFilter( filterName );
+						parameters.forEach(
+								(name, value) -> {
+									if ( value instanceof Collection<?> ) {
+										filter.setParameterList( name, (Collection<?>) value );
+									}
+									else {
+										filter.setParameter( name, value );
+									}
+								}
+						);
+					}
+			);
+			for ( String fetchProfileName : enabledFetchProfileNames ) {
+				influencers.enableFetchProfile( fetchProfileName );
+			}
+			return statelessSession;
+		}
+
+		void closeSession(StatelessSession statelessSession) {
+			openSessions.remove( statelessSession );
+			statelessSession.close();
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		ScrollableResultsImplementor<R> scroll(StatelessSession statelessSession, int partition) {
+			final SqmSelectStatement<R> copy = statement.copy( SqmCopyContext.simpleContext() );
+			final SqmQuerySpec<R> querySpec = copy.getQueryPart().getFirstQuerySpec();
+			final NodeBuilder nodeBuilder = copy.nodeBuilder();
+			final SqmPath identifier = querySpec.getFromClause().getRoots().get( 0 ).get( identifierName );
+			// the first and the last partitions are open-ended, to include the rows inserted meanwhile
+			if ( partition > 0 ) {
+				querySpec.applyPredicate( nodeBuilder.ge( identifier, nodeBuilder.literal( lowerBound( partition ) ) ) );
+			}
+			if ( partition < partitionCount - 1 ) {
+				querySpec.applyPredicate( nodeBuilder.lt( identifier, nodeBuilder.literal( lowerBound( partition + 1 ) ) ) );
+			}
+
+			final QuerySqmImpl<R> query = createQuery( statelessSession, copy, resultType );
+			applyOptions( query.getQueryOptions() );
+			return query.scroll( ScrollMode.FORWARD_ONLY );
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private <T> QuerySqmImpl<T> createQuery(
+				StatelessSession statelessSession,
+				SqmSelectStatement<T> copy,
+				Class<T> queryResultType) {
+			final QuerySqmImpl<T> query = new QuerySqmImpl<>(
+					copy,
+					queryResultType,
+					(SharedSessionContractImplementor) statelessSession
+			);
+			parameterBindings.visitBindings(
+					(parameter, binding) -> {
+						if ( binding.isBound() ) {
+							bind( query, parameter, (QueryParameterBinding) binding );
+						}
+					}
+			);
+			return query;
+		}
+
+		private Number lowerBound(int partition) {
+			final long bound = identifierRange.multiply( BigInteger.valueOf( partition ) )
+					.divide( BigInteger.valueOf( partitionCount ) )
+					.add( minIdentifier )
+					.longValue();
+			if ( identifierType == Integer.class || identifierType == int.class ) {
+				return (int) bound;
+			}
+			else if ( identifierType == Short.class || identifierType == short.class ) {
+				return (short) bound;
+			}
+			else {
+				return bound;
+			}
+		}
+
+		private void applyOptions(MutableQueryOptions options) {
+			if ( queryOptions.getFetchSize() != null ) {
+				options.setFetchSize( queryOptions.getFetchSize() );
+			}
+			if ( queryOptions.getTimeout() != null ) {
+				options.setTimeout( queryOptions.getTimeout() );
+			}
+			if ( queryOptions.isReadOnly() != null ) {
+				options.setReadOnly( queryOptions.isReadOnly() );
+			}
+			options.setCacheRetrieveMode( queryOptions.getCacheRetrieveMode() );
+			options.setCacheStoreMode( queryOptions.getCacheStoreMode() );
+			if ( queryOptions.isResultCachingEnabled() != null ) {
+				options.setResultCachingEnabled( queryOptions.isResultCachingEnabled() );
+			}
+			options.setResultCacheRegionName( queryOptions.getResultCacheRegionName() );
+			options.setComment( queryOptions.getComment() );
+			for ( String hint : queryOptions.getDatabaseHints() ) {
+				options.addDatabaseHint( hint );
+			}
+			options.setTupleTransformer( queryOptions.getTupleTransformer() );
+			final AppliedGraph appliedGraph = queryOptions.getAppliedGraph();
+			if ( appliedGraph != null && appliedGraph.getSemantic() != null ) {
+				options.applyGraph( appliedGraph.getGraph(), appliedGraph.getSemantic() );
+			}
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private static void bind(
+				QuerySqmImpl<?> query,
+				QueryParameterImplementor<?> parameter,
+				QueryParameterBinding<Object> binding) {
+			final QueryParameterBinding<Object> target;
+			if ( parameter.getName() != null ) {
+				target = query.getQueryParameterBindings().getBinding( parameter.getName() );
+			}
+			else if ( parameter.getPosition() != null ) {
+				target = query.getQueryParameterBindings().getBinding( parameter.getPosition() );
+			}
+			else if ( query.getParameterMetadata().containsReference( parameter ) ) {
+				target = query.getQueryParameterBindings().getBinding( (QueryParameterImplementor) parameter );
+			}
+			else {
+				// a parameter holding a value, which was copied and bound with the tree
+				return;
+			}
+
+			if ( binding.isMultiValued() ) {
+				target.setBindValues( binding.getBindValues(), (BindableType) binding.getBindType() );
+			}
+			else {
+				target.setBindValue( binding.getBindValue(), (BindableType) binding.getBindType() );
+			}
+		}
+
+		void close() {
+			for ( StatelessSession statelessSession : openSessions ) {
+				closeSession( statelessSession );
+			}
+		}
+	}
+}
@@ -134,6 +134,8 @@ public class QuerySqmImpl<R>
 
 	private final Class<R> resultType;
 	private final TupleMetadata tupleMetadata;
+	private final boolean cacheableByStructure;
+	private SqmStructuralKey structuralKey;
 
 	/**
 	 * Creates a Query instance from a named HQL memento
@@ -168,6 +170,7 @@ public class QuerySqmImpl<R>
 
 		applyOptions( memento );
 		this.tupleMetadata = buildTupleMetadata( sqm, resultType );
+		this.cacheableByStructure = false;
 	}
 
 	public QuerySqmImpl(
@@ -203,6 +206,7 @@ public class QuerySqmImpl<R>
 		setComment( hql );
 
 		this.tupleMetadata = buildTupleMetadata( sqm, resultType );
+		this.cacheableByStructure = false;
 	}
 
 	/**
@@ -282,6 +286,7 @@ public class QuerySqmImpl<R>
 
 		this.resultType = resultType;
 		this.tupleMetadata = buildTupleMetadata( criteria, resultType );
+		this.cacheableByStructure = SqmStructuralKey.isCacheable( sqm, tupleMetadata, producer.getFactory() );
 	}
 
 	private void validateStatement(SqmStatement<R> sqmStatement, Class<R> resultType) {
@@ -431,6 +436,11 @@ public class QuerySqmImpl<R>
 		return resultType;
 	}
 
+	@Override
+	public SqmStructuralKey getStructuralKey() {
+		return structuralKey;
+	}
+
 	@Override
 	public LoadQueryInfluencers getLoadQueryInfluencers() {
 		return getSession().getLoadQueryInfluencers();
@@ -557,8 +567,29 @@ public class QuerySqmImpl<R>
 	// Select query plan
 
 	private SelectQueryPlan<R> resolveSelectQueryPlan() {
+		// the key is taken from the tree as it is now, since it might have changed after the
+		// creation of the query, and the plan is built from that same tree on a cache miss
+		final List<JpaCriteriaParameter<?>> criteriaParameters = new ArrayList<>();
+		final SqmSelectStatement<?> criteria = (SqmSelectStatement<?>) getSqmStatement();
+		structuralKey = cacheableByStructure ? SqmStructuralKey.from( criteria, criteriaParameters ) : null;
 		final QueryInterpretationCache.Key cacheKey = SqmInterpretationsKey.createInterpretationsKey( this );
-		if ( cacheKey != null ) {
+		if ( cacheKey != null && structuralKey != null ) {
+			// the plan possibly belongs to another criteria tree of the same structure
+			final SqmStructuralKey criteriaKey = structuralKey;
+			final SelectQueryPlan<R> queryPlan = getSession().getFactory().getQueryEngine().getInterpretationCache()
+					.resolveSelectQueryPlan(
+							cacheKey,
+							() -> CriteriaSelectQueryPlan.build(
+									criteria,
+									criteriaKey,
+									getResultType(),
+									getQueryOptions(),
+									getSessionFactory()
+							)
+					);
+			return ( (CriteriaSelectQueryPlan<R>) queryPlan ).forParameters( criteriaParameters );
+		}
+		else if ( cacheKey != null ) {
 			return getSession().getFactory().getQueryEngine().getInterpretationCache().resolveSelectQueryPlan(
 					cacheKey,
 					this::buildSelectQueryPlan
@@ -984,6 +1015,20 @@ public class QuerySqmImpl<R>
 		return super.stream();
 	}
 
+	@Override
+	public Stream<R> partitionedStream(int partitions) {
+		SqmUtil.verifyIsSelectStatement( getSqmStatement(), hql );
+		getQueryParameterBindings().validate();
+		return PartitionedSpliterator.stream(
+				(SqmSelectStatement<R>) getSqmStatement(),
+				resultType,
+				getQueryOptions(),
+				getQueryParameterBindings(),
+				getSession(),
+				partitions
+		);
+	}
+
 	@Override
 	public R uniqueResult() {
 		//noinspection unchecked
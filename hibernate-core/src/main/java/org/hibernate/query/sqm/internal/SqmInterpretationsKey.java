@@ -30,6 +30,14 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 
 	public interface InterpretationsKeySource extends CacheabilityInfluencers {
 		Class<?> getResultType();
+
+		/**
+		 * The structure of the criteria tree, or {@code null} for HQL queries and for
+		 * criteria trees which cannot be cached.
+		 */
+		default SqmStructuralKey getStructuralKey() {
+			return null;
+		}
 	}
 
 	public static SqmInterpretationsKey createInterpretationsKey(InterpretationsKeySource keySource) {
@@ -39,6 +47,7 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 
 		return new SqmInterpretationsKey(
 				keySource.getQueryString(),
+				keySource.getStructuralKey(),
 				keySource.getResultType(),
 				keySource.getQueryOptions().getLockOptions(),
 				keySource.getQueryOptions().getTupleTransformer(),
@@ -49,10 +58,10 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 	private static boolean isCacheable(InterpretationsKeySource keySource) {
 		assert keySource.getQueryOptions().getAppliedGraph() != null;
 
-		if ( QuerySqmImpl.CRITERIA_HQL_STRING.equals( keySource.getQueryString() ) ) {
-			// for now at least, skip caching Criteria-based plans
-			//		- especially wrt parameters atm; this works with HQL because the parameters
-			//			are part of the query string; with Criteria, they are not.
+		if ( QuerySqmImpl.CRITERIA_HQL_STRING.equals( keySource.getQueryString() )
+				&& keySource.getStructuralKey() == null ) {
+			// every Criteria query has the same query string, so its plan may only be
+			// cached when the structural key of the tree tells it apart from the others
 			return false;
 		}
 
@@ -92,6 +101,7 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 
 
 	private final String query;
+	private final SqmStructuralKey structuralKey;
 	private final Class<?> resultType;
 	private final LockOptions lockOptions;
 	private final TupleTransformer<?> tupleTransformer;
@@ -99,11 +109,13 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 
 	private SqmInterpretationsKey(
 			String query,
+			SqmStructuralKey structuralKey,
 			Class<?> resultType,
 			LockOptions lockOptions,
 			TupleTransformer<?> tupleTransformer,
 			ResultListTransformer resultListTransformer) {
 		this.query = query;
+		this.structuralKey = structuralKey;
 		this.resultType = resultType;
 		this.lockOptions = lockOptions;
 		this.tupleTransformer = tupleTransformer;
@@ -114,6 +126,7 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 	public QueryInterpretationCache.Key prepareForStore() {
 		return new SqmInterpretationsKey(
 				query,
+				structuralKey,
 				resultType,
 				// Since lock options are mutable, we need a copy for the cache key
 				lockOptions.makeCopy(),
@@ -138,6 +151,7 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 
 		final SqmInterpretationsKey that = (SqmInterpretationsKey) o;
 		return query.equals( that.query )
+				&& areEqual( structuralKey, that.structuralKey )
 				&& areEqual( resultType, that.resultType )
 				&& areEqual( lockOptions, that.lockOptions )
 				&& areEqual( tupleTransformer, that.tupleTransformer )
@@ -156,6 +170,7 @@ public class SqmInterpretationsKey implements QueryInterpretationCache.Key {
 	@Override
 	public int hashCode() {
 		int result = query.hashCode();
+		result = 31 * result + ( structuralKey != null ? structuralKey.hashCode() : 0 );
 		result = 31 * result + ( resultType != null ? resultType.hashCode() : 0 );
 		result = 31 * result + ( lockOptions != null ? lockOptions.hashCode() : 0 );
 		result = 31 * result + ( tupleTransformer != null ? tupleTransformer.hashCode() : 0 );
@@ -14,6 +14,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 import jakarta.persistence.FlushModeType;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.Parameter;
@@ -89,6 +90,8 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 
 	private final Class<R> resultType;
 	private final TupleMetadata tupleMetadata;
+	private final boolean cacheableByStructure;
+	private SqmStructuralKey structuralKey;
 
 	public SqmSelectionQueryImpl(
 			String hql,
@@ -109,6 +112,7 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 
 		setComment( hql );
 		this.tupleMetadata = null;
+		this.cacheableByStructure = false;
 	}
 
 	public SqmSelectionQueryImpl(
@@ -141,6 +145,7 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 
 		applyOptions( memento );
 		this.tupleMetadata = buildTupleMetadata( sqm, resultType );
+		this.cacheableByStructure = false;
 	}
 
 	public SqmSelectionQueryImpl(
@@ -192,6 +197,7 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 		visitQueryReturnType( sqm.getQueryPart(), resultType, getSessionFactory() );
 		setComment( hql );
 		this.tupleMetadata = buildTupleMetadata( sqm, resultType );
+		this.cacheableByStructure = SqmStructuralKey.isCacheable( sqm, tupleMetadata, session.getFactory() );
 	}
 
 	private static <T> Class<T> determineResultType(SqmSelectStatement<?> sqm) {
@@ -320,13 +326,47 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 		return resolveQueryPlan().performScroll( scrollMode, this );
 	}
 
+	@Override
+	public Stream<R> partitionedStream(int partitions) {
+		getQueryParameterBindings().validate();
+		return PartitionedSpliterator.stream(
+				sqm,
+				resultType,
+				getQueryOptions(),
+				getQueryParameterBindings(),
+				getSession(),
+				partitions
+		);
+	}
+
 
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Query plan
 
 	private SelectQueryPlan<R> resolveQueryPlan() {
+		// the key is taken from the tree as it is now, since it might have changed after the
+		// creation of the query, and the plan is built from that same tree on a cache miss
+		final List<JpaCriteriaParameter<?>> criteriaParameters = new ArrayList<>();
+		final SqmSelectStatement<?> criteria = sqm;
+		structuralKey = cacheableByStructure ? SqmStructuralKey.from( criteria, criteriaParameters ) : null;
 		final QueryInterpretationCache.Key cacheKey = SqmInterpretationsKey.createInterpretationsKey( this );
-		if ( cacheKey != null ) {
+		if ( cacheKey != null && structuralKey != null ) {
+			// the plan possibly belongs to another criteria tree of the same structure
+			final SqmStructuralKey criteriaKey = structuralKey;
+			final SelectQueryPlan<R> queryPlan = getSession().getFactory().getQueryEngine().getInterpretationCache()
+					.resolveSelectQueryPlan(
+							cacheKey,
+							() -> CriteriaSelectQueryPlan.build(
+									criteria,
+									criteriaKey,
+									getResultType(),
+									getQueryOptions(),
+									getSessionFactory()
+							)
+					);
+			return ( (CriteriaSelectQueryPlan<R>) queryPlan ).forParameters( criteriaParameters );
+		}
+		else if ( cacheKey != null ) {
 			return getSession().getFactory().getQueryEngine().getInterpretationCache().resolveSelectQueryPlan(
 					cacheKey,
 					this::buildQueryPlan
@@ -392,6 +432,11 @@ public class SqmSelectionQueryImpl<R> extends AbstractSelectionQuery<R> implemen
 		return resultType;
 	}
 
+	@Override
+	public SqmStructuralKey getStructuralKey() {
+		return structuralKey;
+	}
+
 	@Override
 	public LoadQueryInfluencers getLoadQueryInfluencers() {
 		return getSession().getLoadQueryInfluencers();
@@ -0,0 +1,1030 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.sqm.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.sqm.SemanticQueryWalker;
+import org.hibernate.query.sqm.function.SelfRenderingSqmAggregateFunction;
+import org.hibernate.query.sqm.function.SelfRenderingSqmFunction;
+import org.hibernate.query.sqm.sql.internal.SelfInterpretingSqmPath;
+import org.hibernate.query.sqm.tree.SqmStatement;
+import org.hibernate.query.sqm.tree.SqmVisitableNode;
+import org.hibernate.query.sqm.tree.cte.SqmCteContainer;
+import org.hibernate.query.sqm.tree.cte.SqmCteStatement;
+import org.hibernate.query.sqm.tree.delete.SqmDeleteStatement;
+import org.hibernate.query.sqm.tree.domain.NonAggregatedCompositeSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmAnyValuedSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmBasicValuedSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmCorrelatedRoot;
+import org.hibernate.query.sqm.tree.domain.SqmCorrelation;
+import org.hibernate.query.sqm.tree.domain.SqmElementAggregateFunction;
+import org.hibernate.query.sqm.tree.domain.SqmEmbeddedValuedSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmEntityValuedSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmFkExpression;
+import org.hibernate.query.sqm.tree.domain.SqmIndexAggregateFunction;
+import org.hibernate.query.sqm.tree.domain.SqmIndexedCollectionAccessPath;
+import org.hibernate.query.sqm.tree.domain.SqmMapEntryReference;
+import org.hibernate.query.sqm.tree.domain.SqmPath;
+import org.hibernate.query.sqm.tree.domain.SqmPluralPartJoin;
+import org.hibernate.query.sqm.tree.domain.SqmPluralValuedSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmTreatedPath;
+import org.hibernate.query.sqm.tree.expression.JpaCriteriaParameter;
+import org.hibernate.query.sqm.tree.expression.SqmAny;
+import org.hibernate.query.sqm.tree.expression.SqmBinaryArithmetic;
+import org.hibernate.query.sqm.tree.expression.SqmByUnit;
+import org.hibernate.query.sqm.tree.expression.SqmCaseSearched;
+import org.hibernate.query.sqm.tree.expression.SqmCaseSimple;
+import org.hibernate.query.sqm.tree.expression.SqmCastTarget;
+import org.hibernate.query.sqm.tree.expression.SqmCoalesce;
+import org.hibernate.query.sqm.tree.expression.SqmCollation;
+import org.hibernate.query.sqm.tree.expression.SqmCollectionSize;
+import org.hibernate.query.sqm.tree.expression.SqmDistinct;
+import org.hibernate.query.sqm.tree.expression.SqmDurationUnit;
+import org.hibernate.query.sqm.tree.expression.SqmEnumLiteral;
+import org.hibernate.query.sqm.tree.expression.SqmEvery;
+import org.hibernate.query.sqm.tree.expression.SqmExpression;
+import org.hibernate.query.sqm.tree.expression.SqmExtractUnit;
+import org.hibernate.query.sqm.tree.expression.SqmFieldLiteral;
+import org.hibernate.query.sqm.tree.expression.SqmFormat;
+import org.hibernate.query.sqm.tree.expression.SqmFunction;
+import org.hibernate.query.sqm.tree.expression.SqmLiteral;
+import org.hibernate.query.sqm.tree.expression.SqmLiteralEntityType;
+import org.hibernate.query.sqm.tree.expression.SqmModifiedSubQueryExpression;
+import org.hibernate.query.sqm.tree.expression.SqmNamedParameter;
+import org.hibernate.query.sqm.tree.expression.SqmOver;
+import org.hibernate.query.sqm.tree.expression.SqmOverflow;
+import org.hibernate.query.sqm.tree.expression.SqmParameterizedEntityType;
+import org.hibernate.query.sqm.tree.expression.SqmPositionalParameter;
+import org.hibernate.query.sqm.tree.expression.SqmStar;
+import org.hibernate.query.sqm.tree.expression.SqmSummarization;
+import org.hibernate.query.sqm.tree.expression.SqmToDuration;
+import org.hibernate.query.sqm.tree.expression.SqmTrimSpecification;
+import org.hibernate.query.sqm.tree.expression.SqmTuple;
+import org.hibernate.query.sqm.tree.expression.SqmUnaryOperation;
+import org.hibernate.query.sqm.tree.from.SqmAttributeJoin;
+import org.hibernate.query.sqm.tree.from.SqmCrossJoin;
+import org.hibernate.query.sqm.tree.from.SqmEntityJoin;
+import org.hibernate.query.sqm.tree.from.SqmFrom;
+import org.hibernate.query.sqm.tree.from.SqmFromClause;
+import org.hibernate.query.sqm.tree.from.SqmJoin;
+import org.hibernate.query.sqm.tree.from.SqmRoot;
+import org.hibernate.query.sqm.tree.insert.SqmInsertSelectStatement;
+import org.hibernate.query.sqm.tree.insert.SqmInsertValuesStatement;
+import org.hibernate.query.sqm.tree.insert.SqmValues;
+import org.hibernate.query.sqm.tree.predicate.SqmBetweenPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmBooleanExpressionPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmComparisonPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmEmptinessPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmExistsPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmGroupedPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmInListPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmInSubQueryPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmJunctionPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmLikePredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmMemberOfPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmNegatablePredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmNegatedPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmNullnessPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmWhereClause;
+import org.hibernate.query.sqm.tree.select.SqmDynamicInstantiation;
+import org.hibernate.query.sqm.tree.select.SqmDynamicInstantiationArgument;
+import org.hibernate.query.sqm.tree.select.SqmJpaCompoundSelection;
+import org.hibernate.query.sqm.tree.select.SqmOrderByClause;
+import org.hibernate.query.sqm.tree.select.SqmQueryGroup;
+import org.hibernate.query.sqm.tree.select.SqmQueryPart;
+import org.hibernate.query.sqm.tree.select.SqmQuerySpec;
+import org.hibernate.query.sqm.tree.select.SqmSelectClause;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+import org.hibernate.query.sqm.tree.select.SqmSelectableNode;
+import org.hibernate.query.sqm.tree.select.SqmSelection;
+import org.hibernate.query.sqm.tree.select.SqmSortSpecification;
+import org.hibernate.query.sqm.tree.select.SqmSubQuery;
+import org.hibernate.query.sqm.tree.update.SqmAssignment;
+import org.hibernate.query.sqm.tree.update.SqmSetClause;
+import org.hibernate.query.sqm.tree.update.SqmUpdateStatement;
+import org.hibernate.sql.results.internal.TupleMetadata;
+
+/**
+ * The structure of a criteria select statement, with its parameters abstracted out,
+ * used as part of the {@link SqmInterpretationsKey} of criteria queries.
+ * <p>
+ * Two criteria trees have equal keys when they consist of the same nodes, referencing
+ * the same domain model parts, in the same order; the parameters of both trees, including
+ * the ones created for the values passed to the {@code CriteriaBuilder}, are then matched
+ * by the order of their first occurrence.  The key only holds the positions and types of
+ * the parameters, never the parameters themselves, which may hold values of the application.
+ * Trees using constructs which are not covered here, like CTEs or treats, have no key and
+ * are never cached.
+ */
+public final class SqmStructuralKey {
+	private final Object[] tokens;
+	private final int hashCode;
+
+	private SqmStructuralKey(Object[] tokens) {
+		this.tokens = tokens;
+		this.hashCode = Arrays.hashCode( tokens );
+	}
+
+	/**
+	 * Whether the plans of the given criteria query may be cached by the structure of its tree.
+	 */
+	public static boolean isCacheable(
+			SqmStatement<?> criteria,
+			TupleMetadata tupleMetadata,
+			SessionFactoryImplementor factory) {
+		// the tuple metadata references the selections of the tree itself
+		return criteria instanceof SqmSelectStatement<?> && tupleMetadata == null
+				&& factory.getQueryEngine().getInterpretationCache().isEnabled();
+	}
+
+	/**
+	 * Builds the key of the given statement, or {@code null} if its structure is not supported.
+	 *
+	 * @param parameters collects the parameters of the tree, in the order of their first occurrence
+	 */
+	public static SqmStructuralKey from(SqmSelectStatement<?> statement, List<JpaCriteriaParameter<?>> parameters) {
+		final Builder builder = new Builder( parameters );
+		try {
+			statement.accept( builder );
+		}
+		catch (UnsupportedStructureException e) {
+			return null;
+		}
+		return new SqmStructuralKey( builder.tokens.toArray() );
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || getClass() != o.getClass() ) {
+			return false;
+		}
+		final SqmStructuralKey that = (SqmStructuralKey) o;
+		return hashCode == that.hashCode && Arrays.equals( tokens, that.tokens );
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	private static class UnsupportedStructureException extends RuntimeException {
+		private static final UnsupportedStructureException INSTANCE = new UnsupportedStructureException();
+
+		private UnsupportedStructureException() {
+			super( null, null, false, false );
+		}
+	}
+
+	/**
+	 * Flattens the tree into a list of tokens: the class of each node followed by its
+	 * attributes, lists being prefixed by their size.  From elements and parameters are
+	 * replaced by their index in the tree.
+	 */
+	private static class Builder implements SemanticQueryWalker<Object> {
+		private final List<Object> tokens = new ArrayList<>();
+		private final Map<SqmFrom<?, ?>, Integer> fromIndexes = new IdentityHashMap<>();
+		private final Map<JpaCriteriaParameter<?>, Integer> parameterIndexes = new IdentityHashMap<>();
+		private final List<JpaCriteriaParameter<?>> parameters;
+
+		private Builder(List<JpaCriteriaParameter<?>> parameters) {
+			this.parameters = parameters;
+		}
+
+		private static Object unsupported() {
+			throw UnsupportedStructureException.INSTANCE;
+		}
+
+		private void begin(Object node) {
+			tokens.add( node.getClass() );
+			if ( node instanceof SqmNegatablePredicate ) {
+				tokens.add( ( (SqmNegatablePredicate) node ).isNegated() );
+			}
+		}
+
+		private void add(Object token) {
+			tokens.add( token );
+		}
+
+		private void addType(Object type) {
+			// the type inferred for an expression may be another node of the tree
+			if ( type instanceof SqmPath<?> ) {
+				tokens.add( ( (SqmPath<?>) type ).getReferencedPathSource() );
+			}
+			else if ( type instanceof SqmExpression<?> ) {
+				tokens.add( type.getClass() );
+				addType( ( (SqmExpression<?>) type ).getNodeType() );
+			}
+			else {
+				tokens.add( type );
+			}
+		}
+
+		private void visit(SqmVisitableNode node) {
+			if ( node == null ) {
+				tokens.add( null );
+			}
+			else {
+				node.accept( this );
+			}
+		}
+
+		private void visitAll(List<? extends SqmVisitableNode> nodes) {
+			if ( nodes == null ) {
+				tokens.add( null );
+			}
+			else {
+				tokens.add( nodes.size() );
+				for ( SqmVisitableNode node : nodes ) {
+					node.accept( this );
+				}
+			}
+		}
+
+		private Object reference(SqmPath<?> path) {
+			begin( path );
+			addPath( path );
+			return null;
+		}
+
+		private void addPath(SqmPath<?> path) {
+			final Integer fromIndex = fromIndexes.get( path );
+			if ( fromIndex != null ) {
+				tokens.add( fromIndex );
+			}
+			else if ( path instanceof SqmFrom<?, ?> || path.getLhs() == null || path instanceof SqmTreatedPath<?, ?> ) {
+				// a from element of an enclosing query, or one we don't know about
+				unsupported();
+			}
+			else {
+				addPath( path.getLhs() );
+				tokens.add( path.getReferencedPathSource().getPathName() );
+			}
+		}
+
+		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Statements
+
+		@Override
+		public Object visitSelectStatement(SqmSelectStatement<?> statement) {
+			if ( !statement.getCteStatements().isEmpty() ) {
+				return unsupported();
+			}
+			begin( statement );
+			visit( statement.getQueryPart() );
+			return null;
+		}
+
+		@Override
+		public Object visitUpdateStatement(SqmUpdateStatement<?> statement) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitSetClause(SqmSetClause setClause) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitAssignment(SqmAssignment assignment) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitInsertSelectStatement(SqmInsertSelectStatement<?> statement) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitInsertValuesStatement(SqmInsertValuesStatement<?> statement) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitDeleteStatement(SqmDeleteStatement<?> statement) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitCteStatement(SqmCteStatement<?> sqmCteStatement) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitCteContainer(SqmCteContainer consumer) {
+			return unsupported();
+		}
+
+		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Query parts
+
+		private void addQueryPartClauses(SqmQueryPart<?> queryPart) {
+			if ( queryPart.getOrderByClause() == null ) {
+				add( null );
+			}
+			else {
+				visitOrderByClause( queryPart.getOrderByClause() );
+			}
+			visit( queryPart.getOffsetExpression() );
+			visit( queryPart.getFetchExpression() );
+			add( queryPart.getFetchClauseType() );
+		}
+
+		@Override
+		public Object visitQueryGroup(SqmQueryGroup<?> queryGroup) {
+			begin( queryGroup );
+			add( queryGroup.getSetOperator() );
+			visitAll( queryGroup.getQueryParts() );
+			addQueryPartClauses( queryGroup );
+			return null;
+		}
+
+		@Override
+		public Object visitQuerySpec(SqmQuerySpec<?> querySpec) {
+			begin( querySpec );
+			// the from clause first, so that the other clauses can reference its elements
+			visitFromClause( querySpec.getFromClause() );
+			visitSelectClause( querySpec.getSelectClause() );
+			if ( querySpec.getWhereClause() == null ) {
+				add( null );
+			}
+			else {
+				visitWhereClause( querySpec.getWhereClause() );
+			}
+			visitAll( querySpec.getGroupByClauseExpressions() );
+			visit( querySpec.getHavingClausePredicate() );
+			addQueryPartClauses( querySpec );
+			return null;
+		}
+
+		@Override
+		public Object visitSelectClause(SqmSelectClause selectClause) {
+			begin( selectClause );
+			add( selectClause.isDistinct() );
+			visitAll( selectClause.getSelections() );
+			return null;
+		}
+
+		@Override
+		public Object visitSelection(SqmSelection<?> selection) {
+			begin( selection );
+			add( selection.getAlias() );
+			visit( selection.getSelectableNode() );
+			return null;
+		}
+
+		@Override
+		public Object visitValues(SqmValues values) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitGroupByClause(List<SqmExpression<?>> groupByClauseExpressions) {
+			visitAll( groupByClauseExpressions );
+			return null;
+		}
+
+		@Override
+		public Object visitHavingClause(SqmPredicate clause) {
+			visit( clause );
+			return null;
+		}
+
+		@Override
+		public Object visitDynamicInstantiation(SqmDynamicInstantiation<?> sqmDynamicInstantiation) {
+			begin( sqmDynamicInstantiation );
+			add( sqmDynamicInstantiation.getInstantiationTarget().getNature() );
+			add( sqmDynamicInstantiation.getInstantiationTarget().getTargetTypeDescriptor().getJavaTypeClass() );
+			final List<SqmDynamicInstantiationArgument<?>> arguments = sqmDynamicInstantiation.getArguments();
+			add( arguments.size() );
+			for ( SqmDynamicInstantiationArgument<?> argument : arguments ) {
+				add( argument.getAlias() );
+				visit( argument.getSelectableNode() );
+			}
+			return null;
+		}
+
+		@Override
+		public Object visitJpaCompoundSelection(SqmJpaCompoundSelection<?> selection) {
+			begin( selection );
+			add( selection.getJavaType() );
+			final List<SqmSelectableNode<?>> selectionItems = selection.getSelectionItems();
+			add( selectionItems.size() );
+			for ( SqmSelectableNode<?> selectionItem : selectionItems ) {
+				visit( selectionItem );
+			}
+			return null;
+		}
+
+		@Override
+		public Object visitOrderByClause(SqmOrderByClause orderByClause) {
+			begin( orderByClause );
+			final List<SqmSortSpecification> sortSpecifications = orderByClause.getSortSpecifications();
+			add( sortSpecifications.size() );
+			for ( SqmSortSpecification sortSpecification : sortSpecifications ) {
+				visitSortSpecification( sortSpecification );
+			}
+			return null;
+		}
+
+		@Override
+		public Object visitSortSpecification(SqmSortSpecification sortSpecification) {
+			begin( sortSpecification );
+			add( sortSpecification.getSortOrder() );
+			add( sortSpecification.getNullPrecedence() );
+			visit( sortSpecification.getSortExpression() );
+			return null;
+		}
+
+		@Override
+		public Object visitOffsetExpression(SqmExpression<?> expression) {
+			visit( expression );
+			return null;
+		}
+
+		@Override
+		public Object visitFetchExpression(SqmExpression<?> expression) {
+			visit( expression );
+			return null;
+		}
+
+		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// From clause
+
+		@Override
+		public Object visitFromClause(SqmFromClause fromClause) {
+			begin( fromClause );
+			final List<SqmRoot<?>> roots = fromClause.getRoots();
+			add( roots.size() );
+			for ( SqmRoot<?> root : roots ) {
+				addRoot( root );
+			}
+			return null;
+		}
+
+		private void addRoot(SqmRoot<?> root) {
+			if ( root.hasTreats() ) {
+				unsupported();
+			}
+			begin( root );
+			if ( root.getClass() == SqmCorrelatedRoot.class ) {
+				addPath( root.getCorrelationParent() );
+			}
+			else if ( root.getClass() == SqmRoot.class ) {
+				add( root.getEntityName() );
+			}
+			else {
+				unsupported();
+			}
+			fromIndexes.put( root, fromIndexes.size() );
+
+			if ( root.getOrderedJoins() == null ) {
+				addJoins( root );
+			}
+			else {
+				// the joins are then rendered in this order
+				add( root.getOrderedJoins().size() );
+				for ( SqmJoin<?, ?> join : root.getOrderedJoins() ) {
+					addJoin( join );
+				}
+			}
+		}
+
+		private void addJoins(SqmFrom<?, ?> lhs) {
+			final List<? extends SqmJoin<?, ?>> joins = lhs.getSqmJoins();
+			add( joins.size() );
+			for ( SqmJoin<?, ?> join : joins ) {
+				addJoin( join );
+				addJoins( join );
+			}
+		}
+
+		private void addJoin(SqmJoin<?, ?> join) {
+			if ( join.isCorrelated() || join.hasTreats() ) {
+				unsupported();
+			}
+			begin( join );
+			add( join.getSqmJoinType() );
+			if ( join.getLhs() == null ) {
+				add( null );
+			}
+			else {
+				addPath( join.getLhs() );
+			}
+			final SqmPredicate joinPredicate;
+			if ( join instanceof SqmAttributeJoin<?, ?> ) {
+				final SqmAttributeJoin<?, ?> attributeJoin = (SqmAttributeJoin<?, ?>) join;
+				add( attributeJoin.getReferencedPathSource().getPathName() );
+				add( attributeJoin.isFetched() );
+				joinPredicate = attributeJoin.getJoinPredicate();
+			}
+			else if ( join instanceof SqmEntityJoin<?> ) {
+				final SqmEntityJoin<?> entityJoin = (SqmEntityJoin<?>) join;
+				add( entityJoin.getEntityName() );
+				joinPredicate = entityJoin.getJoinPredicate();
+			}
+			else if ( join instanceof SqmCrossJoin<?> ) {
+				add( ( (SqmCrossJoin<?>) join ).getEntityName() );
+				joinPredicate = null;
+			}
+			else {
+				unsupported();
+				return;
+			}
+			fromIndexes.put( join, fromIndexes.size() );
+			visit( joinPredicate );
+		}
+
+		@Override
+		public Object visitRootPath(SqmRoot<?> sqmRoot) {
+			return reference( sqmRoot );
+		}
+
+		@Override
+		public Object visitCrossJoin(SqmCrossJoin<?> joinedFromElement) {
+			return reference( joinedFromElement );
+		}
+
+		@Override
+		public Object visitPluralPartJoin(SqmPluralPartJoin<?, ?> joinedFromElement) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitQualifiedEntityJoin(SqmEntityJoin<?> joinedFromElement) {
+			return reference( joinedFromElement );
+		}
+
+		@Override
+		public Object visitQualifiedAttributeJoin(SqmAttributeJoin<?, ?> joinedFromElement) {
+			return reference( joinedFromElement );
+		}
+
+		@Override
+		public Object visitCorrelation(SqmCorrelation<?, ?> correlation) {
+			return reference( correlation );
+		}
+
+		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Paths
+
+		@Override
+		public Object visitBasicValuedPath(SqmBasicValuedSimplePath<?> path) {
+			return reference( path );
+		}
+
+		@Override
+		public Object visitEmbeddableValuedPath(SqmEmbeddedValuedSimplePath<?> path) {
+			return reference( path );
+		}
+
+		@Override
+		public Object visitEntityValuedPath(SqmEntityValuedSimplePath<?> path) {
+			return reference( path );
+		}
+
+		@Override
+		public Object visitPluralValuedPath(SqmPluralValuedSimplePath<?> path) {
+			return reference( path );
+		}
+
+		@Override
+		public Object visitAnyValuedValuedPath(SqmAnyValuedSimplePath<?> path) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitNonAggregatedCompositeValuedPath(NonAggregatedCompositeSimplePath<?> path) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitFkExpression(SqmFkExpression<?> fkExpression) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitSelfInterpretingSqmPath(SelfInterpretingSqmPath<?> sqmPath) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitIndexedPluralAccessPath(SqmIndexedCollectionAccessPath<?> path) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitElementAggregateFunction(SqmElementAggregateFunction<?> path) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitIndexAggregateFunction(SqmIndexAggregateFunction<?> path) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitTreatedPath(SqmTreatedPath<?, ?> sqmTreatedPath) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitMapEntryFunction(SqmMapEntryReference<?, ?> function) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitPluralAttributeSizeFunction(SqmCollectionSize function) {
+			begin( function );
+			visit( function.getPluralPath() );
+			return null;
+		}
+
+		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Expressions
+
+		@Override
+		public Object visitLiteral(SqmLiteral<?> literal) {
+			begin( literal );
+			addType( literal.getNodeType() );
+			final Object value = literal.getLiteralValue();
+			// the class too, since some values are equal to instances of their subclasses
+			add( value == null ? null : value.getClass() );
+			add( value );
+			return null;
+		}
+
+		@Override
+		public Object visitEnumLiteral(SqmEnumLiteral<?> sqmEnumLiteral) {
+			begin( sqmEnumLiteral );
+			add( sqmEnumLiteral.getEnumValue() );
+			return null;
+		}
+
+		@Override
+		public Object visitFieldLiteral(SqmFieldLiteral<?> sqmFieldLiteral) {
+			begin( sqmFieldLiteral );
+			addType( sqmFieldLiteral.getNodeType() );
+			add( sqmFieldLiteral.getFieldName() );
+			add( sqmFieldLiteral.getValue() );
+			return null;
+		}
+
+		@Override
+		public Object visitFormat(SqmFormat sqmFormat) {
+			return visitLiteral( sqmFormat );
+		}
+
+		@Override
+		public Object visitEntityTypeLiteralExpression(SqmLiteralEntityType<?> expression) {
+			begin( expression );
+			add( expression.getNodeType().getHibernateEntityName() );
+			return null;
+		}
+
+		@Override
+		public Object visitJpaCriteriaParameter(JpaCriteriaParameter<?> expression) {
+			begin( expression );
+			Integer index = parameterIndexes.get( expression );
+			if ( index == null ) {
+				index = parameters.size();
+				parameterIndexes.put( expression, index );
+				parameters.add( expression );
+			}
+			add( index );
+			addType( expression.getNodeType() );
+			addType( expression.getAnticipatedType() );
+			add( expression.allowsMultiValuedBinding() );
+			return null;
+		}
+
+		@Override
+		public Object visitPositionalParameterExpression(SqmPositionalParameter<?> expression) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitNamedParameterExpression(SqmNamedParameter<?> expression) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitParameterizedEntityTypeExpression(SqmParameterizedEntityType<?> expression) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitTuple(SqmTuple<?> sqmTuple) {
+			begin( sqmTuple );
+			visitAll( sqmTuple.getGroupedExpressions() );
+			return null;
+		}
+
+		@Override
+		public Object visitCollation(SqmCollation sqmCollate) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitBinaryArithmeticExpression(SqmBinaryArithmetic<?> expression) {
+			begin( expression );
+			add( expression.getOperator() );
+			visit( expression.getLeftHandOperand() );
+			visit( expression.getRightHandOperand() );
+			return null;
+		}
+
+		@Override
+		public Object visitUnaryOperationExpression(SqmUnaryOperation<?> expression) {
+			begin( expression );
+			add( expression.getOperation() );
+			visit( expression.getOperand() );
+			return null;
+		}
+
+		@Override
+		public Object visitSubQueryExpression(SqmSubQuery<?> expression) {
+			if ( !expression.getCteStatements().isEmpty() || !expression.getCorrelatedSqmJoins().isEmpty() ) {
+				return unsupported();
+			}
+			begin( expression );
+			add( expression.getJavaType() );
+			visit( expression.getQueryPart() );
+			return null;
+		}
+
+		@Override
+		public Object visitModifiedSubQueryExpression(SqmModifiedSubQueryExpression<?> expression) {
+			begin( expression );
+			add( expression.getModifier() );
+			visit( expression.getSubQuery() );
+			return null;
+		}
+
+		@Override
+		public Object visitAny(SqmAny<?> sqmAny) {
+			begin( sqmAny );
+			visit( sqmAny.getSubquery() );
+			return null;
+		}
+
+		@Override
+		public Object visitEvery(SqmEvery<?> sqmEvery) {
+			begin( sqmEvery );
+			visit( sqmEvery.getSubquery() );
+			return null;
+		}
+
+		@Override
+		public Object visitSimpleCaseExpression(SqmCaseSimple<?, ?> expression) {
+			begin( expression );
+			visit( expression.getFixture() );
+			add( expression.getWhenFragments().size() );
+			for ( SqmCaseSimple.WhenFragment<?, ?> whenFragment : expression.getWhenFragments() ) {
+				visit( whenFragment.getCheckValue() );
+				visit( whenFragment.getResult() );
+			}
+			visit( expression.getOtherwise() );
+			return null;
+		}
+
+		@Override
+		public Object visitSearchedCaseExpression(SqmCaseSearched<?> expression) {
+			begin( expression );
+			add( expression.getWhenFragments().size() );
+			for ( SqmCaseSearched.WhenFragment<?> whenFragment : expression.getWhenFragments() ) {
+				visit( whenFragment.getPredicate() );
+				visit( whenFragment.getResult() );
+			}
+			visit( expression.getOtherwise() );
+			return null;
+		}
+
+		@Override
+		public Object visitSummarization(SqmSummarization<?> sqmSummarization) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitFunction(SqmFunction<?> tSqmFunction) {
+			// window and ordered set aggregate functions carry more state than we account for
+			final Class<?> functionClass = tSqmFunction.getClass();
+			if ( functionClass != SelfRenderingSqmFunction.class
+					&& ( functionClass != SelfRenderingSqmAggregateFunction.class
+							|| ( (SelfRenderingSqmAggregateFunction<?>) tSqmFunction ).getFilter() != null ) ) {
+				return unsupported();
+			}
+			begin( tSqmFunction );
+			add( tSqmFunction.getFunctionName() );
+			addType( tSqmFunction.getNodeType() );
+			add( tSqmFunction.getArguments().size() );
+			for ( Object argument : tSqmFunction.getArguments() ) {
+				visit( (SqmVisitableNode) argument );
+			}
+			return null;
+		}
+
+		@Override
+		public Object visitExtractUnit(SqmExtractUnit<?> extractUnit) {
+			begin( extractUnit );
+			add( extractUnit.getUnit() );
+			addType( extractUnit.getType() );
+			return null;
+		}
+
+		@Override
+		public Object visitCastTarget(SqmCastTarget<?> sqmCastTarget) {
+			begin( sqmCastTarget );
+			addType( sqmCastTarget.getType() );
+			add( sqmCastTarget.getLength() );
+			add( sqmCastTarget.getPrecision() );
+			add( sqmCastTarget.getScale() );
+			return null;
+		}
+
+		@Override
+		public Object visitTrimSpecification(SqmTrimSpecification trimSpecification) {
+			begin( trimSpecification );
+			add( trimSpecification.getSpecification() );
+			return null;
+		}
+
+		@Override
+		public Object visitDistinct(SqmDistinct<?> distinct) {
+			begin( distinct );
+			visit( distinct.getExpression() );
+			return null;
+		}
+
+		@Override
+		public Object visitStar(SqmStar sqmStar) {
+			begin( sqmStar );
+			return null;
+		}
+
+		@Override
+		public Object visitOver(SqmOver<?> over) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitOverflow(SqmOverflow<?> sqmOverflow) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitCoalesce(SqmCoalesce<?> sqmCoalesce) {
+			begin( sqmCoalesce );
+			visitAll( sqmCoalesce.getArguments() );
+			return null;
+		}
+
+		@Override
+		public Object visitToDuration(SqmToDuration<?> toDuration) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitByUnit(SqmByUnit sqmByUnit) {
+			return unsupported();
+		}
+
+		@Override
+		public Object visitDurationUnit(SqmDurationUnit<?> durationUnit) {
+			begin( durationUnit );
+			add( durationUnit.getUnit() );
+			addType( durationUnit.getType() );
+			return null;
+		}
+
+		@Override
+		public Object visitFullyQualifiedClass(Class<?> namedClass) {
+			return unsupported();
+		}
+
+		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Predicates
+
+		@Override
+		public Object visitWhereClause(SqmWhereClause whereClause) {
+			begin( whereClause );
+			visit( whereClause.getPredicate() );
+			return null;
+		}
+
+		@Override
+		public Object visitGroupedPredicate(SqmGroupedPredicate predicate) {
+			begin( predicate );
+			visit( predicate.getSubPredicate() );
+			return null;
+		}
+
+		@Override
+		public Object visitJunctionPredicate(SqmJunctionPredicate predicate) {
+			begin( predicate );
+			add( predicate.getOperator() );
+			visitAll( predicate.getPredicates() );
+			return null;
+		}
+
+		@Override
+		public Object visitComparisonPredicate(SqmComparisonPredicate predicate) {
+			begin( predicate );
+			add( predicate.getSqmOperator() );
+			visit( predicate.getLeftHandExpression() );
+			visit( predicate.getRightHandExpression() );
+			return null;
+		}
+
+		@Override
+		public Object visitIsEmptyPredicate(SqmEmptinessPredicate predicate) {
+			begin( predicate );
+			visit( predicate.getPluralPath() );
+			return null;
+		}
+
+		@Override
+		public Object visitIsNullPredicate(SqmNullnessPredicate predicate) {
+			begin( predicate );
+			visit( predicate.getExpression() );
+			return null;
+		}
+
+		@Override
+		public Object visitBetweenPredicate(SqmBetweenPredicate predicate) {
+			begin( predicate );
+			visit( predicate.getExpression() );
+			visit( predicate.getLowerBound() );
+			visit( predicate.getUpperBound() );
+			return null;
+		}
+
+		@Override
+		public Object visitLikePredicate(SqmLikePredicate predicate) {
+			begin( predicate );
+			add( predicate.isCaseSensitive() );
+			visit( predicate.getMatchExpression() );
+			visit( predicate.getPattern() );
+			visit( predicate.getEscapeCharacter() );
+			return null;
+		}
+
+		@Override
+		public Object visitMemberOfPredicate(SqmMemberOfPredicate predicate) {
+			begin( predicate );
+			visit( predicate.getLeftHandExpression() );
+			visit( predicate.getPluralPath() );
+			return null;
+		}
+
+		@Override
+		public Object visitNegatedPredicate(SqmNegatedPredicate predicate) {
+			begin( predicate );
+			visit( predicate.getWrappedPredicate() );
+			return null;
+		}
+
+		@Override
+		public Object visitInListPredicate(SqmInListPredicate<?> predicate) {
+			begin( predicate );
+			visit( predicate.getTestExpression() );
+			visitAll( predicate.getListExpressions() );
+			return null;
+		}
+
+		@Override
+		public Object visitInSubQueryPredicate(SqmInSubQueryPredicate<?> predicate) {
+			begin( predicate );
+			visit( predicate.getTestExpression() );
+			visit( predicate.getSubQueryExpression() );
+			return null;
+		}
+
+		@Override
+		public Object visitBooleanExpressionPredicate(SqmBooleanExpressionPredicate predicate) {
+			begin( predicate );
+			visit( predicate.getBooleanExpression() );
+			return null;
+		}
+
+		@Override
+		public Object visitExistsPredicate(SqmExistsPredicate sqmExistsPredicate) {
+			begin( sqmExistsPredicate );
+			visit( sqmExistsPredicate.getExpression() );
+			return null;
+		}
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.ast.tree.expression;
+
+import java.util.List;
+
+import org.hibernate.AssertionFailure;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.mapping.JdbcMappingContainer;
+import org.hibernate.query.sqm.produce.function.internal.PatternRenderer;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+
+/**
+ * The boolean expression of an {@code in} predicate whose list is the array bound to a
+ * single parameter, rendered using the {@linkplain org.hibernate.dialect.Dialect#getArrayInListPattern()
+ * pattern of the dialect}.  Used as a {@link org.hibernate.sql.ast.tree.predicate.SelfRenderingPredicate}.
+ */
+public class ArrayInListExpression implements SelfRenderingExpression {
+	private final Expression testExpression;
+	private final JdbcParameter arrayParameter;
+
+	public ArrayInListExpression(Expression testExpression, JdbcParameter arrayParameter) {
+		this.testExpression = testExpression;
+		this.arrayParameter = arrayParameter;
+	}
+
+	public Expression getTestExpression() {
+		return testExpression;
+	}
+
+	public JdbcParameter getArrayParameter() {
+		return arrayParameter;
+	}
+
+	@Override
+	public void renderToSql(SqlAppender sqlAppender, SqlAstTranslator<?> walker, SessionFactoryImplementor sessionFactory) {
+		final String pattern = sessionFactory.getJdbcServices().getDialect().getArrayInListPattern();
+		if ( pattern == null ) {
+			throw new AssertionFailure( "Dialect does not support array parameters in an in list" );
+		}
+		new PatternRenderer( pattern ).render( sqlAppender, List.of( testExpression, arrayParameter ), walker );
+	}
+
+	@Override
+	public JdbcMappingContainer getExpressionType() {
+		return null;
+	}
+}
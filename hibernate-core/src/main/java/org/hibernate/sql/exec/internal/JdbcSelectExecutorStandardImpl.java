@@ -12,7 +12,6 @@ import java.util.List;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -32,6 +31,7 @@ import org.hibernate.graph.spi.AppliedGraph;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.query.ResultListTransformer;
 import org.hibernate.query.TupleTransformer;
+import org.hibernate.query.internal.EvictingScrollableResultsIterator;
 import org.hibernate.query.internal.ScrollableResultsIterator;
 import org.hibernate.query.spi.Limit;
 import org.hibernate.query.spi.QueryOptions;
@@ -140,7 +140,11 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 				executionContext,
 				rowTransformer
 		);
-		final ScrollableResultsIterator<R> iterator = new ScrollableResultsIterator<>( scrollableResults );
+		final SharedSessionContractImplementor session = executionContext.getSession();
+		final ScrollableResultsIterator<R> iterator = executionContext.getQueryOptions().isStreamEvictionEnabled() == Boolean.TRUE
+				&& session.isEventSource()
+				? new EvictingScrollableResultsIterator<>( scrollableResults, session )
+				: new ScrollableResultsIterator<>( scrollableResults );
 		final Spliterator<R> spliterator = Spliterators.spliteratorUnknownSize( iterator, Spliterator.NONNULL );
 
 		final Stream<R> stream = StreamSupport.stream( spliterator, false );
@@ -437,11 +441,10 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 
 		if ( stats ) {
 			final long endTime = System.nanoTime();
-			final long milliseconds = TimeUnit.MILLISECONDS.convert( endTime - startTime, TimeUnit.NANOSECONDS );
-			statistics.queryExecuted(
+			statistics.queryExecutedNanos(
 					executionContext.getQueryIdentifier( jdbcSelect.getSql() ),
 					getResultSize( result ),
-					milliseconds
+					endTime - startTime
 			);
 		}
 
@@ -0,0 +1,59 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.results.caching;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.hibernate.sql.results.jdbc.spi.JdbcValuesMetadata;
+
+/**
+ * The immutable, array-backed form in which the JDBC values of a query are put into the query
+ * results cache.  Being immutable, it is stored and handed back on a cache hit without being copied,
+ * and its rows are read directly by {@link org.hibernate.sql.results.jdbc.internal.JdbcValuesCacheHit}.
+ * <p>
+ * As a {@link List} it exposes the same layout as the cached results always had: the
+ * {@link JdbcValuesMetadata}, when captured, followed by one array of JDBC values per row.
+ */
+public final class CachedQueryResults extends AbstractList<Object> implements RandomAccess, Serializable {
+	private final JdbcValuesMetadata metadata;
+	private final Object[][] rows;
+
+	public CachedQueryResults(JdbcValuesMetadata metadata, Object[][] rows) {
+		this.metadata = metadata;
+		this.rows = rows;
+	}
+
+	/**
+	 * The metadata captured for the cached results, or {@code null}
+	 */
+	public JdbcValuesMetadata getMetadata() {
+		return metadata;
+	}
+
+	/**
+	 * The JDBC values of the cached rows, which must not be modified
+	 */
+	public Object[][] getRows() {
+		return rows;
+	}
+
+	@Override
+	public Object get(int index) {
+		if ( metadata == null ) {
+			return rows[index];
+		}
+		return index == 0 ? metadata : rows[index - 1];
+	}
+
+	@Override
+	public int size() {
+		return metadata == null ? rows.length : rows.length + 1;
+	}
+}
@@ -13,6 +13,7 @@ import java.util.List;
 import org.hibernate.cache.spi.QueryKey;
 import org.hibernate.cache.spi.QueryResultsCache;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.sql.results.caching.CachedQueryResults;
 import org.hibernate.sql.results.caching.QueryCachePutManager;
 import org.hibernate.sql.results.jdbc.spi.JdbcValuesMetadata;
 import org.hibernate.stat.spi.StatisticsImplementor;
@@ -28,7 +29,8 @@ public class QueryCachePutManagerEnabledImpl implements QueryCachePutManager {
 	private final StatisticsImplementor statistics;
 	private final QueryKey queryKey;
 	private final String queryIdentifier;
-	private final List<Object> dataToCache = new ArrayList<>();
+	private final JdbcValuesMetadata metadataForCache;
+	private final List<Object[]> dataToCache = new ArrayList<>();
 
 	public QueryCachePutManagerEnabledImpl(
 			QueryResultsCache queryCache,
@@ -40,18 +42,13 @@ public class QueryCachePutManagerEnabledImpl implements QueryCachePutManager {
 		this.statistics = statistics;
 		this.queryKey = queryKey;
 		this.queryIdentifier = queryIdentifier;
-		if ( metadataForCache != null ) {
-			dataToCache.add( metadataForCache );
-		}
+		this.metadataForCache = metadataForCache;
 	}
 
 	@Override
 	public void registerJdbcRow(Object[] values) {
 
-		// todo (6.0) : verify whether we really need to copy these..
-		//		`RowProcessingStateStandardImpl` (see `#finishRowProcessing`) already creates new array
-		//		instances for each row
-//		dataToCache.add( values );
+		// the values array is reused for each row by `JdbcValuesResultSetImpl`
 		dataToCache.add( Arrays.copyOf( values, values.length ) );
 	}
 
@@ -60,7 +57,7 @@ public class QueryCachePutManagerEnabledImpl implements QueryCachePutManager {
 		if ( queryKey != null ) {
 			final boolean put = queryCache.put(
 					queryKey,
-					dataToCache,
+					new CachedQueryResults( metadataForCache, dataToCache.toArray( new Object[0][] ) ),
 					session
 			);
 			if ( put && statistics.isStatisticsEnabled() ) {
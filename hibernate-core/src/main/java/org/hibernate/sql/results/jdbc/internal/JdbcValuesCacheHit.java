@@ -10,6 +10,7 @@ import java.util.List;
 
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.sql.results.ResultsLogger;
+import org.hibernate.sql.results.caching.CachedQueryResults;
 import org.hibernate.sql.results.caching.internal.QueryCachePutManagerDisabledImpl;
 import org.hibernate.sql.results.jdbc.spi.JdbcValuesMapping;
 import org.hibernate.sql.results.jdbc.spi.JdbcValuesMetadata;
@@ -45,6 +46,10 @@ public class JdbcValuesCacheHit extends AbstractJdbcValues {
 	}
 
 	private static Object[][] extractData(List<?> cachedResults) {
+		if ( cachedResults instanceof CachedQueryResults ) {
+			// the rows are immutable, and read as they are
+			return ( (CachedQueryResults) cachedResults ).getRows();
+		}
 		if ( CollectionHelper.isEmpty( cachedResults ) ) {
 			return NO_DATA;
 		}
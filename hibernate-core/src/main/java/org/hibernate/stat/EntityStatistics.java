@@ -50,4 +50,13 @@ public interface EntityStatistics extends CacheableDataStatistics, Serializable
 	 * has experienced an optimistic lock failure.
 	 */
 	long getOptimisticFailureCount();
+
+	/**
+	 * The latencies of the loads of this entity from the database, or
+	 * {@code null} if {@value org.hibernate.cfg.AvailableSettings#STATISTICS_LATENCY_HISTOGRAMS}
+	 * is not enabled.
+	 */
+	default LatencyHistogram getLoadLatencyHistogram() {
+		return null;
+	}
 }
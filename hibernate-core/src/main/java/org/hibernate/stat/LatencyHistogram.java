@@ -0,0 +1,48 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * A histogram of the latencies, in microseconds, recorded for a query or
+ * for the loading of an entity, collected when
+ * {@value org.hibernate.cfg.AvailableSettings#STATISTICS_LATENCY_HISTOGRAMS}
+ * is enabled.
+ * <p>
+ * Values are bucketed with the precision configured through
+ * {@value org.hibernate.cfg.AvailableSettings#STATISTICS_LATENCY_HISTOGRAM_PRECISION},
+ * and latencies above
+ * {@value org.hibernate.cfg.AvailableSettings#STATISTICS_LATENCY_HISTOGRAM_MAX_VALUE}
+ * are recorded as that value.
+ *
+ * @since 6.0
+ */
+public interface LatencyHistogram extends Serializable {
+	/**
+	 * How many latencies have been recorded?
+	 */
+	long getCount();
+
+	/**
+	 * The highest latency recorded, in microseconds
+	 */
+	long getMaxValue();
+
+	/**
+	 * The mean of the recorded latencies, in microseconds
+	 */
+	double getMean();
+
+	/**
+	 * The latency, in microseconds, at or below which the given percentage
+	 * of the recorded latencies fall, for example {@code 99.0} for the p99.
+	 *
+	 * @param percentile The percentile, between {@code 0} and {@code 100}
+	 */
+	long getValueAtPercentile(double percentile);
+}
@@ -105,4 +105,15 @@ public interface QueryStatistics extends Serializable {
 		//For backward compatibility
 		return 0;
 	}
+
+	/**
+	 * The latencies of the executions of this query, or {@code null} if
+	 * {@value org.hibernate.cfg.AvailableSettings#STATISTICS_LATENCY_HISTOGRAMS}
+	 * is not enabled, or if the number of query histograms reached
+	 * {@value org.hibernate.cfg.AvailableSettings#STATISTICS_LATENCY_HISTOGRAM_QUERY_MAX_SIZE}.
+	 */
+	default LatencyHistogram getExecutionLatencyHistogram() {
+		//For backward compatibility
+		return null;
+	}
 }
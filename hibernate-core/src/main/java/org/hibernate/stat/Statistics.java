@@ -27,6 +27,24 @@ public interface Statistics {
 	 */
 	int DEFAULT_QUERY_STATISTICS_MAX_SIZE = 5000;
 
+	/**
+	 * The default value of the configuration property
+	 * {@value org.hibernate.cfg.AvailableSettings#STATISTICS_LATENCY_HISTOGRAM_PRECISION}.
+	 */
+	int DEFAULT_LATENCY_HISTOGRAM_PRECISION = 2;
+
+	/**
+	 * The default value of the configuration property
+	 * {@value org.hibernate.cfg.AvailableSettings#STATISTICS_LATENCY_HISTOGRAM_MAX_VALUE}.
+	 */
+	int DEFAULT_LATENCY_HISTOGRAM_MAX_VALUE = 60_000;
+
+	/**
+	 * The default value of the configuration property
+	 * {@value org.hibernate.cfg.AvailableSettings#STATISTICS_LATENCY_HISTOGRAM_QUERY_MAX_SIZE}.
+	 */
+	int DEFAULT_LATENCY_HISTOGRAM_QUERY_MAX_SIZE = 100;
+
 	/**
 	 * Is collection of statistics enabled?
 	 */
@@ -162,6 +180,16 @@ public interface Statistics {
 	 */
 	String getQueryExecutionMaxTimeQueryString();
 
+	/**
+	 * The latencies of all the executed queries, or {@code null} if
+	 * {@value org.hibernate.cfg.AvailableSettings#STATISTICS_LATENCY_HISTOGRAMS}
+	 * is not enabled.
+	 */
+	default LatencyHistogram getQueryExecutionLatencyHistogram() {
+		//For backward compatibility
+		return null;
+	}
+
     /**
      * The global number of cached queries successfully retrieved from
 	 * the cache.
@@ -266,6 +294,38 @@ public interface Statistics {
 	 */
 	long getSecondLevelCachePutCount();
 
+	/**
+	 * The global number of entities and collections put in the cache by
+	 * the warm-up of the second-level cache at startup.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_WARM_UP
+	 */
+	default long getSecondLevelCacheWarmUpCount() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * The time in milliseconds the last warm-up of the second-level cache took.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_WARM_UP
+	 */
+	default long getSecondLevelCacheWarmUpTime() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * The global number of entity names and collection roles whose warm-up
+	 * of the second-level cache failed.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_WARM_UP
+	 */
+	default long getSecondLevelCacheWarmUpFailureCount() {
+		//For backward compatibility
+		return 0;
+	}
+
 	/**
 	 * The global number of sessions closed.
 	 */
@@ -379,4 +439,15 @@ public interface Statistics {
 	 * The global number of query plans lookups <em>not</em> found in cache.
 	 */
 	long getQueryPlanCacheMissCount();
+
+	/**
+	 * The global number of query plans, HQL interpretations and native query
+	 * parameter interpretations evicted from cache because it was full.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_MAX_SIZE
+	 */
+	default long getQueryPlanCacheEvictionCount() {
+		//For backward compatibility
+		return 0;
+	}
 }
@@ -11,6 +11,7 @@ import java.util.concurrent.atomic.LongAdder;
 
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.LatencyHistogram;
 
 /**
  * Entity related statistics
@@ -26,14 +27,20 @@ public class EntityStatisticsImpl extends AbstractCacheableDataStatistics implem
 	private final LongAdder deleteCount = new LongAdder();
 	private final LongAdder fetchCount = new LongAdder();
 	private final LongAdder optimisticFailureCount = new LongAdder();
+	private final LatencyHistogramImpl loadLatencyHistogram;
 
 	EntityStatisticsImpl(EntityPersister rootEntityDescriptor) {
+		this( rootEntityDescriptor, null );
+	}
+
+	EntityStatisticsImpl(EntityPersister rootEntityDescriptor, LatencyHistogramImpl loadLatencyHistogram) {
 		super(
 				() -> rootEntityDescriptor.getCacheAccessStrategy() != null
 						? rootEntityDescriptor.getCacheAccessStrategy().getRegion()
 						: null
 		);
 		this.rootEntityName = rootEntityDescriptor.getRootEntityName();
+		this.loadLatencyHistogram = loadLatencyHistogram;
 	}
 
 	public long getDeleteCount() {
@@ -60,6 +67,17 @@ public class EntityStatisticsImpl extends AbstractCacheableDataStatistics implem
 		return optimisticFailureCount.sum();
 	}
 
+	@Override
+	public LatencyHistogram getLoadLatencyHistogram() {
+		return loadLatencyHistogram;
+	}
+
+	void recordLoadLatency(long microseconds) {
+		if ( loadLatencyHistogram != null ) {
+			loadLatencyHistogram.record( microseconds );
+		}
+	}
+
 	void incrementLoadCount() {
 		loadCount.increment();
 	}
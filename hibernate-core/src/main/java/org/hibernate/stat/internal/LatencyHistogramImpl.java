@@ -0,0 +1,147 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.stat.LatencyHistogram;
+
+/**
+ * Lock free {@link LatencyHistogram}, using the log-linear bucketing of
+ * HdrHistogram: values are grouped in buckets covering successive powers of
+ * two, each of them split into the same number of linear sub-buckets, which
+ * bounds the relative error of any reported value by the requested number of
+ * significant decimal digits.
+ * <p>
+ * All the counts live in a single {@link AtomicLongArray} sized up front from
+ * the precision and the highest trackable value, so recording a value is an
+ * index computation and an atomic increment, without locking or allocating.
+ * With 2 significant digits and a highest trackable value of one minute, the
+ * array holds 2560 counts, that is 20KB per histogram.
+ */
+public class LatencyHistogramImpl implements LatencyHistogram {
+	private final long highestTrackableValue;
+
+	private final int subBucketHalfCountMagnitude;
+	private final int subBucketHalfCount;
+	private final long subBucketMask;
+	private final int leadingZeroCountBase;
+
+	private final AtomicLongArray counts;
+	private final LongAdder totalCount = new LongAdder();
+	private final LongAdder totalValue = new LongAdder();
+	private final AtomicLong maxValue = new AtomicLong();
+
+	/**
+	 * @param significantDigits The number of significant decimal digits to preserve, between 1 and 3
+	 * @param highestTrackableValue The highest value to track, higher values being recorded as this one
+	 */
+	public LatencyHistogramImpl(int significantDigits, long highestTrackableValue) {
+		if ( significantDigits < 1 || significantDigits > 3 ) {
+			throw new IllegalArgumentException( "The number of significant digits must be between 1 and 3" );
+		}
+		if ( highestTrackableValue < 2 ) {
+			throw new IllegalArgumentException( "The highest trackable value must be at least 2" );
+		}
+		this.highestTrackableValue = highestTrackableValue;
+
+		final long largestValueWithSingleUnitResolution = 2 * (long) Math.pow( 10, significantDigits );
+		final int subBucketCountMagnitude = 64 - Long.numberOfLeadingZeros( largestValueWithSingleUnitResolution - 1 );
+		this.subBucketHalfCountMagnitude = subBucketCountMagnitude - 1;
+		this.subBucketHalfCount = 1 << subBucketHalfCountMagnitude;
+		this.subBucketMask = ( 1L << subBucketCountMagnitude ) - 1;
+		this.leadingZeroCountBase = 64 - subBucketCountMagnitude;
+
+		this.counts = new AtomicLongArray( ( bucketIndex( highestTrackableValue ) + 2 ) << subBucketHalfCountMagnitude );
+	}
+
+	/**
+	 * Record a value
+	 *
+	 * @param value The value, negative ones being recorded as 0
+	 */
+	public void record(long value) {
+		final long clamped = value < 0 ? 0 : Math.min( value, highestTrackableValue );
+		counts.incrementAndGet( countsIndex( clamped ) );
+		totalCount.increment();
+		totalValue.add( clamped );
+		for ( long old = maxValue.get(); clamped > old && !maxValue.compareAndSet( old, clamped ); old = maxValue.get() ) {
+		}
+	}
+
+	@Override
+	public long getCount() {
+		return totalCount.sum();
+	}
+
+	@Override
+	public long getMaxValue() {
+		return maxValue.get();
+	}
+
+	@Override
+	public double getMean() {
+		final long count = totalCount.sum();
+		return count == 0 ? 0 : totalValue.sum() / (double) count;
+	}
+
+	@Override
+	public long getValueAtPercentile(double percentile) {
+		final int length = counts.length();
+		long total = 0;
+		for ( int i = 0; i < length; i++ ) {
+			total += counts.get( i );
+		}
+		if ( total == 0 ) {
+			return 0;
+		}
+
+		final double requested = Math.min( Math.max( percentile, 0 ), 100 );
+		final long countAtPercentile = Math.max( 1, (long) Math.ceil( requested / 100 * total ) );
+		long running = 0;
+		for ( int i = 0; i < length; i++ ) {
+			running += counts.get( i );
+			if ( running >= countAtPercentile ) {
+				return Math.min( highestEquivalentValue( i ), maxValue.get() );
+			}
+		}
+		return maxValue.get();
+	}
+
+	private int bucketIndex(long value) {
+		return leadingZeroCountBase - Long.numberOfLeadingZeros( value | subBucketMask );
+	}
+
+	private int countsIndex(long value) {
+		final int bucketIndex = bucketIndex( value );
+		final int subBucketIndex = (int) ( value >>> bucketIndex );
+		return ( ( bucketIndex + 1 ) << subBucketHalfCountMagnitude ) + ( subBucketIndex - subBucketHalfCount );
+	}
+
+	private long highestEquivalentValue(int index) {
+		int bucketIndex = ( index >> subBucketHalfCountMagnitude ) - 1;
+		int subBucketIndex = ( index & ( subBucketHalfCount - 1 ) ) + subBucketHalfCount;
+		if ( bucketIndex < 0 ) {
+			subBucketIndex -= subBucketHalfCount;
+			bucketIndex = 0;
+		}
+		return ( (long) subBucketIndex << bucketIndex ) + ( 1L << bucketIndex ) - 1;
+	}
+
+	@Override
+	public String toString() {
+		return "LatencyHistogram"
+				+ "[count=" + getCount()
+				+ ",mean=" + getMean()
+				+ ",p50=" + getValueAtPercentile( 50 )
+				+ ",p99=" + getValueAtPercentile( 99 )
+				+ ",max=" + getMaxValue()
+				+ ']';
+	}
+}
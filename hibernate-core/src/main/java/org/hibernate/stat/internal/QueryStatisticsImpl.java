@@ -13,6 +13,7 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.hibernate.query.Query;
+import org.hibernate.stat.LatencyHistogram;
 import org.hibernate.stat.QueryStatistics;
 
 /**
@@ -38,12 +39,22 @@ public class QueryStatisticsImpl implements QueryStatistics {
 	private final LongAdder planCacheMissCount = new LongAdder();
 	private final AtomicLong planCompilationTotalMicroseconds = new AtomicLong();
 
+	private final LatencyHistogramImpl executionLatencyHistogram;
 
 	private final Lock readLock;
 	private final Lock writeLock;
 
 	public QueryStatisticsImpl(String query) {
+		this( query, null );
+	}
+
+	/**
+	 * @param query The query
+	 * @param executionLatencyHistogram The histogram to record the execution latencies to, if any
+	 */
+	public QueryStatisticsImpl(String query, LatencyHistogramImpl executionLatencyHistogram) {
 		this.query = query;
+		this.executionLatencyHistogram = executionLatencyHistogram;
 		ReadWriteLock lock = new ReentrantReadWriteLock();
 		this.readLock = lock.readLock();
 		this.writeLock = lock.writeLock();
@@ -133,6 +144,11 @@ public class QueryStatisticsImpl implements QueryStatistics {
 		return totalExecutionTime.get();
 	}
 
+	@Override
+	public LatencyHistogram getExecutionLatencyHistogram() {
+		return executionLatencyHistogram;
+	}
+
 	/**
 	 * Query plan successfully fetched from the cache
 	 */
@@ -177,6 +193,17 @@ public class QueryStatisticsImpl implements QueryStatistics {
 		}
 	}
 
+	/**
+	 * add the latency of a DB query to the histogram, if enabled
+	 *
+	 * @param microseconds time taken
+	 */
+	void recordExecutionLatency(long microseconds) {
+		if ( executionLatencyHistogram != null ) {
+			executionLatencyHistogram.record( microseconds );
+		}
+	}
+
 	/**
 	 * add plan statistics report of a DB query
 	 *
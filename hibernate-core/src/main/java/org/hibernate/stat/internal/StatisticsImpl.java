@@ -8,8 +8,11 @@ package org.hibernate.stat.internal;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 
@@ -24,7 +27,9 @@ import org.hibernate.metamodel.model.domain.NavigableRole;
 import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.service.Service;
+import org.hibernate.stat.LatencyHistogram;
 import org.hibernate.stat.Statistics;
+import org.hibernate.stat.spi.QueryStatisticsListener;
 import org.hibernate.stat.spi.StatisticsImplementor;
 
 import static org.hibernate.internal.CoreLogging.messageLogger;
@@ -39,6 +44,8 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 
 	private static final CoreMessageLogger LOG = messageLogger( StatisticsImpl.class );
 
+	private static final QueryStatisticsListener[] NO_LISTENERS = new QueryStatisticsListener[0];
+
 	private final MappingMetamodelImplementor metamodel;
 	private final CacheImplementor cache;
 
@@ -73,6 +80,9 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 	private final LongAdder secondLevelCacheHitCount = new LongAdder();
 	private final LongAdder secondLevelCacheMissCount = new LongAdder();
 	private final LongAdder secondLevelCachePutCount = new LongAdder();
+	private final LongAdder secondLevelCacheWarmUpCount = new LongAdder();
+	private final LongAdder secondLevelCacheWarmUpFailureCount = new LongAdder();
+	private final AtomicLong secondLevelCacheWarmUpTime = new AtomicLong();
 	
 	private final LongAdder naturalIdCacheHitCount = new LongAdder();
 	private final LongAdder naturalIdCacheMissCount = new LongAdder();
@@ -91,6 +101,7 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 
 	private final LongAdder queryPlanCacheHitCount = new LongAdder();
 	private final LongAdder queryPlanCacheMissCount = new LongAdder();
+	private final LongAdder queryPlanCacheEvictionCount = new LongAdder();
 
 	private final LongAdder updateTimestampsCacheHitCount = new LongAdder();
 	private final LongAdder updateTimestampsCacheMissCount = new LongAdder();
@@ -115,6 +126,18 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 	 */
 	private final StatsNamedContainer<CacheRegionStatisticsImpl> l2CacheStatsMap = new StatsNamedContainer<>();
 
+	/**
+	 * Copy on write, as listeners are registered once and then read for every query
+	 */
+	private volatile QueryStatisticsListener[] queryStatisticsListeners = NO_LISTENERS;
+
+	private final boolean latencyHistogramsEnabled;
+	private final int latencyHistogramPrecision;
+	private final long latencyHistogramMaxValue;
+	private final int queryLatencyHistogramMaxSize;
+	private final AtomicInteger queryLatencyHistogramCount = new AtomicInteger();
+	private volatile LatencyHistogramImpl queryExecutionLatencyHistogram;
+
 	public StatisticsImpl(SessionFactoryImplementor sessionFactory) {
 		Objects.requireNonNull( sessionFactory );
 		SessionFactoryOptions sessionFactoryOptions = sessionFactory.getSessionFactoryOptions();
@@ -127,6 +150,11 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 		cache = sessionFactory.getCache();
 		secondLevelCacheEnabled = sessionFactoryOptions.isSecondLevelCacheEnabled();
 		queryCacheEnabled = sessionFactoryOptions.isQueryCacheEnabled();
+		latencyHistogramsEnabled = sessionFactoryOptions.isStatisticsLatencyHistogramsEnabled();
+		latencyHistogramPrecision = sessionFactoryOptions.getStatisticsLatencyHistogramPrecision();
+		latencyHistogramMaxValue = TimeUnit.MILLISECONDS.toMicros( sessionFactoryOptions.getStatisticsLatencyHistogramMaxValue() );
+		queryLatencyHistogramMaxSize = sessionFactoryOptions.getStatisticsLatencyHistogramQueryMaxSize();
+		queryExecutionLatencyHistogram = newLatencyHistogram();
 
 		final List<String> entityNames = new ArrayList<>();
 		metamodel.forEachEntityDescriptor( (entityDescriptor) -> entityNames.add( entityDescriptor.getEntityName() ) );
@@ -144,6 +172,9 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 		secondLevelCacheHitCount.reset();
 		secondLevelCacheMissCount.reset();
 		secondLevelCachePutCount.reset();
+		secondLevelCacheWarmUpCount.reset();
+		secondLevelCacheWarmUpFailureCount.reset();
+		secondLevelCacheWarmUpTime.set( 0L );
 		
 		naturalIdCacheHitCount.reset();
 		naturalIdCacheMissCount.reset();
@@ -197,6 +228,10 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 
 		queryPlanCacheHitCount.reset();
 		queryPlanCacheMissCount.reset();
+		queryPlanCacheEvictionCount.reset();
+
+		queryExecutionLatencyHistogram = newLatencyHistogram();
+		queryLatencyHistogramCount.set( 0 );
 
 		resetStart();
 	}
@@ -279,6 +314,13 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 		getEntityStatistics( entityName ).incrementLoadCount();
 	}
 
+	@Override
+	public void entityLoadExecuted(String entityName, long nanoseconds) {
+		if ( latencyHistogramsEnabled ) {
+			getEntityStatistics( entityName ).recordLoadLatency( TimeUnit.NANOSECONDS.toMicros( nanoseconds ) );
+		}
+	}
+
 	@Override
 	public void fetchEntity(String entityName) {
 		entityFetchCount.increment();
@@ -589,6 +631,36 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 		return secondLevelCachePutCount.sum();
 	}
 
+	@Override
+	public long getSecondLevelCacheWarmUpCount() {
+		return secondLevelCacheWarmUpCount.sum();
+	}
+
+	@Override
+	public void secondLevelCacheWarmedUp(int count) {
+		secondLevelCacheWarmUpCount.add( count );
+	}
+
+	@Override
+	public long getSecondLevelCacheWarmUpTime() {
+		return secondLevelCacheWarmUpTime.get();
+	}
+
+	@Override
+	public long getSecondLevelCacheWarmUpFailureCount() {
+		return secondLevelCacheWarmUpFailureCount.sum();
+	}
+
+	@Override
+	public void secondLevelCacheWarmUpFailed() {
+		secondLevelCacheWarmUpFailureCount.increment();
+	}
+
+	@Override
+	public void secondLevelCacheWarmUpCompleted(long time) {
+		secondLevelCacheWarmUpTime.set( time );
+	}
+
 	@Override
 	public long getUpdateTimestampsCacheHitCount() {
 		return updateTimestampsCacheHitCount.sum();
@@ -632,7 +704,7 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 	public QueryStatisticsImpl getQueryStatistics(String queryString) {
 		return queryStatsMap.getOrCompute(
 				queryString,
-				QueryStatisticsImpl::new
+				this::instantiateQueryStatistics
 		);
 	}
 
@@ -666,8 +738,22 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 		return queryExecutionMaxTime.get();
 	}
 
+	@Override
+	public LatencyHistogram getQueryExecutionLatencyHistogram() {
+		return queryExecutionLatencyHistogram;
+	}
+
 	@Override
 	public void queryExecuted(String hql, int rows, long time) {
+		queryExecuted( hql, rows, time, TimeUnit.MILLISECONDS.toMicros( time ) );
+	}
+
+	@Override
+	public void queryExecutedNanos(String hql, int rows, long nanoseconds) {
+		queryExecuted( hql, rows, TimeUnit.NANOSECONDS.toMillis( nanoseconds ), TimeUnit.NANOSECONDS.toMicros( nanoseconds ) );
+	}
+
+	private void queryExecuted(String hql, int rows, long time, long microseconds) {
 		LOG.hql( hql, time, (long) rows );
 		queryExecutionCount.increment();
 
@@ -683,8 +769,17 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 			queryExecutionMaxTimeQueryString = hql;
 		}
 
+		if ( latencyHistogramsEnabled ) {
+			queryExecutionLatencyHistogram.record( microseconds );
+		}
+
 		if ( hql != null ) {
-			getQueryStatistics( hql ).executed( rows, time );
+			final QueryStatisticsImpl queryStatistics = getQueryStatistics( hql );
+			queryStatistics.executed( rows, time );
+			queryStatistics.recordExecutionLatency( microseconds );
+			for ( QueryStatisticsListener listener : queryStatisticsListeners ) {
+				listener.queryExecuted( hql, rows, time );
+			}
 		}
 	}
 
@@ -698,6 +793,9 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 
 		if ( hql != null ) {
 			getQueryStatistics( hql ).incrementCacheHitCount();
+			for ( QueryStatisticsListener listener : queryStatisticsListeners ) {
+				listener.queryCacheHit( hql, regionName );
+			}
 		}
 	}
 
@@ -711,6 +809,9 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 
 		if ( hql != null ) {
 			getQueryStatistics( hql ).incrementCacheMissCount();
+			for ( QueryStatisticsListener listener : queryStatisticsListeners ) {
+				listener.queryCacheMiss( hql, regionName );
+			}
 		}
 	}
 
@@ -724,6 +825,9 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 
 		if ( hql != null ) {
 			getQueryStatistics( hql ).incrementCachePutCount();
+			for ( QueryStatisticsListener listener : queryStatisticsListeners ) {
+				listener.queryCachePut( hql, regionName );
+			}
 		}
 	}
 
@@ -737,6 +841,11 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 		return queryPlanCacheMissCount.sum();
 	}
 
+	@Override
+	public long getQueryPlanCacheEvictionCount() {
+		return queryPlanCacheEvictionCount.sum();
+	}
+
 	@Override
 	public void queryCompiled(String hql, long microseconds) {
 		queryPlanCacheMissCount.increment();
@@ -764,6 +873,26 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 		}
 	}
 
+	@Override
+	public void queryPlanCacheEviction() {
+		queryPlanCacheEvictionCount.increment();
+	}
+
+	@Override
+	public synchronized void addQueryStatisticsListener(QueryStatisticsListener listener) {
+		final QueryStatisticsListener[] listeners = Arrays.copyOf( queryStatisticsListeners, queryStatisticsListeners.length + 1 );
+		listeners[listeners.length - 1] = listener;
+		queryStatisticsListeners = listeners;
+	}
+
+	@Override
+	public synchronized void removeQueryStatisticsListener(QueryStatisticsListener listener) {
+		final List<QueryStatisticsListener> listeners = new ArrayList<>( Arrays.asList( queryStatisticsListeners ) );
+		if ( listeners.remove( listener ) ) {
+			queryStatisticsListeners = listeners.toArray( NO_LISTENERS );
+		}
+	}
+
 	private CacheRegionStatisticsImpl getQueryRegionStats(String regionName) {
 		return l2CacheStatsMap.getOrCompute(
 				regionName,
@@ -911,6 +1040,9 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 				",second level cache puts=" + secondLevelCachePutCount +
 				",second level cache hits=" + secondLevelCacheHitCount +
 				",second level cache misses=" + secondLevelCacheMissCount +
+				",second level cache warm-up puts=" + secondLevelCacheWarmUpCount +
+				",second level cache warm-up failures=" + secondLevelCacheWarmUpFailureCount +
+				",second level cache warm-up time=" + secondLevelCacheWarmUpTime +
 				",entities loaded=" + entityLoadCount +
 				",entities updated=" + entityUpdateCount +
 				",entities inserted=" + entityInsertCount +
@@ -936,11 +1068,34 @@ public class StatisticsImpl implements StatisticsImplementor, Service {
 				",max query time=" + queryExecutionMaxTime +
 				",query plan cache hits=" + queryPlanCacheHitCount +
 				",query plan cache misses=" + queryPlanCacheMissCount +
+				",query plan cache evictions=" + queryPlanCacheEvictionCount +
 				']';
 	}
 
 	private EntityStatisticsImpl instantiateEntityStatistics(final String entityName) {
-		return new EntityStatisticsImpl( metamodel.getEntityDescriptor( entityName ) );
+		return new EntityStatisticsImpl( metamodel.getEntityDescriptor( entityName ), newLatencyHistogram() );
+	}
+
+	private QueryStatisticsImpl instantiateQueryStatistics(final String query) {
+		return new QueryStatisticsImpl( query, newQueryLatencyHistogram() );
+	}
+
+	private LatencyHistogramImpl newQueryLatencyHistogram() {
+		if ( !latencyHistogramsEnabled ) {
+			return null;
+		}
+		// the histograms of queries evicted from the statistics are not given back,
+		// so that the bound holds whatever the eviction pattern
+		final int count = queryLatencyHistogramCount.getAndUpdate(
+				current -> current < queryLatencyHistogramMaxSize ? current + 1 : current
+		);
+		return count < queryLatencyHistogramMaxSize ? newLatencyHistogram() : null;
+	}
+
+	private LatencyHistogramImpl newLatencyHistogram() {
+		return latencyHistogramsEnabled
+				? new LatencyHistogramImpl( latencyHistogramPrecision, latencyHistogramMaxValue )
+				: null;
 	}
 
 	private CollectionStatisticsImpl instantiateCollectionStatistics(final String role) {
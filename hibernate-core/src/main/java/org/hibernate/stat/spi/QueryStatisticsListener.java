@@ -0,0 +1,56 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.stat.spi;
+
+/**
+ * Receives the per-query callbacks collected by {@link StatisticsImplementor},
+ * as they happen, for integrations which want to publish query metrics without
+ * polling {@link org.hibernate.stat.Statistics#getQueries()}.
+ * <p>
+ * Listeners are only notified while statistics are enabled, and are called
+ * synchronously on the thread executing the query, so they should be cheap.
+ *
+ * @see StatisticsImplementor#addQueryStatisticsListener
+ */
+public interface QueryStatisticsListener {
+	/**
+	 * Callback indicating execution of a sql/hql query
+	 *
+	 * @param query The query
+	 * @param rows Number of rows returned
+	 * @param time execution time, in milliseconds
+	 */
+	default void queryExecuted(String query, int rows, long time) {
+	}
+
+	/**
+	 * Callback indicating a get from the query cache resulted in a hit.
+	 *
+	 * @param query The query
+	 * @param regionName The name of the cache region
+	 */
+	default void queryCacheHit(String query, String regionName) {
+	}
+
+	/**
+	 * Callback indicating a get from the query cache resulted in a miss.
+	 *
+	 * @param query The query
+	 * @param regionName The name of the cache region
+	 */
+	default void queryCacheMiss(String query, String regionName) {
+	}
+
+	/**
+	 * Callback indicating a put into the query cache.
+	 *
+	 * @param query The query
+	 * @param regionName The name of the cache region
+	 */
+	default void queryCachePut(String query, String regionName) {
+	}
+}
@@ -6,6 +6,8 @@
  */
 package org.hibernate.stat.spi;
 
+import java.util.concurrent.TimeUnit;
+
 import org.hibernate.metamodel.model.domain.NavigableRole;
 import org.hibernate.service.Service;
 import org.hibernate.stat.Statistics;
@@ -233,6 +235,55 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 */
 	void queryExecuted(String hql, int rows, long time);
 
+	/**
+	 * Callback indicating execution of a sql/hql query, timed in nanoseconds
+	 * so that latency histograms can be more precise than the execution time
+	 * reported in milliseconds.
+	 *
+	 * @param hql The query
+	 * @param rows Number of rows returned
+	 * @param nanoseconds execution time
+	 */
+	default void queryExecutedNanos(String hql, int rows, long nanoseconds) {
+		queryExecuted( hql, rows, TimeUnit.NANOSECONDS.toMillis( nanoseconds ) );
+	}
+
+	/**
+	 * Callback indicating the load of an entity from the database.
+	 *
+	 * @param entityName The name of the entity
+	 * @param nanoseconds time taken by the load
+	 */
+	default void entityLoadExecuted(String entityName, long nanoseconds) {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating entities or collections were put in the cache by
+	 * the warm-up of the second-level cache.
+	 *
+	 * @param count The number of entities or collections
+	 */
+	default void secondLevelCacheWarmedUp(int count) {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating the warm-up of an entity or collection failed.
+	 */
+	default void secondLevelCacheWarmUpFailed() {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating the warm-up of the second-level cache completed.
+	 *
+	 * @param time The time in milliseconds the warm-up took
+	 */
+	default void secondLevelCacheWarmUpCompleted(long time) {
+		//For backward compatibility
+	}
+
 	/**
 	 * Callback indicating a hit to the timestamp cache
 	 */
@@ -266,6 +317,13 @@ public interface StatisticsImplementor extends Statistics, Service {
 		//For backward compatibility
 	}
 
+	/**
+	 * Callback indicating an entry was evicted from the query plan cache because it was full.
+	 */
+	default void queryPlanCacheEviction() {
+		//For backward compatibility
+	}
+
 	/**
 	 * Callback indicating compilation of a sql/hql query
 	 *
@@ -275,4 +333,22 @@ public interface StatisticsImplementor extends Statistics, Service {
 	default void queryCompiled(String hql, long microseconds) {
 		//For backward compatibility
 	}
+
+	/**
+	 * Register a listener to be notified of the per-query callbacks.
+	 *
+	 * @param listener The listener
+	 */
+	default void addQueryStatisticsListener(QueryStatisticsListener listener) {
+		//For backward compatibility
+	}
+
+	/**
+	 * Unregister a listener previously registered through {@link #addQueryStatisticsListener}.
+	 *
+	 * @param listener The listener
+	 */
+	default void removeQueryStatisticsListener(QueryStatisticsListener listener) {
+		//For backward compatibility
+	}
 }
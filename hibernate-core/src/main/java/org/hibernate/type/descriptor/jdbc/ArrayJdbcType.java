@@ -0,0 +1,103 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.type.descriptor.jdbc;
+
+import java.sql.Array;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.hibernate.type.descriptor.ValueBinder;
+import org.hibernate.type.descriptor.ValueExtractor;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.JavaType;
+
+/**
+ * Descriptor for {@link Types#ARRAY ARRAY} handling, binding and extracting the
+ * elements of the array as an {@code Object[]}.
+ * <p>
+ * The elements must already be values of the JDBC type of the array elements, as
+ * they are passed as is to {@link java.sql.Connection#createArrayOf(String, Object[])}.
+ *
+ * @see org.hibernate.dialect.Dialect#getArrayInListPattern()
+ */
+public class ArrayJdbcType implements JdbcType {
+	private final JdbcType elementJdbcType;
+	private final String elementTypeName;
+
+	/**
+	 * @param elementJdbcType The JDBC type of the elements
+	 * @param elementTypeName The SQL type name of the elements, as passed to
+	 * {@link java.sql.Connection#createArrayOf(String, Object[])}
+	 */
+	public ArrayJdbcType(JdbcType elementJdbcType, String elementTypeName) {
+		this.elementJdbcType = elementJdbcType;
+		this.elementTypeName = elementTypeName;
+	}
+
+	public JdbcType getElementJdbcType() {
+		return elementJdbcType;
+	}
+
+	@Override
+	public int getJdbcTypeCode() {
+		return Types.ARRAY;
+	}
+
+	@Override
+	public <X> ValueBinder<X> getBinder(final JavaType<X> javaType) {
+		return new BasicBinder<>( javaType, this ) {
+			@Override
+			protected void doBind(PreparedStatement st, X value, int index, WrapperOptions options) throws SQLException {
+				st.setArray( index, st.getConnection().createArrayOf( elementTypeName, (Object[]) value ) );
+			}
+
+			@Override
+			protected void doBind(CallableStatement st, X value, String name, WrapperOptions options)
+					throws SQLException {
+				st.setObject( name, st.getConnection().createArrayOf( elementTypeName, (Object[]) value ) );
+			}
+		};
+	}
+
+	@Override
+	public <X> ValueExtractor<X> getExtractor(final JavaType<X> javaType) {
+		return new BasicExtractor<>( javaType, this ) {
+			@Override
+			protected X doExtract(ResultSet rs, int paramIndex, WrapperOptions options) throws SQLException {
+				return extract( rs.getArray( paramIndex ) );
+			}
+
+			@Override
+			protected X doExtract(CallableStatement statement, int index, WrapperOptions options) throws SQLException {
+				return extract( statement.getArray( index ) );
+			}
+
+			@Override
+			protected X doExtract(CallableStatement statement, String name, WrapperOptions options) throws SQLException {
+				return extract( statement.getArray( name ) );
+			}
+
+			@SuppressWarnings("unchecked")
+			private X extract(Array array) throws SQLException {
+				return array == null ? null : (X) array.getArray();
+			}
+		};
+	}
+
+	@Override
+	public String getFriendlyName() {
+		return "ARRAY";
+	}
+
+	@Override
+	public String toString() {
+		return "ArrayTypeDescriptor(" + elementTypeName + ")";
+	}
+}
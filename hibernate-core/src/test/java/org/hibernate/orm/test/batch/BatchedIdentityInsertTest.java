@@ -0,0 +1,199 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.batch;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+
+import org.hibernate.testing.jdbc.SQLStatementInspector;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.RequiresDialect;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests the batching of IDENTITY inserts enabled by {@link AvailableSettings#BATCH_IDENTITY_INSERTS}.
+ */
+@RequiresDialect(H2Dialect.class)
+@DomainModel(
+		annotatedClasses = {
+				BatchedIdentityInsertTest.Author.class,
+				BatchedIdentityInsertTest.Book.class,
+				BatchedIdentityInsertTest.Node.class
+		}
+)
+@ServiceRegistry(
+		settings = {
+				@Setting( name = AvailableSettings.STATEMENT_BATCH_SIZE, value = "10" ),
+				@Setting( name = AvailableSettings.BATCH_IDENTITY_INSERTS, value = "true" )
+		}
+)
+@SessionFactory( statementInspectorClass = SQLStatementInspector.class )
+public class BatchedIdentityInsertTest {
+
+	@AfterEach
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.createMutationQuery( "delete Book" ).executeUpdate();
+			session.createMutationQuery( "delete Author" ).executeUpdate();
+			session.createMutationQuery( "update Node set parent = null" ).executeUpdate();
+			session.createMutationQuery( "delete Node" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testBatchedInserts(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = (SQLStatementInspector) scope.getStatementInspector();
+		final List<Author> authors = new ArrayList<>();
+		scope.inTransaction( session -> {
+			for ( int i = 0; i < 25; i++ ) {
+				final Author author = new Author( "author" + i );
+				session.persist( author );
+				assertNull( author.id );
+				authors.add( author );
+			}
+			statementInspector.clear();
+			session.flush();
+			statementInspector.assertExecutedCount( 3 );
+
+			final Set<Long> ids = new HashSet<>();
+			for ( Author author : authors ) {
+				assertNotNull( author.id );
+				ids.add( author.id );
+				assertSame( author, session.get( Author.class, author.id ) );
+			}
+			assertEquals( 25, ids.size() );
+		} );
+
+		scope.inTransaction( session -> {
+			for ( Author author : authors ) {
+				assertEquals( author.name, session.get( Author.class, author.id ).name );
+			}
+		} );
+	}
+
+	@Test
+	public void testAssociations(SessionFactoryScope scope) {
+		final List<Author> authors = new ArrayList<>();
+		scope.inTransaction( session -> {
+			for ( int i = 0; i < 3; i++ ) {
+				final Author author = new Author( "author" + i );
+				for ( int j = 0; j < 4; j++ ) {
+					final Book book = new Book( author.name + "-book" + j, author );
+					author.books.add( book );
+				}
+				session.persist( author );
+				authors.add( author );
+			}
+		} );
+
+		scope.inTransaction( session -> {
+			for ( Author author : authors ) {
+				final Author loaded = session.get( Author.class, author.id );
+				assertEquals( 4, loaded.books.size() );
+				for ( Book book : loaded.books ) {
+					assertSame( loaded, book.author );
+					assertEquals( loaded.name, book.title.substring( 0, book.title.indexOf( '-' ) ) );
+				}
+			}
+		} );
+	}
+
+	@Test
+	public void testSelfReferenceNotBatched(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final Node root = new Node( null );
+			session.persist( root );
+			assertNotNull( root.id );
+			final Node child = new Node( root );
+			session.persist( child );
+			assertNotNull( child.id );
+		} );
+	}
+
+	@Test
+	public void testImmediateIdAccess(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final Author author = new Author( "saved" );
+			assertNotNull( session.save( author ) );
+			assertNotNull( author.id );
+		} );
+	}
+
+	@Entity(name = "Author")
+	public static class Author {
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Long id;
+		private String name;
+		@OneToMany(mappedBy = "author", cascade = CascadeType.ALL)
+		private List<Book> books = new ArrayList<>();
+
+		public Author() {
+		}
+
+		public Author(String name) {
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Long id;
+		private String title;
+		@ManyToOne
+		private Author author;
+
+		public Book() {
+		}
+
+		public Book(String title, Author author) {
+			this.title = title;
+			this.author = author;
+		}
+	}
+
+	@Entity(name = "Node")
+	public static class Node {
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Long id;
+		@ManyToOne
+		private Node parent;
+
+		public Node() {
+		}
+
+		public Node(Node parent) {
+			this.parent = parent;
+		}
+	}
+}
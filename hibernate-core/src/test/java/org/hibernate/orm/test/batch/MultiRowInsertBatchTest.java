@@ -0,0 +1,264 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.batch;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.DatabaseVersion;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.batch.internal.MultiRowInsertBatch;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.jdbc.Expectations;
+
+import org.hibernate.testing.jdbc.SQLStatementInspector;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.RequiresDialect;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.hibernate.testing.orm.junit.SettingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Inheritance;
+import jakarta.persistence.InheritanceType;
+import jakarta.persistence.OrderColumn;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the rewriting of batched inserts enabled by {@link AvailableSettings#REWRITE_BATCHED_INSERTS}.
+ */
+@RequiresDialect(H2Dialect.class)
+@DomainModel(
+		annotatedClasses = {
+				MultiRowInsertBatchTest.Person.class,
+				MultiRowInsertBatchTest.Animal.class,
+				MultiRowInsertBatchTest.Dog.class
+		}
+)
+@ServiceRegistry(
+		settings = {
+				@Setting( name = AvailableSettings.STATEMENT_BATCH_SIZE, value = "10" ),
+				@Setting( name = AvailableSettings.REWRITE_BATCHED_INSERTS, value = "true" )
+		},
+		settingProviders = @SettingProvider(
+				provider = MultiRowInsertBatchTest.TestSettingProvider.class,
+				settingName = AvailableSettings.DIALECT
+		)
+)
+@SessionFactory( statementInspectorClass = SQLStatementInspector.class )
+public class MultiRowInsertBatchTest {
+
+	public static class TestSettingProvider implements SettingProvider.Provider<String> {
+		@Override
+		public String getSetting() {
+			return TestDialect.class.getName();
+		}
+	}
+
+	public static class TestDialect extends H2Dialect {
+		public TestDialect(DialectResolutionInfo info) {
+			super( info );
+		}
+
+		public TestDialect() {
+		}
+
+		public TestDialect(DatabaseVersion version) {
+			super( version );
+		}
+
+		@Override
+		public int getParameterCountLimit() {
+			return 12;
+		}
+	}
+
+	@AfterEach
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( Person person : session.createQuery( "from Person", Person.class ).list() ) {
+				session.remove( person );
+			}
+			session.createMutationQuery( "delete Animal" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testInsertsAreRewritten(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = (SQLStatementInspector) scope.getStatementInspector();
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= 10; i++ ) {
+				session.persist( new Person( i, "person" + i ) );
+			}
+			statementInspector.clear();
+			session.flush();
+
+			// the parameter limit allows 6 rows of 2 parameters per statement
+			statementInspector.assertExecutedCount( 2 );
+			statementInspector.assertIsInsert( 0 );
+			assertEquals( 12, parameterCount( statementInspector.getSqlQueries().get( 0 ) ) );
+			assertEquals( 8, parameterCount( statementInspector.getSqlQueries().get( 1 ) ) );
+		} );
+
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= 10; i++ ) {
+				assertEquals( "person" + i, session.get( Person.class, i ).name );
+			}
+		} );
+	}
+
+	@Test
+	public void testCollectionInsertsAreRewritten(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = (SQLStatementInspector) scope.getStatementInspector();
+		scope.inTransaction( session -> {
+			final Person person = new Person( 1, "person" );
+			person.nicknames.add( "first" );
+			person.nicknames.add( "second" );
+			person.nicknames.add( "third" );
+			session.persist( person );
+			statementInspector.clear();
+			session.flush();
+
+			// the entity insert, and the collection insert of 3 rows of 3 parameters
+			statementInspector.assertExecutedCount( 2 );
+			assertEquals( 9, parameterCount( statementInspector.getSqlQueries().get( 1 ) ) );
+		} );
+
+		scope.inTransaction( session -> {
+			final Person person = session.get( Person.class, 1 );
+			assertEquals( List.of( "first", "second", "third" ), person.nicknames );
+		} );
+	}
+
+	@Test
+	public void testDiscriminatorLiteral(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = (SQLStatementInspector) scope.getStatementInspector();
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= 5; i++ ) {
+				session.persist( new Dog( i, "dog" + i ) );
+			}
+			statementInspector.clear();
+			session.flush();
+			statementInspector.assertExecutedCount( 1 );
+		} );
+
+		scope.inTransaction( session -> {
+			final List<Animal> animals = session.createQuery( "from Animal order by id", Animal.class ).list();
+			assertEquals( 5, animals.size() );
+			for ( int i = 0; i < animals.size(); i++ ) {
+				assertTrue( animals.get( i ) instanceof Dog );
+				assertEquals( "dog" + ( i + 1 ), animals.get( i ).name );
+			}
+		} );
+	}
+
+	@Test
+	public void testStatementFallsBackToPlainBatching(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = (SQLStatementInspector) scope.getStatementInspector();
+		scope.inTransaction( session -> {
+			final JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+			final MultiRowInsertBatch batch = new MultiRowInsertBatch(
+					new BasicBatchKey( "Person#INSERT", Expectations.BASIC ),
+					jdbcCoordinator,
+					10,
+					0
+			);
+			final String sql = "insert into Person (name, id) values (?, ?)";
+			try {
+				PreparedStatement statement = batch.getBatchStatement( sql, false );
+				statement.setString( 1, "person1" );
+				statement.setInt( 2, 1 );
+				batch.addToBatch();
+
+				// not recorded, so the statement is no longer rewritten
+				assertEquals( 2, statement.getParameterMetaData().getParameterCount() );
+
+				statement = batch.getBatchStatement( sql, false );
+				statement.setString( 1, "person2" );
+				statement.setInt( 2, 2 );
+				batch.addToBatch();
+
+				statementInspector.clear();
+				batch.execute();
+			}
+			catch (SQLException e) {
+				throw new RuntimeException( e );
+			}
+			finally {
+				batch.release();
+			}
+			// the single row insert was prepared on fall back, no multi-row statement is prepared
+			statementInspector.assertExecutedCount( 0 );
+		} );
+
+		scope.inTransaction( session -> {
+			assertEquals( "person1", session.get( Person.class, 1 ).name );
+			assertEquals( "person2", session.get( Person.class, 2 ).name );
+		} );
+	}
+
+	private static int parameterCount(String sql) {
+		return (int) sql.chars().filter( c -> c == '?' ).count();
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		private Integer id;
+		private String name;
+		@ElementCollection
+		@OrderColumn
+		private List<String> nicknames = new ArrayList<>();
+
+		public Person() {
+		}
+
+		public Person(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Animal")
+	@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+	public static class Animal {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Animal() {
+		}
+
+		public Animal(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Dog")
+	public static class Dog extends Animal {
+		public Dog() {
+		}
+
+		public Dog(Integer id, String name) {
+			super( id, name );
+		}
+	}
+}
@@ -0,0 +1,192 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.batchfetch;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+
+import org.hibernate.testing.jdbc.SQLStatementInspector;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.RequiresDialect;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that batch fetching and multi-id loading bind the keys as a single array parameter,
+ * using {@link org.hibernate.dialect.Dialect#getArrayInListPattern()}.
+ */
+@RequiresDialect(H2Dialect.class)
+@DomainModel(
+		annotatedClasses = {
+				ArrayParameterBatchFetchTest.Author.class,
+				ArrayParameterBatchFetchTest.Book.class
+		}
+)
+@ServiceRegistry( settings = @Setting( name = AvailableSettings.BATCH_FETCH_ARRAY_PARAMETER, value = "true" ) )
+@SessionFactory( statementInspectorClass = SQLStatementInspector.class )
+public class ArrayParameterBatchFetchTest {
+
+	@BeforeAll
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= 12; i++ ) {
+				final Author author = new Author( i, "author" + i );
+				session.persist( author );
+				for ( int j = 1; j <= 2; j++ ) {
+					final Book book = new Book( i * 10 + j, author );
+					author.books.add( book );
+					session.persist( book );
+				}
+			}
+		} );
+	}
+
+	@AfterAll
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.createMutationQuery( "delete Book" ).executeUpdate();
+			session.createMutationQuery( "delete Author" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testMultiLoad(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = (SQLStatementInspector) scope.getStatementInspector();
+		final Set<String> sqls = new HashSet<>();
+		scope.inTransaction( session -> {
+			statementInspector.clear();
+			final List<Author> authors = session.byMultipleIds( Author.class ).multiLoad( 1, 2, 3 );
+			assertEquals( 3, authors.size() );
+			statementInspector.assertExecutedCount( 1 );
+			sqls.add( statementInspector.getSqlQueries().get( 0 ) );
+		} );
+		scope.inTransaction( session -> {
+			statementInspector.clear();
+			final List<Author> authors = session.byMultipleIds( Author.class ).multiLoad( 4, 5, 6, 7, 8, 9, 10 );
+			assertEquals( 7, authors.size() );
+			for ( int i = 0; i < authors.size(); i++ ) {
+				assertEquals( "author" + ( i + 4 ), authors.get( i ).name );
+			}
+			statementInspector.assertExecutedCount( 1 );
+			sqls.add( statementInspector.getSqlQueries().get( 0 ) );
+		} );
+		assertEquals( 1, sqls.size() );
+		assertEquals( 1, parameterCount( sqls.iterator().next() ) );
+	}
+
+	@Test
+	public void testEntityBatchFetch(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = (SQLStatementInspector) scope.getStatementInspector();
+		scope.inTransaction( session -> {
+			final List<Book> books = session.createQuery( "from Book where id < 50 order by id", Book.class )
+					.list();
+			assertEquals( 8, books.size() );
+			statementInspector.clear();
+			Hibernate.initialize( books.get( 0 ).author );
+			// all 4 authors are fetched at once
+			statementInspector.assertExecutedCount( 1 );
+			assertEquals( 1, parameterCount( statementInspector.getSqlQueries().get( 0 ) ) );
+			for ( Book book : books ) {
+				assertTrue( Hibernate.isInitialized( book.author ) );
+			}
+		} );
+	}
+
+	@Test
+	public void testCollectionBatchFetch(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = (SQLStatementInspector) scope.getStatementInspector();
+		final Set<String> sqls = new HashSet<>();
+		scope.inTransaction( session -> {
+			final List<Author> authors = session.createQuery( "from Author where id <= 3", Author.class ).list();
+			statementInspector.clear();
+			Hibernate.initialize( authors.get( 0 ).books );
+			statementInspector.assertExecutedCount( 1 );
+			sqls.add( statementInspector.getSqlQueries().get( 0 ) );
+			for ( Author author : authors ) {
+				assertTrue( Hibernate.isInitialized( author.books ) );
+				assertEquals( 2, author.books.size() );
+			}
+		} );
+		scope.inTransaction( session -> {
+			final List<Author> authors = session.createQuery( "from Author where id > 3", Author.class ).list();
+			assertEquals( 9, authors.size() );
+			statementInspector.clear();
+			Hibernate.initialize( authors.get( 0 ).books );
+			statementInspector.assertExecutedCount( 1 );
+			sqls.add( statementInspector.getSqlQueries().get( 0 ) );
+			for ( Author author : authors ) {
+				assertTrue( Hibernate.isInitialized( author.books ) );
+				for ( Book book : author.books ) {
+					assertNotNull( book.author );
+				}
+			}
+		} );
+		assertEquals( 1, sqls.size() );
+		assertEquals( 1, parameterCount( sqls.iterator().next() ) );
+	}
+
+	private static int parameterCount(String sql) {
+		return (int) sql.chars().filter( c -> c == '?' ).count();
+	}
+
+	@Entity(name = "Author")
+	@BatchSize(size = 10)
+	public static class Author {
+		@Id
+		private Integer id;
+		private String name;
+		@OneToMany(mappedBy = "author")
+		@BatchSize(size = 10)
+		private List<Book> books = new ArrayList<>();
+
+		public Author() {
+		}
+
+		public Author(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		private Integer id;
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Author author;
+
+		public Book() {
+		}
+
+		public Book(Integer id, Author author) {
+			this.id = id;
+			this.author = author;
+		}
+	}
+}
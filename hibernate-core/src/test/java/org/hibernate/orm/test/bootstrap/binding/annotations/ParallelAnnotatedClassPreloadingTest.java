@@ -0,0 +1,215 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.bootstrap.binding.annotations;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Converter;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.MappedSuperclass;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.BootstrapServiceRegistryBuilder;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.boot.registry.classloading.spi.ClassLoadingException;
+import org.hibernate.boot.spi.MetadataImplementor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.mapping.PersistentClass;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests that preloading the annotated classes in parallel loads them off the bootstrapping thread,
+ * and binds the same model, in the same order, as without preloading.
+ */
+public class ParallelAnnotatedClassPreloadingTest {
+
+	@Test
+	public void testClassesLoadedOffBootstrappingThread() {
+		final RecordingClassLoader classLoader = new RecordingClassLoader( Dog.class.getName(), Owner.class.getName() );
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder(
+				new BootstrapServiceRegistryBuilder().applyClassLoader( classLoader ).build()
+		)
+				.applySetting( AvailableSettings.PARALLEL_ANNOTATED_CLASS_PRELOADING, "true" )
+				.build();
+		try {
+			new MetadataSources( ssr )
+					.addAnnotatedClassName( Dog.class.getName() )
+					.addAnnotatedClassName( Owner.class.getName() )
+					.addAnnotatedClass( Animal.class )
+					.buildMetadata();
+
+			assertEquals( classLoader.recordedNames, classLoader.loadingThreads.keySet() );
+			for ( Thread thread : classLoader.loadingThreads.values() ) {
+				assertNotSame( Thread.currentThread(), thread );
+			}
+		}
+		finally {
+			StandardServiceRegistryBuilder.destroy( ssr );
+		}
+	}
+
+	@Test
+	public void testMissingClassReported() {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.PARALLEL_ANNOTATED_CLASS_PRELOADING, "true" )
+				.build();
+		try {
+			final MetadataSources metadataSources = new MetadataSources( ssr )
+					.addAnnotatedClassName( Dog.class.getName() )
+					.addAnnotatedClassName( "org.hibernate.orm.test.bootstrap.binding.annotations.Missing" );
+			assertThrows( ClassLoadingException.class, metadataSources::buildMetadata );
+		}
+		finally {
+			StandardServiceRegistryBuilder.destroy( ssr );
+		}
+	}
+
+	@Test
+	public void testParallelPreloadingBindsSameModel() {
+		final List<String> sequential = buildEntityBindingNames( false );
+		final List<String> parallel = buildEntityBindingNames( true );
+
+		assertThat(
+				sequential,
+				containsInAnyOrder( Animal.class.getName(), Dog.class.getName(), Owner.class.getName() )
+		);
+		assertEquals( sequential, parallel );
+	}
+
+	@Test
+	public void testParallelPreloadingOfNamesAndReferences() {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.PARALLEL_ANNOTATED_CLASS_PRELOADING, "true" )
+				.build();
+		try {
+			final Metadata metadata = new MetadataSources( ssr )
+					.addAnnotatedClass( Owner.class )
+					.addAnnotatedClass( UpperCaseConverter.class )
+					.addAnnotatedClassName( Animal.class.getName() )
+					.addAnnotatedClassName( Dog.class.getName() )
+					.buildMetadata();
+			( (MetadataImplementor) metadata ).validate();
+
+			final PersistentClass owner = metadata.getEntityBinding( Owner.class.getName() );
+			assertNotNull( owner.getProperty( "address" ) );
+			assertNotNull( metadata.getEntityBinding( Dog.class.getName() ).getProperty( "owner" ) );
+		}
+		finally {
+			StandardServiceRegistryBuilder.destroy( ssr );
+		}
+	}
+
+	private static List<String> buildEntityBindingNames(boolean parallel) {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.PARALLEL_ANNOTATED_CLASS_PRELOADING, Boolean.toString( parallel ) )
+				.build();
+		try {
+			final Metadata metadata = new MetadataSources( ssr )
+					.addAnnotatedClassName( Dog.class.getName() )
+					.addAnnotatedClassName( Owner.class.getName() )
+					.addAnnotatedClass( Animal.class )
+					.addAnnotatedClass( UpperCaseConverter.class )
+					.buildMetadata();
+			( (MetadataImplementor) metadata ).validate();
+
+			return metadata.getEntityBindings()
+					.stream()
+					.map( PersistentClass::getEntityName )
+					.collect( Collectors.toList() );
+		}
+		finally {
+			StandardServiceRegistryBuilder.destroy( ssr );
+		}
+	}
+
+	/**
+	 * Records the threads the given classes were requested from, delegating their loading.
+	 */
+	private static class RecordingClassLoader extends ClassLoader {
+		private final Set<String> recordedNames;
+		private final Map<String, Thread> loadingThreads = new ConcurrentHashMap<>();
+
+		private RecordingClassLoader(String... recordedNames) {
+			super( RecordingClassLoader.class.getClassLoader() );
+			this.recordedNames = new HashSet<>( Arrays.asList( recordedNames ) );
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if ( recordedNames.contains( name ) ) {
+				loadingThreads.putIfAbsent( name, Thread.currentThread() );
+			}
+			return super.loadClass( name, resolve );
+		}
+	}
+
+	@MappedSuperclass
+	public static class Named {
+		@Convert( converter = UpperCaseConverter.class )
+		private String name;
+	}
+
+	@Entity( name = "Animal" )
+	public static class Animal extends Named {
+		@Id
+		private Integer id;
+	}
+
+	@Entity( name = "Dog" )
+	public static class Dog extends Animal {
+		@ManyToOne
+		private Owner owner;
+	}
+
+	@Entity( name = "Owner" )
+	public static class Owner extends Named {
+		@Id
+		private Integer id;
+		@Embedded
+		private Address address;
+	}
+
+	@Embeddable
+	public static class Address {
+		private String street;
+		private String city;
+	}
+
+	@Converter
+	public static class UpperCaseConverter implements AttributeConverter<String, String> {
+		@Override
+		public String convertToDatabaseColumn(String attribute) {
+			return attribute == null ? null : attribute.toUpperCase();
+		}
+
+		@Override
+		public String convertToEntityAttribute(String dbData) {
+			return dbData;
+		}
+	}
+}
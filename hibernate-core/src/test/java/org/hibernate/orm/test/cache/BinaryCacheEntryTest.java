@@ -0,0 +1,256 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.cache;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Inheritance;
+import jakarta.persistence.InheritanceType;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.entry.BinaryCacheEntry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests entities stored in the second-level cache as binary cache entries.
+ */
+@DomainModel( annotatedClasses = { BinaryCacheEntryTest.Product.class, BinaryCacheEntryTest.Book.class, BinaryCacheEntryTest.Vendor.class } )
+@ServiceRegistry(
+		settings = {
+				@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+				@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ),
+				@Setting( name = AvailableSettings.USE_BINARY_CACHE_ENTRIES, value = "true" )
+		}
+)
+@SessionFactory
+public class BinaryCacheEntryTest {
+
+	@AfterEach
+	public void cleanUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.createQuery( "delete from Product" ).executeUpdate();
+			session.createQuery( "delete from Vendor" ).executeUpdate();
+		} );
+		scope.getSessionFactory().getCache().evictAllRegions();
+	}
+
+	@Test
+	public void testEntryIsStoredAsBytes(SessionFactoryScope scope) {
+		final UUID code = UUID.randomUUID();
+		scope.inTransaction( session -> {
+			final Vendor vendor = new Vendor( 1, "Acme" );
+			session.persist( vendor );
+			final Product product = new Product( 1, "Anvil", code );
+			product.price = new BigDecimal( "-12.50" );
+			product.availableFrom = LocalDate.of( 2021, 6, 1 );
+			product.checkedAt = LocalDateTime.of( 2021, 6, 2, 10, 15, 30, 123_000_000 );
+			product.created = new Date( 1_000_000L );
+			product.category = Category.TOOLS;
+			product.previousCategory = Category.BOOKS;
+			product.dimensions = new Dimensions( 10, 2.5d );
+			product.vendor = vendor;
+			product.label = new Label( "heavy" );
+			session.persist( product );
+		} );
+
+		final EntityPersister persister = scope.getSessionFactory()
+				.getRuntimeMetamodels()
+				.getMappingMetamodel()
+				.getEntityDescriptor( Product.class );
+		assertThat( persister.getCacheEntryStructure(), instanceOf( BinaryCacheEntry.class ) );
+
+		// populates the cache
+		scope.inTransaction( session -> session.get( Product.class, 1 ) );
+		scope.inTransaction( session -> {
+			final EntityDataAccess cacheAccess = persister.getCacheAccessStrategy();
+			final Object key = cacheAccess.generateCacheKey( 1, persister, scope.getSessionFactory(), null );
+			assertThat( cacheAccess.get( session, key ), instanceOf( byte[].class ) );
+		} );
+
+		final StatisticsImplementor statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+		scope.inTransaction( session -> {
+			final Product product = session.get( Product.class, 1 );
+			assertEquals( "Anvil", product.name );
+			assertEquals( code, product.code );
+			assertEquals( new BigDecimal( "-12.50" ), product.price );
+			assertEquals( LocalDate.of( 2021, 6, 1 ), product.availableFrom );
+			assertEquals( LocalDateTime.of( 2021, 6, 2, 10, 15, 30, 123_000_000 ), product.checkedAt );
+			assertEquals( 1_000_000L, product.created.getTime() );
+			assertEquals( Category.TOOLS, product.category );
+			assertEquals( Category.BOOKS, product.previousCategory );
+			assertEquals( 10, (int) product.dimensions.width );
+			assertEquals( 2.5d, (double) product.dimensions.weight );
+			assertNull( product.description );
+			assertEquals( "Acme", product.vendor.name );
+			assertEquals( "heavy", product.label.text );
+			assertEquals( 0, product.version );
+		} );
+		assertEquals( 2, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+	}
+
+	@Test
+	public void testSubclassEntry(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final Book book = new Book( 2, "Manual", UUID.randomUUID() );
+			book.isbn = "978-3-16-148410-0";
+			session.persist( book );
+		} );
+		scope.inTransaction( session -> session.get( Book.class, 2 ) );
+
+		final StatisticsImplementor statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+		scope.inTransaction( session -> {
+			final Product product = session.get( Product.class, 2 );
+			assertThat( product, instanceOf( Book.class ) );
+			assertEquals( "978-3-16-148410-0", ( (Book) product ).isbn );
+		} );
+		scope.inTransaction( session -> assertEquals( "Manual", ( (Product) session.get( Book.class, 2 ) ).name ) );
+		assertEquals( 2, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+	}
+
+	public enum Category {
+		TOOLS,
+		BOOKS {
+			@Override
+			public String toString() {
+				return "books";
+			}
+		}
+	}
+
+	@Embeddable
+	public static class Dimensions {
+		private Integer width;
+		private Double weight;
+
+		public Dimensions() {
+		}
+
+		public Dimensions(Integer width, Double weight) {
+			this.width = width;
+			this.weight = weight;
+		}
+	}
+
+	public static class Label implements Serializable {
+		private final String text;
+
+		public Label(String text) {
+			this.text = text;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Label && text.equals( ( (Label) o ).text );
+		}
+
+		@Override
+		public int hashCode() {
+			return text.hashCode();
+		}
+	}
+
+	@Entity( name = "Product" )
+	@Inheritance( strategy = InheritanceType.SINGLE_TABLE )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE )
+	public static class Product {
+		@Id
+		private Integer id;
+		@Version
+		private int version;
+		private String name;
+		private String description;
+		private UUID code;
+		private BigDecimal price;
+		private LocalDate availableFrom;
+		private LocalDateTime checkedAt;
+		@Temporal( TemporalType.TIMESTAMP )
+		private Date created;
+		@Enumerated( EnumType.STRING )
+		private Category category;
+		private Category previousCategory;
+		@Embedded
+		private Dimensions dimensions;
+		@ManyToOne
+		private Vendor vendor;
+		private Label label;
+
+		public Product() {
+		}
+
+		public Product(Integer id, String name, UUID code) {
+			this.id = id;
+			this.name = name;
+			this.code = code;
+		}
+	}
+
+	@Entity( name = "Book" )
+	public static class Book extends Product {
+		private String isbn;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String name, UUID code) {
+			super( id, name, code );
+		}
+	}
+
+	@Entity( name = "Vendor" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE )
+	public static class Vendor {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Vendor() {
+		}
+
+		public Vendor(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
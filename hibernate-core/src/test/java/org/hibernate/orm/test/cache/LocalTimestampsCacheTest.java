@@ -0,0 +1,159 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.cache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.cache.internal.LocalTimestampsCacheImpl;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that the query spaces of a cached query are validated against a local mirror of the timestamps region.
+ */
+@DomainModel( annotatedClasses = { LocalTimestampsCacheTest.Author.class, LocalTimestampsCacheTest.Book.class } )
+@ServiceRegistry(
+		settings = {
+				@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+				@Setting( name = AvailableSettings.USE_QUERY_CACHE, value = "true" ),
+				@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ),
+				@Setting( name = AvailableSettings.QUERY_CACHE_LOCAL_TIMESTAMPS_MAX_STALENESS, value = "60000" )
+		}
+)
+@SessionFactory
+public class LocalTimestampsCacheTest {
+	private static final String QUERY = "select b.title from Book b join b.author a where a.name = :name";
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final Author author = new Author( 1, "Jane" );
+			session.persist( author );
+			session.persist( new Book( 1, "First", author ) );
+		} );
+	}
+
+	@AfterEach
+	public void cleanUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.createQuery( "delete from Book" ).executeUpdate();
+			session.createQuery( "delete from Author" ).executeUpdate();
+		} );
+		scope.getSessionFactory().getCache().evictAllRegions();
+	}
+
+	@Test
+	public void testTimestampsAreReadOnce(SessionFactoryScope scope) {
+		assertThat(
+				scope.getSessionFactory().getCache().getTimestampsCache(),
+				instanceOf( LocalTimestampsCacheImpl.class )
+		);
+		final StatisticsImplementor statistics = scope.getSessionFactory().getStatistics();
+
+		// puts the results into the query cache
+		scope.inSession( session -> assertEquals( List.of( "First" ), list( session ) ) );
+
+		statistics.clear();
+		final AtomicInteger cacheReads = new AtomicInteger();
+		scope.inSession( session -> {
+			countCacheReads( session, cacheReads );
+			assertEquals( List.of( "First" ), list( session ) );
+			// one read for the results, one for the timestamps of both spaces
+			assertEquals( 2, cacheReads.get() );
+			cacheReads.set( 0 );
+			assertEquals( List.of( "First" ), list( session ) );
+			// the results only
+			assertEquals( 1, cacheReads.get() );
+		} );
+		assertEquals( 2, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testLocalUpdatesAreSeen(SessionFactoryScope scope) {
+		final StatisticsImplementor statistics = scope.getSessionFactory().getStatistics();
+
+		scope.inSession( session -> assertEquals( List.of( "First" ), list( session ) ) );
+		scope.inSession( session -> assertEquals( List.of( "First" ), list( session ) ) );
+
+		scope.inTransaction( session -> session.get( Book.class, 1 ).title = "Second" );
+
+		statistics.clear();
+		scope.inSession( session -> assertEquals( List.of( "Second" ), list( session ) ) );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+		assertEquals( 1, statistics.getQueryCacheMissCount() );
+	}
+
+	private static List<String> list(SessionImplementor session) {
+		return session.createQuery( QUERY, String.class )
+				.setParameter( "name", "Jane" )
+				.setCacheable( true )
+				.list();
+	}
+
+	private static void countCacheReads(SessionImplementor session, AtomicInteger cacheReads) {
+		session.getEventListenerManager().addListener(
+				new BaseSessionEventListener() {
+					@Override
+					public void cacheGetStart() {
+						cacheReads.incrementAndGet();
+					}
+				}
+		);
+	}
+
+	@Entity( name = "Author" )
+	public static class Author {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Author() {
+		}
+
+		public Author(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Book" )
+	public static class Book {
+		@Id
+		private Integer id;
+		private String title;
+		@ManyToOne
+		private Author author;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title, Author author) {
+			this.id = id;
+			this.title = title;
+			this.author = author;
+		}
+	}
+}
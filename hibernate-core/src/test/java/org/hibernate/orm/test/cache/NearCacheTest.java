@@ -0,0 +1,151 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.cache;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.spi.support.DomainDataRegionTemplate;
+import org.hibernate.cache.spi.support.NearCacheDomainDataStorageAccess;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests that the near cache serves the entries read from the region, and drops them when they change.
+ */
+@DomainModel( annotatedClasses = { NearCacheTest.Item.class, NearCacheTest.LockableItem.class } )
+@ServiceRegistry(
+		settings = {
+				@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+				@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ),
+				@Setting( name = AvailableSettings.CACHE_NEAR_CACHE_MAX_ENTRIES, value = "100" )
+		}
+)
+@SessionFactory
+public class NearCacheTest {
+
+	@AfterEach
+	public void cleanUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createQuery( "delete from Item" ).executeUpdate() );
+		scope.getSessionFactory().getCache().evictAllRegions();
+	}
+
+	@Test
+	public void testReadsAreServedAndWritesInvalidate(SessionFactoryScope scope) {
+		final NearCacheDomainDataStorageAccess nearCache = getNearCache( scope );
+		final StatisticsImplementor statistics = scope.getSessionFactory().getStatistics();
+
+		scope.inTransaction( session -> session.persist( new Item( 1, "first" ) ) );
+		// nonstrict-read-write entries are only cached once loaded
+		scope.inTransaction( session -> session.get( Item.class, 1 ) );
+		assertEquals( 0, nearCache.getNearCacheSize() );
+
+		statistics.clear();
+		scope.inTransaction( session -> assertEquals( "first", session.get( Item.class, 1 ).getName() ) );
+		scope.inTransaction( session -> assertEquals( "first", session.get( Item.class, 1 ).getName() ) );
+		assertEquals( 2, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 1, nearCache.getNearCacheSize() );
+
+		scope.inTransaction( session -> session.get( Item.class, 1 ).setName( "second" ) );
+		scope.inTransaction( session -> assertEquals( "second", session.get( Item.class, 1 ).getName() ) );
+
+		scope.inTransaction( session -> session.remove( session.get( Item.class, 1 ) ) );
+		scope.inTransaction( session -> assertNull( session.get( Item.class, 1 ) ) );
+	}
+
+	@Test
+	public void testEviction(SessionFactoryScope scope) {
+		final NearCacheDomainDataStorageAccess nearCache = getNearCache( scope );
+
+		scope.inTransaction( session -> session.persist( new Item( 2, "first" ) ) );
+		scope.inTransaction( session -> session.get( Item.class, 2 ) );
+		scope.inTransaction( session -> session.get( Item.class, 2 ) );
+		assertEquals( 1, nearCache.getNearCacheSize() );
+
+		scope.getSessionFactory().getCache().evictEntityData( Item.class, 2 );
+		assertEquals( 0, nearCache.getNearCacheSize() );
+	}
+
+	@Test
+	public void testReadWriteRegionIsNotWrapped(SessionFactoryScope scope) {
+		final DomainDataRegionTemplate region = (DomainDataRegionTemplate) scope.getSessionFactory()
+				.getCache()
+				.getRegion( LockableItem.class.getName() );
+		assertThat( region.getCacheStorageAccess(), not( instanceOf( NearCacheDomainDataStorageAccess.class ) ) );
+	}
+
+	@Test
+	public void testTimeToLiveIsRequired() {
+		assertThrows(
+				IllegalArgumentException.class,
+				() -> new NearCacheDomainDataStorageAccess( null, 100, 0 )
+		);
+	}
+
+	private static NearCacheDomainDataStorageAccess getNearCache(SessionFactoryScope scope) {
+		final DomainDataRegionTemplate region = (DomainDataRegionTemplate) scope.getSessionFactory()
+				.getCache()
+				.getRegion( Item.class.getName() );
+		assertThat( region.getCacheStorageAccess(), instanceOf( NearCacheDomainDataStorageAccess.class ) );
+		return (NearCacheDomainDataStorageAccess) region.getCacheStorageAccess();
+	}
+
+	@Entity( name = "Item" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE )
+	public static class Item {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Item() {
+		}
+
+		public Item(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public Integer getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "LockableItem" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.READ_WRITE )
+	public static class LockableItem {
+		@Id
+		private Integer id;
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.internal.OffHeapRegionFactory;
+import org.hibernate.cache.internal.OffHeapStorageAccess;
+import org.hibernate.cache.spi.support.DomainDataRegionTemplate;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the second-level cache stored in direct memory by {@link OffHeapRegionFactory}.
+ */
+@DomainModel( annotatedClasses = OffHeapRegionFactoryTest.Item.class )
+@ServiceRegistry(
+		settings = {
+				@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+				@Setting( name = AvailableSettings.USE_QUERY_CACHE, value = "true" ),
+				@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ),
+				@Setting( name = AvailableSettings.CACHE_REGION_FACTORY, value = "org.hibernate.cache.internal.OffHeapRegionFactory" ),
+				@Setting( name = AvailableSettings.CACHE_OFF_HEAP_REGION_MAX_SIZE, value = "1048576" )
+		}
+)
+@SessionFactory
+public class OffHeapRegionFactoryTest {
+
+	@AfterEach
+	public void cleanUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createQuery( "delete from Item" ).executeUpdate() );
+		scope.getSessionFactory().getCache().evictAllRegions();
+	}
+
+	@Test
+	public void testEntityAndQueryCaching(SessionFactoryScope scope) {
+		final DomainDataRegionTemplate region = (DomainDataRegionTemplate) scope.getSessionFactory()
+				.getCache()
+				.getRegion( Item.class.getName() );
+		assertThat( region.getRegionFactory(), instanceOf( OffHeapRegionFactory.class ) );
+		assertThat( region.getCacheStorageAccess(), instanceOf( OffHeapStorageAccess.class ) );
+		final OffHeapStorageAccess storageAccess = (OffHeapStorageAccess) region.getCacheStorageAccess();
+
+		scope.inTransaction( session -> session.persist( new Item( 1, "first" ) ) );
+		assertEquals( 1, storageAccess.getElementCount() );
+		assertTrue( storageAccess.getSizeInMemory() > 0 );
+
+		final StatisticsImplementor statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+		scope.inTransaction( session -> assertEquals( "first", session.get( Item.class, 1 ).name ) );
+		assertEquals( 1, statistics.getSecondLevelCacheHitCount() );
+
+		scope.inTransaction( session -> session.get( Item.class, 1 ).name = "second" );
+		scope.inTransaction( session -> assertEquals( "second", session.get( Item.class, 1 ).name ) );
+
+		for ( int i = 0; i < 2; i++ ) {
+			scope.inTransaction( session -> assertEquals(
+					List.of( "second" ),
+					session.createQuery( "select i.name from Item i", String.class ).setCacheable( true ).list()
+			) );
+		}
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testStorage() {
+		// 16 segments of 64 blocks
+		final OffHeapStorageAccess storageAccess = new OffHeapStorageAccess( 16 * 64 * 128, getClass().getClassLoader() );
+
+		final byte[] large = new byte[1000];
+		Arrays.fill( large, (byte) 7 );
+		storageAccess.putIntoCache( "large", large, null );
+		storageAccess.putIntoCache( "long", 42L, null );
+		storageAccess.putIntoCache( "string", "value", null );
+		assertArrayEquals( large, (byte[]) storageAccess.getFromCache( "large", null ) );
+		assertEquals( 42L, storageAccess.getFromCache( "long", null ) );
+		assertEquals( "value", storageAccess.getFromCache( "string", null ) );
+
+		storageAccess.putIntoCache( "string", "other", null );
+		assertEquals( "other", storageAccess.getFromCache( "string", null ) );
+		storageAccess.evictData( "string" );
+		assertNull( storageAccess.getFromCache( "string", null ) );
+
+		// not serializable
+		storageAccess.putIntoCache( "object", new Object(), null );
+		assertNull( storageAccess.getFromCache( "object", null ) );
+
+		for ( int i = 0; i < 10_000; i++ ) {
+			storageAccess.putIntoCache( i, "value " + i, null );
+		}
+		assertTrue( storageAccess.getElementCount() < 10_000 );
+		assertEquals( 16 * 64 * 128, storageAccess.getSizeInMemory() );
+		assertEquals( "value 9999", storageAccess.getFromCache( 9999, null ) );
+
+		storageAccess.evictData();
+		assertEquals( 0, storageAccess.getElementCount() );
+		assertEquals( 0, storageAccess.getSizeInMemory() );
+	}
+
+	@Entity( name = "Item" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.READ_WRITE )
+	public static class Item {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Item() {
+		}
+
+		public Item(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.cache;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.OneToMany;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.internal.SecondLevelCacheWarmUp;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the warm-up of the second-level cache.
+ */
+@DomainModel( annotatedClasses = { SecondLevelCacheWarmUpTest.Country.class, SecondLevelCacheWarmUpTest.Region.class } )
+@ServiceRegistry(
+		settings = {
+				@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+				@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ),
+				// the tables are still empty when the SessionFactory is created
+				@Setting( name = AvailableSettings.CACHE_WARM_UP, value = "Country" )
+		}
+)
+@SessionFactory( statementInspectorClass = SecondLevelCacheWarmUpTest.FailingStatementInspector.class )
+public class SecondLevelCacheWarmUpTest {
+	private static final String REGIONS_ROLE = Country.class.getName() + ".regions";
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= 5; i++ ) {
+				final Country country = new Country( i, "country " + i );
+				for ( int j = 1; j <= 2; j++ ) {
+					final Region region = new Region( i * 10 + j, "region " + j );
+					session.persist( region );
+					country.regions.add( region );
+				}
+				session.persist( country );
+			}
+		} );
+		scope.getSessionFactory().getCache().evictAllRegions();
+	}
+
+	@AfterEach
+	public void cleanUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.createQuery( "from Country", Country.class ).list().forEach( session::remove );
+			session.flush();
+			session.createQuery( "delete from Region" ).executeUpdate();
+		} );
+		scope.getSessionFactory().getCache().evictAllRegions();
+	}
+
+	@Test
+	public void testEntityWarmUp(SessionFactoryScope scope) {
+		final StatisticsImplementor statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+
+		new SecondLevelCacheWarmUp( new String[] { "Country" }, 2, 2, false ).sessionFactoryCreated( scope.getSessionFactory() );
+		assertEquals( 5, statistics.getSecondLevelCacheWarmUpCount() );
+		for ( int i = 1; i <= 5; i++ ) {
+			assertTrue( scope.getSessionFactory().getCache().containsEntity( Country.class, i ) );
+		}
+
+		statistics.clear();
+		scope.inTransaction( session -> assertEquals( "country 3", session.get( Country.class, 3 ).name ) );
+		assertEquals( 1, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+	}
+
+	@Test
+	public void testCollectionWarmUp(SessionFactoryScope scope) {
+		final StatisticsImplementor statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+
+		new SecondLevelCacheWarmUp( new String[] { REGIONS_ROLE }, 3, 1, false ).sessionFactoryCreated( scope.getSessionFactory() );
+		assertEquals( 5, statistics.getSecondLevelCacheWarmUpCount() );
+		// one query for the identifiers of the owners, and one per batch of 3 owners
+		assertEquals( 3, statistics.getPrepareStatementCount() );
+		for ( int i = 1; i <= 5; i++ ) {
+			assertTrue( scope.getSessionFactory().getCache().containsCollection( REGIONS_ROLE, i ) );
+		}
+
+		statistics.clear();
+		scope.inTransaction( session -> assertEquals( 2, session.get( Country.class, 4 ).regions.size() ) );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+	}
+
+	@Test
+	public void testAsyncWarmUp(SessionFactoryScope scope) throws InterruptedException {
+		final StatisticsImplementor statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+
+		new SecondLevelCacheWarmUp( new String[] { "Country" }, 2, 1, true ).sessionFactoryCreated( scope.getSessionFactory() );
+		final long timeout = System.currentTimeMillis() + 10_000L;
+		while ( statistics.getSecondLevelCacheWarmUpCount() < 5 && System.currentTimeMillis() < timeout ) {
+			Thread.sleep( 10L );
+		}
+		assertEquals( 5, statistics.getSecondLevelCacheWarmUpCount() );
+		for ( int i = 1; i <= 5; i++ ) {
+			assertTrue( scope.getSessionFactory().getCache().containsEntity( Country.class, i ) );
+		}
+	}
+
+	@Test
+	public void testFailureStatistics(SessionFactoryScope scope) {
+		final StatisticsImplementor statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+
+		FailingStatementInspector.failingTable = "region";
+		try {
+			new SecondLevelCacheWarmUp( new String[] { "Region", "Country" }, 10, 1, false )
+					.sessionFactoryCreated( scope.getSessionFactory() );
+		}
+		finally {
+			FailingStatementInspector.failingTable = null;
+		}
+		assertEquals( 1, statistics.getSecondLevelCacheWarmUpFailureCount() );
+		assertEquals( 5, statistics.getSecondLevelCacheWarmUpCount() );
+		assertTrue( statistics.getSecondLevelCacheWarmUpTime() >= 0 );
+		assertFalse( scope.getSessionFactory().getCache().containsEntity( Region.class, 11 ) );
+	}
+
+	@Test
+	public void testSettings() {
+		assertNull( SecondLevelCacheWarmUp.fromSettings( Map.of() ) );
+		assertNull( SecondLevelCacheWarmUp.fromSettings( Map.of( AvailableSettings.CACHE_WARM_UP, " " ) ) );
+	}
+
+	public static class FailingStatementInspector implements StatementInspector {
+		private static volatile String failingTable;
+
+		@Override
+		public String inspect(String sql) {
+			final String table = failingTable;
+			if ( table != null && sql.toLowerCase( Locale.ROOT ).contains( " from " + table + " " ) ) {
+				throw new IllegalStateException( "Reading " + table + " failed" );
+			}
+			return sql;
+		}
+	}
+
+	@Entity( name = "Country" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.READ_WRITE )
+	public static class Country {
+		@Id
+		private Integer id;
+		private String name;
+		@OneToMany
+		@Cache( usage = CacheConcurrencyStrategy.READ_WRITE )
+		private Set<Region> regions = new HashSet<>();
+
+		public Country() {
+		}
+
+		public Country(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Region" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.READ_WRITE )
+	public static class Region {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Region() {
+		}
+
+		public Region(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.cache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.LockOptions;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that multi-load and batch fetching read the second-level cache for a whole batch at once.
+ */
+@DomainModel( annotatedClasses = { SharedCacheBulkReadTest.Parent.class, SharedCacheBulkReadTest.Child.class } )
+@ServiceRegistry(
+		settings = {
+				@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+				@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" )
+		}
+)
+@SessionFactory
+public class SharedCacheBulkReadTest {
+	private static final int COUNT = 8;
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= COUNT; i++ ) {
+				final Parent parent = new Parent( i, "parent " + i );
+				session.persist( parent );
+				session.persist( new Child( i, parent ) );
+			}
+		} );
+	}
+
+	@AfterEach
+	public void cleanUp(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.createQuery( "delete from Child" ).executeUpdate();
+			session.createQuery( "delete from Parent" ).executeUpdate();
+		} );
+		scope.getSessionFactory().getCache().evictAllRegions();
+	}
+
+	@Test
+	public void testMultiLoad(SessionFactoryScope scope) {
+		scope.getSessionFactory().getCache().evictEntityData( Parent.class, 1 );
+		final StatisticsImplementor statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+
+		final AtomicInteger cacheReads = new AtomicInteger();
+		scope.inSession( session -> {
+			countCacheReads( session, cacheReads );
+			final List<Parent> parents = session.byMultipleIds( Parent.class )
+					.with( CacheMode.NORMAL )
+					.with( LockOptions.NONE )
+					.multiLoad( 1, 2, 3, 4, 5, 6, 7, 8 );
+			assertEquals( COUNT, parents.size() );
+			for ( int i = 0; i < COUNT; i++ ) {
+				assertEquals( "parent " + ( i + 1 ), parents.get( i ).name );
+			}
+		} );
+
+		assertEquals( 1, cacheReads.get() );
+		assertEquals( COUNT - 1, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 1, statistics.getSecondLevelCacheMissCount() );
+		assertEquals( 1, statistics.getEntityLoadCount() );
+	}
+
+	@Test
+	public void testBatchFetch(SessionFactoryScope scope) {
+		scope.getSessionFactory().getCache().evictEntityData( Parent.class, 1 );
+		scope.getSessionFactory().getCache().evictEntityData( Parent.class, 2 );
+		final StatisticsImplementor statistics = scope.getSessionFactory().getStatistics();
+
+		final AtomicInteger cacheReads = new AtomicInteger();
+		scope.inTransaction( session -> {
+			final List<Child> children = session.createQuery( "from Child order by id", Child.class ).list();
+			countCacheReads( session, cacheReads );
+			statistics.clear();
+
+			Hibernate.initialize( children.get( 0 ).parent );
+			// one read for the parent being loaded, one for the other candidates of the batch
+			assertEquals( 2, cacheReads.get() );
+			assertTrue( Hibernate.isInitialized( children.get( 1 ).parent ) );
+
+			for ( int i = 0; i < COUNT; i++ ) {
+				assertEquals( "parent " + ( i + 1 ), children.get( i ).parent.getName() );
+			}
+		} );
+
+		assertEquals( 2, statistics.getEntityLoadCount() );
+	}
+
+	private static void countCacheReads(SessionImplementor session, AtomicInteger cacheReads) {
+		session.getEventListenerManager().addListener(
+				new BaseSessionEventListener() {
+					@Override
+					public void cacheGetStart() {
+						cacheReads.incrementAndGet();
+					}
+				}
+		);
+	}
+
+	@Entity( name = "Parent" )
+	@Cacheable
+	@Cache( usage = CacheConcurrencyStrategy.READ_WRITE )
+	@BatchSize( size = 10 )
+	public static class Parent {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Parent() {
+		}
+
+		public Parent(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	@Entity( name = "Child" )
+	public static class Child {
+		@Id
+		private Integer id;
+		@ManyToOne( fetch = FetchType.LAZY )
+		private Parent parent;
+
+		public Child() {
+		}
+
+		public Child(Integer id, Parent parent) {
+			this.id = id;
+			this.parent = parent;
+		}
+	}
+}
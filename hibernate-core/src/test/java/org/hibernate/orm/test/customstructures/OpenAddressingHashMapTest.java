@@ -0,0 +1,129 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.customstructures;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.hibernate.internal.util.collections.OpenAddressingHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OpenAddressingHashMapTest {
+
+	@Test
+	public void basicOperations() {
+		final OpenAddressingHashMap<String, Integer> map = new OpenAddressingHashMap<>();
+		assertTrue( map.isEmpty() );
+		assertNull( map.put( "a", 1 ) );
+		assertNull( map.put( "b", 2 ) );
+		assertEquals( 1, map.put( "a", 3 ) );
+		assertEquals( 2, map.size() );
+		assertEquals( 3, map.get( "a" ) );
+		assertTrue( map.containsKey( "b" ) );
+		assertTrue( map.containsValue( 2 ) );
+		assertFalse( map.containsKey( null ) );
+		assertNull( map.get( null ) );
+		assertEquals( 2, map.remove( "b" ) );
+		assertNull( map.remove( "b" ) );
+		assertEquals( 1, map.size() );
+		map.clear();
+		assertTrue( map.isEmpty() );
+		assertNull( map.get( "a" ) );
+	}
+
+	@Test
+	public void collidingKeysSurviveRemoval() {
+		final OpenAddressingHashMap<Colliding, Integer> map = new OpenAddressingHashMap<>();
+		for ( int i = 0; i < 100; i++ ) {
+			map.put( new Colliding( i ), i );
+		}
+		for ( int i = 0; i < 100; i += 2 ) {
+			assertEquals( i, map.remove( new Colliding( i ) ) );
+		}
+		assertEquals( 50, map.size() );
+		for ( int i = 0; i < 100; i++ ) {
+			assertEquals( i % 2 == 0 ? null : i, map.get( new Colliding( i ) ) );
+		}
+	}
+
+	@Test
+	public void behavesLikeHashMap() {
+		final Random random = new Random( 42 );
+		final Map<Integer, Integer> expected = new HashMap<>();
+		final OpenAddressingHashMap<Integer, Integer> map = new OpenAddressingHashMap<>();
+		for ( int i = 0; i < 200_000; i++ ) {
+			// a narrow key range to exercise wrap-around and backward shifting
+			final Integer key = random.nextInt( 5_000 );
+			if ( random.nextInt( 3 ) == 0 ) {
+				assertEquals( expected.remove( key ), map.remove( key ) );
+			}
+			else {
+				assertEquals( expected.put( key, i ), map.put( key, i ) );
+			}
+		}
+		assertEquals( expected, map );
+		assertEquals( map, expected );
+		assertEquals( expected.keySet(), map.keySet() );
+		assertEquals( new HashSet<>( expected.values() ), new HashSet<>( map.values() ) );
+	}
+
+	@Test
+	public void iteratorRemoval() {
+		final OpenAddressingHashMap<Integer, Integer> map = new OpenAddressingHashMap<>( 4 );
+		for ( int i = 0; i < 1_000; i++ ) {
+			map.put( i, i );
+		}
+
+		final Set<Integer> visited = new HashSet<>();
+		final Iterator<Map.Entry<Integer, Integer>> iterator = map.entrySet().iterator();
+		while ( iterator.hasNext() ) {
+			final Map.Entry<Integer, Integer> entry = iterator.next();
+			assertTrue( visited.add( entry.getKey() ), "visited twice: " + entry.getKey() );
+			if ( entry.getKey() % 3 != 0 ) {
+				iterator.remove();
+			}
+			else {
+				entry.setValue( -entry.getKey() );
+			}
+		}
+
+		assertEquals( 1_000, visited.size() );
+		assertEquals( 334, map.size() );
+		map.forEach( (key, value) -> {
+			assertEquals( 0, key % 3 );
+			assertEquals( -key, value );
+		} );
+	}
+
+	private static class Colliding {
+		private final int value;
+
+		private Colliding(int value) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Colliding && ( (Colliding) o ).value == value;
+		}
+
+		@Override
+		public int hashCode() {
+			return value % 3;
+		}
+	}
+}
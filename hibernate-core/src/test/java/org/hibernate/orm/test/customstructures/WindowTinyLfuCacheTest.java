@@ -0,0 +1,111 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.customstructures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.internal.util.collections.WindowTinyLfuCache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WindowTinyLfuCacheTest {
+
+	@Test
+	public void basicOperations() {
+		final WindowTinyLfuCache<String, Integer> cache = new WindowTinyLfuCache<>( 10 );
+		assertTrue( cache.isEmpty() );
+		assertNull( cache.put( "a", 1 ) );
+		assertNull( cache.put( "b", 2 ) );
+		assertEquals( 1, cache.put( "a", 3 ) );
+		assertEquals( 2, cache.size() );
+		assertEquals( 3, cache.get( "a" ) );
+		assertNull( cache.get( "c" ) );
+		assertEquals( 2, cache.computeIfAbsent( "b", k -> 4 ) );
+		assertEquals( 5, cache.computeIfAbsent( "c", k -> 5 ) );
+		assertNull( cache.computeIfAbsent( "d", k -> null ) );
+		assertTrue( cache.keySet().contains( "c" ) );
+		assertFalse( cache.remove( "c", 6 ) );
+		assertTrue( cache.remove( "c", 5 ) );
+		assertEquals( 2, cache.remove( "b" ) );
+		assertNull( cache.remove( "b" ) );
+		assertEquals( 1, cache.size() );
+		cache.clear();
+		assertTrue( cache.isEmpty() );
+		assertNull( cache.get( "a" ) );
+	}
+
+	@Test
+	public void boundedSize() {
+		final AtomicInteger evictions = new AtomicInteger();
+		final WindowTinyLfuCache<Integer, Integer> cache = new WindowTinyLfuCache<>( 100, key -> evictions.incrementAndGet() );
+		for ( int i = 0; i < 10_000; i++ ) {
+			cache.put( i, i );
+		}
+		assertEquals( 100, cache.size() );
+		assertEquals( 9_900, evictions.get() );
+	}
+
+	@Test
+	public void frequentEntriesSurviveScans() {
+		final WindowTinyLfuCache<Integer, Integer> cache = new WindowTinyLfuCache<>( 100 );
+		for ( int i = 0; i < 50; i++ ) {
+			cache.put( i, i );
+		}
+		for ( int round = 0; round < 10; round++ ) {
+			for ( int i = 0; i < 50; i++ ) {
+				assertEquals( i, cache.get( i ) );
+			}
+		}
+		// a scan of entries used once does not flush the frequently used ones
+		for ( int i = 1_000; i < 2_000; i++ ) {
+			cache.put( i, i );
+		}
+		for ( int i = 0; i < 50; i++ ) {
+			assertEquals( i, cache.get( i ) );
+		}
+		assertEquals( 100, cache.size() );
+	}
+
+	@Test
+	public void concurrentAccess() throws Exception {
+		final WindowTinyLfuCache<Integer, Integer> cache = new WindowTinyLfuCache<>( 100 );
+		final List<Thread> threads = new ArrayList<>();
+		for ( int t = 0; t < 8; t++ ) {
+			threads.add( new Thread( () -> {
+				final ThreadLocalRandom random = ThreadLocalRandom.current();
+				for ( int i = 0; i < 50_000; i++ ) {
+					final int key = random.nextInt( 1_000 );
+					final Integer value = cache.get( key );
+					if ( value == null ) {
+						cache.computeIfAbsent( key, k -> k );
+					}
+					else {
+						assertEquals( key, value );
+						if ( i % 100 == 0 ) {
+							cache.remove( key );
+						}
+					}
+				}
+			} ) );
+		}
+		for ( Thread thread : threads ) {
+			thread.start();
+		}
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		assertTrue( cache.size() <= 100 );
+	}
+}
@@ -6,6 +6,15 @@
  */
 package org.hibernate.orm.test.id.enhanced;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.id.enhanced.AccessCallback;
@@ -17,6 +26,7 @@ import org.hibernate.testing.orm.junit.BaseUnitTest;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * {@inheritDoc}
@@ -299,6 +309,101 @@ public class OptimizerUnitTest {
 
 	}
 
+	@Test
+	public void testBasicStripedPooledOptimizerUsage() {
+		final SourceMock sequence = new SourceMock( 1, 10 );
+		final Optimizer optimizer = buildStripedPooledOptimizer( -1, 10 );
+
+		assertEquals( 0, sequence.getTimesCalled() );
+		assertEquals( -1, sequence.getCurrentValue() );
+
+		Long next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 1, next.intValue() );
+		assertEquals( 2, sequence.getTimesCalled() );
+		assertEquals( 11, sequence.getCurrentValue() );
+
+		for ( int i = 2; i <= 5; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 2, sequence.getTimesCalled() );
+
+		// half of the block is used up : the next block gets prefetched
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 6, next.intValue() );
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+
+		// switching over to the prefetched block does not hit the sequence
+		for ( int i = 7; i <= 12; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, optimizer.getLastSourceValue().makeValue().intValue() );
+	}
+
+	@Test
+	public void testSubsequentStripedPooledOptimizerUsage() {
+		final SourceMock sequence = new SourceMock( 1001, 3, 5 );
+		final Optimizer optimizer = buildStripedPooledOptimizer( 1, 3 );
+
+		Long next = (Long) optimizer.generate( sequence );
+		assertEquals( 1001 + 1, next.intValue() );
+		assertEquals( 5 + 1, sequence.getTimesCalled() );
+		assertEquals( 1001 + 3, sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testConcurrentStripedPooledOptimizerUsage() throws Exception {
+		final SourceMock sequence = new SourceMock( 1, 50 );
+		final AccessCallback callback = new AccessCallback() {
+			@Override
+			public IntegralDataTypeHolder getNextValue() {
+				synchronized ( sequence ) {
+					return sequence.getNextValue();
+				}
+			}
+
+			@Override
+			public String getTenantIdentifier() {
+				return null;
+			}
+		};
+		final Optimizer optimizer = buildStripedPooledOptimizer( -1, 50 );
+
+		final int threads = 8;
+		final int idsPerThread = 10_000;
+		final Set<Long> ids = ConcurrentHashMap.newKeySet();
+		final ExecutorService executor = Executors.newFixedThreadPool( threads );
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for ( int t = 0; t < threads; t++ ) {
+				futures.add(
+						executor.submit(
+								() -> {
+									for ( int i = 0; i < idsPerThread; i++ ) {
+										assertTrue( ids.add( (Long) optimizer.generate( callback ) ) );
+									}
+								}
+						)
+				);
+			}
+			for ( Future<?> future : futures ) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+			executor.awaitTermination( 10, TimeUnit.SECONDS );
+		}
+
+		assertEquals( threads * idsPerThread, ids.size() );
+		for ( Long id : ids ) {
+			assertTrue( id >= 1 && id <= sequence.getCurrentValue() );
+		}
+	}
+
 	private static Optimizer buildNoneOptimizer(long initial, int increment) {
 		return buildOptimizer( StandardOptimizerDescriptor.NONE, initial, increment );
 	}
@@ -319,6 +424,10 @@ public class OptimizerUnitTest {
 		return buildOptimizer( StandardOptimizerDescriptor.POOLED_LOTL, initial, increment );
 	}
 
+	private static Optimizer buildStripedPooledOptimizer(long initial, int increment) {
+		return buildOptimizer( StandardOptimizerDescriptor.POOLED_STRIPED, initial, increment );
+	}
+
 	private static Optimizer buildOptimizer(
 			StandardOptimizerDescriptor descriptor,
 			long initial,
@@ -6,6 +6,9 @@
  */
 package org.hibernate.orm.test.loading.multiLoad;
 
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Objects;
 
@@ -13,6 +16,7 @@ import org.hibernate.CacheMode;
 import org.hibernate.annotations.BatchSize;
 import org.hibernate.cache.spi.access.AccessType;
 import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
@@ -22,14 +26,19 @@ import org.hibernate.stat.Statistics;
 
 import org.hibernate.testing.TestForIssue;
 import org.hibernate.testing.jdbc.SQLStatementInspector;
+import org.hibernate.testing.orm.jdbc.PreparedStatementSpyConnectionProvider;
 import org.hibernate.testing.orm.junit.DomainModel;
 import org.hibernate.testing.orm.junit.ServiceRegistry;
 import org.hibernate.testing.orm.junit.SessionFactory;
 import org.hibernate.testing.orm.junit.SessionFactoryScope;
 import org.hibernate.testing.orm.junit.Setting;
+import org.hibernate.testing.orm.junit.SettingProvider;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
 
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
@@ -53,8 +62,13 @@ import static org.junit.Assert.assertTrue;
 		settings = {
 				@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
 				@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ),
-				@Setting( name = AvailableSettings.HBM2DDL_DATABASE_ACTION, value = "create-drop" )
-		}
+				@Setting( name = AvailableSettings.HBM2DDL_DATABASE_ACTION, value = "create-drop" ),
+				@Setting( name = AvailableSettings.BATCH_FETCH_ARRAY_PARAMETER, value = "true" )
+		},
+		settingProviders = @SettingProvider(
+				settingName = AvailableSettings.CONNECTION_PROVIDER,
+				provider = MultiLoadTest.ConnectionProviderSettingProvider.class
+		)
 )
 @DomainModel(
 		annotatedClasses = MultiLoadTest.SimpleEntity.class,
@@ -83,6 +97,9 @@ public class MultiLoadTest {
 					session.createQuery( "delete SimpleEntity" ).executeUpdate();
 				}
 		);
+		( (PreparedStatementSpyConnectionProvider) scope.getSessionFactory()
+				.getServiceRegistry()
+				.getService( ConnectionProvider.class ) ).clear();
 	}
 
 	@Test
@@ -95,11 +112,7 @@ public class MultiLoadTest {
 					List<SimpleEntity> list = session.byMultipleIds( SimpleEntity.class ).multiLoad( ids( 5 ) );
 					assertEquals( 5, list.size() );
 
-					final int paramCount = StringHelper.countUnquoted(
-							statementInspector.getSqlQueries().get( 0 ),
-							'?'
-					);
-					assertThat( paramCount, is( 5 ) );
+					assertKeyCount( scope, statementInspector.getSqlQueries().get( 0 ), 5 );
 				}
 		);
 	}
@@ -247,11 +260,7 @@ public class MultiLoadTest {
 						assertTrue( session.contains( entity ) );
 					}
 
-					final int paramCount = StringHelper.countUnquoted(
-							statementInspector.getSqlQueries().get( 0 ),
-							'?'
-					);
-					assertThat( paramCount, is( 2 ) );
+					assertKeyCount( scope, statementInspector.getSqlQueries().get( 0 ), 2 );
 				}
 		);
 	}
@@ -302,11 +311,7 @@ public class MultiLoadTest {
 					for ( SimpleEntity entity : entities ) {
 						assertTrue( session.contains( entity ) );
 					}
-					final int paramCount = StringHelper.countUnquoted(
-							statementInspector.getSqlQueries().get( 0 ),
-							'?'
-					);
-					assertThat( paramCount, is( 2 ) );
+					assertKeyCount( scope, statementInspector.getSqlQueries().get( 0 ), 2 );
 				}
 		);
 	}
@@ -333,11 +338,7 @@ public class MultiLoadTest {
 
 					assertNull( entities.get( 1 ) );
 
-					final int paramCount = StringHelper.countUnquoted(
-							statementInspector.getSqlQueries().get( 0 ),
-							'?'
-					);
-					assertThat( paramCount, is( 2 ) );
+					assertKeyCount( scope, statementInspector.getSqlQueries().get( 0 ), 2 );
 				}
 		);
 	}
@@ -370,11 +371,7 @@ public class MultiLoadTest {
 							.getEntry( deletedEntity );
 					assertTrue( entry.getStatus() == Status.DELETED || entry.getStatus() == Status.GONE );
 
-					final int paramCount = StringHelper.countUnquoted(
-							statementInspector.getSqlQueries().get( 0 ),
-							'?'
-					);
-					assertThat( paramCount, is( 2 ) );
+					assertKeyCount( scope, statementInspector.getSqlQueries().get( 0 ), 2 );
 				} );
 	}
 
@@ -400,11 +397,7 @@ public class MultiLoadTest {
 
 					assertTrue( entities.stream().anyMatch( Objects::isNull ) );
 
-					final int paramCount = StringHelper.countUnquoted(
-							statementInspector.getSqlQueries().get( 0 ),
-							'?'
-					);
-					assertThat( paramCount, is( 2 ) );
+					assertKeyCount( scope, statementInspector.getSqlQueries().get( 0 ), 2 );
 				} );
 	}
 
@@ -437,11 +430,7 @@ public class MultiLoadTest {
 							.getEntry( deletedEntity );
 					assertTrue( entry.getStatus() == Status.DELETED || entry.getStatus() == Status.GONE );
 
-					final int paramCount = StringHelper.countUnquoted(
-							statementInspector.getSqlQueries().get( 0 ),
-							'?'
-					);
-					assertThat( paramCount, is( 2 ) );
+					assertKeyCount( scope, statementInspector.getSqlQueries().get( 0 ), 2 );
 				} );
 	}
 
@@ -490,6 +479,36 @@ public class MultiLoadTest {
 		);
 	}
 
+	private static void assertKeyCount(SessionFactoryScope scope, String sql, int expectedKeyCount) {
+		final int paramCount = StringHelper.countUnquoted( sql, '?' );
+		if ( scope.getSessionFactory().getJdbcServices().getDialect().getArrayInListPattern() != null ) {
+			// the keys are bound as the elements of a single array parameter
+			assertThat( paramCount, is( 1 ) );
+			assertThat( getBoundArray( scope, sql ).length, is( expectedKeyCount ) );
+		}
+		else {
+			assertThat( paramCount, is( expectedKeyCount ) );
+		}
+	}
+
+	private static Object[] getBoundArray(SessionFactoryScope scope, String sql) {
+		final PreparedStatementSpyConnectionProvider connectionProvider = (PreparedStatementSpyConnectionProvider) scope
+				.getSessionFactory()
+				.getServiceRegistry()
+				.getService( ConnectionProvider.class );
+		final List<PreparedStatement> statements = connectionProvider.getPreparedStatements( sql );
+		assertFalse( statements.isEmpty() );
+		final ArgumentCaptor<Array> arrayCaptor = ArgumentCaptor.forClass( Array.class );
+		try {
+			Mockito.verify( statements.get( statements.size() - 1 ) )
+					.setArray( ArgumentMatchers.eq( 1 ), arrayCaptor.capture() );
+			return (Object[]) arrayCaptor.getValue().getArray();
+		}
+		catch (SQLException e) {
+			throw new AssertionError( e );
+		}
+	}
+
 	private Integer[] ids(int count) {
 		Integer[] ids = new Integer[count];
 		for ( int i = 1; i <= count; i++ ) {
@@ -531,4 +550,12 @@ public class MultiLoadTest {
 			this.text = text;
 		}
 	}
+
+	public static class ConnectionProviderSettingProvider implements SettingProvider.Provider<PreparedStatementSpyConnectionProvider> {
+		@Override
+		public PreparedStatementSpyConnectionProvider getSetting() {
+			// the statements must be verifiable to capture the bound arrays
+			return new PreparedStatementSpyConnectionProvider( true, false );
+		}
+	}
 }
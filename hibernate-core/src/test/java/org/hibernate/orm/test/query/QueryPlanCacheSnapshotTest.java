@@ -0,0 +1,82 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.query;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.query.internal.QueryPlanCacheSnapshot;
+import org.hibernate.query.spi.QueryInterpretationCache;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the dump and restore of the HQL interpretations of the query plan cache.
+ */
+@DomainModel( annotatedClasses = QueryPlanCacheSnapshotTest.Item.class )
+@SessionFactory
+public class QueryPlanCacheSnapshotTest {
+	private static final String SIMPLE_QUERY = "select i.name from Item i";
+	private static final String MULTILINE_QUERY = "select i\nfrom Item i\r\nwhere i.name like '%\\%'";
+
+	@Test
+	public void testDumpAndRestore(SessionFactoryScope scope, @TempDir Path directory) throws Exception {
+		final Path file = directory.resolve( "snapshot" ).resolve( "queries.txt" );
+		final QueryPlanCacheSnapshot snapshot = new QueryPlanCacheSnapshot( file );
+		final QueryInterpretationCache interpretationCache = scope.getSessionFactory()
+				.getQueryEngine()
+				.getInterpretationCache();
+		interpretationCache.close();
+
+		scope.inTransaction( session -> {
+			session.createQuery( SIMPLE_QUERY, String.class ).list();
+			session.createQuery( MULTILINE_QUERY, Item.class ).list();
+		} );
+		snapshot.sessionFactoryClosing( scope.getSessionFactory() );
+		assertEquals( 2, Files.readAllLines( file, StandardCharsets.UTF_8 ).size() );
+
+		// queries which no longer compile are skipped
+		Files.write( file, List.of( "from Missing" ), StandardCharsets.UTF_8, StandardOpenOption.APPEND );
+		interpretationCache.close();
+		assertEquals( 0, interpretationCache.getNumberOfCachedHqlInterpretations() );
+
+		snapshot.sessionFactoryCreated( scope.getSessionFactory() );
+		assertEquals( 2, interpretationCache.getNumberOfCachedHqlInterpretations() );
+		assertTrue( interpretationCache.getCachedHqlQueryStrings().contains( SIMPLE_QUERY ) );
+		assertTrue( interpretationCache.getCachedHqlQueryStrings().contains( MULTILINE_QUERY ) );
+		assertFalse( interpretationCache.getCachedHqlQueryStrings().contains( "from Missing" ) );
+	}
+
+	@Test
+	public void testSettings() {
+		assertNull( QueryPlanCacheSnapshot.fromSettings( Map.of() ) );
+		assertNull( QueryPlanCacheSnapshot.fromSettings( Map.of( AvailableSettings.QUERY_PLAN_CACHE_SNAPSHOT, " " ) ) );
+	}
+
+	@Entity( name = "Item" )
+	public static class Item {
+		@Id
+		private Integer id;
+		private String name;
+	}
+}
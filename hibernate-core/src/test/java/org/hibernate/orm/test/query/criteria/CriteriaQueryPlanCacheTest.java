@@ -0,0 +1,248 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.query.criteria;
+
+import java.util.List;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.query.Query;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the caching of the plans of structurally identical criteria queries.
+ */
+@DomainModel( annotatedClasses = { CriteriaQueryPlanCacheTest.Category.class, CriteriaQueryPlanCacheTest.Item.class } )
+@ServiceRegistry( settings = @Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ) )
+@SessionFactory
+public class CriteriaQueryPlanCacheTest {
+
+	@BeforeAll
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final Category tools = new Category( 1, "tools" );
+			final Category toys = new Category( 2, "toys" );
+			session.persist( tools );
+			session.persist( toys );
+			session.persist( new Item( 1, "hammer", 10, tools ) );
+			session.persist( new Item( 2, "saw", 20, tools ) );
+			session.persist( new Item( 3, "ball", 5, toys ) );
+		} );
+	}
+
+	@AfterAll
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.createMutationQuery( "delete Item" ).executeUpdate();
+			session.createMutationQuery( "delete Category" ).executeUpdate();
+		} );
+	}
+
+	@BeforeEach
+	public void clearCaches(SessionFactoryScope scope) {
+		scope.getSessionFactory().getQueryEngine().getInterpretationCache().close();
+		scope.getSessionFactory().getStatistics().clear();
+	}
+
+	@Test
+	public void testValues(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> {
+			assertEquals( List.of( "hammer" ), namesByPrice( session, 10 ) );
+			assertEquals( 0, statistics.getQueryPlanCacheHitCount() );
+			assertEquals( List.of( "saw" ), namesByPrice( session, 20 ) );
+			assertEquals( List.of(), namesByPrice( session, 30 ) );
+			assertEquals( 2, statistics.getQueryPlanCacheHitCount() );
+			assertEquals( 1, statistics.getQueryPlanCacheMissCount() );
+		} );
+	}
+
+	@Test
+	public void testParameters(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> {
+			for ( int i = 0; i < 3; i++ ) {
+				final CriteriaBuilder cb = session.getCriteriaBuilder();
+				final CriteriaQuery<String> criteria = cb.createQuery( String.class );
+				final Root<Item> item = criteria.from( Item.class );
+				final ParameterExpression<Integer> min = cb.parameter( Integer.class, "min" );
+				final ParameterExpression<Integer> max = cb.parameter( Integer.class );
+				criteria.select( item.get( "name" ) )
+						.where( cb.between( item.get( "price" ), min, max ) )
+						.orderBy( cb.asc( item.get( "price" ) ) );
+				assertEquals(
+						List.of( "ball", "hammer" ),
+						session.createQuery( criteria )
+								.setParameter( "min", 0 )
+								.setParameter( max, 15 )
+								.getResultList()
+				);
+			}
+			assertEquals( 2, statistics.getQueryPlanCacheHitCount() );
+		} );
+	}
+
+	@Test
+	public void testJoinsAndSubqueries(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> {
+			assertEquals( List.of( "hammer" ), cheapestOfCategory( session, "tools" ) );
+			assertEquals( List.of( "ball" ), cheapestOfCategory( session, "toys" ) );
+			assertEquals( 1, statistics.getQueryPlanCacheHitCount() );
+		} );
+	}
+
+	@Test
+	public void testDifferentStructures(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> {
+			final CriteriaBuilder cb = session.getCriteriaBuilder();
+			final CriteriaQuery<String> criteria = cb.createQuery( String.class );
+			final Root<Item> item = criteria.from( Item.class );
+			criteria.select( item.get( "name" ) ).where( cb.greaterThan( item.get( "price" ), 10 ) );
+			assertEquals( List.of( "saw" ), session.createQuery( criteria ).getResultList() );
+			assertEquals( List.of( "hammer" ), namesByPrice( session, 10 ) );
+			assertEquals( 0, statistics.getQueryPlanCacheHitCount() );
+			assertEquals( 2, statistics.getQueryPlanCacheMissCount() );
+		} );
+	}
+
+	@Test
+	public void testModifiedCriteria(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final CriteriaBuilder cb = session.getCriteriaBuilder();
+			final CriteriaQuery<String> criteria = cb.createQuery( String.class );
+			final Root<Item> item = criteria.from( Item.class );
+			criteria.select( item.get( "name" ) ).where( cb.equal( item.get( "price" ), 10 ) );
+			assertEquals( List.of( "hammer" ), session.createQuery( criteria ).getResultList() );
+
+			// the cached plan does not see the changes of the tree it was built from
+			criteria.where( cb.equal( item.get( "name" ), "saw" ) );
+			assertEquals( List.of( "saw" ), session.createQuery( criteria ).getResultList() );
+			assertEquals( List.of( "hammer" ), namesByPrice( session, 10 ) );
+		} );
+	}
+
+	@Test
+	public void testCriteriaModifiedAfterCreateQuery(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> {
+			final CriteriaBuilder cb = session.getCriteriaBuilder();
+			final CriteriaQuery<String> criteria = cb.createQuery( String.class );
+			final Root<Item> item = criteria.from( Item.class );
+			criteria.select( item.get( "name" ) ).where( cb.equal( item.get( "price" ), 10 ) );
+			final Query<String> query = session.createQuery( criteria );
+
+			// the plan is cached under the structure of the tree it was built from
+			criteria.where( cb.isNotNull( item.get( "category" ) ) ).orderBy( cb.desc( item.get( "price" ) ) );
+			assertEquals( List.of( "saw", "hammer", "ball" ), query.getResultList() );
+			assertEquals( List.of( "hammer" ), namesByPrice( session, 10 ) );
+			assertEquals( List.of( "saw" ), namesByPrice( session, 20 ) );
+			assertEquals( 1, statistics.getQueryPlanCacheHitCount() );
+			assertEquals( 2, statistics.getQueryPlanCacheMissCount() );
+		} );
+	}
+
+	@Test
+	public void testTupleNotCached(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		scope.inTransaction( session -> {
+			for ( int i = 0; i < 2; i++ ) {
+				final CriteriaBuilder cb = session.getCriteriaBuilder();
+				final CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+				final Root<Item> item = criteria.from( Item.class );
+				criteria.multiselect( item.get( "name" ).alias( "name" ) ).where( cb.equal( item.get( "price" ), 5 ) );
+				assertEquals( "ball", session.createQuery( criteria ).getSingleResult().get( "name" ) );
+			}
+			assertEquals( 0, statistics.getQueryPlanCacheHitCount() );
+		} );
+	}
+
+	private static List<String> namesByPrice(SessionImplementor session, int price) {
+		final CriteriaBuilder cb = session.getCriteriaBuilder();
+		final CriteriaQuery<String> criteria = cb.createQuery( String.class );
+		final Root<Item> item = criteria.from( Item.class );
+		criteria.select( item.get( "name" ) ).where( cb.equal( item.get( "price" ), price ) );
+		return session.createQuery( criteria ).getResultList();
+	}
+
+	private static List<String> cheapestOfCategory(SessionImplementor session, String categoryName) {
+		final CriteriaBuilder cb = session.getCriteriaBuilder();
+		final CriteriaQuery<String> criteria = cb.createQuery( String.class );
+		final Root<Item> item = criteria.from( Item.class );
+		final Join<Item, Category> category = item.join( "category" );
+
+		final Subquery<Integer> minPrice = criteria.subquery( Integer.class );
+		final Root<Item> other = minPrice.from( Item.class );
+		minPrice.select( cb.min( other.get( "price" ) ) )
+				.where( cb.equal( other.get( "category" ), item.get( "category" ) ) );
+
+		criteria.select( item.get( "name" ) )
+				.where(
+						cb.equal( category.get( "name" ), categoryName ),
+						cb.equal( item.get( "price" ), minPrice )
+				);
+		return session.createQuery( criteria ).getResultList();
+	}
+
+	@Entity( name = "Category" )
+	public static class Category {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Category() {
+		}
+
+		public Category(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity( name = "Item" )
+	public static class Item {
+		@Id
+		private Integer id;
+		private String name;
+		private int price;
+		@ManyToOne
+		private Category category;
+
+		public Item() {
+		}
+
+		public Item(Integer id, String name, int price, Category category) {
+			this.id = id;
+			this.name = name;
+			this.price = price;
+			this.category = category;
+		}
+	}
+}
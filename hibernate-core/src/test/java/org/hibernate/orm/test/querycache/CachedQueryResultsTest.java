@@ -0,0 +1,211 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.querycache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.cache.spi.QueryKey;
+import org.hibernate.cache.spi.QueryResultsCache;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.sql.results.caching.CachedQueryResults;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.cache.CachingRegionFactory;
+import org.hibernate.testing.cache.MapStorageAccessImpl;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests that query results are cached as {@link CachedQueryResults}, shared without copying.
+ */
+@DomainModel( annotatedClasses = CachedQueryResultsTest.Person.class )
+@ServiceRegistry(
+		settings = {
+				@Setting( name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true" ),
+				@Setting( name = AvailableSettings.USE_QUERY_CACHE, value = "true" ),
+				@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ),
+				@Setting(
+						name = AvailableSettings.CACHE_REGION_FACTORY,
+						value = "org.hibernate.orm.test.querycache.CachedQueryResultsTest$RecordingRegionFactory"
+				)
+		}
+)
+@SessionFactory
+public class CachedQueryResultsTest {
+
+	private static final String ENTITY_QUERY = "from Person order by id";
+	private static final String SCALAR_QUERY = "select p.id, p.name from Person p order by p.id";
+
+	@BeforeAll
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.persist( new Person( 1, "John" ) );
+			session.persist( new Person( 2, "Jane" ) );
+		} );
+	}
+
+	@BeforeEach
+	public void clearCache(SessionFactoryScope scope) {
+		scope.getSessionFactory().getCache().evictQueryRegions();
+		RecordingStorageAccess.lastKey = null;
+	}
+
+	@Test
+	public void testCachedListIsSharedOnHit(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createQuery( ENTITY_QUERY, Person.class ).setCacheable( true ).list() );
+
+		assertNotNull( RecordingStorageAccess.lastKey );
+
+		scope.inSession( session -> {
+			final List<?> results = getCachedResults( scope, session );
+			assertThat( results, instanceOf( CachedQueryResults.class ) );
+			assertSame( results, getCachedResults( scope, session ) );
+		} );
+	}
+
+	@Test
+	public void testResultsFromHitEqualOriginalResults(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		final List<Person> people = scope.fromTransaction(
+				session -> session.createQuery( ENTITY_QUERY, Person.class ).setCacheable( true ).list()
+		);
+		final List<Object[]> rows = scope.fromTransaction(
+				session -> session.createQuery( SCALAR_QUERY, Object[].class ).setCacheable( true ).list()
+		);
+
+		statistics.clear();
+		scope.inTransaction( session -> {
+			final List<Person> cachedPeople = session.createQuery( ENTITY_QUERY, Person.class )
+					.setCacheable( true )
+					.list();
+			assertEquals( people.size(), cachedPeople.size() );
+			for ( int i = 0; i < people.size(); i++ ) {
+				assertEquals( people.get( i ).id, cachedPeople.get( i ).id );
+				assertEquals( people.get( i ).name, cachedPeople.get( i ).name );
+			}
+
+			final List<Object[]> cachedRows = session.createQuery( SCALAR_QUERY, Object[].class )
+					.setCacheable( true )
+					.list();
+			assertEquals( rows.size(), cachedRows.size() );
+			for ( int i = 0; i < rows.size(); i++ ) {
+				assertArrayEquals( rows.get( i ), cachedRows.get( i ) );
+			}
+		} );
+		assertEquals( 2, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testCachedRowsAreNotChangedByCaller(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createQuery( SCALAR_QUERY, Object[].class ).setCacheable( true ).list() );
+		final CachedQueryResults cachedResults = scope.fromSession(
+				session -> (CachedQueryResults) getCachedResults( scope, session )
+		);
+		final List<Object[]> cachedRowsBefore = copyRows( cachedResults );
+
+		scope.inTransaction( session -> {
+			final List<Object[]> rows = session.createQuery( SCALAR_QUERY, Object[].class )
+					.setCacheable( true )
+					.list();
+			for ( Object[] row : rows ) {
+				row[0] = -1;
+				row[1] = "changed";
+			}
+			rows.clear();
+		} );
+
+		final List<Object[]> cachedRowsAfter = copyRows( cachedResults );
+		assertEquals( cachedRowsBefore.size(), cachedRowsAfter.size() );
+		for ( int i = 0; i < cachedRowsBefore.size(); i++ ) {
+			assertArrayEquals( cachedRowsBefore.get( i ), cachedRowsAfter.get( i ) );
+		}
+
+		scope.inTransaction( session -> {
+			final List<Object[]> rows = session.createQuery( SCALAR_QUERY, Object[].class )
+					.setCacheable( true )
+					.list();
+			assertEquals( 2, rows.size() );
+			assertArrayEquals( new Object[] { 1, "John" }, rows.get( 0 ) );
+			assertArrayEquals( new Object[] { 2, "Jane" }, rows.get( 1 ) );
+		} );
+	}
+
+	private static List<?> getCachedResults(SessionFactoryScope scope, Session session) {
+		final QueryResultsCache queryResultsCache = scope.getSessionFactory()
+				.getCache()
+				.getDefaultQueryResultsCache();
+		return queryResultsCache.get(
+				RecordingStorageAccess.lastKey,
+				Collections.emptySet(),
+				(SharedSessionContractImplementor) session
+		);
+	}
+
+	private static List<Object[]> copyRows(CachedQueryResults cachedResults) {
+		final List<Object[]> rows = new ArrayList<>();
+		for ( Object[] row : cachedResults.getRows() ) {
+			rows.add( row.clone() );
+		}
+		return rows;
+	}
+
+	public static class RecordingRegionFactory extends CachingRegionFactory {
+		@Override
+		protected StorageAccess createQueryResultsRegionStorageAccess(
+				String regionName,
+				SessionFactoryImplementor sessionFactory) {
+			return new RecordingStorageAccess();
+		}
+	}
+
+	public static class RecordingStorageAccess extends MapStorageAccessImpl {
+		private static volatile QueryKey lastKey;
+
+		@Override
+		public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+			super.putIntoCache( key, value, session );
+			lastKey = (QueryKey) key;
+		}
+	}
+
+	@Entity( name = "Person" )
+	public static class Person {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Person() {
+		}
+
+		public Person(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.session;
+
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.internal.util.collections.OpenAddressingHashMap;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DomainModel(annotatedClasses = OpenAddressingPersistenceContextTest.Item.class)
+@ServiceRegistry(settings = @Setting(name = AvailableSettings.PERSISTENCE_CONTEXT_OPEN_ADDRESSING_MAPS, value = "true"))
+@SessionFactory
+public class OpenAddressingPersistenceContextTest {
+
+	@BeforeEach
+	public void createItems(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( long i = 0; i < 100; i++ ) {
+				session.persist( new Item( i, "item #" + i ) );
+			}
+		} );
+	}
+
+	@AfterEach
+	public void dropItems(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Item" ).executeUpdate() );
+	}
+
+	@Test
+	public void testLoadEvictAndFlush(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final List<Item> items = session.createQuery( "from Item order by id", Item.class ).getResultList();
+			assertEquals( 100, items.size() );
+
+			final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+			assertThat( persistenceContext.getEntitiesByKey(), instanceOf( OpenAddressingHashMap.class ) );
+			assertEquals( 100, persistenceContext.getEntitiesByKey().size() );
+
+			final EntityPersister persister = scope.getSessionFactory()
+					.getMappingMetamodel()
+					.getEntityDescriptor( Item.class );
+			assertSame( items.get( 42 ), persistenceContext.getEntity( new EntityKey( 42L, persister ) ) );
+
+			for ( int i = 0; i < 100; i += 2 ) {
+				session.evict( items.get( i ) );
+			}
+			assertEquals( 50, persistenceContext.getEntitiesByKey().size() );
+			assertFalse( persistenceContext.containsEntity( new EntityKey( 42L, persister ) ) );
+
+			for ( int i = 1; i < 100; i += 2 ) {
+				items.get( i ).setName( "updated" );
+			}
+		} );
+
+		scope.inTransaction( session -> assertEquals(
+				50L,
+				session.createQuery( "select count(*) from Item where name = 'updated'", Long.class ).getSingleResult()
+		) );
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		private Long id;
+		private String name;
+
+		public Item() {
+		}
+
+		public Item(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+}
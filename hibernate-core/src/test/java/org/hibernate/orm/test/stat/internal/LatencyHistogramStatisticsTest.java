@@ -0,0 +1,114 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.stat.internal;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.LatencyHistogram;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DomainModel(annotatedClasses = LatencyHistogramStatisticsTest.Employee.class)
+@ServiceRegistry(settings = {
+		@Setting( name = AvailableSettings.GENERATE_STATISTICS, value = "true" ),
+		@Setting( name = AvailableSettings.STATISTICS_LATENCY_HISTOGRAMS, value = "true" ),
+		@Setting( name = AvailableSettings.STATISTICS_LATENCY_HISTOGRAM_PRECISION, value = "1" ),
+		@Setting( name = AvailableSettings.STATISTICS_LATENCY_HISTOGRAM_QUERY_MAX_SIZE, value = "1" )
+})
+@SessionFactory
+public class LatencyHistogramStatisticsTest {
+
+	private static final String QUERY = "select e from Employee e";
+
+	@BeforeAll
+	public void createEmployees(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= 5; i++ ) {
+				session.persist( new Employee( i, "Employee " + i ) );
+			}
+		} );
+	}
+
+	@Test
+	public void testQueryAndEntityLoadHistograms(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+
+		for ( int i = 0; i < 3; i++ ) {
+			scope.inTransaction( session -> session.createQuery( QUERY ).list() );
+		}
+		for ( int i = 1; i <= 5; i++ ) {
+			final int id = i;
+			scope.inTransaction( session -> session.get( Employee.class, id ) );
+		}
+
+		final LatencyHistogram queryHistogram = statistics.getQueryStatistics( QUERY ).getExecutionLatencyHistogram();
+		assertNotNull( queryHistogram );
+		assertEquals( 3, queryHistogram.getCount() );
+		assertTrue( queryHistogram.getValueAtPercentile( 99 ) <= queryHistogram.getMaxValue() );
+
+		assertEquals( 3, statistics.getQueryExecutionLatencyHistogram().getCount() );
+
+		final LatencyHistogram loadHistogram = statistics.getEntityStatistics( Employee.class.getName() )
+				.getLoadLatencyHistogram();
+		assertNotNull( loadHistogram );
+		assertEquals( 5, loadHistogram.getCount() );
+
+		statistics.clear();
+		assertEquals( 0, statistics.getQueryExecutionLatencyHistogram().getCount() );
+	}
+
+	@Test
+	public void testQueryHistogramsAreBounded(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+
+		final String otherQuery = "select e.name from Employee e";
+		scope.inTransaction( session -> {
+			session.createQuery( QUERY ).list();
+			session.createQuery( otherQuery ).list();
+		} );
+
+		assertNotNull( statistics.getQueryStatistics( QUERY ).getExecutionLatencyHistogram() );
+		assertNull( statistics.getQueryStatistics( otherQuery ).getExecutionLatencyHistogram() );
+		assertEquals( 2, statistics.getQueryExecutionLatencyHistogram().getCount() );
+
+		statistics.clear();
+		scope.inTransaction( session -> session.createQuery( otherQuery ).list() );
+		assertNotNull( statistics.getQueryStatistics( otherQuery ).getExecutionLatencyHistogram() );
+	}
+
+	@Entity(name = "Employee")
+	public static class Employee {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		public Employee() {
+		}
+
+		public Employee(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
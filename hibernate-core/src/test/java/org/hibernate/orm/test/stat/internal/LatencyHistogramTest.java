@@ -0,0 +1,78 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.stat.internal;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.stat.internal.LatencyHistogramImpl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testPercentiles() {
+		final LatencyHistogramImpl histogram = new LatencyHistogramImpl( 2, 60_000_000L );
+		assertEquals( 0, histogram.getValueAtPercentile( 99 ) );
+
+		for ( long value = 1; value <= 10_000; value++ ) {
+			histogram.record( value );
+		}
+
+		assertEquals( 10_000, histogram.getCount() );
+		assertEquals( 10_000, histogram.getMaxValue() );
+		assertEquals( 5000.5, histogram.getMean(), 0.001 );
+		assertWithinPrecision( 5_000, histogram.getValueAtPercentile( 50 ) );
+		assertWithinPrecision( 9_900, histogram.getValueAtPercentile( 99 ) );
+		assertWithinPrecision( 9_990, histogram.getValueAtPercentile( 99.9 ) );
+		assertEquals( 10_000, histogram.getValueAtPercentile( 100 ) );
+		assertEquals( 1, histogram.getValueAtPercentile( 0 ) );
+	}
+
+	@Test
+	public void testValuesOutsideOfTheTrackableRange() {
+		final LatencyHistogramImpl histogram = new LatencyHistogramImpl( 1, 1_000L );
+		histogram.record( -5 );
+		histogram.record( 5_000 );
+
+		assertEquals( 2, histogram.getCount() );
+		assertEquals( 0, histogram.getValueAtPercentile( 50 ) );
+		assertEquals( 1_000, histogram.getMaxValue() );
+		assertEquals( 1_000, histogram.getValueAtPercentile( 100 ) );
+	}
+
+	@Test
+	public void testConcurrentRecording() throws Exception {
+		final LatencyHistogramImpl histogram = new LatencyHistogramImpl( 3, 60_000_000L );
+		final ExecutorService executor = Executors.newFixedThreadPool( 4 );
+		for ( int thread = 0; thread < 4; thread++ ) {
+			executor.execute( () -> {
+				for ( int i = 0; i < 100_000; i++ ) {
+					histogram.record( i % 1_000 );
+				}
+			} );
+		}
+		executor.shutdown();
+		assertTrue( executor.awaitTermination( 30, TimeUnit.SECONDS ) );
+
+		assertEquals( 400_000, histogram.getCount() );
+		assertEquals( 999, histogram.getMaxValue() );
+		assertEquals( 499, histogram.getValueAtPercentile( 50 ) );
+	}
+
+	private static void assertWithinPrecision(long expected, long actual) {
+		assertTrue(
+				Math.abs( expected - actual ) <= expected / 100,
+				"Expected " + expected + " (2 significant digits) but was " + actual
+		);
+	}
+}
@@ -0,0 +1,200 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.stateless;
+
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderImpl;
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderInitiator;
+import org.hibernate.engine.jdbc.batch.internal.BatchingBatch;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for {@link org.hibernate.StatelessSession#insertMultiple},
+ * {@link org.hibernate.StatelessSession#updateMultiple} and
+ * {@link org.hibernate.StatelessSession#deleteMultiple}
+ */
+@DomainModel(
+		annotatedClasses = {
+				StatelessSessionMultipleOperationsTest.Book.class,
+				StatelessSessionMultipleOperationsTest.Author.class
+		}
+)
+@ServiceRegistry(
+		settings = {
+				@Setting( name = AvailableSettings.STATEMENT_BATCH_SIZE, value = "5" ),
+				@Setting( name = BatchBuilderInitiator.BUILDER, value = "org.hibernate.orm.test.stateless.StatelessSessionMultipleOperationsTest$CountingBatchBuilder" )
+		}
+)
+@SessionFactory
+public class StatelessSessionMultipleOperationsTest {
+
+	@Test
+	public void testInsertUpdateDeleteMultiple(SessionFactoryScope scope) {
+		final List<Object> entities = new ArrayList<>();
+		for ( int i = 0; i < 6; i++ ) {
+			entities.add( new Book( i, "book-" + i ) );
+		}
+		for ( int i = 0; i < 6; i++ ) {
+			entities.add( new Author( i, "author-" + i ) );
+		}
+
+		CountingBatch.reset();
+		scope.inStatelessTransaction( statelessSession -> statelessSession.insertMultiple( entities ) );
+		// consecutive entities of one type share a batch
+		assertEquals( 2, CountingBatch.batches );
+		assertEquals( 12, CountingBatch.statements );
+
+		scope.inStatelessTransaction(
+				statelessSession -> {
+					assertEquals( 6L, statelessSession.createQuery( "select count(b) from Book b" ).uniqueResult() );
+					assertEquals( 6L, statelessSession.createQuery( "select count(a) from Author a" ).uniqueResult() );
+				}
+		);
+
+		for ( Object entity : entities ) {
+			if ( entity instanceof Book ) {
+				( (Book) entity ).title += "-updated";
+			}
+			else {
+				( (Author) entity ).name += "-updated";
+			}
+		}
+
+		CountingBatch.reset();
+		scope.inStatelessTransaction( statelessSession -> statelessSession.updateMultiple( entities ) );
+		assertEquals( 2, CountingBatch.batches );
+		assertEquals( 12, CountingBatch.statements );
+
+		scope.inStatelessTransaction(
+				statelessSession -> {
+					assertEquals( "book-3-updated", ( (Book) statelessSession.get( Book.class, 3 ) ).title );
+					assertEquals( "author-4-updated", ( (Author) statelessSession.get( Author.class, 4 ) ).name );
+				}
+		);
+
+		CountingBatch.reset();
+		scope.inStatelessTransaction( statelessSession -> statelessSession.deleteMultiple( entities ) );
+		assertEquals( 2, CountingBatch.batches );
+		assertEquals( 12, CountingBatch.statements );
+
+		scope.inStatelessTransaction(
+				statelessSession -> {
+					assertNull( statelessSession.get( Book.class, 0 ) );
+					assertNull( statelessSession.get( Author.class, 5 ) );
+				}
+		);
+	}
+
+	@Test
+	public void testInterleavedEntitiesKeepListOrder(SessionFactoryScope scope) {
+		final List<Object> entities = new ArrayList<>();
+		for ( int i = 0; i < 3; i++ ) {
+			entities.add( new Book( i, "book-" + i ) );
+			entities.add( new Author( i, "author-" + i ) );
+		}
+
+		CountingBatch.reset();
+		scope.inStatelessTransaction( statelessSession -> statelessSession.insertMultiple( entities ) );
+		// without hibernate.order_inserts the entities are not reordered, so every change of type starts a new batch
+		assertEquals( 6, CountingBatch.batches );
+		assertEquals( 6, CountingBatch.statements );
+
+		CountingBatch.reset();
+		scope.inStatelessTransaction( statelessSession -> statelessSession.deleteMultiple( entities ) );
+		assertEquals( 6, CountingBatch.batches );
+		assertEquals( 6, CountingBatch.statements );
+	}
+
+	@AfterEach
+	public void cleanup(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					session.createQuery( "delete Book" ).executeUpdate();
+					session.createQuery( "delete Author" ).executeUpdate();
+				}
+		);
+	}
+
+	@Entity(name = "Book")
+	@Table(name = "BOOK_TABLE")
+	public static class Book {
+		@Id
+		Integer id;
+		String title;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+
+	@Entity(name = "Author")
+	@Table(name = "AUTHOR_TABLE")
+	public static class Author {
+		@Id
+		Integer id;
+		String name;
+
+		public Author() {
+		}
+
+		public Author(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	public static class CountingBatch extends BatchingBatch {
+		static int statements;
+		static int batches;
+
+		public CountingBatch(BatchKey key, JdbcCoordinator jdbcCoordinator, int jdbcBatchSize) {
+			super( key, jdbcCoordinator, jdbcBatchSize );
+			batches++;
+		}
+
+		static void reset() {
+			statements = 0;
+			batches = 0;
+		}
+
+		@Override
+		public void addToBatch() {
+			statements++;
+			super.addToBatch();
+		}
+	}
+
+	public static class CountingBatchBuilder extends BatchBuilderImpl {
+		@Override
+		public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
+			return new CountingBatch( key, jdbcCoordinator, getJdbcBatchSize() );
+		}
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.stateless;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderInitiator;
+import org.hibernate.orm.test.stateless.StatelessSessionMultipleOperationsTest.Author;
+import org.hibernate.orm.test.stateless.StatelessSessionMultipleOperationsTest.Book;
+import org.hibernate.orm.test.stateless.StatelessSessionMultipleOperationsTest.CountingBatch;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that {@link org.hibernate.StatelessSession#insertMultiple} and
+ * {@link org.hibernate.StatelessSession#updateMultiple} group the entities
+ * by type when the ordering of inserts and updates is enabled
+ */
+@DomainModel( annotatedClasses = { Book.class, Author.class } )
+@ServiceRegistry(
+		settings = {
+				@Setting( name = AvailableSettings.STATEMENT_BATCH_SIZE, value = "5" ),
+				@Setting( name = AvailableSettings.ORDER_INSERTS, value = "true" ),
+				@Setting( name = AvailableSettings.ORDER_UPDATES, value = "true" ),
+				@Setting( name = BatchBuilderInitiator.BUILDER, value = "org.hibernate.orm.test.stateless.StatelessSessionMultipleOperationsTest$CountingBatchBuilder" )
+		}
+)
+@SessionFactory
+public class StatelessSessionOrderedMultipleOperationsTest {
+
+	@Test
+	public void testInterleavedEntitiesAreGroupedByType(SessionFactoryScope scope) {
+		final List<Object> entities = new ArrayList<>();
+		for ( int i = 0; i < 6; i++ ) {
+			entities.add( new Book( i, "book-" + i ) );
+			entities.add( new Author( i, "author-" + i ) );
+		}
+
+		CountingBatch.reset();
+		scope.inStatelessTransaction( statelessSession -> statelessSession.insertMultiple( entities ) );
+		assertEquals( 2, CountingBatch.batches );
+		assertEquals( 12, CountingBatch.statements );
+
+		CountingBatch.reset();
+		scope.inStatelessTransaction( statelessSession -> statelessSession.updateMultiple( entities ) );
+		assertEquals( 2, CountingBatch.batches );
+		assertEquals( 12, CountingBatch.statements );
+
+		// deletes are never reordered
+		CountingBatch.reset();
+		scope.inStatelessTransaction( statelessSession -> statelessSession.deleteMultiple( entities ) );
+		assertEquals( 12, CountingBatch.batches );
+		assertEquals( 12, CountingBatch.statements );
+	}
+
+	@AfterEach
+	public void cleanup(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					session.createQuery( "delete Book" ).executeUpdate();
+					session.createQuery( "delete Author" ).executeUpdate();
+				}
+		);
+	}
+}
@@ -0,0 +1,257 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.stream.basic;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.query.IllegalQueryOperationException;
+
+import org.hibernate.testing.jdbc.ConnectionProviderDelegate;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Table;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link org.hibernate.query.SelectionQuery#partitionedStream(int)}.
+ */
+@DomainModel( annotatedClasses = PartitionedStreamTest.MyEntity.class )
+@ServiceRegistry(
+		settings = @Setting(
+				name = AvailableSettings.CONNECTION_PROVIDER,
+				value = "org.hibernate.orm.test.stream.basic.PartitionedStreamTest$ConnectionCountingProvider"
+		)
+)
+@SessionFactory
+public class PartitionedStreamTest {
+
+	@BeforeAll
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( long i = -10; i <= 40; i++ ) {
+				session.persist( new MyEntity( i, i % 2 == 0 ? "even" : "odd" ) );
+			}
+		} );
+	}
+
+	@AfterAll
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete MyEntity" ).executeUpdate() );
+	}
+
+	@Test
+	public void testEntities(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+			try ( Stream<MyEntity> stream = session.createQuery( "from MyEntity", MyEntity.class ).partitionedStream( 4 ) ) {
+				assertTrue( stream.isParallel() );
+				final List<Long> ids = stream
+						.peek( entity -> threads.add( Thread.currentThread() ) )
+						.peek( entity -> assertFalse( session.contains( entity ) ) )
+						.map( entity -> entity.id )
+						.sorted()
+						.collect( Collectors.toList() );
+				assertEquals( LongStream.rangeClosed( -10, 40 ).boxed().collect( Collectors.toList() ), ids );
+			}
+			assertFalse( threads.isEmpty() );
+		} );
+	}
+
+	@Test
+	public void testParameters(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			try ( Stream<Long> stream = session.createQuery( "select e.id from MyEntity e where e.name = :name and e.id > ?1", Long.class )
+					.setParameter( "name", "even" )
+					.setParameter( 1, 0L )
+					.partitionedStream( 3 ) ) {
+				assertEquals( 20, stream.count() );
+			}
+		} );
+	}
+
+	@Test
+	public void testPartitionsOfRestriction(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			try ( Stream<MyEntity> stream = session.createQuery( "from MyEntity e where e.id >= 30 order by e.id", MyEntity.class )
+					.partitionedStream( 2 ) ) {
+				// the range 30 to 40 is split at 35, rather than the range of the whole table at 15
+				final Spliterator<MyEntity> first = stream.spliterator();
+				final Spliterator<MyEntity> second = first.trySplit();
+				final AtomicInteger firstCount = new AtomicInteger();
+				final AtomicInteger secondCount = new AtomicInteger();
+				first.forEachRemaining( entity -> firstCount.incrementAndGet() );
+				second.forEachRemaining( entity -> secondCount.incrementAndGet() );
+				assertEquals( 5, firstCount.get() );
+				assertEquals( 6, secondCount.get() );
+			}
+		} );
+	}
+
+	@Test
+	public void testPartitionClosedOnFailure(SessionFactoryScope scope) {
+		final ConnectionCountingProvider connectionProvider = (ConnectionCountingProvider) scope.getSessionFactory()
+				.getServiceRegistry()
+				.getService( ConnectionProvider.class );
+		scope.inSession( session -> {
+			try ( Stream<MyEntity> stream = session.createQuery( "from MyEntity", MyEntity.class ).partitionedStream( 4 ) ) {
+				assertThrows(
+						IllegalStateException.class,
+						() -> stream.sequential().forEach( entity -> {
+							throw new IllegalStateException( "failed" );
+						} )
+				);
+				// the partition being read was closed before the stream
+				assertEquals( 0, connectionProvider.openConnections.get() );
+			}
+		} );
+	}
+
+	@Test
+	public void testCriteria(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final CriteriaBuilder cb = session.getCriteriaBuilder();
+			final CriteriaQuery<MyEntity> criteria = cb.createQuery( MyEntity.class );
+			final Root<MyEntity> root = criteria.from( MyEntity.class );
+			criteria.where( cb.equal( root.get( "name" ), "odd" ), cb.lessThan( root.get( "id" ), cb.parameter( Long.class, "max" ) ) );
+			try ( Stream<MyEntity> stream = session.createQuery( criteria ).setParameter( "max", 0L ).partitionedStream( 5 ) ) {
+				assertEquals( 5, stream.count() );
+			}
+		} );
+	}
+
+	@Test
+	public void testSinglePartition(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			try ( Stream<MyEntity> stream = session.createSelectionQuery( "from MyEntity", MyEntity.class ).partitionedStream( 1 ) ) {
+				assertEquals( 51, stream.count() );
+			}
+		} );
+	}
+
+	@Test
+	public void testFilter(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			session.enableFilter( "byName" ).setParameter( "name", "odd" );
+			try ( Stream<MyEntity> stream = session.createQuery( "from MyEntity", MyEntity.class ).partitionedStream( 4 ) ) {
+				final List<MyEntity> entities = stream.collect( Collectors.toList() );
+				assertEquals( 25, entities.size() );
+				assertTrue( entities.stream().allMatch( entity -> "odd".equals( entity.name ) ) );
+			}
+		} );
+	}
+
+	@Test
+	public void testTupleTransformer(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			try ( Stream<String> stream = session.createQuery( "select e.id, e.name from MyEntity e", Object[].class )
+					.setTupleTransformer( (tuple, aliases) -> (String) tuple[1] )
+					.partitionedStream( 3 ) ) {
+				assertEquals( 26, stream.filter( "even"::equals ).count() );
+			}
+		} );
+	}
+
+	@Test
+	public void testUnsupportedOptions(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			assertThrows(
+					IllegalStateException.class,
+					() -> session.createQuery( "from MyEntity", MyEntity.class )
+							.setLockMode( LockModeType.PESSIMISTIC_WRITE )
+							.partitionedStream( 2 )
+			);
+			assertThrows(
+					IllegalStateException.class,
+					() -> session.createQuery( "from MyEntity", MyEntity.class )
+							.setResultListTransformer( list -> list )
+							.partitionedStream( 2 )
+			);
+		} );
+	}
+
+	@Test
+	public void testLimit(SessionFactoryScope scope) {
+		scope.inTransaction( session -> assertThrows(
+				IllegalQueryOperationException.class,
+				() -> session.createQuery( "from MyEntity", MyEntity.class ).setMaxResults( 10 ).partitionedStream( 2 )
+		) );
+	}
+
+	@Test
+	public void testGroupBy(SessionFactoryScope scope) {
+		scope.inTransaction( session -> assertThrows(
+				IllegalQueryOperationException.class,
+				() -> session.createQuery( "select e.name from MyEntity e group by e.name", String.class ).partitionedStream( 2 )
+		) );
+	}
+
+	public static class ConnectionCountingProvider extends ConnectionProviderDelegate {
+		private final AtomicInteger openConnections = new AtomicInteger();
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			final Connection connection = super.getConnection();
+			openConnections.incrementAndGet();
+			return connection;
+		}
+
+		@Override
+		public void closeConnection(Connection connection) throws SQLException {
+			openConnections.decrementAndGet();
+			super.closeConnection( connection );
+		}
+	}
+
+	@Entity(name = "MyEntity")
+	@Table(name = "MyEntity")
+	@FilterDef(name = "byName", parameters = @ParamDef(name = "name", type = String.class))
+	@Filter(name = "byName", condition = "name = :name")
+	public static class MyEntity {
+		@Id
+		public Long id;
+		public String name;
+
+		public MyEntity() {
+		}
+
+		public MyEntity(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.stream.basic;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the eviction of the streamed entities requested with {@link HibernateHints#HINT_STREAM_EVICTION}.
+ */
+@DomainModel( annotatedClasses = StreamEvictionTest.MyEntity.class )
+@SessionFactory
+public class StreamEvictionTest {
+
+	@BeforeAll
+	public void createData(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			for ( int i = 1; i <= 20; i++ ) {
+				session.persist( new MyEntity( i, "Test" + i ) );
+			}
+		} );
+	}
+
+	@AfterAll
+	public void dropData(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete MyEntity" ).executeUpdate() );
+	}
+
+	@Test
+	public void testEviction(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final AtomicInteger count = new AtomicInteger();
+			try ( Stream<MyEntity> stream = session.createQuery( "from MyEntity order by id", MyEntity.class )
+					.setHint( HibernateHints.HINT_STREAM_EVICTION, true )
+					.getResultStream() ) {
+				stream.forEach( entity -> {
+					assertTrue( session.contains( entity ) );
+					assertEquals( 1, session.getPersistenceContext().getNumberOfManagedEntities() );
+					count.incrementAndGet();
+				} );
+			}
+			assertEquals( 20, count.get() );
+		} );
+	}
+
+	@Test
+	public void testEvictionOfArrayRows(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			final AtomicInteger count = new AtomicInteger();
+			try ( Stream<Object[]> stream = session.createQuery( "select e, e.name from MyEntity e", Object[].class )
+					.setHint( HibernateHints.HINT_STREAM_EVICTION, true )
+					.getResultStream() ) {
+				stream.forEach( row -> {
+					assertTrue( session.contains( row[0] ) );
+					assertEquals( 1, session.getPersistenceContext().getNumberOfManagedEntities() );
+					count.incrementAndGet();
+				} );
+			}
+			assertEquals( 20, count.get() );
+		} );
+	}
+
+	@Test
+	public void testProcessedEntitiesAreDetached(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			try ( Stream<MyEntity> stream = session.createQuery( "from MyEntity order by id", MyEntity.class )
+					.setHint( HibernateHints.HINT_STREAM_EVICTION, true )
+					.getResultStream() ) {
+				final MyEntity first = stream.limit( 2 ).reduce( (previous, current) -> {
+					assertFalse( session.contains( previous ) );
+					return previous;
+				} ).orElseThrow();
+				assertEquals( 1, first.id );
+			}
+		} );
+	}
+
+	@Test
+	public void testNoEvictionByDefault(SessionFactoryScope scope) {
+		scope.inTransaction( session -> {
+			try ( Stream<MyEntity> stream = session.createQuery( "from MyEntity", MyEntity.class ).getResultStream() ) {
+				assertEquals( 20, stream.count() );
+			}
+			assertEquals( 20, session.getPersistenceContext().getNumberOfManagedEntities() );
+		} );
+	}
+
+	@Entity(name = "MyEntity")
+	@Table(name = "MyEntity")
+	public static class MyEntity {
+		@Id
+		public Integer id;
+		public String name;
+
+		public MyEntity() {
+		}
+
+		public MyEntity(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
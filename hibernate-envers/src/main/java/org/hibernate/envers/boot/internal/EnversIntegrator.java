@@ -7,6 +7,8 @@
 package org.hibernate.envers.boot.internal;
 
 import org.hibernate.HibernateException;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
 import org.hibernate.boot.Metadata;
 import org.hibernate.boot.spi.BootstrapContext;
 import org.hibernate.engine.config.spi.ConfigurationService;
@@ -20,6 +22,7 @@ import org.hibernate.envers.event.spi.EnversPostUpdateEventListenerImpl;
 import org.hibernate.envers.event.spi.EnversPreCollectionRemoveEventListenerImpl;
 import org.hibernate.envers.event.spi.EnversPreCollectionUpdateEventListenerImpl;
 import org.hibernate.envers.event.spi.EnversPreUpdateEventListenerImpl;
+import org.hibernate.envers.internal.synchronization.AuditWriteBehindQueue;
 import org.hibernate.event.service.spi.EventListenerRegistry;
 import org.hibernate.event.spi.EventType;
 import org.hibernate.integrator.spi.Integrator;
@@ -73,6 +76,20 @@ public class EnversIntegrator implements Integrator {
 			);
 		}
 
+		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Write the audit records queued behind the transactions before the SessionFactory closes
+		final AuditWriteBehindQueue writeBehindQueue = enversService.getAuditProcessManager().getWriteBehindQueue();
+		if ( writeBehindQueue != null ) {
+			sessionFactory.addObserver(
+					new SessionFactoryObserver() {
+						@Override
+						public void sessionFactoryClosing(SessionFactory factory) {
+							writeBehindQueue.stop();
+						}
+					}
+			);
+		}
+
 		// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 		// Opt-out of registration if no audited entities found
 		if ( !enversService.getEntitiesConfigurations().hasAuditedEntities() ) {
@@ -23,6 +23,7 @@ import org.hibernate.envers.internal.revisioninfo.ModifiedEntityNamesReader;
 import org.hibernate.envers.internal.revisioninfo.RevisionInfoNumberReader;
 import org.hibernate.envers.internal.revisioninfo.RevisionInfoQueryCreator;
 import org.hibernate.envers.internal.synchronization.AuditProcessManager;
+import org.hibernate.envers.internal.synchronization.AuditWriteBehindQueue;
 import org.hibernate.envers.internal.tools.ReflectionTools;
 import org.hibernate.envers.strategy.AuditStrategy;
 import org.hibernate.envers.strategy.spi.AuditStrategyContext;
@@ -102,7 +103,18 @@ public class EnversServiceImpl implements EnversService, Configurable, Stoppable
 		properties.putAll( cfgService.getSettings() );
 
 		this.configuration = new Configuration( properties, this, metadata );
-		this.auditProcessManager = new AuditProcessManager( configuration.getRevisionInfo().getRevisionInfoGenerator() );
+		this.auditProcessManager = new AuditProcessManager(
+				configuration.getRevisionInfo().getRevisionInfoGenerator(),
+				configuration.isAsyncWriteBehindEnabled()
+						? new AuditWriteBehindQueue(
+								configuration.getAuditStrategy(),
+								configuration.getRevisionInfo().getRevisionInfoNumberReader(),
+								configuration.getAsyncWriteBehindQueueCapacity(),
+								configuration.getAsyncWriteBehindBatchSize(),
+								configuration.getAsyncWriteBehindRetries()
+						)
+						: null
+		);
 
 		final EnversMetadataBuildingContext metadataBuildingContext = new EnversMetadataBuildingContextImpl(
 				configuration,
@@ -204,6 +216,8 @@ public class EnversServiceImpl implements EnversService, Configurable, Stoppable
 
 	@Override
 	public void stop() {
-		// anything to release?
+		if ( auditProcessManager != null && auditProcessManager.getWriteBehindQueue() != null ) {
+			auditProcessManager.getWriteBehindQueue().stop();
+		}
 	}
 }
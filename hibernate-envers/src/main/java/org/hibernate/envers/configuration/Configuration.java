@@ -50,6 +50,9 @@ public class Configuration {
 	private static final String DEFAULT_REVEND_FIELD = "REVEND";
 	private static final String DEFAULT_REV_TSTMP_FIELD = "REVEND_TSTMP";
 	private static final String DEFAULT_SETORDINAL_FIELD = "SETORDINAL";
+	private static final int DEFAULT_ASYNC_WRITE_BEHIND_QUEUE_CAPACITY = 1000;
+	private static final int DEFAULT_ASYNC_WRITE_BEHIND_BATCH_SIZE = 50;
+	private static final int DEFAULT_ASYNC_WRITE_BEHIND_RETRIES = 3;
 
 	private final EnversService enversService;
 
@@ -73,6 +76,11 @@ public class Configuration {
 	private final boolean modifiedFlagsDefined;
 	private final boolean findByRevisionExactMatch;
 	private final boolean globalLegacyRelationTargetNotFound;
+	private final int jdbcBatchSize;
+	private final boolean asyncWriteBehindEnabled;
+	private final int asyncWriteBehindQueueCapacity;
+	private final int asyncWriteBehindBatchSize;
+	private final int asyncWriteBehindRetries;
 
 	private final boolean trackEntitiesChanged;
 	private boolean trackEntitiesOverride;
@@ -132,6 +140,22 @@ public class Configuration {
 		findByRevisionExactMatch = configProps.getBoolean( EnversSettings.FIND_BY_REVISION_EXACT_MATCH, false );
 		globalLegacyRelationTargetNotFound = configProps.getBoolean( EnversSettings.GLOBAL_RELATION_NOT_FOUND_LEGACY_FLAG, true );
 
+		jdbcBatchSize = configProps.getInt( EnversSettings.JDBC_BATCH_SIZE, 0 );
+
+		asyncWriteBehindEnabled = configProps.getBoolean( EnversSettings.ASYNC_WRITE_BEHIND, false );
+		asyncWriteBehindQueueCapacity = configProps.getInt(
+				EnversSettings.ASYNC_WRITE_BEHIND_QUEUE_CAPACITY,
+				DEFAULT_ASYNC_WRITE_BEHIND_QUEUE_CAPACITY
+		);
+		asyncWriteBehindBatchSize = configProps.getInt(
+				EnversSettings.ASYNC_WRITE_BEHIND_BATCH_SIZE,
+				DEFAULT_ASYNC_WRITE_BEHIND_BATCH_SIZE
+		);
+		asyncWriteBehindRetries = configProps.getInt(
+				EnversSettings.ASYNC_WRITE_BEHIND_RETRIES,
+				DEFAULT_ASYNC_WRITE_BEHIND_RETRIES
+		);
+
 		auditTablePrefix = configProps.getString( EnversSettings.AUDIT_TABLE_PREFIX, DEFAULT_PREFIX );
 		auditTableSuffix = configProps.getString( EnversSettings.AUDIT_TABLE_SUFFIX, DEFAULT_SUFFIX );
 
@@ -233,6 +257,26 @@ public class Configuration {
 		return globalLegacyRelationTargetNotFound;
 	}
 
+	public int getJdbcBatchSize() {
+		return jdbcBatchSize;
+	}
+
+	public boolean isAsyncWriteBehindEnabled() {
+		return asyncWriteBehindEnabled;
+	}
+
+	public int getAsyncWriteBehindQueueCapacity() {
+		return asyncWriteBehindQueueCapacity;
+	}
+
+	public int getAsyncWriteBehindBatchSize() {
+		return asyncWriteBehindBatchSize;
+	}
+
+	public int getAsyncWriteBehindRetries() {
+		return asyncWriteBehindRetries;
+	}
+
 	public boolean isRevisionEndTimestampEnabled() {
 		return revisionEndTimestampEnabled;
 	}
@@ -428,6 +472,10 @@ public class Configuration {
 			return ConfigurationHelper.getBoolean( propertyName, properties, defaultValue );
 		}
 
+		int getInt(String propertyName, int defaultValue) {
+			return ConfigurationHelper.getInt( propertyName, properties, defaultValue );
+		}
+
 		boolean getBooleanWithFallback(String basePropertyName, String newPropertyName, boolean defaultValue) {
 			if ( !properties.containsKey( basePropertyName ) ) {
 				return getBoolean( newPropertyName, defaultValue );
@@ -183,4 +183,69 @@ public interface EnversSettings {
 	 * that the exception is thrown.
 	 */
 	String GLOBAL_RELATION_NOT_FOUND_LEGACY_FLAG = "org.hibernate.envers.global_relation_not_found_legacy_flag";
+
+	/**
+	 * The JDBC batch size of the end revision updates of the
+	 * {@link org.hibernate.envers.strategy.ValidityAuditStrategy}, which are batched by Envers itself.
+	 * The audit records are inserted by the session of the audited transaction, in the order of the
+	 * changes, and are batched according to its own JDBC batch size, see
+	 * {@link org.hibernate.cfg.AvailableSettings#STATEMENT_BATCH_SIZE}.
+	 * <p>
+	 * Defaults to {@literal 0}, meaning the JDBC batch size of the session is used.
+	 *
+	 * @since 6.0
+	 */
+	String JDBC_BATCH_SIZE = "org.hibernate.envers.jdbc_batch_size";
+
+	/**
+	 * Whether audit records should be written behind the audited transaction, by a background writer,
+	 * rather than as part of it.  The audit data is still captured before the transaction completes, and
+	 * the revision entity is persisted by the transaction, so that revision numbers follow the commit
+	 * order of the transactions changing the same entities.  The other audit records are only handed to
+	 * the writer once the transaction committed successfully, which then persists them in its own
+	 * transaction, using JDBC batching, in revision number order within each batch.
+	 * <p>
+	 * This trades the atomicity of the audited change and its audit records for a shorter audited
+	 * transaction: audit records become visible some time after the commit, and are lost if the
+	 * application stops before the writer could persist them, or if the writes keep failing after
+	 * {@link #ASYNC_WRITE_BEHIND_RETRIES} attempts.  The pending audit records are only kept in memory,
+	 * there is no durable staging table: if the JVM dies, they are lost and their revisions are left
+	 * without audit records.
+	 * <p>
+	 * Defaults to {@literal false}.
+	 *
+	 * @since 6.0
+	 */
+	String ASYNC_WRITE_BEHIND = "org.hibernate.envers.async_write_behind";
+
+	/**
+	 * The number of committed transactions whose audit records can wait for the background writer when
+	 * {@link #ASYNC_WRITE_BEHIND} is enabled.  Once reached, committing transactions block until the
+	 * writer caught up.
+	 * <p>
+	 * Defaults to {@literal 1000}.
+	 *
+	 * @since 6.0
+	 */
+	String ASYNC_WRITE_BEHIND_QUEUE_CAPACITY = "org.hibernate.envers.async_write_behind.queue_capacity";
+
+	/**
+	 * The JDBC batch size the background writer uses when {@link #ASYNC_WRITE_BEHIND} is enabled, which
+	 * is also the maximum number of revisions it writes through a single session.
+	 * <p>
+	 * Defaults to {@literal 50}.
+	 *
+	 * @since 6.0
+	 */
+	String ASYNC_WRITE_BEHIND_BATCH_SIZE = "org.hibernate.envers.async_write_behind.batch_size";
+
+	/**
+	 * How many times the background writer retries persisting the audit records of a revision, when
+	 * {@link #ASYNC_WRITE_BEHIND} is enabled, before giving up and logging them as lost.
+	 * <p>
+	 * Defaults to {@literal 3}.
+	 *
+	 * @since 6.0
+	 */
+	String ASYNC_WRITE_BEHIND_RETRIES = "org.hibernate.envers.async_write_behind.retries";
 }
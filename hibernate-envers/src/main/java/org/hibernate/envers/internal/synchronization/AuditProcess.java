@@ -8,13 +8,16 @@ package org.hibernate.envers.internal.synchronization;
 
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.function.Consumer;
 
 import org.hibernate.FlushMode;
 import org.hibernate.Session;
 import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.envers.exception.AuditException;
 import org.hibernate.envers.internal.revisioninfo.RevisionInfoGenerator;
 import org.hibernate.envers.internal.synchronization.work.AuditWorkUnit;
@@ -37,11 +40,25 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 	private final Map<Pair<String, Object>, AuditWorkUnit> usedIds;
 	private final Map<Pair<String, Object>, Object[]> entityStateCache;
 	private final EntityChangeNotifier entityChangeNotifier;
+	private final AuditWriteBehindQueue writeBehindQueue;
 	private Object revisionData;
+	private List<Consumer<Session>> deferredWrites;
 
 	public AuditProcess(RevisionInfoGenerator revisionInfoGenerator, SessionImplementor session) {
+		this( revisionInfoGenerator, session, null );
+	}
+
+	/**
+	 * @param writeBehindQueue The queue the audit records are handed to once the transaction committed,
+	 * or {@code null} to write them as part of the transaction.
+	 */
+	public AuditProcess(
+			RevisionInfoGenerator revisionInfoGenerator,
+			SessionImplementor session,
+			AuditWriteBehindQueue writeBehindQueue) {
 		this.revisionInfoGenerator = revisionInfoGenerator;
 		this.session = session;
+		this.writeBehindQueue = writeBehindQueue;
 
 		workUnits = new LinkedList<>();
 		undoQueue = new LinkedList<>();
@@ -127,6 +144,50 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 		}
 	}
 
+	/**
+	 * Generates the audit data while the changed entities are still at hand, only persisting the
+	 * revision data: its number is then assigned as part of the audited transaction, as without
+	 * write-behind, so that the revisions of an entity are numbered in the order their transactions
+	 * committed.
+	 */
+	private void deferInSession(SessionImplementor session) {
+		final Object currentRevisionData = getCurrentRevisionData( session, false );
+		final DeferringAuditStrategy deferringAuditStrategy = writeBehindQueue.newDeferringAuditStrategy();
+
+		AuditWorkUnit vwu;
+		while ( (vwu = workUnits.poll()) != null ) {
+			vwu.perform( session, currentRevisionData, deferringAuditStrategy );
+			entityChangeNotifier.entityChanged( session, currentRevisionData, vwu );
+		}
+
+		// a temporary session, so that the session of the audited transaction is not flushed
+		try ( Session temporarySession = openTemporarySession( session ) ) {
+			revisionInfoGenerator.saveRevisionData( temporarySession, currentRevisionData );
+			temporarySession.flush();
+		}
+
+		deferredWrites = deferringAuditStrategy.getWrites();
+	}
+
+	private static Session openTemporarySession(SessionImplementor session) {
+		return session.sessionWithOptions()
+				.connection()
+				.autoClose( false )
+				.connectionHandlingMode( PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION )
+				.noInterceptor()
+				.openSession();
+	}
+
+	/**
+	 * Whether the audit records can be written behind the transaction: not if part of them
+	 * were already written in it, e.g. through {@link org.hibernate.envers.AuditReader#getCurrentRevision}.
+	 */
+	private boolean isWriteBehind(Session session) {
+		return writeBehindQueue != null
+				&& undoQueue.isEmpty()
+				&& ( revisionData == null || !session.contains( revisionData ) );
+	}
+
 	public Object getCurrentRevisionData(Session session, boolean persist) {
 		// Generating the revision data if not yet generated
 		if ( revisionData == null ) {
@@ -152,16 +213,16 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 			return;
 		}
 
+		if ( isWriteBehind( session ) ) {
+			deferInSession( session );
+			return;
+		}
+
 		// see: http://www.jboss.com/index.html?module=bb&op=viewtopic&p=4178431
 		if ( FlushMode.MANUAL.equals( session.getHibernateFlushMode() ) || session.isClosed() ) {
 			Session temporarySession = null;
 			try {
-				temporarySession = session.sessionWithOptions()
-						.connection()
-						.autoClose( false )
-						.connectionHandlingMode( PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION )
-						.noInterceptor()
-						.openSession();
+				temporarySession = openTemporarySession( session );
 				executeInSession( temporarySession );
 				temporarySession.flush();
 			}
@@ -178,4 +239,15 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 			session.flush();
 		}
 	}
+
+	/**
+	 * Hands the audit records generated before completion to the write-behind queue, if the
+	 * transaction committed.
+	 */
+	public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+		if ( success && deferredWrites != null ) {
+			writeBehindQueue.enqueue( session.getFactory(), revisionData, deferredWrites );
+		}
+		deferredWrites = null;
+	}
 }
@@ -23,11 +23,25 @@ import org.hibernate.event.spi.EventSource;
 public class AuditProcessManager {
 	private final Map<Transaction, AuditProcess> auditProcesses;
 	private final RevisionInfoGenerator revisionInfoGenerator;
+	private final AuditWriteBehindQueue writeBehindQueue;
 
 	public AuditProcessManager(RevisionInfoGenerator revisionInfoGenerator) {
+		this( revisionInfoGenerator, null );
+	}
+
+	public AuditProcessManager(RevisionInfoGenerator revisionInfoGenerator, AuditWriteBehindQueue writeBehindQueue) {
 		auditProcesses = new ConcurrentHashMap<>();
 
 		this.revisionInfoGenerator = revisionInfoGenerator;
+		this.writeBehindQueue = writeBehindQueue;
+	}
+
+	/**
+	 * @return The queue audit records are written behind the transactions through, or {@code null} if they are
+	 * written as part of the transactions.
+	 */
+	public AuditWriteBehindQueue getWriteBehindQueue() {
+		return writeBehindQueue;
 	}
 
 	public AuditProcess get(EventSource session) {
@@ -36,7 +50,7 @@ public class AuditProcessManager {
 		AuditProcess auditProcess = auditProcesses.get( transaction );
 		if ( auditProcess == null ) {
 			// No worries about registering a transaction twice - a transaction is single thread
-			auditProcess = new AuditProcess( revisionInfoGenerator, session );
+			auditProcess = new AuditProcess( revisionInfoGenerator, session, writeBehindQueue );
 			auditProcesses.put( transaction, auditProcess );
 
 			session.getActionQueue().registerProcess(
@@ -53,7 +67,10 @@ public class AuditProcessManager {
 			session.getActionQueue().registerProcess(
 					new AfterTransactionCompletionProcess() {
 						public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
-							auditProcesses.remove( transaction );
+							final AuditProcess process = auditProcesses.remove( transaction );
+							if ( process != null ) {
+								process.doAfterTransactionCompletion( success, session );
+							}
 						}
 					}
 			);
@@ -0,0 +1,265 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.envers.internal.synchronization;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.envers.internal.revisioninfo.RevisionInfoNumberReader;
+import org.hibernate.envers.strategy.AuditStrategy;
+import org.jboss.logging.Logger;
+
+/**
+ * Persists the audit records of committed transactions in the background, when
+ * {@value EnversSettings#ASYNC_WRITE_BEHIND} is enabled.
+ * <p>
+ * A single writer thread drains the bounded queue, up to {@code batchSize} revisions at a time, and
+ * persists them through a session using JDBC batching.  The revision data is persisted by the audited
+ * transaction itself, so revision numbers follow the commit order of the transactions changing the
+ * same entities.  The writer persists each drained batch in revision number order, which the
+ * {@link org.hibernate.envers.strategy.ValidityAuditStrategy} relies on to close the previous audit
+ * record of an entity; a revision queued only after a later one was written is still written out of
+ * order.
+ * <p>
+ * The queue lives in memory only: the audit records still queued are lost if the JVM dies.
+ *
+ * @see AuditProcess
+ */
+public class AuditWriteBehindQueue {
+	private static final Logger log = Logger.getLogger( AuditWriteBehindQueue.class );
+
+	private final AuditStrategy auditStrategy;
+	private final RevisionInfoNumberReader revisionInfoNumberReader;
+	private final BlockingQueue<PendingRevision> pendingRevisions;
+	private final int batchSize;
+	private final int retries;
+
+	// guards the transition to stopped, so that no revision can be queued once the writer exits
+	private final ReadWriteLock stopLock = new ReentrantReadWriteLock();
+	private volatile boolean stopped;
+	private Thread writer;
+
+	public AuditWriteBehindQueue(
+			AuditStrategy auditStrategy,
+			RevisionInfoNumberReader revisionInfoNumberReader,
+			int capacity,
+			int batchSize,
+			int retries) {
+		this.auditStrategy = auditStrategy;
+		this.revisionInfoNumberReader = revisionInfoNumberReader;
+		this.pendingRevisions = new ArrayBlockingQueue<>( capacity );
+		this.batchSize = batchSize;
+		this.retries = retries;
+	}
+
+	/**
+	 * @return An {@link AuditStrategy} recording the writes of a transaction, for {@link #enqueue}.
+	 */
+	DeferringAuditStrategy newDeferringAuditStrategy() {
+		return new DeferringAuditStrategy( auditStrategy );
+	}
+
+	/**
+	 * Queue the audit records of a committed transaction, whose revision data it persisted, blocking
+	 * while the queue is full.  Once {@link #stop() stopped}, the records are written in the calling
+	 * thread instead.
+	 */
+	void enqueue(SessionFactoryImplementor sessionFactory, Object revisionData, List<Consumer<Session>> writes) {
+		final PendingRevision revision = new PendingRevision(
+				sessionFactory,
+				revisionData,
+				revisionInfoNumberReader.getRevisionNumber( revisionData ).longValue(),
+				writes
+		);
+
+		stopLock.readLock().lock();
+		try {
+			if ( !stopped ) {
+				startWriterIfNecessary();
+				if ( !pendingRevisions.offer( revision ) ) {
+					log.debug( "Envers write-behind queue is full, waiting for the writer to catch up" );
+					pendingRevisions.put( revision );
+				}
+				return;
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			stopLock.readLock().unlock();
+		}
+
+		final List<PendingRevision> revisions = new ArrayList<>( 1 );
+		revisions.add( revision );
+		write( revisions );
+	}
+
+	private synchronized void startWriterIfNecessary() {
+		if ( writer == null ) {
+			writer = new Thread( this::drain, "Envers audit write-behind" );
+			writer.setDaemon( true );
+			writer.start();
+		}
+	}
+
+	/**
+	 * Stop accepting revisions, and wait for the queued ones to be written.
+	 */
+	public void stop() {
+		stopLock.writeLock().lock();
+		try {
+			if ( stopped ) {
+				return;
+			}
+			stopped = true;
+		}
+		finally {
+			stopLock.writeLock().unlock();
+		}
+
+		final Thread thread;
+		synchronized ( this ) {
+			thread = writer;
+		}
+		if ( thread != null ) {
+			try {
+				thread.join();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		// whatever the writer could not get to
+		final List<PendingRevision> remaining = new ArrayList<>();
+		while ( pendingRevisions.drainTo( remaining, batchSize ) > 0 ) {
+			write( remaining );
+			remaining.clear();
+		}
+	}
+
+	private void drain() {
+		final List<PendingRevision> batch = new ArrayList<>( batchSize );
+		while ( !stopped || !pendingRevisions.isEmpty() ) {
+			try {
+				final PendingRevision first = pendingRevisions.poll( 100, TimeUnit.MILLISECONDS );
+				if ( first != null ) {
+					batch.add( first );
+					pendingRevisions.drainTo( batch, batchSize - 1 );
+					write( batch );
+				}
+			}
+			catch (InterruptedException e) {
+				log.debug( "Envers write-behind writer interrupted, leaving the queued revisions to stop()" );
+				return;
+			}
+			finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void write(List<PendingRevision> revisions) {
+		revisions.sort( Comparator.comparingLong( revision -> revision.revisionNumber ) );
+
+		Session session = null;
+		try {
+			for ( PendingRevision revision : revisions ) {
+				for ( int attempt = 1; ; attempt++ ) {
+					if ( session != null && session.getSessionFactory() != revision.sessionFactory ) {
+						session.close();
+						session = null;
+					}
+					if ( session == null ) {
+						session = revision.sessionFactory.withOptions().noInterceptor().openSession();
+						session.setJdbcBatchSize( batchSize );
+					}
+
+					try {
+						writeInTransaction( session, revision );
+						break;
+					}
+					catch (RuntimeException e) {
+						// the session is unusable after a failure
+						session.close();
+						session = null;
+						if ( attempt > retries ) {
+							log.errorf(
+									e,
+									"Unable to write the audit records of revision %s after %s attempt(s), they are lost",
+									revision.revisionData,
+									attempt
+							);
+							break;
+						}
+						log.debugf( e, "Unable to write the audit records of revision %s, retrying", revision.revisionData );
+					}
+				}
+			}
+		}
+		finally {
+			if ( session != null ) {
+				session.close();
+			}
+		}
+	}
+
+	/**
+	 * Each revision gets its own transaction, as the validity audit strategy only closes the previous
+	 * audit record of an entity when the transaction completes.
+	 */
+	private static void writeInTransaction(Session session, PendingRevision revision) {
+		final Transaction transaction = session.beginTransaction();
+		try {
+			revision.writeTo( session );
+			transaction.commit();
+		}
+		catch (RuntimeException e) {
+			if ( transaction.isActive() ) {
+				transaction.rollback();
+			}
+			throw e;
+		}
+		session.clear();
+	}
+
+	private static class PendingRevision {
+		private final SessionFactoryImplementor sessionFactory;
+		private final Object revisionData;
+		private final long revisionNumber;
+		private final List<Consumer<Session>> writes;
+
+		private PendingRevision(
+				SessionFactoryImplementor sessionFactory,
+				Object revisionData,
+				long revisionNumber,
+				List<Consumer<Session>> writes) {
+			this.sessionFactory = sessionFactory;
+			this.revisionData = revisionData;
+			this.revisionNumber = revisionNumber;
+			this.writes = writes;
+		}
+
+		private void writeTo(Session session) {
+			for ( Consumer<Session> write : writes ) {
+				write.accept( session );
+			}
+		}
+	}
+}
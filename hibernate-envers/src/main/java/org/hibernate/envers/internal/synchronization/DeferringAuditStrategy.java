@@ -0,0 +1,170 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.envers.internal.synchronization;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.hibernate.Session;
+import org.hibernate.envers.boot.internal.EnversService;
+import org.hibernate.envers.configuration.Configuration;
+import org.hibernate.envers.internal.entities.mapper.PersistentCollectionChangeData;
+import org.hibernate.envers.internal.entities.mapper.relation.MiddleComponentData;
+import org.hibernate.envers.internal.entities.mapper.relation.MiddleIdData;
+import org.hibernate.envers.internal.tools.query.Parameters;
+import org.hibernate.envers.internal.tools.query.QueryBuilder;
+import org.hibernate.envers.strategy.AuditStrategy;
+
+/**
+ * An {@link AuditStrategy} recording the audit data work units ask it to persist, so that the
+ * configured strategy can persist it later, in another session.
+ * <p>
+ * The audit data is fully generated by the work units before reaching the strategy, so the
+ * recorded writes no longer depend on the session the changes were made in.
+ *
+ * @see AuditWriteBehindQueue
+ */
+class DeferringAuditStrategy implements AuditStrategy {
+	private final AuditStrategy delegate;
+	private final List<Consumer<Session>> writes = new ArrayList<>();
+
+	DeferringAuditStrategy(AuditStrategy delegate) {
+		this.delegate = delegate;
+	}
+
+	/**
+	 * @return The recorded writes, to be applied in order to the session persisting them.
+	 */
+	List<Consumer<Session>> getWrites() {
+		return writes;
+	}
+
+	@Override
+	public void perform(
+			Session session,
+			String entityName,
+			EnversService enversService,
+			Object id,
+			Object data,
+			Object revision) {
+		writes.add( s -> delegate.perform( s, entityName, enversService, id, data, revision ) );
+	}
+
+	@Override
+	public void perform(
+			Session session,
+			String entityName,
+			Configuration configuration,
+			Object id,
+			Object data,
+			Object revision) {
+		writes.add( s -> delegate.perform( s, entityName, configuration, id, data, revision ) );
+	}
+
+	@Override
+	public void performCollectionChange(
+			Session session,
+			String entityName,
+			String propertyName,
+			EnversService enversService,
+			PersistentCollectionChangeData persistentCollectionChangeData,
+			Object revision) {
+		writes.add(
+				s -> delegate.performCollectionChange(
+						s,
+						entityName,
+						propertyName,
+						enversService,
+						persistentCollectionChangeData,
+						revision
+				)
+		);
+	}
+
+	@Override
+	public void performCollectionChange(
+			Session session,
+			String entityName,
+			String propertyName,
+			Configuration configuration,
+			PersistentCollectionChangeData persistentCollectionChangeData,
+			Object revision) {
+		writes.add(
+				s -> delegate.performCollectionChange(
+						s,
+						entityName,
+						propertyName,
+						configuration,
+						persistentCollectionChangeData,
+						revision
+				)
+		);
+	}
+
+	@Override
+	public void addEntityAtRevisionRestriction(
+			Configuration configuration,
+			QueryBuilder rootQueryBuilder,
+			Parameters parameters,
+			String revisionProperty,
+			String revisionEndProperty,
+			boolean addAlias,
+			MiddleIdData idData,
+			String revisionPropertyPath,
+			String originalIdPropertyName,
+			String alias1,
+			String alias2,
+			boolean inclusive) {
+		delegate.addEntityAtRevisionRestriction(
+				configuration,
+				rootQueryBuilder,
+				parameters,
+				revisionProperty,
+				revisionEndProperty,
+				addAlias,
+				idData,
+				revisionPropertyPath,
+				originalIdPropertyName,
+				alias1,
+				alias2,
+				inclusive
+		);
+	}
+
+	@Override
+	public void addAssociationAtRevisionRestriction(
+			QueryBuilder rootQueryBuilder,
+			Parameters parameters,
+			String revisionProperty,
+			String revisionEndProperty,
+			boolean addAlias,
+			MiddleIdData referencingIdData,
+			String versionsMiddleEntityName,
+			String eeOriginalIdPropertyPath,
+			String revisionPropertyPath,
+			String originalIdPropertyName,
+			String alias1,
+			boolean inclusive,
+			MiddleComponentData... componentDatas) {
+		delegate.addAssociationAtRevisionRestriction(
+				rootQueryBuilder,
+				parameters,
+				revisionProperty,
+				revisionEndProperty,
+				addAlias,
+				referencingIdData,
+				versionsMiddleEntityName,
+				eeOriginalIdPropertyPath,
+				revisionPropertyPath,
+				originalIdPropertyName,
+				alias1,
+				inclusive,
+				componentDatas
+		);
+	}
+}
@@ -62,6 +62,11 @@ public abstract class AbstractAuditWorkUnit implements AuditWorkUnit {
 
 	@Override
 	public void perform(Session session, Object revisionData) {
+		perform( session, revisionData, auditStrategy );
+	}
+
+	@Override
+	public void perform(Session session, Object revisionData, AuditStrategy auditStrategy) {
 		final Map<String, Object> data = generateData( revisionData );
 
 		auditStrategy.perform( session, getEntityName(), enversService, id, data, revisionData );
@@ -10,6 +10,7 @@ import java.util.Map;
 
 import org.hibernate.Session;
 import org.hibernate.envers.RevisionType;
+import org.hibernate.envers.strategy.AuditStrategy;
 
 /**
  * TODO: refactor constructors into factory methods
@@ -34,6 +35,17 @@ public interface AuditWorkUnit extends WorkUnitMergeVisitor, WorkUnitMergeDispat
 	 */
 	void perform(Session session, Object revisionData);
 
+	/**
+	 * Perform this work unit in the given session, through the given audit strategy rather than the
+	 * configured one.
+	 *
+	 * @param session Session, in which the work unit should be performed.
+	 * @param revisionData The current revision data, which will be used to populate the work unit with the correct
+	 * revision relation.
+	 * @param auditStrategy The audit strategy persisting the audit data.
+	 */
+	void perform(Session session, Object revisionData, AuditStrategy auditStrategy);
+
 	void undo(Session session);
 
 	/**
@@ -20,6 +20,7 @@ import org.hibernate.envers.RevisionType;
 import org.hibernate.envers.boot.internal.EnversService;
 import org.hibernate.envers.configuration.Configuration;
 import org.hibernate.envers.internal.entities.mapper.PersistentCollectionChangeData;
+import org.hibernate.envers.strategy.AuditStrategy;
 
 /**
  * @author Adam Warski (adam at warski dot org)
@@ -77,7 +78,7 @@ public class PersistentCollectionChangeWorkUnit extends AbstractAuditWorkUnit im
 
 	@Override
 	@SuppressWarnings("unchecked")
-	public void perform(Session session, Object revisionData) {
+	public void perform(Session session, Object revisionData, AuditStrategy auditStrategy) {
 		final Configuration configuration = enversService.getConfig();
 
 		for ( PersistentCollectionChangeData persistentCollectionChangeData : collectionChanges ) {
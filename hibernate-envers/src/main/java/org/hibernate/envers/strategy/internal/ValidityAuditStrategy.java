@@ -11,16 +11,25 @@ import static org.hibernate.envers.internal.entities.mapper.relation.query.Query
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.LockOptions;
 import org.hibernate.Session;
-import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.jdbc.batch.internal.BatchingBatch;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
@@ -42,6 +51,8 @@ import org.hibernate.envers.strategy.AuditStrategy;
 import org.hibernate.envers.strategy.spi.AuditStrategyContext;
 import org.hibernate.envers.strategy.spi.MappingContext;
 import org.hibernate.event.spi.EventSource;
+import org.hibernate.jdbc.BatchFailedException;
+import org.hibernate.jdbc.Expectation;
 import org.hibernate.persister.entity.JoinedSubclassEntityPersister;
 import org.hibernate.persister.entity.Queryable;
 import org.hibernate.persister.entity.UnionSubclassEntityPersister;
@@ -77,6 +88,11 @@ import org.hibernate.type.Type;
  * @author Chris Cranford
  */
 public class ValidityAuditStrategy implements AuditStrategy {
+	/**
+	 * The maximum number of entities whose previous row is updated by a single statement
+	 */
+	private static final int MAX_IDS_PER_UPDATE = 500;
+
 	/**
 	 * getter for the revision entity field annotated with @RevisionTimestamp
 	 */
@@ -84,6 +100,11 @@ public class ValidityAuditStrategy implements AuditStrategy {
 
 	private final SessionCacheCleaner sessionCacheCleaner;
 
+	/**
+	 * The end revision updates collected for the current transaction of each session
+	 */
+	private final Map<EventSource, EndRevisionUpdates> endRevisionUpdates = new ConcurrentHashMap<>();
+
 	public ValidityAuditStrategy() {
 		sessionCacheCleaner = new SessionCacheCleaner();
 	}
@@ -170,47 +191,13 @@ public class ValidityAuditStrategy implements AuditStrategy {
 		// null end date exists for each identifier.
 		final boolean reuseEntityIdentifier = configuration.isAllowIdentifierReuse();
 		if ( reuseEntityIdentifier || getRevisionType( configuration, data ) != RevisionType.ADD ) {
-			// Register transaction completion process to guarantee execution of UPDATE statement after INSERT.
-			( (EventSource) session ).getActionQueue().registerProcess( sessionImplementor -> {
-				// Construct the update contexts
-				final List<UpdateContext> contexts = getUpdateContexts(
-						entityName,
-						auditedEntityName,
-						sessionImplementor,
-						configuration,
-						id,
-						revision
-				);
-
-				if ( contexts.isEmpty() ) {
-					throw new AuditException(
-							String.format(
-									Locale.ENGLISH,
-									"Failed to build update contexts for entity %s and id %s",
-									auditedEntityName,
-									id
-							)
-					);
-				}
-
-				for ( UpdateContext context : contexts ) {
-					final int rows = executeUpdate( sessionImplementor, context );
-					if ( rows != 1 ) {
-						final RevisionType revisionType = getRevisionType( configuration, data );
-						if ( !reuseEntityIdentifier || revisionType != RevisionType.ADD ) {
-							throw new AuditException(
-									String.format(
-											Locale.ENGLISH,
-											"Cannot update previous revision for entity %s and id %s (%s rows modified).",
-											auditedEntityName,
-											id,
-											rows
-									)
-							);
-						}
-					}
-				}
-			} );
+			// Any row count is fine when the identifier of a removed entity may have been reused
+			final boolean allowAnyRowCount = reuseEntityIdentifier
+					&& getRevisionType( configuration, data ) == RevisionType.ADD;
+			// Collect the identifier, for a transaction completion process to update the previous rows of all
+			// the entities at once, which guarantees the execution of the UPDATE statements after INSERT.
+			getEndRevisionUpdates( (EventSource) session )
+					.add( entityName, auditedEntityName, configuration, revision, allowAnyRowCount, id );
 		}
 		sessionCacheCleaner.scheduleAuditDataRemoval( session, data );
 	}
@@ -455,34 +442,74 @@ public class ValidityAuditStrategy implements AuditStrategy {
 		return false;
 	}
 
+	private EndRevisionUpdates getEndRevisionUpdates(EventSource session) {
+		return endRevisionUpdates.computeIfAbsent(
+				session,
+				s -> {
+					final EndRevisionUpdates updates = new EndRevisionUpdates( s );
+					s.getActionQueue().registerProcess( (BeforeTransactionCompletionProcess) updates );
+					// in case the transaction fails before the updates are executed
+					s.getActionQueue().registerProcess(
+							(AfterTransactionCompletionProcess) (success, sessionImplementor) -> endRevisionUpdates.remove( s, updates )
+					);
+					return updates;
+				}
+		);
+	}
+
 	/**
-	 * Executes the {@link UpdateContext} within the scope of the specified session.
+	 * The number of identifiers restricting a single end revision update, bounded by the
+	 * {@link org.hibernate.dialect.Dialect#getInExpressionCountLimit() in expression count limit}
+	 * of the dialect.
+	 */
+	private int getIdsPerUpdate(String entityName, SessionImplementor session) {
+		final Queryable rootEntity = getQueryable( getQueryable( entityName, session ).getRootEntityName(), session );
+		final int inExpressionCountLimit = session.getJdbcServices().getDialect().getInExpressionCountLimit();
+		if ( inExpressionCountLimit > 0 ) {
+			// leaving room for the parameters of the other assignments and restrictions
+			final int idColumnCount = rootEntity.getIdentifierColumnNames().length;
+			return Math.max( 1, Math.min( MAX_IDS_PER_UPDATE, ( inExpressionCountLimit - 3 ) / idColumnCount ) );
+		}
+		return MAX_IDS_PER_UPDATE;
+	}
+
+	/**
+	 * Adds the {@link UpdateContext} to one of the end revision update batches, the row count being
+	 * verified once the batch is executed.
 	 *
 	 * @param session the session
-	 * @param context the update context to be executed
-	 * @return the number of rows affected by the operation
+	 * @param batches the end revision update batches of the session
+	 * @param context the update context to be batched
+	 * @param auditedEntityName the name of the audit entity being updated
+	 * @param expectedRowCount the number of rows the update must affect, or {@code -1} for any
+	 * @param ids the identifiers restricting the update, for the error message
 	 */
-	private int executeUpdate(SessionImplementor session, UpdateContext context) {
+	private void addToBatch(
+			SessionImplementor session,
+			EndRevisionUpdateBatches batches,
+			UpdateContext context,
+			String auditedEntityName,
+			int expectedRowCount,
+			List<Object> ids) {
 		final String sql = context.toStatementString();
-		final JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
-
-		final PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement( sql );
-		return session.doReturningWork(
-				connection -> {
-					try {
-						int index = 1;
-						for ( QueryParameterBinding binding : context.getBindings() ) {
-							index += binding.bind( index, statement, session );
-						}
-						int result = jdbcCoordinator.getResultSetReturn().executeUpdate( statement );
-						return result;
-					}
-					finally {
-						jdbcCoordinator.getLogicalConnection().getResourceRegistry().release( statement );
-						jdbcCoordinator.afterStatementExecution();
-					}
-				}
-		);
+		final Batch batch = batches.getBatch( new EndRevisionUpdateBatchKey( sql, auditedEntityName, expectedRowCount ) );
+		final PreparedStatement statement = batch.getBatchStatement( sql, false );
+		try {
+			int index = 1;
+			for ( QueryParameterBinding binding : context.getBindings() ) {
+				index += binding.bind( index, statement, session );
+			}
+		}
+		catch (SQLException e) {
+			throw session.getJdbcServices().getSqlExceptionHelper().convert(
+					e,
+					"Could not bind end revision update parameters",
+					sql
+			);
+		}
+		// the key of the batch is the first equal one, which verifies the row counts
+		( (EndRevisionUpdateBatchKey) batch.getKey() ).pendingIds.add( ids );
+		batch.addToBatch();
 	}
 
 	private List<UpdateContext> getUpdateContexts(
@@ -490,7 +517,7 @@ public class ValidityAuditStrategy implements AuditStrategy {
 			String auditEntityName,
 			SessionImplementor session,
 			Configuration configuration,
-			Object id,
+			List<Object> ids,
 			Object revision) {
 
 		Queryable entity = getQueryable( entityName, session );
@@ -507,7 +534,7 @@ public class ValidityAuditStrategy implements AuditStrategy {
 									auditEntityName,
 									session,
 									configuration,
-									id,
+									ids,
 									revision
 							)
 					);
@@ -525,7 +552,7 @@ public class ValidityAuditStrategy implements AuditStrategy {
 						auditEntityName,
 						session,
 						configuration,
-						id,
+						ids,
 						revision
 				)
 		);
@@ -538,7 +565,7 @@ public class ValidityAuditStrategy implements AuditStrategy {
 			String auditEntityName,
 			SessionImplementor session,
 			Configuration configuration,
-			Object id,
+			List<Object> ids,
 			Object revision) {
 
 		final Queryable entity = getQueryable( entityName, session );
@@ -551,7 +578,7 @@ public class ValidityAuditStrategy implements AuditStrategy {
 		final Type revisionNumberType = revisionEntity.getIdentifierType();
 
 		// The expected SQL is an update statement as follows:
-		// UPDATE audited_entity SET REVEND = ? [, REVEND_TSTMP = ?] WHERE (entity_id) = ? AND REV <> ? AND REVEND is null
+		// UPDATE audited_entity SET REVEND = ? [, REVEND_TSTMP = ?] WHERE (entity_id) IN (?, ...) AND REV <> ? AND REVEND is null
 		final UpdateContext context = new UpdateContext( session.getFactory() );
 		context.setTableName( getUpdateTableName( rootEntity, rootAuditEntity, auditEntity ) );
 
@@ -569,9 +596,8 @@ public class ValidityAuditStrategy implements AuditStrategy {
 			context.bind( getRevEndTimestampValue( configuration, revisionTimestamp ), revEndTimestampType );
 		}
 
-		// Apply "WHERE (entity_id) = ?"
-		context.addPrimaryKeyColumns( rootEntity.getIdentifierColumnNames() );
-		context.bind( id, rootEntity.getIdentifierType() );
+		// Apply "WHERE (entity_id) IN (?, ...)"
+		addIdentifierRestriction( context, rootEntity.getIdentifierColumnNames(), rootEntity.getIdentifierType(), ids );
 
 		// Apply "AND REV <> ?"
 		final String path = configuration.getRevisionNumberPath();
@@ -592,7 +618,7 @@ public class ValidityAuditStrategy implements AuditStrategy {
 	 * @param auditEntityName the audited entity name
 	 * @param session the session
 	 * @param configuration the configuration
-	 * @param id the entity identifier
+	 * @param ids the entity identifiers
 	 * @param revision the revision entity
 	 * @return the created update context instance, never {@code null}.
 	 */
@@ -601,7 +627,7 @@ public class ValidityAuditStrategy implements AuditStrategy {
 			String auditEntityName,
 			SessionImplementor session,
 			Configuration configuration,
-			Object id,
+			List<Object> ids,
 			Object revision) {
 
 		final Queryable entity = getQueryable( entityName, session );
@@ -611,7 +637,7 @@ public class ValidityAuditStrategy implements AuditStrategy {
 		final Type revEndTimestampType = auditEntity.getPropertyType( revEndTimestampColumnName );
 
 		// The expected SQL is an update statement as follows:
-		// UPDATE audited_entity SET REVEND_TSTMP = ? WHERE (entity_id) = ? AND REV <> ? AND REVEND_TSMTP is null
+		// UPDATE audited_entity SET REVEND_TSTMP = ? WHERE (entity_id) IN (?, ...) AND REV <> ? AND REVEND_TSMTP is null
 		final UpdateContext context = new UpdateContext( session.getFactory() );
 		context.setTableName( getUpdateTableName( entity, auditEntity, auditEntity ) );
 
@@ -620,12 +646,11 @@ public class ValidityAuditStrategy implements AuditStrategy {
 		context.addColumn( auditEntity.toColumns( revEndTimestampColumnName )[ 0 ] );
 		context.bind( getRevEndTimestampValue( configuration, revisionTimestamp ), revEndTimestampType );
 
-		// Apply "WHERE (entity_id) = ? AND REV <> ?" portion of the SQL
+		// Apply "WHERE (entity_id) IN (?, ...) AND REV <> ?" portion of the SQL
 		final Number revisionNumber = getRevisionNumber( configuration, revision );
 
-		// Apply "WHERE (entity_id) = ?"
-		context.addPrimaryKeyColumns( entity.getIdentifierColumnNames() );
-		context.bind( id, entity.getIdentifierType() );
+		// Apply "WHERE (entity_id) IN (?, ...)"
+		addIdentifierRestriction( context, entity.getIdentifierColumnNames(), entity.getIdentifierType(), ids );
 
 		// Apply "AND REV <> ?"
 		context.addWhereColumn( configuration.getRevisionFieldName(), " <> ?" );
@@ -637,6 +662,34 @@ public class ValidityAuditStrategy implements AuditStrategy {
 		return context;
 	}
 
+	/**
+	 * Restricts the update to the given identifiers, through an in list for single column identifiers
+	 * and a disjunction of the column values otherwise.
+	 */
+	private static void addIdentifierRestriction(UpdateContext context, String[] idColumnNames, Type idType, List<Object> ids) {
+		final StringBuilder where = new StringBuilder();
+		if ( idColumnNames.length == 1 ) {
+			where.append( idColumnNames[0] ).append( " in (" );
+			for ( int i = 0; i < ids.size(); i++ ) {
+				where.append( i == 0 ? "?" : ",?" );
+			}
+			where.append( ')' );
+		}
+		else {
+			final String idRestriction = String.join( "=? and ", idColumnNames ) + "=?";
+			where.append( '(' );
+			for ( int i = 0; i < ids.size(); i++ ) {
+				where.append( i == 0 ? "(" : " or (" ).append( idRestriction ).append( ')' );
+			}
+			where.append( ')' );
+		}
+		context.setWhere( where.toString() );
+
+		for ( Object id : ids ) {
+			context.bind( id, idType );
+		}
+	}
+
 	private Number getRevisionNumber(Configuration configuration, Object revisionEntity) {
 		final RevisionInfoNumberReader reader = configuration.getRevisionInfo().getRevisionInfoNumberReader();
 		return reader.getRevisionNumber( revisionEntity );
@@ -687,4 +740,243 @@ public class ValidityAuditStrategy implements AuditStrategy {
 			return type.getColumnSpan( session.getSessionFactory() );
 		}
 	}
+
+	/**
+	 * The end revision updates of the entities of a given type, to be executed together when the
+	 * transaction completes.
+	 */
+	private class EndRevisionUpdate {
+		private final String entityName;
+		private final String auditedEntityName;
+		private final Configuration configuration;
+		private final Object revision;
+		private final boolean allowAnyRowCount;
+		private final List<Object> ids = new ArrayList<>();
+
+		private EndRevisionUpdate(
+				String entityName,
+				String auditedEntityName,
+				Configuration configuration,
+				Object revision,
+				boolean allowAnyRowCount) {
+			this.entityName = entityName;
+			this.auditedEntityName = auditedEntityName;
+			this.configuration = configuration;
+			this.revision = revision;
+			this.allowAnyRowCount = allowAnyRowCount;
+		}
+
+		private void execute(SessionImplementor session, EndRevisionUpdateBatches batches) {
+			final int idsPerUpdate = getIdsPerUpdate( entityName, session );
+			for ( int start = 0; start < ids.size(); start += idsPerUpdate ) {
+				final List<Object> chunk = ids.subList( start, Math.min( start + idsPerUpdate, ids.size() ) );
+
+				// Construct the update contexts
+				final List<UpdateContext> contexts = getUpdateContexts(
+						entityName,
+						auditedEntityName,
+						session,
+						configuration,
+						chunk,
+						revision
+				);
+
+				if ( contexts.isEmpty() ) {
+					throw new AuditException(
+							String.format(
+									Locale.ENGLISH,
+									"Failed to build update contexts for entity %s",
+									auditedEntityName
+							)
+					);
+				}
+
+				for ( UpdateContext context : contexts ) {
+					addToBatch(
+							session,
+							batches,
+							context,
+							auditedEntityName,
+							allowAnyRowCount ? -1 : chunk.size(),
+							new ArrayList<>( chunk )
+					);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects the end revision updates of the current transaction of a session, grouped by entity,
+	 * so that a single statement updates the previous rows of many entities.
+	 */
+	private class EndRevisionUpdates implements BeforeTransactionCompletionProcess {
+		private final EventSource session;
+		private final Map<String, EndRevisionUpdate> updates = new LinkedHashMap<>();
+
+		private EndRevisionUpdates(EventSource session) {
+			this.session = session;
+		}
+
+		private void add(
+				String entityName,
+				String auditedEntityName,
+				Configuration configuration,
+				Object revision,
+				boolean allowAnyRowCount,
+				Object id) {
+			updates.computeIfAbsent(
+					allowAnyRowCount ? entityName + "#any" : entityName,
+					key -> new EndRevisionUpdate( entityName, auditedEntityName, configuration, revision, allowAnyRowCount )
+			).ids.add( id );
+		}
+
+		@Override
+		public void doBeforeTransactionCompletion(SessionImplementor sessionImplementor) {
+			// entities audited from now on get their own updates
+			endRevisionUpdates.remove( session, this );
+			if ( updates.isEmpty() ) {
+				return;
+			}
+
+			// the audit rows must be inserted before the previous ones are closed
+			sessionImplementor.getJdbcCoordinator().executeBatch();
+
+			final EndRevisionUpdateBatches batches = new EndRevisionUpdateBatches(
+					sessionImplementor,
+					updates.values().iterator().next().configuration.getJdbcBatchSize()
+			);
+			try {
+				for ( EndRevisionUpdate update : updates.values() ) {
+					update.execute( sessionImplementor, batches );
+				}
+				batches.execute();
+			}
+			finally {
+				batches.release();
+			}
+		}
+	}
+
+	/**
+	 * The JDBC batches of the end revision updates, one per statement.  They are owned by the
+	 * audit strategy rather than taken from the session, so that they use the JDBC batch size
+	 * of {@link org.hibernate.envers.configuration.EnversSettings#JDBC_BATCH_SIZE}, without
+	 * changing the one of the session.
+	 */
+	private static class EndRevisionUpdateBatches {
+		private final SessionImplementor session;
+		private final int batchSize;
+		private final Map<EndRevisionUpdateBatchKey, Batch> batches = new LinkedHashMap<>();
+
+		private EndRevisionUpdateBatches(SessionImplementor session, int configuredBatchSize) {
+			this.session = session;
+			if ( configuredBatchSize > 0 ) {
+				this.batchSize = configuredBatchSize;
+			}
+			else {
+				final Integer sessionBatchSize = session.getJdbcBatchSize();
+				this.batchSize = sessionBatchSize == null
+						? session.getFactory().getSessionFactoryOptions().getJdbcBatchSize()
+						: sessionBatchSize;
+			}
+		}
+
+		private Batch getBatch(EndRevisionUpdateBatchKey key) {
+			return batches.computeIfAbsent(
+					key,
+					k -> new BatchingBatch( k, session.getJdbcCoordinator(), Math.max( 1, batchSize ) )
+			);
+		}
+
+		private void execute() {
+			for ( Batch batch : batches.values() ) {
+				batch.execute();
+			}
+		}
+
+		private void release() {
+			for ( Batch batch : batches.values() ) {
+				batch.release();
+			}
+		}
+	}
+
+	/**
+	 * Batches the end revision updates of an audit table, each of them being expected to close
+	 * exactly one audit row per restricting identifier.
+	 */
+	private static class EndRevisionUpdateBatchKey implements BatchKey, Expectation {
+		private final String sql;
+		private final String auditedEntityName;
+		private final int expectedRowCount;
+		// the identifiers of the batched updates, in the order their row counts are verified
+		private final Deque<List<Object>> pendingIds = new ArrayDeque<>();
+
+		private EndRevisionUpdateBatchKey(String sql, String auditedEntityName, int expectedRowCount) {
+			this.sql = sql;
+			this.auditedEntityName = auditedEntityName;
+			this.expectedRowCount = expectedRowCount;
+		}
+
+		@Override
+		public int getBatchedStatementCount() {
+			return 1;
+		}
+
+		@Override
+		public Expectation getExpectation() {
+			return this;
+		}
+
+		@Override
+		public void verifyOutcome(int rowCount, PreparedStatement statement, int batchPosition, String statementSQL) {
+			final List<Object> ids = pendingIds.poll();
+			if ( rowCount == Statement.SUCCESS_NO_INFO ) {
+				// the driver does not report the row counts of batched statements
+				return;
+			}
+			if ( rowCount == Statement.EXECUTE_FAILED ) {
+				throw new BatchFailedException( "Batch update failed: " + statementSQL + " (batch position " + batchPosition + ")" );
+			}
+			if ( expectedRowCount >= 0 && rowCount != expectedRowCount ) {
+				throw new AuditException(
+						String.format(
+								Locale.ENGLISH,
+								"Cannot update previous revision for entity %s and id %s (%s rows modified, %s expected).",
+								auditedEntityName,
+								ids == null || ids.size() != 1 ? ids : ids.get( 0 ),
+								rowCount,
+								expectedRowCount
+						)
+				);
+			}
+		}
+
+		@Override
+		public int prepare(PreparedStatement statement) {
+			return 0;
+		}
+
+		@Override
+		public boolean canBeBatched() {
+			return true;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( o == null || getClass() != o.getClass() ) {
+				return false;
+			}
+			final EndRevisionUpdateBatchKey that = (EndRevisionUpdateBatchKey) o;
+			return expectedRowCount == that.expectedRowCount && sql.equals( that.sql );
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * sql.hashCode() + expectedRowCount;
+		}
+	}
 }
@@ -0,0 +1,165 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.envers.integration.strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import jakarta.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.envers.exception.AuditException;
+import org.hibernate.envers.strategy.ValidityAuditStrategy;
+import org.hibernate.orm.test.envers.BaseEnversJPAFunctionalTestCase;
+import org.hibernate.orm.test.envers.Priority;
+import org.hibernate.orm.test.envers.entities.StrTestEntity;
+
+import org.hibernate.testing.jdbc.SQLStatementInterceptor;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the audit records and end revision updates of many entities written through JDBC batches,
+ * the previous rows of the entities being closed by a single statement.
+ */
+public class ValidityAuditStrategyBatchedWritesTest extends BaseEnversJPAFunctionalTestCase {
+	private static final int ENTITY_COUNT = 12;
+
+	private final List<Integer> ids = new ArrayList<>();
+	private final List<String> endRevisionUpdates = new ArrayList<>();
+	private SQLStatementInterceptor sqlStatementInterceptor;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { StrTestEntity.class };
+	}
+
+	@Override
+	protected void addConfigOptions(Map options) {
+		super.addConfigOptions( options );
+		options.put( EnversSettings.AUDIT_STRATEGY, ValidityAuditStrategy.class.getName() );
+		options.put( EnversSettings.JDBC_BATCH_SIZE, "5" );
+		sqlStatementInterceptor = new SQLStatementInterceptor( options );
+	}
+
+	@Test
+	@Priority(10)
+	public void initData() {
+		final EntityManager em = getEntityManager();
+
+		// Revision 1
+		em.getTransaction().begin();
+		for ( int i = 0; i < ENTITY_COUNT; i++ ) {
+			final StrTestEntity entity = new StrTestEntity( "x" + i );
+			em.persist( entity );
+			ids.add( entity.getId() );
+		}
+		em.getTransaction().commit();
+
+		// Revision 2
+		em.getTransaction().begin();
+		for ( Integer id : ids ) {
+			em.find( StrTestEntity.class, id ).setStr( "y" + id );
+		}
+		sqlStatementInterceptor.clear();
+		em.getTransaction().commit();
+		for ( String sql : sqlStatementInterceptor.getSqlQueries() ) {
+			if ( sql.toLowerCase( Locale.ROOT ).startsWith( "update str_test_aud" ) ) {
+				endRevisionUpdates.add( sql );
+			}
+		}
+
+		// Revision 3
+		em.getTransaction().begin();
+		for ( Integer id : ids ) {
+			em.remove( em.find( StrTestEntity.class, id ) );
+		}
+		em.getTransaction().commit();
+
+		// The end revision updates are batched without changing the batch size of the session
+		assertNull( em.unwrap( Session.class ).getJdbcBatchSize() );
+
+		em.close();
+	}
+
+	@Test
+	public void testRevisionsCounts() {
+		for ( Integer id : ids ) {
+			assertEquals( Arrays.asList( 1, 2, 3 ), getAuditReader().getRevisions( StrTestEntity.class, id ) );
+		}
+	}
+
+	@Test
+	public void testHistory() {
+		for ( Integer id : ids ) {
+			assertEquals( "y" + id, getAuditReader().find( StrTestEntity.class, id, 2 ).getStr() );
+			assertNull( getAuditReader().find( StrTestEntity.class, id, 3 ) );
+		}
+	}
+
+	@Test
+	public void testSingleEndRevisionUpdate() {
+		assertEquals( 1, endRevisionUpdates.size() );
+		assertEquals( ENTITY_COUNT, endRevisionUpdates.get( 0 ).chars().filter( c -> c == '?' ).count() - 2 );
+	}
+
+	@Test
+	public void testMissingPreviousRevisionReportsId() {
+		final EntityManager em = getEntityManager();
+		em.getTransaction().begin();
+		final StrTestEntity entity = new StrTestEntity( "a" );
+		em.persist( entity );
+		em.getTransaction().commit();
+
+		em.getTransaction().begin();
+		em.find( StrTestEntity.class, entity.getId() ).setStr( "b" );
+		em.createNativeQuery( "delete from STR_TEST_AUD where id = :id" )
+				.setParameter( "id", entity.getId() )
+				.executeUpdate();
+		try {
+			em.getTransaction().commit();
+			fail( "Expected an AuditException" );
+		}
+		catch (RuntimeException e) {
+			Throwable cause = e;
+			while ( cause != null && !( cause instanceof AuditException ) ) {
+				cause = cause.getCause();
+			}
+			assertNotNull( cause );
+			assertTrue( cause.getMessage(), cause.getMessage().contains( "id " + entity.getId() + " " ) );
+		}
+		finally {
+			if ( em.getTransaction().isActive() ) {
+				em.getTransaction().rollback();
+			}
+			em.close();
+		}
+	}
+
+	@Test
+	public void testEndRevisions() {
+		final EntityManager em = getEntityManager();
+		for ( Integer id : ids ) {
+			final List<?> endRevisions = em.createNativeQuery( "select REVEND from STR_TEST_AUD where id = :id order by REV" )
+					.setParameter( "id", id )
+					.getResultList();
+			assertEquals( 3, endRevisions.size() );
+			assertEquals( 2, ( (Number) endRevisions.get( 0 ) ).intValue() );
+			assertEquals( 3, ( (Number) endRevisions.get( 1 ) ).intValue() );
+			assertNull( endRevisions.get( 2 ) );
+		}
+		em.close();
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.envers.integration.writebehind;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import jakarta.persistence.EntityManager;
+
+import org.hibernate.envers.boot.internal.EnversService;
+import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.envers.strategy.ValidityAuditStrategy;
+import org.hibernate.orm.test.envers.BaseEnversJPAFunctionalTestCase;
+import org.hibernate.orm.test.envers.Priority;
+import org.hibernate.orm.test.envers.entities.onetomany.SetRefEdEntity;
+import org.hibernate.orm.test.envers.entities.onetomany.SetRefIngEntity;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the audit records written behind the audited transactions, with the validity audit strategy
+ * which expects the revisions of an entity to be written in order.
+ */
+public class AsyncWriteBehindTest extends BaseEnversJPAFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { SetRefEdEntity.class, SetRefIngEntity.class };
+	}
+
+	@Override
+	protected void addConfigOptions(Map options) {
+		super.addConfigOptions( options );
+		options.put( EnversSettings.ASYNC_WRITE_BEHIND, "true" );
+		options.put( EnversSettings.ASYNC_WRITE_BEHIND_BATCH_SIZE, "2" );
+		options.put( EnversSettings.AUDIT_STRATEGY, ValidityAuditStrategy.class.getName() );
+	}
+
+	@Test
+	@Priority(10)
+	public void initData() {
+		final EntityManager em = getEntityManager();
+
+		// Revision 1
+		em.getTransaction().begin();
+		final SetRefEdEntity ed = new SetRefEdEntity( 1, "data_ed_1" );
+		em.persist( ed );
+		em.getTransaction().commit();
+
+		// The revision number is assigned by the audited transaction, whatever the progress of the writer
+		assertEquals( 1, ( (Number) em.createNativeQuery( "select count(*) from REVINFO" ).getSingleResult() ).intValue() );
+
+		// Revision 2
+		em.getTransaction().begin();
+		final SetRefIngEntity ing = new SetRefIngEntity( 2, "data_ing_1", em.find( SetRefEdEntity.class, 1 ) );
+		em.persist( ing );
+		em.getTransaction().commit();
+
+		// No revision
+		em.getTransaction().begin();
+		em.find( SetRefEdEntity.class, 1 ).setData( "rolled_back" );
+		em.flush();
+		em.getTransaction().rollback();
+		em.clear();
+
+		// Revision 3
+		em.getTransaction().begin();
+		em.find( SetRefEdEntity.class, 1 ).setData( "data_ed_2" );
+		em.getTransaction().commit();
+
+		// Revision 4
+		em.getTransaction().begin();
+		em.remove( em.find( SetRefIngEntity.class, 2 ) );
+		em.getTransaction().commit();
+
+		em.close();
+
+		// Waits for the queued audit records to be written
+		serviceRegistry().getService( EnversService.class ).getAuditProcessManager().getWriteBehindQueue().stop();
+	}
+
+	@Test
+	public void testRevisionsCounts() {
+		assertEquals( Arrays.asList( 1, 2, 3, 4 ), getAuditReader().getRevisions( SetRefEdEntity.class, 1 ) );
+		assertEquals( Arrays.asList( 2, 4 ), getAuditReader().getRevisions( SetRefIngEntity.class, 2 ) );
+	}
+
+	@Test
+	public void testHistoryOfEd() {
+		final SetRefEdEntity rev1 = getAuditReader().find( SetRefEdEntity.class, 1, 1 );
+		final SetRefEdEntity rev3 = getAuditReader().find( SetRefEdEntity.class, 1, 3 );
+
+		assertEquals( "data_ed_1", rev1.getData() );
+		assertEquals( Collections.emptySet(), rev1.getReffering() );
+		assertEquals( "data_ed_2", rev3.getData() );
+		assertEquals( Collections.singleton( new SetRefIngEntity( 2, "data_ing_1" ) ), rev3.getReffering() );
+		assertEquals( Collections.emptySet(), getAuditReader().find( SetRefEdEntity.class, 1, 4 ).getReffering() );
+	}
+
+	@Test
+	public void testHistoryOfIng() {
+		assertNull( getAuditReader().find( SetRefIngEntity.class, 2, 1 ) );
+		assertNotNull( getAuditReader().find( SetRefIngEntity.class, 2, 3 ) );
+		assertNull( getAuditReader().find( SetRefIngEntity.class, 2, 4 ) );
+	}
+}
@@ -10,23 +10,30 @@ import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.binder.MeterBinder;
 import io.micrometer.core.lang.NonNullApi;
 import io.micrometer.core.lang.NonNullFields;
+import io.micrometer.core.lang.Nullable;
 
 import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
-import org.hibernate.event.service.spi.EventListenerRegistry;
-import org.hibernate.event.spi.EventType;
-import org.hibernate.event.spi.PostLoadEvent;
-import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.stat.spi.QueryStatisticsListener;
+import org.hibernate.stat.spi.StatisticsImplementor;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A {@link MeterBinder} implementation that provides Hibernate query metrics. It exposes the
- * same statistics as would be exposed when calling {@link Statistics#getQueryStatistics(String)}.
+ * same statistics as would be exposed when calling {@link Statistics#getQueryStatistics(String)},
+ * plus a {@link Timer} recording the latency of every execution of the query.
  * Note that only SELECT queries are recorded in {@link QueryStatistics}.
  * <p>
- * Be aware of the potential for high cardinality of unique Hibernate queries executed by your
- * application when considering using this {@link MeterBinder}.
+ * The meters of a query are registered the first time Hibernate reports an execution or a query
+ * cache access for it. To bound the cardinality of the unique Hibernate queries executed by your
+ * application, meters are only registered for the first {@code maxQueries} distinct queries; the
+ * executions of any other query are recorded in a single {@link Timer} tagged with
+ * {@value #OTHER_QUERIES_TAG_VALUE}.
  */
 @NonNullApi
 @NonNullFields
@@ -34,10 +41,24 @@ public class HibernateQueryMetrics implements MeterBinder {
 
 	private static final String SESSION_FACTORY_TAG_NAME = "entityManagerFactory";
 
+	/**
+	 * The {@code query} tag value of the meters shared by the queries over the {@code maxQueries} limit.
+	 */
+	public static final String OTHER_QUERIES_TAG_VALUE = "other";
+
+	/**
+	 * The default maximum number of distinct queries meters are registered for.
+	 */
+	public static final int DEFAULT_MAX_QUERIES = 100;
+
 	private final Iterable<Tag> tags;
 
 	private final SessionFactory sessionFactory;
 
+	private final int maxQueries;
+
+	private final boolean publishPercentileHistogram;
+
 	/**
 	 * Create {@code HibernateQueryMetrics} and bind to the specified meter registry.
 	 *
@@ -71,44 +92,131 @@ public class HibernateQueryMetrics implements MeterBinder {
 	}
 
 	/**
-	 * Create a {@code HibernateQueryMetrics}.
+	 * Create a {@code HibernateQueryMetrics} registering meters for at most {@value #DEFAULT_MAX_QUERIES}
+	 * distinct queries, whose execution {@link Timer}s do not publish a percentile histogram.
 	 *
 	 * @param sessionFactory session factory to use
 	 * @param sessionFactoryName session factory name as a tag value
 	 * @param tags additional tags
 	 */
 	public HibernateQueryMetrics(SessionFactory sessionFactory, String sessionFactoryName, Iterable<Tag> tags) {
+		this( sessionFactory, sessionFactoryName, tags, DEFAULT_MAX_QUERIES, false );
+	}
+
+	/**
+	 * Create a {@code HibernateQueryMetrics}.
+	 *
+	 * @param sessionFactory session factory to use
+	 * @param sessionFactoryName session factory name as a tag value
+	 * @param tags additional tags
+	 * @param maxQueries maximum number of distinct queries to register meters for
+	 * @param publishPercentileHistogram whether the execution {@link Timer}s publish a percentile histogram
+	 */
+	public HibernateQueryMetrics(
+			SessionFactory sessionFactory,
+			String sessionFactoryName,
+			Iterable<Tag> tags,
+			int maxQueries,
+			boolean publishPercentileHistogram) {
 		this.tags = Tags.concat( tags, SESSION_FACTORY_TAG_NAME, sessionFactoryName );
 		this.sessionFactory = sessionFactory;
+		this.maxQueries = maxQueries;
+		this.publishPercentileHistogram = publishPercentileHistogram;
 	}
 
+	/**
+	 * Registers a listener for the query statistics of the session factory,
+	 * which is unregistered again when the session factory is closed.
+	 */
 	@Override
 	public void bindTo(MeterRegistry meterRegistry) {
 		if ( sessionFactory instanceof SessionFactoryImplementor ) {
-			EventListenerRegistry eventListenerRegistry = ( (SessionFactoryImplementor) sessionFactory ).getServiceRegistry()
-					.getService( EventListenerRegistry.class );
-			MetricsEventHandler metricsEventHandler = new MetricsEventHandler( meterRegistry );
-			eventListenerRegistry.appendListeners( EventType.POST_LOAD, metricsEventHandler );
+			final SessionFactoryImplementor factory = (SessionFactoryImplementor) sessionFactory;
+			final MetricsQueryListener listener = new MetricsQueryListener( meterRegistry, factory.getStatistics() );
+			factory.getStatistics().addQueryStatisticsListener( listener );
+			factory.addObserver( listener );
 		}
 	}
 
-	class MetricsEventHandler implements PostLoadEventListener {
+	class MetricsQueryListener implements QueryStatisticsListener, SessionFactoryObserver {
 
 		private final MeterRegistry meterRegistry;
+		private final StatisticsImplementor statistics;
+
+		private final ConcurrentMap<String, QueryMeters> metersByQuery = new ConcurrentHashMap<>();
+		private final AtomicInteger registeredQueries = new AtomicInteger();
+		private final Timer otherQueriesTimer;
 
-		MetricsEventHandler(MeterRegistry meterRegistry) {
+		MetricsQueryListener(MeterRegistry meterRegistry, StatisticsImplementor statistics) {
 			this.meterRegistry = meterRegistry;
+			this.statistics = statistics;
+			this.otherQueriesTimer = executionTimer( OTHER_QUERIES_TAG_VALUE );
+		}
+
+		@Override
+		public void sessionFactoryClosed(SessionFactory factory) {
+			statistics.removeQueryStatisticsListener( this );
+		}
+
+		@Override
+		public void queryExecuted(String query, int rows, long time) {
+			final QueryMeters meters = locateQueryMeters( query );
+			final Timer timer = meters == null ? otherQueriesTimer : meters.executionTimer;
+			timer.record( time, TimeUnit.MILLISECONDS );
+		}
+
+		@Override
+		public void queryCacheHit(String query, String regionName) {
+			locateQueryMeters( query );
 		}
 
 		@Override
-		public void onPostLoad(PostLoadEvent event) {
-			registerQueryMetric( event.getSession().getFactory().getStatistics() );
+		public void queryCacheMiss(String query, String regionName) {
+			locateQueryMeters( query );
+		}
+
+		@Override
+		public void queryCachePut(String query, String regionName) {
+			locateQueryMeters( query );
+		}
+
+		/**
+		 * @return the meters of the query, or {@code null} if the query is over the {@code maxQueries} limit
+		 */
+		@Nullable
+		QueryMeters locateQueryMeters(String query) {
+			final QueryMeters meters = metersByQuery.get( query );
+			if ( meters != null || registeredQueries.get() >= maxQueries ) {
+				return meters;
+			}
+			return metersByQuery.computeIfAbsent(
+					query,
+					q -> {
+						if ( registeredQueries.incrementAndGet() > maxQueries ) {
+							registeredQueries.decrementAndGet();
+							return null;
+						}
+						return new QueryMeters( q, statistics.getQueryStatistics( q ) );
+					}
+			);
 		}
 
-		void registerQueryMetric(Statistics statistics) {
-			for ( String query : statistics.getQueries() ) {
-				QueryStatistics queryStatistics = statistics.getQueryStatistics( query );
+		Timer executionTimer(String query) {
+			return Timer.builder( "hibernate.query.execution.latency" )
+					.tags( tags )
+					.tags( "query", query )
+					.description( "Query execution latency" )
+					.publishPercentileHistogram( publishPercentileHistogram )
+					.register( meterRegistry );
+		}
 
+		/**
+		 * The meters of one query, registered once.
+		 */
+		class QueryMeters {
+			private final Timer executionTimer;
+
+			QueryMeters(String query, QueryStatistics queryStatistics) {
 				FunctionCounter.builder(
 						"hibernate.query.cache.requests",
 						queryStatistics,
@@ -182,6 +290,8 @@ public class HibernateQueryMetrics implements MeterBinder {
 						.tags( "query", query )
 						.description( "Number of rows processed for a query" )
 						.register( meterRegistry );
+
+				executionTimer = executionTimer( query );
 			}
 		}
 	}
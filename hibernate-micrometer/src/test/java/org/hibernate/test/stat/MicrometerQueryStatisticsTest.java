@@ -0,0 +1,112 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.stat;
+
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class MicrometerQueryStatisticsTest extends BaseCoreFunctionalTestCase {
+
+	private static final String FIRST_QUERY = "select a from Account a";
+	private static final String SECOND_QUERY = "select a from Account a where a.shortCode = 'x'";
+
+	private SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Account.class, AccountId.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+
+		configuration.setProperty( Environment.USE_SECOND_LEVEL_CACHE, "false" );
+		configuration.setProperty( Environment.USE_QUERY_CACHE, "false" );
+		configuration.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Before
+	public void setUpMetrics() {
+		new HibernateQueryMetrics( sessionFactory(), "test", Tags.empty(), 1, false ).bindTo( registry );
+	}
+
+	@After
+	public void cleanUpMetrics() {
+		registry.clear();
+	}
+
+	@Test
+	public void testQueryMeters() {
+		assertNull( registry.find( "hibernate.query.execution.latency" ).tag( "query", FIRST_QUERY ).timer() );
+
+		for ( int i = 0; i < 3; i++ ) {
+			doInHibernate( this::sessionFactory, session -> {
+				session.createQuery( FIRST_QUERY ).list();
+			} );
+		}
+
+		final Timer timer = registry.get( "hibernate.query.execution.latency" ).tag( "query", FIRST_QUERY ).timer();
+		assertEquals( 3, timer.count() );
+		assertNotNull( registry.get( "hibernate.query.execution.total" ).tag( "query", FIRST_QUERY ).functionTimer() );
+		assertEquals(
+				3,
+				registry.get( "hibernate.query.execution.total" ).tag( "query", FIRST_QUERY ).functionTimer().count(),
+				0
+		);
+		assertEquals(
+				1,
+				registry.get( "hibernate.query.cache.requests" ).tag( "query", FIRST_QUERY ).tag( "result", "hit" ).meters().size()
+		);
+
+		// over the limit of 1 distinct query: recorded under the shared timer only
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( SECOND_QUERY ).list();
+		} );
+
+		assertNull( registry.find( "hibernate.query.execution.latency" ).tag( "query", SECOND_QUERY ).timer() );
+		assertNull( registry.find( "hibernate.query.execution.total" ).tag( "query", SECOND_QUERY ).functionTimer() );
+		assertEquals(
+				1,
+				registry.get( "hibernate.query.execution.latency" )
+						.tag( "query", HibernateQueryMetrics.OTHER_QUERIES_TAG_VALUE )
+						.timer()
+						.count()
+		);
+	}
+
+	@Test
+	public void testListenerRemovedOnClose() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( FIRST_QUERY ).list();
+		} );
+		final Timer timer = registry.get( "hibernate.query.execution.latency" ).tag( "query", FIRST_QUERY ).timer();
+		assertEquals( 1, timer.count() );
+
+		final StatisticsImplementor statistics = sessionFactory().getStatistics();
+		rebuildSessionFactory();
+
+		statistics.queryExecuted( FIRST_QUERY, 0, 1 );
+		assertEquals( 1, timer.count() );
+	}
+}